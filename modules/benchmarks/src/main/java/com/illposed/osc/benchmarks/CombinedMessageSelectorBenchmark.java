@@ -0,0 +1,125 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.MessageSelector;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCMessageEvent;
+import com.illposed.osc.messageselector.CombinedMessageSelector;
+import com.illposed.osc.messageselector.JavaRegexAddressMessageSelector;
+import com.illposed.osc.messageselector.OSCPatternAddressMessageSelector;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a {@link CombinedMessageSelector} requiring both
+ * a regular expression and a literal address to match,
+ * given in this order, with only one in ten messages matching the latter.
+ * The baseline checks both selectors for every message,
+ * in the given order, as the combined selector used to.
+ * The {@code shared} variants use a single selector from several threads,
+ * like a dispatcher running listeners on many threads does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CombinedMessageSelectorBenchmark {
+
+	private static final int CHANNELS = 10;
+	private static final int THREADS = 4;
+
+	/**
+	 * Selectors shared by all the threads of a benchmark.
+	 */
+	@State(Scope.Benchmark)
+	public static class Shared {
+
+		private MessageSelector regex;
+		private MessageSelector literal;
+		private CombinedMessageSelector combined;
+
+		@Setup
+		public void setUp() {
+
+			regex = createRegex();
+			literal = createLiteral();
+			combined = new CombinedMessageSelector(regex, literal);
+		}
+	}
+
+	private MessageSelector regex;
+	private MessageSelector literal;
+	private CombinedMessageSelector combined;
+	private OSCMessageEvent[] events;
+	private int next;
+
+	@Setup
+	public void setUp() {
+
+		regex = createRegex();
+		literal = createLiteral();
+		combined = new CombinedMessageSelector(regex, literal);
+		events = new OSCMessageEvent[CHANNELS];
+		for (int ei = 0; ei < CHANNELS; ei++) {
+			events[ei] = new OSCMessageEvent(this, null, new OSCMessage("/mixer/" + ei + "/volume"));
+		}
+		next = 0;
+	}
+
+	private static MessageSelector createRegex() {
+		return new JavaRegexAddressMessageSelector("/mixer/\\d+/(volume|pan)");
+	}
+
+	private static MessageSelector createLiteral() {
+		return new OSCPatternAddressMessageSelector("/mixer/1/volume");
+	}
+
+	private OSCMessageEvent nextEvent() {
+
+		next = (next + 1) % CHANNELS;
+		return events[next];
+	}
+
+	@Benchmark
+	public boolean combined() {
+		return combined.matches(nextEvent());
+	}
+
+	@Benchmark
+	public boolean bothInGivenOrder() {
+
+		final OSCMessageEvent event = nextEvent();
+		return CombinedMessageSelector.LogicOperator.AND.matches(
+				regex.matches(event), literal.matches(event));
+	}
+
+	@Benchmark
+	@Threads(THREADS)
+	public boolean combinedShared(final Shared shared) {
+		return shared.combined.matches(nextEvent());
+	}
+
+	@Benchmark
+	@Threads(THREADS)
+	public boolean bothInGivenOrderShared(final Shared shared) {
+
+		final OSCMessageEvent event = nextEvent();
+		return CombinedMessageSelector.LogicOperator.AND.matches(
+				shared.regex.matches(event), shared.literal.matches(event));
+	}
+}
@@ -0,0 +1,114 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.BufferBytesReceiver;
+import com.illposed.osc.OSCBundle;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.argument.OSCTimeTag64;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Kinds of packets typically seen in OSC traffic,
+ * used as a common benchmark parameter.
+ */
+public enum MessageMix {
+
+	/**
+	 * A control value, as sent by faders and knobs.
+	 */
+	CONTROL {
+		@Override
+		public OSCPacket createPacket() {
+			return new OSCMessage("/mixer/channel/3/volume", Collections.singletonList(0.75f));
+		}
+	},
+	/**
+	 * A note event, with mixed argument types.
+	 */
+	NOTE {
+		@Override
+		public OSCPacket createPacket() {
+			return new OSCMessage("/synth/1/note", Arrays.asList("piano", 60, 0.8f, 1.5, 42L));
+		}
+	},
+	/**
+	 * A bank of level meters, with many numeric arguments.
+	 */
+	METER {
+		@Override
+		public OSCPacket createPacket() {
+
+			final List<Object> levels = new ArrayList<>();
+			for (int li = 0; li < 16; li++) {
+				levels.add(li / 16.0f);
+			}
+			return new OSCMessage("/meters/bank/1", levels);
+		}
+	},
+	/**
+	 * A message with a larger blob, as used for sample data or images.
+	 */
+	BLOB {
+		@Override
+		public OSCPacket createPacket() {
+
+			final byte[] blob = new byte[512];
+			for (int bi = 0; bi < blob.length; bi++) {
+				blob[bi] = (byte) bi;
+			}
+			return new OSCMessage("/sampler/buffer/write", Arrays.asList(7, blob));
+		}
+	},
+	/**
+	 * A time-tagged bundle of control values, as sent by sequencers.
+	 */
+	BUNDLE {
+		@Override
+		public OSCPacket createPacket() {
+
+			final List<OSCPacket> messages = new ArrayList<>();
+			for (int ci = 0; ci < 8; ci++) {
+				messages.add(new OSCMessage(
+						"/mixer/channel/" + ci + "/volume",
+						Collections.singletonList(ci / 8.0f)));
+			}
+			messages.add(new OSCMessage("/lights/dmx/12", Arrays.asList(255, 128, 0)));
+			return new OSCBundle(messages, OSCTimeTag64.IMMEDIATE);
+		}
+	};
+
+	/**
+	 * Creates a new instance of this kind of packet.
+	 * @return a newly created, representative packet
+	 */
+	public abstract OSCPacket createPacket();
+
+	/**
+	 * Creates a new instance of this kind of packet in serialized form.
+	 * @return a buffer containing the raw packet between position and limit
+	 * @throws OSCSerializeException if the packet fails to serialize
+	 */
+	public ByteBuffer createSerializedPacket() throws OSCSerializeException {
+
+		final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		new OSCSerializerAndParserBuilder().buildSerializer(new BufferBytesReceiver(buffer))
+				.write(createPacket());
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Large enough for any of the packets.
+	 */
+	public static final int BUFFER_SIZE = 4096;
+}
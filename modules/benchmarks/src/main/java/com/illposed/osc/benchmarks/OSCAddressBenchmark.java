@@ -0,0 +1,86 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.BufferBytesReceiver;
+import com.illposed.osc.OSCAddress;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCMessageEvent;
+import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.OSCSerializer;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.messageselector.OSCPatternAddressMessageSelector;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares creating, sending and matching messages
+ * with a plain {@code String} address against doing so
+ * with a pre-validated {@link OSCAddress}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OSCAddressBenchmark {
+
+	private static final String ADDRESS = "/mixer/channel/3/volume";
+
+	private final List<Object> arguments = Collections.singletonList(0.75f);
+	private OSCAddress address;
+	private OSCSerializer serializer;
+	private ByteBuffer buffer;
+	private OSCPatternAddressMessageSelector selector;
+
+	@Setup
+	public void setUp() {
+
+		address = OSCAddress.valueOf(ADDRESS);
+		buffer = ByteBuffer.allocate(MessageMix.BUFFER_SIZE);
+		serializer = new OSCSerializerAndParserBuilder().buildSerializer(
+				new BufferBytesReceiver(buffer));
+		selector = new OSCPatternAddressMessageSelector("/mixer/*/3/volume");
+	}
+
+	@Benchmark
+	public int writeWithString() throws OSCSerializeException {
+
+		buffer.clear();
+		serializer.write(new OSCMessage(ADDRESS, arguments));
+		return buffer.position();
+	}
+
+	@Benchmark
+	public int writeWithAddress() throws OSCSerializeException {
+
+		buffer.clear();
+		serializer.write(new OSCMessage(address, arguments));
+		return buffer.position();
+	}
+
+	@Benchmark
+	public boolean matchWithString() {
+		return selector.matches(new OSCMessageEvent(this, null, new OSCMessage(ADDRESS, arguments)));
+	}
+
+	@Benchmark
+	public boolean matchWithAddress() {
+		return selector.matches(new OSCMessageEvent(this, null, new OSCMessage(address, arguments)));
+	}
+}
@@ -0,0 +1,125 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.OSCBundle;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCMessageEvent;
+import com.illposed.osc.OSCMessageListener;
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCPacketDispatcher;
+import com.illposed.osc.OSCPacketEvent;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.messageselector.OSCPatternAddressMessageSelector;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link OSCPacketDispatcher#handlePacket(OSCPacketEvent)}
+ * with different numbers of registered listeners.
+ * The listeners are registered for addresses like {@code "/channel/17/volume"},
+ * a tenth of them with a wildcard pattern like {@code "/channel/1?/volume"},
+ * as is typical for mixing desk like setups.
+ * Bundles are dispatched immediately.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OSCPacketDispatcherBenchmark {
+
+	private static final int WILDCARD_EVERY = 10;
+	private static final int BUNDLE_SIZE = 8;
+
+	@Param({"10", "100", "1000", "10000"})
+	private int listeners;
+
+	/**
+	 * Whether to dispatch a single message or a bundle of messages.
+	 */
+	@Param({"false", "true"})
+	private boolean bundled;
+
+	private ScheduledExecutorService dispatchScheduler;
+	private OSCPacketDispatcher dispatcher;
+	private OSCPacketEvent event;
+
+	private static final class ConsumingListener implements OSCMessageListener {
+
+		private final Blackhole blackhole;
+
+		ConsumingListener(final Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void acceptMessage(final OSCMessageEvent event) {
+			blackhole.consume(event);
+		}
+	}
+
+	private static OSCMessage createMessage(final int channel) {
+		return new OSCMessage(
+				"/channel/" + channel + "/volume",
+				Collections.singletonList(0.5f));
+	}
+
+	@Setup
+	public void setUp(final Blackhole blackhole) {
+
+		dispatchScheduler = OSCPacketDispatcher.createDefaultDispatchScheduler();
+		dispatcher = new OSCPacketDispatcher(new OSCSerializerAndParserBuilder(), dispatchScheduler);
+		dispatcher.setAlwaysDispatchingImmediately(true);
+		final OSCMessageListener listener = new ConsumingListener(blackhole);
+		for (int li = 0; li < listeners; li++) {
+			final String channel = ((li % WILDCARD_EVERY) == 0)
+					? (li / WILDCARD_EVERY) + "?"
+					: String.valueOf(li);
+			dispatcher.addListener(
+					new OSCPatternAddressMessageSelector("/channel/" + channel + "/volume"),
+					listener);
+		}
+
+		final OSCPacket packet;
+		if (bundled) {
+			final List<OSCPacket> messages = new ArrayList<>(BUNDLE_SIZE);
+			for (int mi = 0; mi < BUNDLE_SIZE; mi++) {
+				messages.add(createMessage((listeners * mi) / BUNDLE_SIZE));
+			}
+			packet = new OSCBundle(messages);
+		} else {
+			packet = createMessage(listeners / 2);
+		}
+		event = new OSCPacketEvent(this, packet);
+	}
+
+	@TearDown
+	public void tearDown() {
+		dispatchScheduler.shutdownNow();
+	}
+
+	@Benchmark
+	public void handlePacket() {
+		dispatcher.handlePacket(event);
+	}
+}
@@ -0,0 +1,61 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCParseException;
+import com.illposed.osc.OSCParser;
+import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.routing.AddressInterner;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link OSCParser#convert(ByteBuffer)},
+ * with and without an {@link AddressInterner}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OSCParserBenchmark {
+
+	@Param
+	private MessageMix mix;
+
+	@Param({"false", "true"})
+	private boolean interning;
+
+	private OSCParser parser;
+	private ByteBuffer serialized;
+
+	@Setup
+	public void setUp() throws OSCSerializeException {
+
+		parser = new OSCSerializerAndParserBuilder()
+				.setAddressInterner(interning ? new AddressInterner() : null)
+				.buildParser();
+		serialized = mix.createSerializedPacket();
+	}
+
+	@Benchmark
+	public OSCPacket convert() throws OSCParseException {
+		return parser.convert(serialized);
+	}
+}
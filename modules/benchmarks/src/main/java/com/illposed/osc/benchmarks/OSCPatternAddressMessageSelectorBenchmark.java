@@ -0,0 +1,63 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCMessageEvent;
+import com.illposed.osc.argument.OSCTimeTag64;
+import com.illposed.osc.messageselector.OSCPatternAddressMessageSelector;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link OSCPatternAddressMessageSelector#matches(OSCMessageEvent)}
+ * for the different kinds of patterns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OSCPatternAddressMessageSelectorBenchmark {
+
+	@Param({
+		"/synth/12/voice/3/freq",
+		"/synth/13/voice/3/freq",
+		"/synth/*/voice/*/freq",
+		"/synth/1?/voice/[1-4]/freq",
+		"/synth/{11,12,13}/voice/3/{freq,amp}",
+		"//freq"
+	})
+	private String pattern;
+
+	@Param({"/synth/12/voice/3/freq"})
+	private String address;
+
+	private OSCPatternAddressMessageSelector selector;
+	private OSCMessageEvent event;
+
+	@Setup
+	public void setUp() {
+
+		selector = new OSCPatternAddressMessageSelector(pattern);
+		event = new OSCMessageEvent(this, OSCTimeTag64.IMMEDIATE, new OSCMessage(address));
+	}
+
+	@Benchmark
+	public boolean matches() {
+		return selector.matches(event);
+	}
+}
@@ -0,0 +1,72 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.BufferBytesReceiver;
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.OSCSerializer;
+import com.illposed.osc.OSCSerializerEngine;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link OSCSerializer#write(OSCPacket)},
+ * both with a long-lived serializer and with one created per packet
+ * from a shared {@link OSCSerializerEngine}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OSCSerializerBenchmark {
+
+	@Param
+	private MessageMix mix;
+
+	private OSCSerializerEngine engine;
+	private BufferBytesReceiver output;
+	private OSCSerializer serializer;
+	private ByteBuffer buffer;
+	private OSCPacket packet;
+
+	@Setup
+	public void setUp() {
+
+		buffer = ByteBuffer.allocate(MessageMix.BUFFER_SIZE);
+		engine = new OSCSerializerAndParserBuilder().buildSerializerEngine();
+		output = new BufferBytesReceiver(buffer);
+		serializer = engine.createSerializer(output);
+		packet = mix.createPacket();
+	}
+
+	@Benchmark
+	public int write() throws OSCSerializeException {
+
+		serializer.write(packet);
+		return buffer.position();
+	}
+
+	@Benchmark
+	public int writeWithSharedEngine() throws OSCSerializeException {
+
+		engine.createSerializer(output).write(packet);
+		return buffer.position();
+	}
+}
@@ -0,0 +1,106 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.BufferBytesReceiver;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCParseException;
+import com.illposed.osc.OSCParser;
+import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.OSCSerializer;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sending and receiving a spectrum of floats
+ * as an OSC array of boxed {@code Float}s against a {@code float[]}.
+ * Both produce the same bytes on the wire.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveArrayBenchmark {
+
+	@Param({"16", "512"})
+	private int length;
+
+	private ByteBuffer buffer;
+	private OSCSerializer serializer;
+	private OSCMessage boxedMessage;
+	private OSCMessage primitiveMessage;
+	private ByteBuffer serialized;
+	private OSCParser boxedParser;
+	private OSCParser primitiveParser;
+
+	@Setup
+	public void setUp() throws OSCSerializeException {
+
+		final float[] spectrum = new float[length];
+		final List<Float> boxedSpectrum = new ArrayList<>(length);
+		for (int si = 0; si < length; si++) {
+			spectrum[si] = si / (float) length;
+			boxedSpectrum.add(spectrum[si]);
+		}
+		boxedMessage = new OSCMessage("/analysis/spectrum",
+				Collections.singletonList(boxedSpectrum));
+		primitiveMessage = new OSCMessage("/analysis/spectrum",
+				Collections.singletonList(spectrum));
+
+		final OSCSerializerAndParserBuilder builder = new OSCSerializerAndParserBuilder();
+		buffer = ByteBuffer.allocate(length * Float.BYTES + MessageMix.BUFFER_SIZE);
+		serializer = builder.buildSerializer(new BufferBytesReceiver(buffer));
+		serializer.write(primitiveMessage);
+		serialized = ByteBuffer.allocate(buffer.position());
+		serialized.put(buffer.flip()).flip();
+
+		boxedParser = builder.buildParser();
+		primitiveParser = builder.setParsingPrimitiveArrays(true).buildParser();
+	}
+
+	@Benchmark
+	public int writeBoxed() throws OSCSerializeException {
+
+		buffer.clear();
+		serializer.write(boxedMessage);
+		return buffer.position();
+	}
+
+	@Benchmark
+	public int writePrimitive() throws OSCSerializeException {
+
+		buffer.clear();
+		serializer.write(primitiveMessage);
+		return buffer.position();
+	}
+
+	@Benchmark
+	public OSCPacket parseBoxed() throws OSCParseException {
+		return boxedParser.convert(serialized);
+	}
+
+	@Benchmark
+	public OSCPacket parsePrimitive() throws OSCParseException {
+		return primitiveParser.convert(serialized);
+	}
+}
@@ -0,0 +1,106 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCMessageEvent;
+import com.illposed.osc.OSCPacketDispatcher;
+import com.illposed.osc.OSCPacketEvent;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.messageselector.JavaRegexAddressMessageSelector;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures dispatching a message to many listeners
+ * selecting by Java regular expressions like {@code "/channel/17/volume"},
+ * a tenth of them like {@code "/channel/1\\d/volume"},
+ * and a few like {@code ".*&#47;volume"}.
+ * The baseline runs the regular expression of each selector, one by one,
+ * as the dispatcher used to.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RegexDispatchBenchmark {
+
+	private static final int WILDCARD_EVERY = 10;
+	private static final int SUFFIX_ONLY = 3;
+
+	@Param({"10", "100", "1000"})
+	private int listeners;
+
+	private ScheduledExecutorService dispatchScheduler;
+	private OSCPacketDispatcher dispatcher;
+	private List<JavaRegexAddressMessageSelector> selectors;
+	private OSCPacketEvent packetEvent;
+	private OSCMessageEvent messageEvent;
+
+	@Setup
+	public void setUp(final Blackhole blackhole) {
+
+		dispatchScheduler = OSCPacketDispatcher.createDefaultDispatchScheduler();
+		dispatcher = new OSCPacketDispatcher(new OSCSerializerAndParserBuilder(), dispatchScheduler);
+		dispatcher.setAlwaysDispatchingImmediately(true);
+		selectors = new ArrayList<>(listeners);
+		for (int li = 0; li < listeners; li++) {
+			final String channel = ((li % WILDCARD_EVERY) == 0)
+					? (li / WILDCARD_EVERY) + "\\d"
+					: String.valueOf(li);
+			selectors.add(new JavaRegexAddressMessageSelector("/channel/" + channel + "/volume"));
+		}
+		for (int li = 0; li < SUFFIX_ONLY; li++) {
+			selectors.add(new JavaRegexAddressMessageSelector(".*/volume"));
+		}
+		for (final JavaRegexAddressMessageSelector selector : selectors) {
+			dispatcher.addListener(selector, blackhole::consume);
+		}
+
+		final OSCMessage message = new OSCMessage(
+				"/channel/" + (listeners / 2) + "/volume",
+				Collections.singletonList(0.5f));
+		packetEvent = new OSCPacketEvent(this, message);
+		messageEvent = new OSCMessageEvent(this, null, message);
+	}
+
+	@TearDown
+	public void tearDown() {
+		dispatchScheduler.shutdownNow();
+	}
+
+	@Benchmark
+	public void indexed() {
+		dispatcher.handlePacket(packetEvent);
+	}
+
+	@Benchmark
+	public void oneByOne(final Blackhole blackhole) {
+
+		for (final JavaRegexAddressMessageSelector selector : selectors) {
+			if (selector.matches(messageEvent)) {
+				blackhole.consume(messageEvent);
+			}
+		}
+	}
+}
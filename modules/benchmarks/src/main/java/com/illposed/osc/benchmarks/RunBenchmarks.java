@@ -0,0 +1,48 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import java.io.IOException;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs JMH with the given command-line arguments,
+ * always adding the allocation profiler,
+ * as allocation rates are as important as timings for our hot paths.
+ * Informational options like {@code -l} and {@code -h}
+ * are passed on to the plain JMH main method.
+ */
+public final class RunBenchmarks {
+
+	private RunBenchmarks() {
+		// utility class
+	}
+
+	public static void main(final String[] args)
+			throws CommandLineOptionException, RunnerException, IOException
+	{
+		final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		if (commandLineOptions.shouldHelp()
+				|| commandLineOptions.shouldList()
+				|| commandLineOptions.shouldListWithParams()
+				|| commandLineOptions.shouldListProfilers()
+				|| commandLineOptions.shouldListResultFormats())
+		{
+			Main.main(args);
+			return;
+		}
+		new Runner(new OptionsBuilder()
+				.parent(commandLineOptions)
+				.addProfiler(GCProfiler.class)
+				.build())
+				.run();
+	}
+}
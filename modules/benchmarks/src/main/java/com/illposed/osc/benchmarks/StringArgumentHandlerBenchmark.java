@@ -0,0 +1,107 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.BufferBytesReceiver;
+import com.illposed.osc.OSCParseException;
+import com.illposed.osc.OSCParser;
+import com.illposed.osc.argument.handler.StringArgumentHandler;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing and serializing of OSC strings,
+ * as found in the address of every message.
+ * The {@code *Baseline} methods decode and encode the way it was done
+ * before the ASCII fast-path, to show the difference.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StringArgumentHandlerBenchmark {
+
+	@Param({
+		"/1/fader",
+		"/mixer/channel/3/volume",
+		"/composition/layers/12/clips/3/video/effects/transform/rotation",
+		"/äöü/non/ascii"
+	})
+	private String value;
+
+	private final Charset charset = StandardCharsets.UTF_8;
+	private StringArgumentHandler handler;
+	private ByteBuffer serialized;
+	private ByteBuffer output;
+	private BufferBytesReceiver outputReceiver;
+
+	@Setup
+	public void setUp() {
+
+		handler = new StringArgumentHandler(charset);
+		output = ByteBuffer.allocate(MessageMix.BUFFER_SIZE);
+		outputReceiver = new BufferBytesReceiver(output);
+		handler.serialize(outputReceiver, value);
+		serialized = output.duplicate().flip();
+	}
+
+	@Benchmark
+	public String parse() throws OSCParseException {
+
+		serialized.rewind();
+		return handler.parse(serialized);
+	}
+
+	@Benchmark
+	public String parseBaseline() throws CharacterCodingException {
+
+		serialized.rewind();
+		int strLen = 0;
+		while (serialized.get(serialized.position() + strLen) != 0) {
+			strLen++;
+		}
+		final ByteBuffer strBuffer = serialized.slice();
+		strBuffer.limit(strLen);
+		final String res = charset.newDecoder().decode(strBuffer).toString();
+		serialized.position(serialized.position() + strLen + 1);
+		OSCParser.align(serialized);
+		return res;
+	}
+
+	@Benchmark
+	public int serialize() {
+
+		output.clear();
+		handler.serialize(outputReceiver, value);
+		return output.position();
+	}
+
+	@Benchmark
+	public int serializeBaseline() {
+
+		output.clear();
+		output.put(value.getBytes(charset));
+		do {
+			output.put((byte) 0);
+		} while ((output.position() % OSCParser.ALIGNMENT_BYTES) != 0);
+		return output.position();
+	}
+}
@@ -0,0 +1,73 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.BufferBytesReceiver;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.OSCSerializer;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.OSCSerializerEngine;
+import com.illposed.osc.TypeTagSignatureCache;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares generating the type tags string of a message,
+ * as done by the dispatcher for messages lacking meta-info,
+ * through a {@link TypeTagSignatureCache} against serializing and decoding them each time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TypeTagSignatureCacheBenchmark {
+
+	@Param({"CONTROL", "NOTE", "METER"})
+	private MessageMix mix;
+
+	private List<?> arguments;
+	private TypeTagSignatureCache cache;
+	private ByteBuffer buffer;
+	private OSCSerializer serializer;
+
+	@Setup
+	public void setUp() {
+
+		arguments = ((OSCMessage) mix.createPacket()).getArguments();
+		final OSCSerializerEngine engine = new OSCSerializerAndParserBuilder().buildSerializerEngine();
+		cache = new TypeTagSignatureCache(engine, StandardCharsets.UTF_8);
+		buffer = ByteBuffer.allocate(MessageMix.BUFFER_SIZE);
+		serializer = engine.createSerializer(new BufferBytesReceiver(buffer));
+	}
+
+	@Benchmark
+	public CharSequence cached() throws OSCSerializeException {
+		return cache.getTypeTags(arguments);
+	}
+
+	@Benchmark
+	public CharSequence serialized() throws OSCSerializeException {
+
+		serializer.writeOnlyTypeTags(arguments);
+		buffer.flip();
+		return new String(OSCSerializer.toByteArray(buffer), StandardCharsets.UTF_8);
+	}
+}
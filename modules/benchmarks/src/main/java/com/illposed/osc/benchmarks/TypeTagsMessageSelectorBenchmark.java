@@ -0,0 +1,90 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCMessageEvent;
+import com.illposed.osc.OSCMessageInfo;
+import com.illposed.osc.messageselector.JavaRegexTypeTagsMessageSelector;
+import com.illposed.osc.messageselector.OSCPatternAddressMessageSelector;
+import com.illposed.osc.messageselector.OSCPatternTypeTagsMessageSelector;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures matching the <i>Argument Type Tags</i> of a message,
+ * with the same (interned) type tags string each time,
+ * and with a {@code StringBuilder}, for which results are never remembered.
+ * The plain string matcher is the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TypeTagsMessageSelectorBenchmark {
+
+	@Param({"i[if]*f", "{ffff,ffii}"})
+	private String pattern;
+
+	private OSCPatternTypeTagsMessageSelector patternSelector;
+	private JavaRegexTypeTagsMessageSelector regexSelector;
+	private OSCMessageEvent internedEvent;
+	private OSCMessageEvent unmemoizedEvent;
+
+	private OSCMessageEvent createEvent(final CharSequence typeTags) {
+
+		final OSCMessage message = new OSCMessage("/synth/voice");
+		message.setInfo(new OSCMessageInfo(typeTags));
+		return new OSCMessageEvent(this, null, message);
+	}
+
+	@Setup
+	public void setUp() {
+
+		patternSelector = new OSCPatternTypeTagsMessageSelector(pattern);
+		regexSelector = new JavaRegexTypeTagsMessageSelector("i[if].*f");
+		internedEvent = createEvent("iffiiiff");
+		unmemoizedEvent = createEvent(new StringBuilder("iffiiiff"));
+	}
+
+	@Benchmark
+	public boolean stringMatcher() {
+		return OSCPatternAddressMessageSelector.matches(
+				internedEvent.getMessage().getInfo().getArgumentTypeTags().toString(),
+				pattern);
+	}
+
+	@Benchmark
+	public boolean patternInterned() {
+		return patternSelector.matches(internedEvent);
+	}
+
+	@Benchmark
+	public boolean patternUnmemoized() {
+		return patternSelector.matches(unmemoizedEvent);
+	}
+
+	@Benchmark
+	public boolean regexInterned() {
+		return regexSelector.matches(internedEvent);
+	}
+
+	@Benchmark
+	public boolean regexUnmemoized() {
+		return regexSelector.matches(unmemoizedEvent);
+	}
+}
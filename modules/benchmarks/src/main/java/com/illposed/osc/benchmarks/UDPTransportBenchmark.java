@@ -0,0 +1,89 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.benchmarks;
+
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCParseException;
+import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.transport.udp.UDPTransport;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full trip of a packet through the loopback interface:
+ * serializing, sending, receiving and parsing it.
+ * Sending and receiving happen on the same thread,
+ * so this measures latency, not maximum throughput.
+ * The sending half is also measured on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UDPTransportBenchmark {
+
+	private static final int SENDER_PORT = 47110;
+	private static final int RECEIVER_PORT = 47111;
+
+	@Param
+	private MessageMix mix;
+
+	private UDPTransport sender;
+	private UDPTransport receiver;
+	private OSCPacket packet;
+
+	@Setup
+	public void setUp() throws IOException {
+
+		final SocketAddress senderAddress
+				= new InetSocketAddress(InetAddress.getLoopbackAddress(), SENDER_PORT);
+		final SocketAddress receiverAddress
+				= new InetSocketAddress(InetAddress.getLoopbackAddress(), RECEIVER_PORT);
+		sender = new UDPTransport(senderAddress, receiverAddress);
+		receiver = new UDPTransport(receiverAddress, senderAddress);
+		packet = mix.createPacket();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+
+		sender.close();
+		receiver.close();
+	}
+
+	@Benchmark
+	public OSCPacket sendAndReceive()
+			throws IOException, OSCSerializeException, OSCParseException
+	{
+		sender.send(packet);
+		return receiver.receive();
+	}
+
+	/**
+	 * Only serializes and sends the packet.
+	 * The receiver never reads, so the OS drops what does not fit into its buffer.
+	 */
+	@Benchmark
+	public void send() throws IOException, OSCSerializeException {
+		sender.send(packet);
+	}
+}
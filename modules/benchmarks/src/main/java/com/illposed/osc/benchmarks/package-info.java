@@ -0,0 +1,17 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+/**
+ * JMH benchmarks of the hot paths of JavaOSC.
+ * Build with {@code mvn package}, then run all of them with:
+ * <blockquote><pre>{@code
+ * java -jar modules/benchmarks/target/benchmarks.jar
+ * }</pre></blockquote>
+ * or a selection of them with a regular expression, for example:
+ * <blockquote><pre>{@code
+ * java -jar modules/benchmarks/target/benchmarks.jar 'OSCParser.*'
+ * }</pre></blockquote>
+ * The allocation profiler ({@code -prof gc}) is always enabled.
+ */
+package com.illposed.osc.benchmarks;
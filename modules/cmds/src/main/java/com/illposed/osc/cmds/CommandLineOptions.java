@@ -0,0 +1,69 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.cmds;
+
+import com.illposed.osc.transport.NetworkProtocol;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses command-line arguments of the form {@code --name=value}.
+ */
+class CommandLineOptions {
+
+	private static final String PREFIX = "--";
+	private static final char SEPARATOR = '=';
+
+	private final Map<String, String> options;
+
+	CommandLineOptions(final String[] args) {
+
+		this.options = new HashMap<>();
+		for (final String arg : args) {
+			final int separatorIdx = arg.indexOf(SEPARATOR);
+			if (!arg.startsWith(PREFIX) || (separatorIdx < 0)) {
+				throw new IllegalArgumentException(
+						"Invalid argument \"" + arg + "\"; expected " + PREFIX + "name=value");
+			}
+			options.put(arg.substring(PREFIX.length(), separatorIdx), arg.substring(separatorIdx + 1));
+		}
+	}
+
+	String getString(final String name, final String defaultValue) {
+		return options.getOrDefault(name, defaultValue);
+	}
+
+	int getInt(final String name, final int defaultValue) {
+
+		final String value = options.get(name);
+		return (value == null) ? defaultValue : Integer.parseInt(value);
+	}
+
+	double getDouble(final String name, final double defaultValue) {
+
+		final String value = options.get(name);
+		return (value == null) ? defaultValue : Double.parseDouble(value);
+	}
+
+	List<String> getList(final String name, final String defaultValue) {
+		return Arrays.asList(getString(name, defaultValue).split(","));
+	}
+
+	NetworkProtocol getProtocol(final String name, final NetworkProtocol defaultValue) {
+
+		final String value = options.get(name);
+		return (value == null)
+				? defaultValue
+				: NetworkProtocol.valueOf(value.toUpperCase(Locale.ROOT));
+	}
+
+	SocketAddress getSocketAddress(final String name, final String defaultValue) {
+		return OSCRouter.parseSocketAddress(getString(name, defaultValue));
+	}
+}
@@ -0,0 +1,278 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.cmds;
+
+import com.illposed.osc.OSCBundle;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.argument.OSCTimeTag64;
+import com.illposed.osc.transport.NetworkProtocol;
+import com.illposed.osc.transport.OSCPortIn;
+import com.illposed.osc.transport.OSCPortOut;
+import com.illposed.osc.transport.OSCPortOutBuilder;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends a configurable mix of OSC messages as fast as possible,
+ * or at a given rate, to measure what an OSC endpoint can sustain.
+ * Use {@link OSCLoadSink} on the receiving side.
+ *
+ * Each message carries three leading arguments,
+ * which allow the sink to detect loss and reordering, and to measure latency:
+ * the sender thread index ({@code int}), a per sender sequence number ({@code long}),
+ * and the send time, either as {@link System#nanoTime()} ({@code long})
+ * or as an OSC time-tag of the wall-clock time.
+ * They are followed by the configured payload arguments.
+ *
+ * Usage:
+ * <blockquote><pre>{@code
+ * OSCLoadGenerator [--option=value] ...
+ * }</pre></blockquote>
+ * Options:
+ * <ul>
+ * <li>{@code --target=[host:]port} where to send to (default: {@code 7770})</li>
+ * <li>{@code --protocol=udp|tcp|local} how to send; with {@code local},
+ *   a sink is run in this process (default: {@code udp})</li>
+ * <li>{@code --threads=N} number of sender threads (default: {@code 1})</li>
+ * <li>{@code --rate=R} messages per second over all threads,
+ *   {@code 0} for unlimited (default: {@code 0})</li>
+ * <li>{@code --duration=S} how many seconds to send for (default: {@code 10})</li>
+ * <li>{@code --addresses=/a,/b/c} addresses to use in turn (default: {@code /load})</li>
+ * <li>{@code --types=ifs} payload argument type tags,
+ *   each of {@code i f h d s b} (default: empty)</li>
+ * <li>{@code --string-size=N} characters per string argument (default: {@code 16})</li>
+ * <li>{@code --blob-size=N} bytes per blob argument (default: {@code 64})</li>
+ * <li>{@code --bundle-size=N} messages per bundle,
+ *   {@code 0} to send plain messages (default: {@code 0})</li>
+ * <li>{@code --bundle-depth=N} bundle nesting levels (default: {@code 1})</li>
+ * <li>{@code --clock=nano|wall} how to embed the send time (default: {@code nano})</li>
+ * </ul>
+ */
+public class OSCLoadGenerator {
+
+	static final int ARG_INDEX_SENDER = 0;
+	static final int ARG_INDEX_SEQUENCE = 1;
+	static final int ARG_INDEX_SENT_TIME = 2;
+	private static final String CLOCK_WALL = "wall";
+
+	private final Logger log = LoggerFactory.getLogger(OSCLoadGenerator.class);
+
+	private final SocketAddress target;
+	private final NetworkProtocol protocol;
+	private final int numThreads;
+	private final double rate;
+	private final long durationNanos;
+	private final List<String> addresses;
+	private final List<Object> payload;
+	private final int bundleSize;
+	private final int bundleDepth;
+	private final boolean wallClock;
+	private final LongAdder messagesSent;
+	private final LongAdder sendFailures;
+
+	private final class Sender implements Runnable {
+
+		private final int index;
+		private final OSCPortOut port;
+		private final long intervalNanos;
+		private long sequence;
+		private int addressIndex;
+
+		Sender(final int index, final OSCPortOut port) {
+
+			this.index = index;
+			this.port = port;
+			this.intervalNanos = (rate > 0)
+					? (long) (TimeUnit.SECONDS.toNanos(1) * numThreads / rate)
+					: 0;
+			this.sequence = 0;
+			this.addressIndex = index % addresses.size();
+		}
+
+		private OSCMessage createMessage() {
+
+			final List<Object> arguments = new ArrayList<>(ARG_INDEX_SENT_TIME + 1 + payload.size());
+			arguments.add(index);
+			arguments.add(sequence++);
+			arguments.add(wallClock
+					? OSCTimeTag64.valueOf(Instant.now())
+					: (Object) System.nanoTime());
+			arguments.addAll(payload);
+			final String address = addresses.get(addressIndex);
+			addressIndex = (addressIndex + 1) % addresses.size();
+			return new OSCMessage(address, arguments);
+		}
+
+		private OSCPacket createPacket() {
+
+			if (bundleSize == 0) {
+				return createMessage();
+			}
+			final List<OSCPacket> messages = new ArrayList<>(bundleSize);
+			for (int mi = 0; mi < bundleSize; mi++) {
+				messages.add(createMessage());
+			}
+			OSCPacket packet = new OSCBundle(messages);
+			for (int level = 1; level < bundleDepth; level++) {
+				packet = new OSCBundle(Collections.singletonList(packet));
+			}
+			return packet;
+		}
+
+		@Override
+		public void run() {
+
+			final int messagesPerPacket = Math.max(1, bundleSize);
+			final long startNanos = System.nanoTime();
+			final long endNanos = startNanos + durationNanos;
+			long nextNanos = startNanos;
+			long now = startNanos;
+			while (now < endNanos) {
+				if (intervalNanos > 0) {
+					while (nextNanos > now) {
+						LockSupport.parkNanos(nextNanos - now);
+						now = System.nanoTime();
+					}
+					nextNanos += intervalNanos * messagesPerPacket;
+				}
+				try {
+					port.send(createPacket());
+					messagesSent.add(messagesPerPacket);
+				} catch (final IOException | OSCSerializeException ex) {
+					sendFailures.increment();
+					log.debug("Failed to send", ex);
+				}
+				now = System.nanoTime();
+			}
+		}
+	}
+
+	OSCLoadGenerator(final CommandLineOptions options) {
+
+		this.target = options.getSocketAddress(
+				"target", String.valueOf(ConsoleEchoServer.DEFAULT_PORT));
+		this.protocol = options.getProtocol("protocol", NetworkProtocol.UDP);
+		this.numThreads = options.getInt("threads", 1);
+		this.rate = options.getDouble("rate", 0.0);
+		this.durationNanos = (long) (options.getDouble("duration", 10.0)
+				* TimeUnit.SECONDS.toNanos(1));
+		this.addresses = options.getList("addresses", "/load");
+		this.payload = createPayload(
+				options.getString("types", ""),
+				options.getInt("string-size", 16),
+				options.getInt("blob-size", 64));
+		this.bundleSize = options.getInt("bundle-size", 0);
+		this.bundleDepth = options.getInt("bundle-depth", 1);
+		this.wallClock = CLOCK_WALL.equals(options.getString("clock", "nano"));
+		this.messagesSent = new LongAdder();
+		this.sendFailures = new LongAdder();
+	}
+
+	private static List<Object> createPayload(
+			final String typeTags,
+			final int stringSize,
+			final int blobSize)
+	{
+		final List<Object> arguments = new ArrayList<>(typeTags.length());
+		for (final char typeTag : typeTags.toCharArray()) {
+			switch (typeTag) {
+				case 'i':
+					arguments.add(42);
+					break;
+				case 'f':
+					arguments.add(4.2f);
+					break;
+				case 'h':
+					arguments.add(42L);
+					break;
+				case 'd':
+					arguments.add(4.2);
+					break;
+				case 's':
+					final char[] chars = new char[stringSize];
+					Arrays.fill(chars, 'x');
+					arguments.add(new String(chars));
+					break;
+				case 'b':
+					arguments.add(new byte[blobSize]);
+					break;
+				default:
+					throw new IllegalArgumentException("Unsupported argument type: " + typeTag);
+			}
+		}
+		return Collections.unmodifiableList(arguments);
+	}
+
+	/**
+	 * Sends messages from all sender threads for the configured duration.
+	 * @throws IOException if creating the ports fails
+	 * @throws InterruptedException if interrupted while waiting for the senders to finish
+	 */
+	public void run() throws IOException, InterruptedException {
+
+		final List<OSCPortOut> ports = new ArrayList<>(numThreads);
+		final List<Thread> threads = new ArrayList<>(numThreads);
+		try {
+			for (int ti = 0; ti < numThreads; ti++) {
+				final OSCPortOut port = new OSCPortOutBuilder()
+						.setRemoteSocketAddress(target)
+						.setNetworkProtocol(protocol)
+						.build();
+				ports.add(port);
+				threads.add(new Thread(new Sender(ti, port), "OSC-load-sender-" + ti));
+			}
+			final long startNanos = System.nanoTime();
+			for (final Thread thread : threads) {
+				thread.start();
+			}
+			for (final Thread thread : threads) {
+				thread.join();
+			}
+			final double seconds = (System.nanoTime() - startNanos)
+					/ (double) TimeUnit.SECONDS.toNanos(1);
+			log.info("# Sent {} messages in {} seconds ({}/s), {} send failures",
+					messagesSent.sum(), String.format("%.2f", seconds),
+					Math.round(messagesSent.sum() / seconds), sendFailures.sum());
+		} finally {
+			for (final OSCPortOut port : ports) {
+				port.close();
+			}
+		}
+	}
+
+	public static void main(final String[] args) throws IOException, InterruptedException {
+
+		final Logger log = LoggerFactory.getLogger(OSCLoadGenerator.class);
+		final OSCLoadGenerator generator = new OSCLoadGenerator(new CommandLineOptions(args));
+
+		OSCLoadSink localSink = null;
+		OSCPortIn localPort = null;
+		if (generator.protocol == NetworkProtocol.LOCAL) {
+			// a local transport is only reachable from within the same process
+			localSink = new OSCLoadSink();
+			localPort = OSCLoadSink.listen(localSink, generator.target, NetworkProtocol.LOCAL);
+		}
+		log.info("# Sending OSC load to {} via {} ...", generator.target, generator.protocol);
+		generator.run();
+		if (localPort != null) {
+			// give the receiver a moment to drain its queue
+			Thread.sleep(TimeUnit.SECONDS.toMillis(1));
+			localPort.close();
+			localSink.reportTotal();
+		}
+	}
+}
@@ -0,0 +1,332 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.cmds;
+
+import com.illposed.osc.OSCMessageEvent;
+import com.illposed.osc.OSCMessageListener;
+import com.illposed.osc.argument.OSCTimeTag64;
+import com.illposed.osc.messageselector.JavaRegexAddressMessageSelector;
+import com.illposed.osc.transport.NetworkProtocol;
+import com.illposed.osc.transport.OSCPortIn;
+import com.illposed.osc.transport.OSCPortInBuilder;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Receives the messages sent by {@link OSCLoadGenerator},
+ * and measures the received rate, loss, reordering and one-way latency.
+ * Latency is measured with the time embedded in each message,
+ * which is either a {@link System#nanoTime()} value,
+ * only meaningful if generator and sink run on the same host,
+ * or an OSC time-tag of the wall-clock time,
+ * which requires synchronized clocks across hosts.
+ * Messages that arrive more than once are counted as duplicates,
+ * and do not affect loss or reordering.
+ *
+ * Usage:
+ * <blockquote><pre>{@code
+ * OSCLoadSink [--listen=[host:]port] [--protocol=udp|tcp] [--report-interval=seconds]
+ * }</pre></blockquote>
+ */
+public class OSCLoadSink implements OSCMessageListener {
+
+	private static final int LATENCY_SIGNIFICANT_DIGITS = 3;
+	private static final double[] REPORTED_PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+	private static final double NANOS_PER_MICRO = 1000.0;
+
+	private final Logger log = LoggerFactory.getLogger(OSCLoadSink.class);
+
+	private final Recorder latencyRecorder;
+	private final Histogram totalLatency;
+	private final Map<Integer, SequenceWindow> sequenceWindows;
+	private final Object reportLock;
+	private Histogram intervalLatency;
+	private long intervalStartNanos;
+	private long intervalReceived;
+	private long received;
+	private long lost;
+	private long reordered;
+	private long duplicates;
+	private long foreign;
+
+	/**
+	 * Remembers which of the most recent sequence numbers of a single sender were received.
+	 */
+	private static final class SequenceWindow {
+
+		/**
+		 * How many sequence numbers below the highest one received are remembered.
+		 * Older ones can no longer be told apart from duplicates,
+		 * and are counted as such.
+		 */
+		static final int SIZE = 4096;
+
+		private final long[] received;
+		private long max;
+
+		SequenceWindow() {
+
+			this.received = new long[SIZE / Long.SIZE];
+			this.max = -1;
+		}
+
+		private void set(final long sequence, final boolean value) {
+
+			final int index = (int) (sequence & (SIZE - 1));
+			final long bit = 1L << (index & (Long.SIZE - 1));
+			if (value) {
+				received[index / Long.SIZE] |= bit;
+			} else {
+				received[index / Long.SIZE] &= ~bit;
+			}
+		}
+
+		private boolean get(final long sequence) {
+
+			final int index = (int) (sequence & (SIZE - 1));
+			return (received[index / Long.SIZE] & (1L << (index & (Long.SIZE - 1)))) != 0;
+		}
+
+		/**
+		 * Moves the window up to a new highest sequence number.
+		 * @param sequence higher than all received before
+		 * @return how many sequence numbers got skipped
+		 */
+		long advance(final long sequence) {
+
+			final long skipped = sequence - max - 1;
+			if (skipped >= SIZE) {
+				Arrays.fill(received, 0L);
+			} else {
+				for (long missing = max + 1; missing < sequence; missing++) {
+					set(missing, false);
+				}
+			}
+			set(sequence, true);
+			max = sequence;
+			return skipped;
+		}
+
+		/**
+		 * Marks a sequence number lower than the highest one as received.
+		 * @param sequence lower than the highest one received before
+		 * @return {@code true} if it was missing up to now,
+		 *   {@code false} if it was received before, or is too old to tell
+		 */
+		boolean fill(final long sequence) {
+
+			if ((sequence <= max - SIZE) || (sequence < 0) || get(sequence)) {
+				return false;
+			}
+			set(sequence, true);
+			return true;
+		}
+
+		long getMax() {
+			return max;
+		}
+	}
+
+	public OSCLoadSink() {
+
+		this.latencyRecorder = new Recorder(LATENCY_SIGNIFICANT_DIGITS);
+		this.totalLatency = new Histogram(LATENCY_SIGNIFICANT_DIGITS);
+		this.sequenceWindows = new HashMap<>();
+		this.reportLock = new Object();
+		this.intervalLatency = null;
+		this.intervalStartNanos = System.nanoTime();
+	}
+
+	private static long latencyNanos(final Object sentTime) {
+
+		final long latency;
+		if (sentTime instanceof Long) {
+			latency = System.nanoTime() - (Long) sentTime;
+		} else if (sentTime instanceof OSCTimeTag64) {
+			latency = Duration.between(((OSCTimeTag64) sentTime).toInstant(), Instant.now())
+					.toNanos();
+		} else {
+			latency = -1;
+		}
+		return latency;
+	}
+
+	@Override
+	public void acceptMessage(final OSCMessageEvent event) {
+
+		final List<Object> arguments = event.getMessage().getArguments();
+		if ((arguments.size() <= OSCLoadGenerator.ARG_INDEX_SENT_TIME)
+				|| !(arguments.get(OSCLoadGenerator.ARG_INDEX_SENDER) instanceof Integer)
+				|| !(arguments.get(OSCLoadGenerator.ARG_INDEX_SEQUENCE) instanceof Long))
+		{
+			synchronized (this) {
+				foreign++;
+			}
+			return;
+		}
+		final long latency = latencyNanos(arguments.get(OSCLoadGenerator.ARG_INDEX_SENT_TIME));
+		if (latency >= 0) {
+			latencyRecorder.recordValue(latency);
+		}
+
+		final Integer sender = (Integer) arguments.get(OSCLoadGenerator.ARG_INDEX_SENDER);
+		final long sequence = (Long) arguments.get(OSCLoadGenerator.ARG_INDEX_SEQUENCE);
+		synchronized (this) {
+			received++;
+			intervalReceived++;
+			final SequenceWindow window
+					= sequenceWindows.computeIfAbsent(sender, key -> new SequenceWindow());
+			if (sequence > window.getMax()) {
+				lost += window.advance(sequence);
+			} else if (window.fill(sequence)) {
+				// this one was counted as lost before
+				reordered++;
+				lost--;
+			} else {
+				duplicates++;
+			}
+		}
+	}
+
+	public synchronized long getReceived() {
+		return received;
+	}
+
+	public synchronized long getLost() {
+		return lost;
+	}
+
+	public synchronized long getReordered() {
+		return reordered;
+	}
+
+	public synchronized long getDuplicates() {
+		return duplicates;
+	}
+
+	private static String formatLatencies(final Histogram histogram) {
+
+		final StringBuilder formatted = new StringBuilder();
+		for (final double percentile : REPORTED_PERCENTILES) {
+			formatted.append(String.format(" p%s=%.1fus", percentile,
+					histogram.getValueAtPercentile(percentile) / NANOS_PER_MICRO));
+		}
+		formatted.append(String.format(" max=%.1fus", histogram.getMaxValue() / NANOS_PER_MICRO));
+		return formatted.toString();
+	}
+
+	/**
+	 * Logs the statistics of the interval since the last report.
+	 * Received messages are only blocked while the counters are read,
+	 * not while the report is put together.
+	 */
+	public void reportInterval() {
+
+		synchronized (reportLock) {
+			final long now = System.nanoTime();
+			intervalLatency = latencyRecorder.getIntervalHistogram(intervalLatency);
+			totalLatency.add(intervalLatency);
+			final long intervalCount;
+			final long lostTotal;
+			final long reorderedTotal;
+			final long duplicatesTotal;
+			synchronized (this) {
+				intervalCount = intervalReceived;
+				intervalReceived = 0;
+				lostTotal = lost;
+				reorderedTotal = reordered;
+				duplicatesTotal = duplicates;
+			}
+			final double seconds
+					= (now - intervalStartNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+			intervalStartNanos = now;
+			log.info("rate={}/s lost={} reordered={} duplicates={} latency:{}",
+					Math.round(intervalCount / seconds), lostTotal, reorderedTotal,
+					duplicatesTotal, formatLatencies(intervalLatency));
+		}
+	}
+
+	/**
+	 * Logs the statistics since the start.
+	 */
+	public void reportTotal() {
+
+		synchronized (reportLock) {
+			reportInterval();
+			final long receivedTotal;
+			final long lostTotal;
+			final long reorderedTotal;
+			final long duplicatesTotal;
+			final long foreignTotal;
+			synchronized (this) {
+				receivedTotal = received;
+				lostTotal = lost;
+				reorderedTotal = reordered;
+				duplicatesTotal = duplicates;
+				foreignTotal = foreign;
+			}
+			log.info("# Total: received={} lost={} reordered={} duplicates={} foreign={} latency:{}",
+					receivedTotal, lostTotal, reorderedTotal, duplicatesTotal, foreignTotal,
+					formatLatencies(totalLatency));
+		}
+	}
+
+	/**
+	 * Creates a port that feeds all received messages to a sink.
+	 * @param sink where to feed the messages to
+	 * @param listenAddress where to listen for the messages
+	 * @param protocol how to receive the messages
+	 * @return a port that is already listening
+	 * @throws IOException if creating the port fails
+	 */
+	static OSCPortIn listen(
+			final OSCLoadSink sink,
+			final SocketAddress listenAddress,
+			final NetworkProtocol protocol)
+			throws IOException
+	{
+		final OSCPortIn port = new OSCPortInBuilder()
+				.setLocalSocketAddress(listenAddress)
+				.setNetworkProtocol(protocol)
+				.build();
+		port.getDispatcher().setAlwaysDispatchingImmediately(true);
+		port.getDispatcher().addListener(new JavaRegexAddressMessageSelector(".*"), sink);
+		port.setResilient(true);
+		port.setDaemonListener(false);
+		port.startListening();
+		return port;
+	}
+
+	public static void main(final String[] args) throws IOException, InterruptedException {
+
+		final Logger log = LoggerFactory.getLogger(OSCLoadSink.class);
+		final CommandLineOptions options = new CommandLineOptions(args);
+		final SocketAddress listenAddress = options.getSocketAddress(
+				"listen", String.valueOf(ConsoleEchoServer.DEFAULT_PORT));
+		final NetworkProtocol protocol = options.getProtocol("protocol", NetworkProtocol.UDP);
+		final long reportIntervalMs = (long) (options.getDouble("report-interval", 1.0)
+				* TimeUnit.SECONDS.toMillis(1));
+
+		final OSCLoadSink sink = new OSCLoadSink();
+		final OSCPortIn port = listen(sink, listenAddress, protocol);
+		Runtime.getRuntime().addShutdownHook(new Thread(sink::reportTotal));
+		log.info("# Measuring OSC load received via {} ...", port.getTransport());
+		while (port.isListening()) {
+			Thread.sleep(reportIntervalMs);
+			sink.reportInterval();
+		}
+	}
+}
@@ -0,0 +1,71 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.cmds;
+
+import com.illposed.osc.capture.PacketCaptureWriter;
+import com.illposed.osc.capture.PacketRecorder;
+import com.illposed.osc.transport.OSCPortIn;
+import com.illposed.osc.transport.OSCPortInBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+/**
+ * Records all OSC packets received via UDP to a capture file,
+ * until the process gets terminated.
+ * The packets are recorded in raw form, before parsing,
+ * so even malformed ones end up in the capture.
+ * Use {@link OSCReplay} to replay them.
+ *
+ * Usage:
+ * <blockquote><pre>{@code
+ * OSCRecord [listen-host:]listen-port capture-file
+ * }</pre></blockquote>
+ */
+public final class OSCRecord {
+
+	private static final int NUM_ARGS = 2;
+	private static final int ARG_INDEX_LISTEN = 0;
+	private static final int ARG_INDEX_FILE = 1;
+
+	private OSCRecord() {
+		// utility class
+	}
+
+	public static void main(final String[] args) throws IOException {
+
+		final Logger log = LoggerFactory.getLogger(OSCRecord.class);
+		if (args.length != NUM_ARGS) {
+			log.error("Usage: {} [listen-host:]listen-port capture-file",
+					OSCRecord.class.getSimpleName());
+			System.exit(1);
+		}
+		final PacketRecorder recorder = new PacketRecorder(
+				new PacketCaptureWriter(Paths.get(args[ARG_INDEX_FILE])));
+		final OSCPortIn port = new OSCPortInBuilder()
+				.setLocalSocketAddress(OSCRouter.parseSocketAddress(args[ARG_INDEX_LISTEN]))
+				.setPacketListeners(new ArrayList<>())
+				.build();
+		port.setRawPacketListener(recorder);
+		// nobody is interested in the parsed packets
+		port.setAddressFilter((data, offset, length) -> false);
+		port.setResilient(true);
+		port.setDaemonListener(false);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				port.close();
+				recorder.close();
+				log.info("# Recorded {} packets", recorder.getWriter().getPacketsWritten());
+			} catch (final IOException ex) {
+				log.error("Failed to close the capture file", ex);
+			}
+		}));
+		port.startListening();
+		log.info("# Recording OSC packets received on {} to {} ...",
+				args[ARG_INDEX_LISTEN], args[ARG_INDEX_FILE]);
+	}
+}
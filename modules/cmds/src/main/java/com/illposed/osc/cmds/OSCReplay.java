@@ -0,0 +1,176 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.cmds;
+
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCParseException;
+import com.illposed.osc.OSCParser;
+import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.capture.CapturedPacket;
+import com.illposed.osc.capture.PacketCaptureReader;
+import com.illposed.osc.transport.NetworkProtocol;
+import com.illposed.osc.transport.OSCPortOut;
+import com.illposed.osc.transport.OSCPortOutBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-sends the OSC traffic from a capture file through an {@link OSCPortOut},
+ * for example to load-test an {@link com.illposed.osc.transport.OSCPortIn} offline.
+ * See {@link com.illposed.osc.capture.PacketRecorder} and {@link OSCRecord}
+ * for how to create capture files.
+ *
+ * Usage:
+ * <blockquote><pre>{@code
+ * OSCReplay capture-file host:port [speed|asap] [udp|tcp]
+ * }</pre></blockquote>
+ * A speed of {@code 1} (the default) replays with the original timing,
+ * {@code 2} twice as fast, {@code 0.5} at half speed,
+ * and {@code asap} sends all packets as fast as possible.
+ */
+public class OSCReplay {
+
+	private static final int MIN_ARGS = 2;
+	private static final int ARG_INDEX_FILE = 0;
+	private static final int ARG_INDEX_TARGET = 1;
+	private static final int ARG_INDEX_SPEED = 2;
+	private static final int ARG_INDEX_PROTOCOL = 3;
+	private static final String SPEED_ASAP = "asap";
+
+	private final Logger log = LoggerFactory.getLogger(OSCReplay.class);
+
+	private final Path captureFile;
+	private final OSCPortOut port;
+	private final double speed;
+	private final OSCParser parser;
+	private long packetsSent;
+	private long packetsSkipped;
+	private long maxLagNanos;
+
+	/**
+	 * Creates a replayer.
+	 * @param captureFile the capture file to read the packets from
+	 * @param port where to send the packets to
+	 * @param speed replay speed factor relative to the original timing,
+	 *   or {@code 0} to send as fast as possible
+	 */
+	public OSCReplay(final Path captureFile, final OSCPortOut port, final double speed) {
+
+		if (speed < 0) {
+			throw new IllegalArgumentException("Speed may not be negative: " + speed);
+		}
+		this.captureFile = captureFile;
+		this.port = port;
+		this.speed = speed;
+		this.parser = new OSCSerializerAndParserBuilder().buildParser();
+	}
+
+	public long getPacketsSent() {
+		return packetsSent;
+	}
+
+	public long getPacketsSkipped() {
+		return packetsSkipped;
+	}
+
+	/**
+	 * Returns how late the most delayed packet was sent,
+	 * compared to its scheduled time.
+	 * @return the maximum lag in nanoseconds
+	 */
+	public long getMaxLagNanos() {
+		return maxLagNanos;
+	}
+
+	private void waitUntil(final long dueNanoTime) {
+
+		long remaining = dueNanoTime - System.nanoTime();
+		while (remaining > 0) {
+			LockSupport.parkNanos(remaining);
+			remaining = dueNanoTime - System.nanoTime();
+		}
+		maxLagNanos = Math.max(maxLagNanos, -remaining);
+	}
+
+	/**
+	 * Replays all the packets in the capture file.
+	 * Packets that fail to parse or serialize are skipped.
+	 * @throws IOException if reading the capture file or sending fails
+	 */
+	public void replay() throws IOException {
+
+		try (PacketCaptureReader reader = new PacketCaptureReader(captureFile)) {
+			final long startNanoTime = System.nanoTime();
+			long firstTimestamp = 0;
+			boolean first = true;
+			CapturedPacket captured = reader.next();
+			while (captured != null) {
+				if (first) {
+					firstTimestamp = captured.getTimestampNanos();
+					first = false;
+				}
+				if (speed > 0) {
+					final long offset = captured.getTimestampNanos() - firstTimestamp;
+					waitUntil(startNanoTime + (long) (offset / speed));
+				}
+				try {
+					final OSCPacket packet = parser.convert(captured.getData());
+					if (packet == null) {
+						packetsSkipped++;
+					} else {
+						port.send(packet);
+						packetsSent++;
+					}
+				} catch (final OSCParseException | OSCSerializeException ex) {
+					packetsSkipped++;
+					log.debug("Skipping packet: {}", ex.getMessage());
+				}
+				captured = reader.next();
+			}
+		}
+	}
+
+	public static void main(final String[] args) throws IOException {
+
+		final Logger log = LoggerFactory.getLogger(OSCReplay.class);
+		if (args.length < MIN_ARGS) {
+			log.error("Usage: {} capture-file host:port [speed|{}] [udp|tcp]",
+					OSCReplay.class.getSimpleName(), SPEED_ASAP);
+			System.exit(1);
+		}
+		double speed = 1.0;
+		if (args.length > ARG_INDEX_SPEED) {
+			speed = SPEED_ASAP.equalsIgnoreCase(args[ARG_INDEX_SPEED])
+					? 0.0
+					: Double.parseDouble(args[ARG_INDEX_SPEED]);
+		}
+		NetworkProtocol protocol = NetworkProtocol.UDP;
+		if (args.length > ARG_INDEX_PROTOCOL) {
+			protocol = NetworkProtocol.valueOf(args[ARG_INDEX_PROTOCOL].toUpperCase(Locale.ROOT));
+		}
+		final OSCPortOut port = new OSCPortOutBuilder()
+				.setRemoteSocketAddress(OSCRouter.parseSocketAddress(args[ARG_INDEX_TARGET]))
+				.setNetworkProtocol(protocol)
+				.build();
+		try {
+			final OSCReplay replay = new OSCReplay(Paths.get(args[ARG_INDEX_FILE]), port, speed);
+			log.info("# Replaying {} to {} ...", args[ARG_INDEX_FILE], args[ARG_INDEX_TARGET]);
+			replay.replay();
+			log.info("# Sent {} packets, skipped {}, maximum lag {} us",
+					replay.getPacketsSent(),
+					replay.getPacketsSkipped(),
+					TimeUnit.NANOSECONDS.toMicros(replay.getMaxLagNanos()));
+		} finally {
+			port.close();
+		}
+	}
+}
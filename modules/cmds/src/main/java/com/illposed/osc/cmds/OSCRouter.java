@@ -0,0 +1,381 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.cmds;
+
+import com.illposed.osc.OSCParseException;
+import com.illposed.osc.routing.AddressPrefixTrie;
+import com.illposed.osc.routing.AddressVisitor;
+import com.illposed.osc.routing.RawOSCPacket;
+import com.illposed.osc.transport.udp.UDPTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forwards OSC packets received via UDP to other hosts,
+ * based on the address prefixes of the contained messages.
+ * Packets are never parsed into Java objects;
+ * only the address bytes and the bundle structure are looked at,
+ * and the original bytes are forwarded unchanged,
+ * unless the matching route rewrites the address prefix.
+ *
+ * A bundle is forwarded as a whole to every route
+ * matching at least one of the messages it contains.
+ * When rewriting, all the messages in the bundle that match the route get rewritten,
+ * and the bundle element sizes are adjusted accordingly.
+ *
+ * Usage:
+ * <blockquote><pre>{@code
+ * OSCRouter [listen-host:]listen-port prefix=host:port[=new-prefix] ...
+ * }</pre></blockquote>
+ * for example:
+ * <blockquote><pre>{@code
+ * OSCRouter 7770 /synth/=10.0.1.5:57110 /lights/=10.0.2.7:9000=/dmx/
+ * }</pre></blockquote>
+ */
+public class OSCRouter implements Runnable {
+
+	private static final int MIN_ARGS = 2;
+	private static final String ROUTE_SEPARATOR = "=";
+
+	private final Logger log = LoggerFactory.getLogger(OSCRouter.class);
+
+	/**
+	 * Where to forward messages with a certain address prefix to.
+	 */
+	public static final class Route {
+
+		private final String prefix;
+		private final byte[] prefixBytes;
+		private final SocketAddress destination;
+		private final byte[] replacementBytes;
+
+		/**
+		 * Creates a route.
+		 * @param prefix the address prefix of the messages to forward
+		 * @param destination where to forward the messages to
+		 * @param replacement the address prefix to replace {@code prefix} with
+		 *   when forwarding, or {@code null} to forward the packets unchanged
+		 */
+		public Route(final String prefix, final SocketAddress destination, final String replacement) {
+
+			this.prefix = prefix;
+			this.prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+			this.destination = destination;
+			this.replacementBytes = (replacement == null)
+					? null
+					: replacement.getBytes(StandardCharsets.UTF_8);
+		}
+
+		public String getPrefix() {
+			return prefix;
+		}
+
+		public SocketAddress getDestination() {
+			return destination;
+		}
+
+		public boolean isRewriting() {
+			return (replacementBytes != null);
+		}
+
+		@Override
+		public String toString() {
+			return prefix + " -> " + destination + (isRewriting()
+					? " as " + new String(replacementBytes, StandardCharsets.UTF_8)
+					: "");
+		}
+	}
+
+	private final DatagramChannel inChannel;
+	private final DatagramChannel outChannel;
+	private final AddressPrefixTrie<Route> routes;
+	private final ByteBuffer recvBuffer;
+	private final ByteBuffer sendBuffer;
+	private final List<Route> matchingRoutes;
+	private final List<Route> uniqueMatchingRoutes;
+	private final AddressVisitor routesCollector;
+	private long packetsReceived;
+	private long packetsForwarded;
+	private long packetsUnrouted;
+	private long packetsMalformed;
+	private long packetsOversized;
+	private volatile boolean running;
+
+	public OSCRouter(final SocketAddress listenAddress, final List<Route> routes)
+			throws IOException
+	{
+		this.inChannel = DatagramChannel.open();
+		this.inChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+		this.inChannel.bind(listenAddress);
+		this.outChannel = DatagramChannel.open();
+		this.outChannel.setOption(StandardSocketOptions.SO_SNDBUF, UDPTransport.BUFFER_SIZE);
+		this.routes = new AddressPrefixTrie<>();
+		for (final Route route : routes) {
+			this.routes.put(route.getPrefix(), route);
+		}
+		this.recvBuffer = ByteBuffer.allocateDirect(UDPTransport.BUFFER_SIZE);
+		// rewriting may make a packet grow
+		this.sendBuffer = ByteBuffer.allocateDirect(2 * UDPTransport.BUFFER_SIZE);
+		this.matchingRoutes = new ArrayList<>();
+		this.uniqueMatchingRoutes = new ArrayList<>();
+		this.routesCollector = (data, offset, length) -> {
+			this.routes.collectMatches(data, offset, length, matchingRoutes);
+			return false;
+		};
+		this.running = false;
+	}
+
+	public long getPacketsReceived() {
+		return packetsReceived;
+	}
+
+	public long getPacketsForwarded() {
+		return packetsForwarded;
+	}
+
+	public long getPacketsUnrouted() {
+		return packetsUnrouted;
+	}
+
+	public long getPacketsMalformed() {
+		return packetsMalformed;
+	}
+
+	/**
+	 * Returns the number of times a packet was not forwarded to a route,
+	 * because rewriting its addresses made it too big.
+	 * @return the number of dropped rewrites
+	 */
+	public long getPacketsOversized() {
+		return packetsOversized;
+	}
+
+	/**
+	 * Receives and forwards packets until {@link #stop()} is called.
+	 */
+	@Override
+	public void run() {
+
+		running = true;
+		while (running) {
+			try {
+				recvBuffer.clear();
+				inChannel.receive(recvBuffer);
+				recvBuffer.flip();
+				route(recvBuffer);
+			} catch (final IOException ex) {
+				if (running) {
+					log.error("Failed to receive or forward a packet", ex);
+				}
+			}
+		}
+	}
+
+	public void stop() throws IOException {
+
+		running = false;
+		inChannel.close();
+		outChannel.close();
+	}
+
+	/**
+	 * Forwards a single raw packet to all the matching routes.
+	 * @param packet contains the raw packet between its position and limit;
+	 *   the position gets changed by this method
+	 * @throws IOException if sending fails
+	 */
+	public void route(final ByteBuffer packet) throws IOException {
+
+		packetsReceived++;
+		final int start = packet.position();
+		final int length = packet.remaining();
+		if (length == 0) {
+			packetsMalformed++;
+			return;
+		}
+		matchingRoutes.clear();
+		try {
+			RawOSCPacket.visitAddresses(packet, start, length, routesCollector);
+		} catch (final OSCParseException ex) {
+			packetsMalformed++;
+			log.debug("Dropping malformed packet: {}", ex.getMessage());
+			return;
+		}
+
+		uniqueMatchingRoutes.clear();
+		for (final Route route : matchingRoutes) {
+			if (!uniqueMatchingRoutes.contains(route)) {
+				uniqueMatchingRoutes.add(route);
+			}
+		}
+		if (uniqueMatchingRoutes.isEmpty()) {
+			packetsUnrouted++;
+			return;
+		}
+
+		for (final Route route : uniqueMatchingRoutes) {
+			if (route.isRewriting()) {
+				sendBuffer.clear();
+				try {
+					rewrite(packet, start, length, sendBuffer, route);
+				} catch (final OSCParseException ex) {
+					packetsMalformed++;
+					continue;
+				} catch (final BufferOverflowException ex) {
+					// a longer prefix, in each of many small messages of a bundle
+					packetsOversized++;
+					log.debug("Dropping packet of {} bytes for {}, as it grows too big when rewritten",
+							length, route);
+					continue;
+				}
+				sendBuffer.flip();
+				outChannel.send(sendBuffer, route.getDestination());
+			} else {
+				packet.position(start);
+				outChannel.send(packet, route.getDestination());
+			}
+			packetsForwarded++;
+		}
+	}
+
+	private static boolean startsWith(
+			final ByteBuffer data,
+			final int offset,
+			final int length,
+			final byte[] prefix)
+	{
+		if (length < prefix.length) {
+			return false;
+		}
+		for (int bi = 0; bi < prefix.length; bi++) {
+			if (data.get(offset + bi) != prefix[bi]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void copy(
+			final ByteBuffer src,
+			final int offset,
+			final int length,
+			final ByteBuffer dst)
+	{
+		dst.put(dst.position(), src, offset, length);
+		dst.position(dst.position() + length);
+	}
+
+	private static void pad(final ByteBuffer dst, final int count) {
+
+		for (int pi = 0; pi < count; pi++) {
+			dst.put((byte) 0);
+		}
+	}
+
+	/**
+	 * Copies a raw packet, replacing the address prefix of all contained messages
+	 * that match the given route.
+	 * @return the number of bytes written to {@code dst}
+	 */
+	private static int rewrite(
+			final ByteBuffer src,
+			final int offset,
+			final int length,
+			final ByteBuffer dst,
+			final Route route)
+			throws OSCParseException
+	{
+		final int dstStart = dst.position();
+		if (RawOSCPacket.isBundle(src, offset, length)) {
+			copy(src, offset, RawOSCPacket.BUNDLE_HEADER_BYTES, dst);
+			final int end = offset + length;
+			int elementStart = offset + RawOSCPacket.BUNDLE_HEADER_BYTES;
+			while (elementStart < end) {
+				final int elementSize = src.getInt(elementStart);
+				elementStart += RawOSCPacket.ELEMENT_SIZE_BYTES;
+				if ((elementSize <= 0) || (elementSize > (end - elementStart))) {
+					throw new OSCParseException("Invalid bundle element size: " + elementSize, src);
+				}
+				final int sizePosition = dst.position();
+				dst.putInt(0);
+				final int written = rewrite(src, elementStart, elementSize, dst, route);
+				dst.putInt(sizePosition, written);
+				elementStart += elementSize;
+			}
+		} else {
+			final int addressLength = RawOSCPacket.addressLength(src, offset, length);
+			final int addressSize = RawOSCPacket.alignedStringSize(addressLength);
+			if (startsWith(src, offset, addressLength, route.prefixBytes)) {
+				final int suffixLength = addressLength - route.prefixBytes.length;
+				final int newAddressLength = route.replacementBytes.length + suffixLength;
+				dst.put(route.replacementBytes);
+				copy(src, offset + route.prefixBytes.length, suffixLength, dst);
+				pad(dst, RawOSCPacket.alignedStringSize(newAddressLength) - newAddressLength);
+			} else {
+				copy(src, offset, Math.min(addressSize, length), dst);
+			}
+			if (addressSize < length) {
+				copy(src, offset + addressSize, length - addressSize, dst);
+			}
+		}
+		return dst.position() - dstStart;
+	}
+
+	static SocketAddress parseSocketAddress(final String hostAndPort) {
+
+		final int colonIdx = hostAndPort.lastIndexOf(':');
+		if (colonIdx < 0) {
+			return new InetSocketAddress(Integer.parseInt(hostAndPort));
+		}
+		return new InetSocketAddress(
+				hostAndPort.substring(0, colonIdx),
+				Integer.parseInt(hostAndPort.substring(colonIdx + 1)));
+	}
+
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public static Route parseRoute(final String routeSpec) {
+
+		final String[] parts = routeSpec.split(ROUTE_SEPARATOR, -1);
+		if ((parts.length < 2) || (parts.length > 3)) {
+			throw new IllegalArgumentException("Invalid route: \"" + routeSpec
+					+ "\"; expected prefix=host:port[=new-prefix]");
+		}
+		return new Route(
+				parts[0],
+				parseSocketAddress(parts[1]),
+				(parts.length == 3) ? parts[2] : null);
+	}
+
+	public static void main(final String[] args) throws IOException {
+
+		final Logger log = LoggerFactory.getLogger(OSCRouter.class);
+		if (args.length < MIN_ARGS) {
+			log.error("Usage: {} [listen-host:]listen-port prefix=host:port[=new-prefix] ...",
+					OSCRouter.class.getSimpleName());
+			System.exit(1);
+		}
+		final List<Route> routes = new ArrayList<>(args.length - 1);
+		for (int ai = 1; ai < args.length; ai++) {
+			routes.add(parseRoute(args[ai]));
+		}
+		final OSCRouter router = new OSCRouter(parseSocketAddress(args[0]), routes);
+		log.info("# Routing OSC packets received on {} ...", args[0]);
+		for (final Route route : routes) {
+			log.info("#   {}", route);
+		}
+		router.run();
+	}
+}
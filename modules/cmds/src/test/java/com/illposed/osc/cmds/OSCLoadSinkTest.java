@@ -0,0 +1,100 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.cmds;
+
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCMessageEvent;
+import com.illposed.osc.argument.OSCTimeTag64;
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see OSCLoadSink
+ */
+public class OSCLoadSinkTest {
+
+	private void receive(final OSCLoadSink sink, final int sender, final long... sequences) {
+
+		for (final long sequence : sequences) {
+			final OSCMessage message = new OSCMessage("/load",
+					Arrays.asList(sender, sequence, System.nanoTime()));
+			sink.acceptMessage(new OSCMessageEvent(this, OSCTimeTag64.IMMEDIATE, message));
+		}
+	}
+
+	private static void assertCounts(
+			final long received,
+			final long lost,
+			final long reordered,
+			final long duplicates,
+			final OSCLoadSink sink)
+	{
+		Assertions.assertEquals(received, sink.getReceived());
+		Assertions.assertEquals(lost, sink.getLost());
+		Assertions.assertEquals(reordered, sink.getReordered());
+		Assertions.assertEquals(duplicates, sink.getDuplicates());
+	}
+
+	@Test
+	public void testInOrder() {
+
+		final OSCLoadSink sink = new OSCLoadSink();
+		receive(sink, 0, 0, 1, 2, 3);
+		receive(sink, 1, 0, 1);
+		assertCounts(6, 0, 0, 0, sink);
+	}
+
+	@Test
+	public void testLostAndReordered() {
+
+		final OSCLoadSink sink = new OSCLoadSink();
+		receive(sink, 0, 0, 3, 5);
+		assertCounts(3, 3, 0, 0, sink);
+		receive(sink, 0, 2, 1);
+		assertCounts(5, 1, 2, 0, sink);
+	}
+
+	@Test
+	public void testDuplicates() {
+
+		final OSCLoadSink sink = new OSCLoadSink();
+		receive(sink, 0, 0, 1, 1, 3, 2, 2, 3, 0);
+		assertCounts(8, 0, 1, 4, sink);
+		// the same sequence numbers from another sender are no duplicates
+		receive(sink, 1, 0, 1);
+		assertCounts(10, 0, 1, 4, sink);
+	}
+
+	@Test
+	public void testRestartedSender() {
+
+		final OSCLoadSink sink = new OSCLoadSink();
+		receive(sink, 0, 0, 1, 2);
+		// a restarted generator starts again from zero
+		receive(sink, 0, 0, 1, 2);
+		assertCounts(6, 0, 0, 3, sink);
+	}
+
+	@Test
+	public void testTooLateToTell() {
+
+		final OSCLoadSink sink = new OSCLoadSink();
+		receive(sink, 0, 0, 10_000);
+		assertCounts(2, 9_999, 0, 0, sink);
+		receive(sink, 0, 9_000, 5);
+		assertCounts(4, 9_998, 1, 1, sink);
+	}
+
+	@Test
+	public void testReport() {
+
+		final OSCLoadSink sink = new OSCLoadSink();
+		receive(sink, 0, 0, 2, 2);
+		sink.reportInterval();
+		sink.reportTotal();
+		assertCounts(3, 1, 0, 1, sink);
+	}
+}
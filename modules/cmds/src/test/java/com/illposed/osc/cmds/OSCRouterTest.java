@@ -0,0 +1,186 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.cmds;
+
+import com.illposed.osc.BufferBytesReceiver;
+import com.illposed.osc.OSCBundle;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.argument.OSCTimeTag64;
+import com.illposed.osc.transport.udp.UDPTransport;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see OSCRouter
+ */
+public class OSCRouterTest {
+
+	private static final int RECEIVE_TIMEOUT_MS = 2000;
+
+	private DatagramSocket destination;
+	private SocketAddress destinationAddress;
+	private OSCRouter router;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+
+		destination = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		destination.setSoTimeout(RECEIVE_TIMEOUT_MS);
+		destinationAddress = destination.getLocalSocketAddress();
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+
+		if (router != null) {
+			router.stop();
+		}
+		destination.close();
+	}
+
+	private void createRouter(final OSCRouter.Route... routes) throws Exception {
+		router = new OSCRouter(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+				Arrays.asList(routes));
+	}
+
+	private OSCRouter.Route route(final String prefix, final String replacement) {
+		return new OSCRouter.Route(prefix, destinationAddress, replacement);
+	}
+
+	private static ByteBuffer serialize(final OSCPacket packet) throws Exception {
+
+		final ByteBuffer buffer = ByteBuffer.allocate(UDPTransport.BUFFER_SIZE);
+		new OSCSerializerAndParserBuilder().buildSerializer(new BufferBytesReceiver(buffer))
+				.write(packet);
+		buffer.flip();
+		return buffer;
+	}
+
+	private byte[] receiveRaw() throws Exception {
+
+		final DatagramPacket datagram
+				= new DatagramPacket(new byte[UDPTransport.BUFFER_SIZE], UDPTransport.BUFFER_SIZE);
+		destination.receive(datagram);
+		return Arrays.copyOf(datagram.getData(), datagram.getLength());
+	}
+
+	private OSCPacket receive() throws Exception {
+		return new OSCSerializerAndParserBuilder().buildParser().convert(ByteBuffer.wrap(receiveRaw()));
+	}
+
+	private void assertNothingReceived() throws Exception {
+
+		destination.setSoTimeout(100);
+		Assertions.assertThrows(SocketTimeoutException.class, this::receiveRaw);
+		destination.setSoTimeout(RECEIVE_TIMEOUT_MS);
+	}
+
+	private static void assertMessage(
+			final String address,
+			final List<Object> arguments,
+			final OSCPacket packet)
+	{
+		final OSCMessage message = (OSCMessage) packet;
+		Assertions.assertEquals(address, message.getAddress());
+		Assertions.assertEquals(arguments, message.getArguments());
+	}
+
+	@Test
+	public void testForwardsUnchanged() throws Exception {
+
+		createRouter(route("/synth/", null));
+		final ByteBuffer packet = serialize(new OSCMessage("/synth/1/freq", Arrays.asList(440, "a")));
+		final byte[] expected = new byte[packet.remaining()];
+		packet.duplicate().get(expected);
+
+		router.route(packet);
+		Assertions.assertArrayEquals(expected, receiveRaw());
+
+		router.route(serialize(new OSCMessage("/lights/1")));
+		assertNothingReceived();
+		Assertions.assertEquals(2, router.getPacketsReceived());
+		Assertions.assertEquals(1, router.getPacketsForwarded());
+		Assertions.assertEquals(1, router.getPacketsUnrouted());
+	}
+
+	@Test
+	public void testRewriteGrowsAndShrinksPrefix() throws Exception {
+
+		createRouter(route("/synth/", "/instruments/synth/"), route("/lights/", "/l/"));
+		final List<Object> arguments = Arrays.asList(1, 2.5f, "three");
+
+		router.route(serialize(new OSCMessage("/synth/1/freq", arguments)));
+		assertMessage("/instruments/synth/1/freq", arguments, receive());
+		router.route(serialize(new OSCMessage("/lights/all/brightness", arguments)));
+		assertMessage("/l/all/brightness", arguments, receive());
+		// the padding changes, but not the aligned size
+		router.route(serialize(new OSCMessage("/lights/ab", Collections.emptyList())));
+		assertMessage("/l/ab", Collections.emptyList(), receive());
+		Assertions.assertEquals(3, router.getPacketsForwarded());
+	}
+
+	@Test
+	public void testRewriteNestedBundles() throws Exception {
+
+		createRouter(route("/synth/", "/s/"));
+		final OSCTimeTag64 timestamp = OSCTimeTag64.valueOf(123_456_789L);
+		final OSCBundle inner = new OSCBundle(Arrays.asList(
+				new OSCMessage("/other/x", Collections.singletonList(2)),
+				new OSCMessage("/synth/2/freq", Collections.singletonList(3.5f))));
+		final OSCBundle outer = new OSCBundle(Arrays.asList(
+				new OSCMessage("/synth/1", Collections.singletonList("one")),
+				inner,
+				new OSCMessage("/synthesizer", Collections.singletonList(4))),
+				timestamp);
+
+		router.route(serialize(outer));
+		// parsing checks all the element sizes
+		final OSCBundle received = (OSCBundle) receive();
+		Assertions.assertEquals(timestamp, received.getTimestamp());
+		Assertions.assertEquals(3, received.getPackets().size());
+		assertMessage("/s/1", Collections.singletonList("one"), received.getPackets().get(0));
+		final OSCBundle receivedInner = (OSCBundle) received.getPackets().get(1);
+		Assertions.assertEquals(2, receivedInner.getPackets().size());
+		assertMessage("/other/x", Collections.singletonList(2), receivedInner.getPackets().get(0));
+		assertMessage("/s/2/freq", Collections.singletonList(3.5f), receivedInner.getPackets().get(1));
+		assertMessage("/synthesizer", Collections.singletonList(4), received.getPackets().get(2));
+	}
+
+	@Test
+	public void testDropsRewriteGrowingTooBig() throws Exception {
+
+		final String longPrefix = "/" + String.join("", Collections.nCopies(63, "x"));
+		createRouter(route("/a", longPrefix));
+		final List<OSCPacket> messages = new ArrayList<>();
+		for (int mi = 0; mi < 5000; mi++) {
+			messages.add(new OSCMessage("/a"));
+		}
+
+		router.route(serialize(new OSCBundle(messages)));
+		assertNothingReceived();
+		Assertions.assertEquals(1, router.getPacketsOversized());
+		Assertions.assertEquals(0, router.getPacketsForwarded());
+
+		// the router keeps working
+		router.route(serialize(new OSCMessage("/a")));
+		assertMessage(longPrefix, Collections.emptyList(), receive());
+		Assertions.assertEquals(1, router.getPacketsForwarded());
+	}
+}
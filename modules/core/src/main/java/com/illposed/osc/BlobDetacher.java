@@ -0,0 +1,164 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies blob arguments out of the buffers they were parsed from.
+ * Parsed blobs are slices of the receive buffer,
+ * which gets overwritten by the next packet received.
+ * This is fine while a packet is dispatched on the receiving thread,
+ * but packets handed to other threads, to be dispatched later,
+ * need to be detached from that buffer first.
+ * Packets without blobs are returned as they are,
+ * so this costs nothing for them, apart from looking at their arguments.
+ */
+final class BlobDetacher {
+
+	private BlobDetacher() {}
+
+	private static ByteBuffer copy(final ByteBuffer blob) {
+
+		final ByteBuffer copy = ByteBuffer.allocate(blob.remaining());
+		copy.put(blob.duplicate());
+		((Buffer) copy).flip();
+		return copy.order(blob.order());
+	}
+
+	private static boolean containsBlobs(final List<?> arguments) {
+
+		final CompactArgumentList compactArguments = (arguments instanceof CompactArgumentList)
+				? (CompactArgumentList) arguments
+				: null;
+		for (int ai = 0; ai < arguments.size(); ai++) {
+			if ((compactArguments != null) && compactArguments.isPrimitive(ai)) {
+				continue;
+			}
+			final Object argument = arguments.get(ai);
+			if ((argument instanceof ByteBuffer)
+					|| ((argument instanceof List) && containsBlobs((List<?>) argument)))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Object detachArgument(final Object argument) {
+
+		if (argument instanceof ByteBuffer) {
+			return copy((ByteBuffer) argument);
+		} else if (argument instanceof List) {
+			final List<?> array = (List<?>) argument;
+			if (!containsBlobs(array)) {
+				return array;
+			}
+			final List<Object> detached = new ArrayList<>(array.size());
+			for (final Object element : array) {
+				detached.add(detachArgument(element));
+			}
+			return detached;
+		} else {
+			return argument;
+		}
+	}
+
+	/**
+	 * Copies the blob arguments of a message.
+	 * @param message whose blobs may point into a buffer that gets reused
+	 * @return {@code message} if it has no blobs, a copy of it with copied blobs otherwise
+	 */
+	static OSCMessage detach(final OSCMessage message) {
+
+		final List<Object> arguments = message.getArguments();
+		if (!containsBlobs(arguments)) {
+			return message;
+		}
+		final List<Object> detachedArguments;
+		if (arguments instanceof CompactArgumentList) {
+			final CompactArgumentList.Builder builder
+					= new CompactArgumentList.Builder(arguments.size());
+			for (final Object argument : arguments) {
+				builder.add(detachArgument(argument));
+			}
+			detachedArguments = builder.build();
+		} else {
+			detachedArguments = new ArrayList<>(arguments.size());
+			for (final Object argument : arguments) {
+				detachedArguments.add(detachArgument(argument));
+			}
+		}
+		return new OSCMessage(message.getOSCAddress(), detachedArguments,
+				message.isInfoSet() ? message.getInfo() : null);
+	}
+
+	/**
+	 * Copies the blob arguments of all the messages in a packet.
+	 * @param packet whose blobs may point into a buffer that gets reused
+	 * @return {@code packet} if it has no blobs, a copy of it with copied blobs otherwise
+	 */
+	static OSCPacket detach(final OSCPacket packet) {
+
+		if (packet instanceof OSCMessage) {
+			return detach((OSCMessage) packet);
+		} else {
+			return detach((OSCBundle) packet);
+		}
+	}
+
+	/**
+	 * Copies the blob arguments of all the messages in a bundle.
+	 * @param bundle whose blobs may point into a buffer that gets reused
+	 * @return {@code bundle} if it has no blobs, a copy of it with copied blobs otherwise
+	 */
+	static OSCBundle detach(final OSCBundle bundle) {
+
+		final List<OSCPacket> packets = bundle.getPackets();
+		List<OSCPacket> detachedPackets = null;
+		for (int pi = 0; pi < packets.size(); pi++) {
+			final OSCPacket contained = packets.get(pi);
+			final OSCPacket detached = detach(contained);
+			if ((detached != contained) && (detachedPackets == null)) {
+				detachedPackets = new ArrayList<>(packets);
+			}
+			if (detachedPackets != null) {
+				detachedPackets.set(pi, detached);
+			}
+		}
+		return (detachedPackets == null)
+				? bundle
+				: new OSCBundle(detachedPackets, bundle.getTimestamp());
+	}
+
+	/**
+	 * Copies the blob arguments of all the messages in a packet event.
+	 * @param event whose blobs may point into a buffer that gets reused
+	 * @return {@code event} if it has no blobs, a copy of it with copied blobs otherwise
+	 */
+	static OSCPacketEvent detach(final OSCPacketEvent event) {
+
+		final OSCPacket packet = event.getPacket();
+		final OSCPacket detached = detach(packet);
+		return (detached == packet) ? event : new OSCPacketEvent(event.getSource(), detached);
+	}
+
+	/**
+	 * Copies the blob arguments of the message of an event.
+	 * @param event whose blobs may point into a buffer that gets reused
+	 * @return {@code event} if it has no blobs, a copy of it with copied blobs otherwise
+	 */
+	static OSCMessageEvent detach(final OSCMessageEvent event) {
+
+		final OSCMessage message = event.getMessage();
+		final OSCMessage detached = detach(message);
+		return (detached == message)
+				? event
+				: new OSCMessageEvent(event.getSource(), event.getTime(), detached);
+	}
+}
@@ -0,0 +1,181 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The slots of a fixed size hash table that caches values,
+ * and counts how many lookups hit or missed.
+ * It is mostly for internal use, by tables that look up their entries
+ * by something else than a plain key object, without allocating,
+ * like {@link TypeTagSignatureCache} and
+ * {@link com.illposed.osc.routing.AddressInterner}.
+ * They compute the hash, and compare the entries found at
+ * {@link #probe(int, int)} against what they look for themselves.
+ *
+ * The table never grows beyond its capacity.
+ * An entry may occupy one of {@link #PROBES} consecutive slots,
+ * and when all of them are taken, one gets overwritten.
+ * This class is thread-safe; lookups are lock-free,
+ * and concurrent additions may at worst overwrite each other,
+ * which only costs a later miss.
+ * @param <E> the type of the entries
+ */
+public final class BoundedHashTable<E extends BoundedHashTable.Entry> {
+
+	/**
+	 * Number of consecutive slots an entry may occupy.
+	 */
+	public static final int PROBES = 4;
+
+	/**
+	 * The base of all entries, which knows its hash.
+	 */
+	public abstract static class Entry {
+
+		private final int hash;
+
+		protected Entry(final int hash) {
+			this.hash = hash;
+		}
+
+		public int getHash() {
+			return hash;
+		}
+	}
+
+	private final Entry[] entries;
+	private final int mask;
+	private final LongAdder hits;
+	private final LongAdder misses;
+
+	/**
+	 * Creates a table.
+	 * @param capacity maximum number of entries to keep;
+	 *   it is rounded up to the next power of two
+	 */
+	public BoundedHashTable(final int capacity) {
+
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity has to be positive, is: " + capacity);
+		}
+		final int size = Math.max(PROBES, Integer.highestOneBit(capacity - 1) << 1);
+		this.entries = new Entry[size];
+		this.mask = size - 1;
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+	}
+
+	/**
+	 * Spreads the higher bits of a hash code,
+	 * as only the lower ones select the slot.
+	 * @param hashCode the plain hash code
+	 * @return the hash to use for the table
+	 */
+	public static int spread(final int hashCode) {
+		return hashCode ^ (hashCode >>> 16);
+	}
+
+	/**
+	 * Returns the entry in one of the slots an entry with the given hash may occupy.
+	 * Lookups should stop at the first empty slot.
+	 * @param hash of the entry looked for
+	 * @param probe which of the slots to look at, from {@code 0} to {@link #PROBES} - 1
+	 * @return the entry in that slot, or {@code null} if it is empty
+	 */
+	@SuppressWarnings("unchecked")
+	public E probe(final int hash, final int probe) {
+		return (E) entries[(hash + probe) & mask];
+	}
+
+	/**
+	 * Counts a lookup that found its entry.
+	 */
+	public void hit() {
+		hits.increment();
+	}
+
+	/**
+	 * Counts a lookup that did not find its entry.
+	 */
+	public void miss() {
+		misses.increment();
+	}
+
+	/**
+	 * Adds an entry, after a lookup for it missed.
+	 * It goes into the first of its slots that is either empty,
+	 * or holds an entry with the same hash, which is likely an outdated version of it.
+	 * If there is no such slot, the entry in the first slot gets overwritten.
+	 * @param entry to be added
+	 */
+	public void put(final E entry) {
+
+		final int hash = entry.getHash();
+		int slot = hash & mask;
+		for (int pi = 0; pi < PROBES; pi++) {
+			final int curSlot = (hash + pi) & mask;
+			final Entry cur = entries[curSlot];
+			if ((cur == null) || (cur.getHash() == hash)) {
+				slot = curSlot;
+				break;
+			}
+		}
+		entries[slot] = entry;
+	}
+
+	/**
+	 * Returns the maximum number of entries this table holds.
+	 * @return the number of slots
+	 */
+	public int getCapacity() {
+		return entries.length;
+	}
+
+	/**
+	 * Returns the number of entries currently in the table.
+	 * This takes time proportional to the capacity.
+	 * @return the number of occupied slots
+	 */
+	public int size() {
+
+		int size = 0;
+		for (final Entry entry : entries) {
+			if (entry != null) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Returns how many lookups found their entry.
+	 * @return the number of successful lookups so far
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns how many lookups did not find their entry.
+	 * @return the number of failed lookups so far
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Removes all entries from the table, and resets the counters.
+	 */
+	public void clear() {
+
+		for (int ei = 0; ei < entries.length; ei++) {
+			entries[ei] = null;
+		}
+		hits.reset();
+		misses.reset();
+	}
+}
@@ -5,7 +5,9 @@
 
 package com.illposed.osc;
 
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 /**
  * Implementation of a {@link BytesReceiver} using a {@code ByteBuffer}
@@ -44,6 +46,62 @@ public class BufferBytesReceiver implements BytesReceiver {
 		return this;
 	}
 
+	/**
+	 * Whether bulk puts of primitives may go straight into the buffer,
+	 * instead of through a temporary array.
+	 */
+	private boolean isBigEndian() {
+		return buffer.order() == ByteOrder.BIG_ENDIAN;
+	}
+
+	private void skip(final int numBytes) {
+		((Buffer)buffer).position(buffer.position() + numBytes);
+	}
+
+	@Override
+	public BytesReceiver putInts(final int[] src) {
+
+		if (!isBigEndian()) {
+			return BytesReceiver.super.putInts(src);
+		}
+		buffer.asIntBuffer().put(src);
+		skip(src.length * Integer.BYTES);
+		return this;
+	}
+
+	@Override
+	public BytesReceiver putLongs(final long[] src) {
+
+		if (!isBigEndian()) {
+			return BytesReceiver.super.putLongs(src);
+		}
+		buffer.asLongBuffer().put(src);
+		skip(src.length * Long.BYTES);
+		return this;
+	}
+
+	@Override
+	public BytesReceiver putFloats(final float[] src) {
+
+		if (!isBigEndian()) {
+			return BytesReceiver.super.putFloats(src);
+		}
+		buffer.asFloatBuffer().put(src);
+		skip(src.length * Float.BYTES);
+		return this;
+	}
+
+	@Override
+	public BytesReceiver putDoubles(final double[] src) {
+
+		if (!isBigEndian()) {
+			return BytesReceiver.super.putDoubles(src);
+		}
+		buffer.asDoubleBuffer().put(src);
+		skip(src.length * Double.BYTES);
+		return this;
+	}
+
 	@Override
 	public BytesReceiver clear() {
 
@@ -110,6 +110,63 @@ public interface BytesReceiver {
 	 */
 	BytesReceiver put(ByteBuffer src);
 
+	/**
+	 * Relative bulk <i>put</i> method for 32bit integers in big-endian byte order,
+	 * as used by OSC.
+	 * The default implementation encodes all values into a temporary array
+	 * in one go, and then puts that.
+	 * @param src the values to be written
+	 * @return  This buffer
+	 */
+	default BytesReceiver putInts(final int[] src) {
+
+		final byte[] bytes = new byte[src.length * Integer.BYTES];
+		ByteBuffer.wrap(bytes).asIntBuffer().put(src);
+		return put(bytes);
+	}
+
+	/**
+	 * Relative bulk <i>put</i> method for 64bit integers in big-endian byte order,
+	 * as used by OSC.
+	 * @param src the values to be written
+	 * @return  This buffer
+	 * @see #putInts(int[])
+	 */
+	default BytesReceiver putLongs(final long[] src) {
+
+		final byte[] bytes = new byte[src.length * Long.BYTES];
+		ByteBuffer.wrap(bytes).asLongBuffer().put(src);
+		return put(bytes);
+	}
+
+	/**
+	 * Relative bulk <i>put</i> method for 32bit floats in big-endian byte order,
+	 * as used by OSC.
+	 * @param src the values to be written
+	 * @return  This buffer
+	 * @see #putInts(int[])
+	 */
+	default BytesReceiver putFloats(final float[] src) {
+
+		final byte[] bytes = new byte[src.length * Float.BYTES];
+		ByteBuffer.wrap(bytes).asFloatBuffer().put(src);
+		return put(bytes);
+	}
+
+	/**
+	 * Relative bulk <i>put</i> method for 64bit floats in big-endian byte order,
+	 * as used by OSC.
+	 * @param src the values to be written
+	 * @return  This buffer
+	 * @see #putInts(int[])
+	 */
+	default BytesReceiver putDoubles(final double[] src) {
+
+		final byte[] bytes = new byte[src.length * Double.BYTES];
+		ByteBuffer.wrap(bytes).asDoubleBuffer().put(src);
+		return put(bytes);
+	}
+
 	/**
 	 * Clears this buffer.  The position is set to zero, the limit is set to
 	 * the capacity, and the mark is discarded.
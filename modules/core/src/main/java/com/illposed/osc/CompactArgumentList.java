@@ -0,0 +1,278 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of message arguments,
+ * which stores numeric arguments as primitives instead of boxed objects.
+ * Integers, longs, floats and doubles are packed into a {@code long[]},
+ * and only all other arguments - like strings and blobs - into an {@code Object[]},
+ * which is not even allocated if there are none.
+ * A message with 16 floats thus costs two arrays,
+ * instead of 16 {@code Float} objects plus a list.
+ *
+ * The usual {@link java.util.List} methods box the primitives on each access,
+ * so code reading many numeric arguments should prefer the typed accessors,
+ * like {@link #getFloat(int)}.
+ * @see OSCMessage#getFloat(int)
+ */
+public final class CompactArgumentList extends AbstractList<Object>
+		implements RandomAccess, Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The kind of slots holding an object instead of a primitive.
+	 */
+	private static final byte TAG_OBJECT = 0;
+	private static final byte TAG_INT = 'i';
+	private static final byte TAG_LONG = 'h';
+	private static final byte TAG_FLOAT = 'f';
+	private static final byte TAG_DOUBLE = 'd';
+
+	/**
+	 * The OSC type tag of each primitive argument,
+	 * or {@link #TAG_OBJECT} for the others.
+	 */
+	private final byte[] tags;
+	private final long[] primitives;
+	private final Object[] objects;
+	private final int size;
+
+	/**
+	 * Collects arguments into a {@link CompactArgumentList}.
+	 * This class is NOT thread-safe.
+	 */
+	public static final class Builder {
+
+		private byte[] tags;
+		private long[] primitives;
+		private Object[] objects;
+		private int size;
+
+		// Public API
+		/**
+		 * Creates a builder for about the given number of arguments.
+		 * @param expectedSize initial capacity; the builder grows if needed
+		 */
+		@SuppressWarnings("WeakerAccess")
+		public Builder(final int expectedSize) {
+
+			final int capacity = Math.max(1, expectedSize);
+			this.tags = new byte[capacity];
+			this.primitives = new long[capacity];
+			this.objects = null;
+			this.size = 0;
+		}
+
+		private void ensureCapacity() {
+
+			if (size == tags.length) {
+				final int capacity = size * 2;
+				tags = Arrays.copyOf(tags, capacity);
+				primitives = Arrays.copyOf(primitives, capacity);
+				if (objects != null) {
+					objects = Arrays.copyOf(objects, capacity);
+				}
+			}
+		}
+
+		private Builder addPrimitive(final byte tag, final long bits) {
+
+			ensureCapacity();
+			tags[size] = tag;
+			primitives[size] = bits;
+			size++;
+			return this;
+		}
+
+		public Builder addInt(final int value) {
+			return addPrimitive(TAG_INT, value);
+		}
+
+		public Builder addLong(final long value) {
+			return addPrimitive(TAG_LONG, value);
+		}
+
+		public Builder addFloat(final float value) {
+			return addPrimitive(TAG_FLOAT, Float.floatToRawIntBits(value));
+		}
+
+		public Builder addDouble(final double value) {
+			return addPrimitive(TAG_DOUBLE, Double.doubleToRawLongBits(value));
+		}
+
+		/**
+		 * Adds an argument of any type.
+		 * Numbers of the primitive kinds get unboxed.
+		 * @param value the argument to add; may be {@code null}
+		 * @return this builder
+		 */
+		public Builder add(final Object value) {
+
+			if (value instanceof Integer) {
+				return addInt((Integer) value);
+			} else if (value instanceof Float) {
+				return addFloat((Float) value);
+			} else if (value instanceof Long) {
+				return addLong((Long) value);
+			} else if (value instanceof Double) {
+				return addDouble((Double) value);
+			}
+			ensureCapacity();
+			if (objects == null) {
+				objects = new Object[tags.length];
+			}
+			tags[size] = TAG_OBJECT;
+			objects[size] = value;
+			size++;
+			return this;
+		}
+
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * Creates the list.
+		 * The builder must not be used anymore afterwards.
+		 * @return the immutable list of all the arguments added
+		 */
+		public CompactArgumentList build() {
+			return new CompactArgumentList(tags, primitives, objects, size);
+		}
+	}
+
+	private CompactArgumentList(
+			final byte[] tags,
+			final long[] primitives,
+			final Object[] objects,
+			final int size)
+	{
+		this.tags = tags;
+		this.primitives = primitives;
+		this.objects = objects;
+		this.size = size;
+	}
+
+	/**
+	 * Creates a compact copy of a list of arguments.
+	 * @param arguments to be copied
+	 * @return the compact form of the arguments
+	 */
+	public static CompactArgumentList copyOf(final Iterable<?> arguments) {
+
+		if (arguments instanceof CompactArgumentList) {
+			return (CompactArgumentList) arguments;
+		}
+		final Builder builder = new Builder(8);
+		for (final Object argument : arguments) {
+			builder.add(argument);
+		}
+		return builder.build();
+	}
+
+	private void checkIndex(final int index) {
+
+		if ((index < 0) || (index >= size)) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	@Override
+	public Object get(final int index) {
+
+		checkIndex(index);
+		final long bits = primitives[index];
+		switch (tags[index]) {
+			case TAG_INT:
+				return (int) bits;
+			case TAG_LONG:
+				return bits;
+			case TAG_FLOAT:
+				return Float.intBitsToFloat((int) bits);
+			case TAG_DOUBLE:
+				return Double.longBitsToDouble(bits);
+			default:
+				return objects[index];
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns whether the argument at a position is stored as a primitive number.
+	 * @param index of the argument
+	 * @return {@code true} if it is an integer, long, float or double
+	 */
+	public boolean isPrimitive(final int index) {
+
+		checkIndex(index);
+		return tags[index] != TAG_OBJECT;
+	}
+
+	/**
+	 * Returns a numeric argument as an {@code int}.
+	 * @param index of the argument
+	 * @return the argument, converted like {@link Number#intValue()}
+	 * @throws ClassCastException if the argument is not a number
+	 */
+	public int getInt(final int index) {
+
+		checkIndex(index);
+		return (tags[index] == TAG_INT) ? (int) primitives[index] : ((Number) get(index)).intValue();
+	}
+
+	/**
+	 * Returns a numeric argument as a {@code long}.
+	 * @param index of the argument
+	 * @return the argument, converted like {@link Number#longValue()}
+	 * @throws ClassCastException if the argument is not a number
+	 */
+	public long getLong(final int index) {
+
+		checkIndex(index);
+		final byte tag = tags[index];
+		return ((tag == TAG_LONG) || (tag == TAG_INT))
+				? primitives[index]
+				: ((Number) get(index)).longValue();
+	}
+
+	/**
+	 * Returns a numeric argument as a {@code float}.
+	 * @param index of the argument
+	 * @return the argument, converted like {@link Number#floatValue()}
+	 * @throws ClassCastException if the argument is not a number
+	 */
+	public float getFloat(final int index) {
+
+		checkIndex(index);
+		return (tags[index] == TAG_FLOAT)
+				? Float.intBitsToFloat((int) primitives[index])
+				: ((Number) get(index)).floatValue();
+	}
+
+	/**
+	 * Returns a numeric argument as a {@code double}.
+	 * @param index of the argument
+	 * @return the argument, converted like {@link Number#doubleValue()}
+	 * @throws ClassCastException if the argument is not a number
+	 */
+	public double getDouble(final int index) {
+
+		checkIndex(index);
+		return (tags[index] == TAG_DOUBLE)
+				? Double.longBitsToDouble(primitives[index])
+				: ((Number) get(index)).doubleValue();
+	}
+}
@@ -0,0 +1,227 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps only the latest message per address,
+ * until the wrapped listener gets around to handle it.
+ * Sensors and faders often send far more updates than a consumer needs;
+ * a consumer that falls behind would otherwise work through a stale backlog,
+ * instead of the current values.
+ *
+ * Received messages are stored in a concurrent map by key,
+ * and each key gets queued as dirty when it first gets a value.
+ * Draining takes the dirty keys in order,
+ * and hands the latest message of each to the wrapped listener.
+ * Memory use is thus bounded by the number of distinct keys,
+ * not the message rate.
+ * Bundles are never conflated, but queued as they are,
+ * so their messages stay together.
+ *
+ * Draining happens either on a thread of this listeners own
+ * (see {@link #startDraining()}),
+ * or explicitly by the consumer (see {@link #drain(int)}),
+ * for example once per frame in a UI.
+ * An example, making the dispatcher see only the latest values:
+ * <blockquote><pre>{@code
+ * ConflatingPacketListener conflater = new ConflatingPacketListener(
+ *     new OSCPacketDispatcher(), false);
+ * receiver.addPacketListener(conflater);
+ * conflater.startDraining();
+ * }</pre></blockquote>
+ */
+public class ConflatingPacketListener implements OSCPacketListener {
+
+	private static final char TYPE_TAGS_SEPARATOR = ',';
+	/**
+	 * How many packets the draining thread hands on
+	 * before checking whether it should stop.
+	 */
+	private static final int DRAIN_BATCH_SIZE = 64;
+
+	private final Logger log = LoggerFactory.getLogger(ConflatingPacketListener.class);
+
+	private final OSCPacketListener delegate;
+	private final boolean byTypeTags;
+	private final Map<Object, OSCPacketEvent> latest;
+	private final Queue<Object> dirtyKeys;
+	private final LongAdder conflatedCount;
+	private volatile Thread drainingThread;
+	private volatile boolean waiting;
+
+	/**
+	 * Creates a conflating wrapper.
+	 * @param delegate gets handed the latest messages when draining
+	 * @param byTypeTags whether to only conflate messages to the same address
+	 *   if they also have the same argument type tags;
+	 *   this requires the messages to carry meta-info,
+	 *   which parsed messages always do
+	 */
+	public ConflatingPacketListener(final OSCPacketListener delegate, final boolean byTypeTags) {
+
+		this.delegate = delegate;
+		this.byTypeTags = byTypeTags;
+		this.latest = new ConcurrentHashMap<>();
+		this.dirtyKeys = new ConcurrentLinkedQueue<>();
+		this.conflatedCount = new LongAdder();
+		this.drainingThread = null;
+		this.waiting = false;
+	}
+
+	public ConflatingPacketListener(final OSCPacketListener delegate) {
+		this(delegate, false);
+	}
+
+	public OSCPacketListener getDelegate() {
+		return delegate;
+	}
+
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public boolean isByTypeTags() {
+		return byTypeTags;
+	}
+
+	/**
+	 * Returns the number of packets waiting to be drained.
+	 * @return the number of dirty keys
+	 */
+	public int getPendingCount() {
+		return latest.size();
+	}
+
+	/**
+	 * Returns the number of messages that got replaced by a newer one
+	 * before being drained.
+	 * @return the number of messages the wrapped listener never saw
+	 */
+	public long getConflatedCount() {
+		return conflatedCount.sum();
+	}
+
+	private Object keyOf(final OSCPacket packet) {
+
+		if (packet instanceof OSCMessage) {
+			final OSCMessage message = (OSCMessage) packet;
+			if (byTypeTags && message.isInfoSet()) {
+				return message.getAddress() + TYPE_TAGS_SEPARATOR
+						+ message.getInfo().getArgumentTypeTags();
+			}
+			return message.getAddress();
+		} else {
+			// a key equal to nothing else, so the bundle never gets replaced
+			return new Object();
+		}
+	}
+
+	@Override
+	public void handlePacket(final OSCPacketEvent event) {
+
+		final Object key = keyOf(event.getPacket());
+		// drained after the receive buffer got reused
+		if (latest.put(key, BlobDetacher.detach(event)) == null) {
+			dirtyKeys.offer(key);
+			final Thread curDrainingThread = drainingThread;
+			if (waiting && (curDrainingThread != null)) {
+				LockSupport.unpark(curDrainingThread);
+			}
+		} else {
+			conflatedCount.increment();
+		}
+	}
+
+	/**
+	 * Bad data is handed on immediately.
+	 */
+	@Override
+	public void handleBadData(final OSCBadDataEvent event) {
+		delegate.handleBadData(event);
+	}
+
+	/**
+	 * Hands the latest pending packets to the wrapped listener,
+	 * on the calling thread.
+	 * Should not be called concurrently with an other drain.
+	 * @param maxPackets how many packets to hand on at most
+	 * @return the number of packets handed on
+	 */
+	public int drain(final int maxPackets) {
+
+		int drained = 0;
+		while (drained < maxPackets) {
+			final Object key = dirtyKeys.poll();
+			if (key == null) {
+				break;
+			}
+			// NOTE A message arriving between taking the key and removing its value
+			//      replaces the value, and thus gets handed on right away.
+			final OSCPacketEvent event = latest.remove(key);
+			if (event != null) {
+				delegate.handlePacket(event);
+				drained++;
+			}
+		}
+		return drained;
+	}
+
+	/**
+	 * Starts a daemon thread that hands the latest packets to the wrapped listener
+	 * as fast as it can handle them, until {@link #stopDraining()} is called.
+	 * @throws IllegalStateException if already draining
+	 */
+	public synchronized void startDraining() {
+
+		if (drainingThread != null) {
+			throw new IllegalStateException("Already draining");
+		}
+		final Thread thread = new Thread(this::drainLoop, "OSC conflater " + delegate);
+		thread.setDaemon(true);
+		drainingThread = thread;
+		thread.start();
+	}
+
+	/**
+	 * Stops the thread started by {@link #startDraining()},
+	 * after it handed on the packets it is working on.
+	 */
+	public synchronized void stopDraining() {
+
+		final Thread thread = drainingThread;
+		drainingThread = null;
+		if (thread != null) {
+			LockSupport.unpark(thread);
+		}
+	}
+
+	private void drainLoop() {
+
+		final Thread self = Thread.currentThread();
+		while (drainingThread == self) {
+			try {
+				if (drain(DRAIN_BATCH_SIZE) == 0) {
+					// NOTE We announce we are about to park before checking the queue
+					//      a last time, so either we see a new packet,
+					//      or its producer sees us waiting.
+					waiting = true;
+					if (dirtyKeys.isEmpty() && (drainingThread == self)) {
+						LockSupport.park(this);
+					}
+					waiting = false;
+				}
+			} catch (final RuntimeException ex) {
+				log.error("Failed to hand on a conflated packet", ex);
+			}
+		}
+	}
+}
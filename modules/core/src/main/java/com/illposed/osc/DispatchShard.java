@@ -0,0 +1,90 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * A single thread dispatching the packets queued for it, one after the other.
+ * Any number of threads may queue packets,
+ * through a lock-free queue, without blocking.
+ * The shard thread parks while there is nothing to do.
+ */
+final class DispatchShard implements Runnable {
+
+	private final Queue<OSCPacketEvent> queue;
+	private final AtomicInteger queueSize;
+	private final Consumer<OSCPacketEvent> handler;
+	private final Thread thread;
+	private volatile boolean running;
+	private volatile boolean waiting;
+
+	DispatchShard(final String name, final Consumer<OSCPacketEvent> handler) {
+
+		this.queue = new ConcurrentLinkedQueue<>();
+		this.queueSize = new AtomicInteger();
+		this.handler = handler;
+		this.thread = new Thread(this, name);
+		this.thread.setDaemon(true);
+		this.running = true;
+		this.waiting = false;
+	}
+
+	void start() {
+		thread.start();
+	}
+
+	/**
+	 * Makes the shard thread end, once it dispatched all the queued packets.
+	 */
+	void stop() {
+
+		running = false;
+		LockSupport.unpark(thread);
+	}
+
+	Thread getThread() {
+		return thread;
+	}
+
+	int getQueueSize() {
+		return queueSize.get();
+	}
+
+	void enqueue(final OSCPacketEvent event) {
+
+		queue.offer(event);
+		queueSize.incrementAndGet();
+		// NOTE The shard thread announces it is about to park before checking the queue
+		//      a last time, so either it sees our packet, or we see it waiting.
+		if (waiting) {
+			LockSupport.unpark(thread);
+		}
+	}
+
+	@Override
+	public void run() {
+
+		while (true) {
+			final OSCPacketEvent event = queue.poll();
+			if (event != null) {
+				queueSize.decrementAndGet();
+				handler.accept(event);
+			} else if (!running) {
+				break;
+			} else {
+				waiting = true;
+				if (queue.isEmpty() && running) {
+					LockSupport.park(this);
+				}
+				waiting = false;
+			}
+		}
+	}
+}
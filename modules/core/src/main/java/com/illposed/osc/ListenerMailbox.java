@@ -0,0 +1,207 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * A bounded queue of messages for a single listener,
+ * drained by a thread of its own,
+ * so the listener does not delay the dispatching thread,
+ * nor the other listeners.
+ */
+final class ListenerMailbox implements Runnable {
+
+	private final int capacity;
+	private final MailboxOverflowPolicy overflowPolicy;
+	private final Consumer<OSCMessageEvent> deliverer;
+	private final ReentrantLock lock;
+	private final Condition notEmpty;
+	private final Condition notFull;
+	/**
+	 * The waiting messages, if not conflating.
+	 */
+	private final ArrayDeque<OSCMessageEvent> queue;
+	/**
+	 * The latest waiting message per address, in order of arrival of the first one,
+	 * if conflating.
+	 */
+	private final LinkedHashMap<String, OSCMessageEvent> latest;
+	private final LongAdder droppedCount;
+	private final Thread thread;
+	private volatile boolean open;
+
+	ListenerMailbox(
+			final String name,
+			final int capacity,
+			final MailboxOverflowPolicy overflowPolicy,
+			final Consumer<OSCMessageEvent> deliverer)
+	{
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Mailbox capacity has to be positive: " + capacity);
+		}
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+		this.deliverer = deliverer;
+		this.lock = new ReentrantLock();
+		this.notEmpty = lock.newCondition();
+		this.notFull = lock.newCondition();
+		final boolean conflating = (overflowPolicy == MailboxOverflowPolicy.CONFLATE);
+		this.queue = conflating ? null : new ArrayDeque<>(capacity);
+		this.latest = conflating ? new LinkedHashMap<>() : null;
+		this.droppedCount = new LongAdder();
+		this.thread = new Thread(this, name);
+		this.thread.setDaemon(true);
+		this.open = true;
+	}
+
+	void start() {
+		thread.start();
+	}
+
+	/**
+	 * Makes the mailbox thread end, discarding the waiting messages.
+	 */
+	void close() {
+
+		lock.lock();
+		try {
+			open = false;
+			notEmpty.signalAll();
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	int getCapacity() {
+		return capacity;
+	}
+
+	MailboxOverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	int getDepth() {
+
+		lock.lock();
+		try {
+			return size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	Thread getThread() {
+		return thread;
+	}
+
+	private int size() {
+		return (queue == null) ? latest.size() : queue.size();
+	}
+
+	private void dropOldest() {
+
+		if (queue == null) {
+			final Iterator<OSCMessageEvent> oldest = latest.values().iterator();
+			oldest.next();
+			oldest.remove();
+		} else {
+			queue.poll();
+		}
+		droppedCount.increment();
+	}
+
+	/**
+	 * Queues a message for the listener, applying the overflow policy if full.
+	 * @param event the message to queue
+	 * @throws InterruptedException if interrupted while waiting for room
+	 */
+	void post(final OSCMessageEvent event) throws InterruptedException {
+
+		lock.lock();
+		try {
+			if (latest != null) {
+				final String address = event.getMessage().getAddress();
+				if (latest.containsKey(address)) {
+					// replacing the value keeps the insertion order
+					latest.put(address, event);
+					droppedCount.increment();
+					return;
+				}
+			}
+			if (size() >= capacity) {
+				if (overflowPolicy == MailboxOverflowPolicy.BLOCK) {
+					while ((size() >= capacity) && open) {
+						notFull.await();
+					}
+				} else {
+					dropOldest();
+				}
+			}
+			if (!open) {
+				return;
+			}
+			if (latest == null) {
+				queue.offer(event);
+			} else {
+				latest.put(event.getMessage().getAddress(), event);
+			}
+			notEmpty.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private OSCMessageEvent take() throws InterruptedException {
+
+		lock.lock();
+		try {
+			while ((size() == 0) && open) {
+				notEmpty.await();
+			}
+			if (!open) {
+				return null;
+			}
+			final OSCMessageEvent event;
+			if (latest == null) {
+				event = queue.poll();
+			} else {
+				final Iterator<Map.Entry<String, OSCMessageEvent>> oldest
+						= latest.entrySet().iterator();
+				event = oldest.next().getValue();
+				oldest.remove();
+			}
+			notFull.signal();
+			return event;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void run() {
+
+		try {
+			OSCMessageEvent event;
+			while ((event = take()) != null) {
+				deliverer.accept(event);
+			}
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
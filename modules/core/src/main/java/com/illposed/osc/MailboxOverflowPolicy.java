@@ -0,0 +1,35 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+/**
+ * What happens to a message dispatched to a listener with a mailbox,
+ * when that mailbox is full.
+ * @see OSCPacketDispatcher#addListener(MessageSelector, OSCMessageListener, int, MailboxOverflowPolicy)
+ */
+public enum MailboxOverflowPolicy {
+
+	/**
+	 * The dispatching thread waits until the listener made room.
+	 * This holds up all the other listeners too,
+	 * so it is only a safety net for bursts.
+	 */
+	BLOCK,
+
+	/**
+	 * The oldest message waiting in the mailbox gets discarded.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * A waiting message gets replaced by a newer one to the same address,
+	 * keeping its place in the mailbox,
+	 * so the listener only ever sees the latest value of each address.
+	 * The capacity then limits the number of distinct addresses waiting;
+	 * if a message to an other address arrives while the mailbox is full,
+	 * the oldest waiting message gets discarded.
+	 */
+	CONFLATE
+}
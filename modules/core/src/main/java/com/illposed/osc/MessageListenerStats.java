@@ -0,0 +1,149 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import com.illposed.osc.metrics.LatencyHistogram;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution statistics of a single listener registration
+ * with an {@link OSCPacketDispatcher}.
+ * The call durations only get collected while a
+ * {@link OSCPacketDispatcher#setListenerBudget(long, java.util.concurrent.TimeUnit) listener budget}
+ * is set.
+ * All methods are thread-safe.
+ */
+public class MessageListenerStats {
+
+	private final MessageSelector selector;
+	private final OSCMessageListener listener;
+	private final LatencyHistogram latency;
+	private final LongAdder overBudgetCount;
+	private final AtomicInteger consecutiveOverBudgetCount;
+	private final ListenerMailbox mailbox;
+	private volatile boolean quarantined;
+
+	MessageListenerStats(
+			final MessageSelector selector,
+			final OSCMessageListener listener,
+			final ListenerMailbox mailbox)
+	{
+		this.selector = selector;
+		this.listener = listener;
+		this.mailbox = mailbox;
+		this.latency = new LatencyHistogram();
+		this.overBudgetCount = new LongAdder();
+		this.consecutiveOverBudgetCount = new AtomicInteger();
+		this.quarantined = false;
+	}
+
+	/**
+	 * Records the duration of one call to the listener.
+	 * @param durationNanos how long {@link OSCMessageListener#acceptMessage} took
+	 * @param budgetNanos how long it was allowed to take
+	 * @return the number of consecutive calls that exceeded the budget,
+	 *   including this one, or {@code 0} if this one stayed within it
+	 */
+	int record(final long durationNanos, final long budgetNanos) {
+
+		latency.record(durationNanos);
+		final int consecutive;
+		if (durationNanos > budgetNanos) {
+			overBudgetCount.increment();
+			consecutive = consecutiveOverBudgetCount.incrementAndGet();
+		} else {
+			consecutiveOverBudgetCount.set(0);
+			consecutive = 0;
+		}
+		return consecutive;
+	}
+
+	void setQuarantined() {
+		this.quarantined = true;
+	}
+
+	public MessageSelector getSelector() {
+		return selector;
+	}
+
+	public OSCMessageListener getListener() {
+		return listener;
+	}
+
+	/**
+	 * Returns the durations of the calls to the listener, in nanoseconds.
+	 * @return the listeners latency histogram
+	 */
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	/**
+	 * Returns how many calls to the listener took longer than the budget.
+	 * @return the total number of calls exceeding the budget
+	 */
+	public long getOverBudgetCount() {
+		return overBudgetCount.sum();
+	}
+
+	/**
+	 * Returns how many of the latest calls to the listener
+	 * took longer than the budget, in a row.
+	 * @return the number of consecutive calls exceeding the budget
+	 */
+	public int getConsecutiveOverBudgetCount() {
+		return consecutiveOverBudgetCount.get();
+	}
+
+	/**
+	 * Indicates whether the listener got moved to its own thread,
+	 * because it exceeded its budget too often.
+	 * @return {@code true} if the listener no longer runs on the dispatching thread
+	 */
+	public boolean isQuarantined() {
+		return quarantined;
+	}
+
+	/**
+	 * Indicates whether the listener was registered with a mailbox of its own.
+	 * @return {@code true} if the listener runs on its own thread, fed through a mailbox
+	 * @see OSCPacketDispatcher#addListener(MessageSelector, OSCMessageListener, int, MailboxOverflowPolicy)
+	 */
+	public boolean hasMailbox() {
+		return mailbox != null;
+	}
+
+	/**
+	 * Returns the number of messages waiting in the listeners mailbox.
+	 * @return the current mailbox depth, or {@code 0} if there is no mailbox
+	 */
+	public int getMailboxDepth() {
+		return (mailbox == null) ? 0 : mailbox.getDepth();
+	}
+
+	/**
+	 * Returns the number of messages the listeners mailbox can hold.
+	 * @return the mailbox capacity, or {@code 0} if there is no mailbox
+	 */
+	public int getMailboxCapacity() {
+		return (mailbox == null) ? 0 : mailbox.getCapacity();
+	}
+
+	/**
+	 * Returns the number of messages that never reached the listener,
+	 * because they were discarded or replaced by newer ones in its full mailbox.
+	 * @return the number of dropped messages, or {@code 0} if there is no mailbox
+	 * @see MailboxOverflowPolicy
+	 */
+	public long getMailboxDroppedCount() {
+		return (mailbox == null) ? 0L : mailbox.getDroppedCount();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s (%s)", listener, selector);
+	}
+}
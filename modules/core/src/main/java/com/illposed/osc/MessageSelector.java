@@ -23,4 +23,32 @@ public interface MessageSelector {
 	 * @return {@code true} if this matcher selects the message in question
 	 */
 	boolean matches(OSCMessageEvent messageEvent);
+
+	/**
+	 * Returns a literal prefix, which the address of every message
+	 * matched by this selector starts with.
+	 * This allows to discard messages before even parsing them,
+	 * see {@link OSCPacketDispatcher#getAddressFilter()}.
+	 * The default implementation returns the empty string,
+	 * which is always correct, but does not allow to discard anything.
+	 * @return a prefix of all addresses this selector may match; never {@code null}
+	 */
+	default String getAddressPrefix() {
+		return "";
+	}
+
+	/**
+	 * Returns a rough estimate of how expensive a call to {@link #matches(OSCMessageEvent)} is,
+	 * in relation to other selectors.
+	 * One unit is about the cost of comparing a short string,
+	 * while running a regular expression costs about ten.
+	 * This is used to check cheap selectors first,
+	 * see {@link com.illposed.osc.messageselector.CombinedMessageSelector}.
+	 * The default implementation returns {@code 10},
+	 * assuming an unknown selector to be as expensive as a regular expression.
+	 * @return the estimated cost of matching a message; at least {@code 1}
+	 */
+	default int getCostHint() {
+		return 10;
+	}
 }
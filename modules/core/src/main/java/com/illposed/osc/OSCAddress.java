@@ -0,0 +1,215 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import com.illposed.osc.routing.RawOSCPacket;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable, pre-validated OSC <i>Address</i>.
+ * The address is checked for validity only once, on creation,
+ * and its wire representation and its segments are computed at most once,
+ * on first use.
+ * Applications sending to a fixed set of addresses should keep
+ * instances of this class around,
+ * so the per-message cost of address handling drops to copying a reference.
+ * @see OSCMessage#OSCMessage(OSCAddress, List)
+ */
+public final class OSCAddress implements Serializable, Comparable<OSCAddress> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The characters not allowed in an address:
+	 * ' ', '#', '*', ',', '?', '[', ']', '{', '}'
+	 */
+	private static final String ILLEGAL_CHARS = " #*,?[]{}";
+	private static final String REPLY = "#reply";
+	private static final int ASCII_LIMIT = 0x80;
+
+	private final String address;
+	/**
+	 * The UTF-8 encoded address, zero-terminated and padded,
+	 * exactly as it appears in a packet.
+	 * Lazily initialized; racing initializations produce equal values.
+	 */
+	private transient byte[] encoded;
+	private final boolean ascii;
+	/**
+	 * Lazily initialized; racing initializations produce equal values.
+	 */
+	private transient List<String> segments;
+
+	private OSCAddress(final String address) {
+
+		this.address = address;
+		this.ascii = isAscii(address);
+	}
+
+	/**
+	 * Creates an instance for an address that was already checked for validity,
+	 * or is not required to be valid.
+	 * @param address the address to wrap
+	 * @return a new instance, without checking the address
+	 */
+	static OSCAddress valueOfUnchecked(final String address) {
+		return new OSCAddress(address);
+	}
+
+	/**
+	 * Creates an instance of a valid OSC address.
+	 * @param address the textual address, for example {@code "/mixer/channel/3/volume"}
+	 * @return the address
+	 * @throws IllegalArgumentException if the address is not valid
+	 * @see #isValid(String)
+	 */
+	public static OSCAddress valueOf(final String address) {
+
+		if (!isValid(address)) {
+			throw new IllegalArgumentException("Not a valid OSC address: " + address);
+		}
+		return new OSCAddress(address);
+	}
+
+	/**
+	 * Checks whether a given string is a valid OSC <i>Address</i>.
+	 * @param address to be checked for validity
+	 * @return true if the supplied string constitutes a valid OSC address
+	 */
+	public static boolean isValid(final String address) {
+
+		if ((address == null) || address.isEmpty()) {
+			return false;
+		}
+		if (address.equals(REPLY)) {
+			return true;
+		}
+		if (address.charAt(0) != '/') {
+			return false;
+		}
+		char previous = 0;
+		for (int ci = 0; ci < address.length(); ci++) {
+			final char chr = address.charAt(ci);
+			if ((ILLEGAL_CHARS.indexOf(chr) >= 0) || ((chr == '/') && (previous == '/'))) {
+				return false;
+			}
+			previous = chr;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the address in its wire format:
+	 * UTF-8 encoded, zero-terminated and padded to a multiple of
+	 * {@link OSCParser#ALIGNMENT_BYTES}.
+	 * NOTE The returned array is shared, and must not be modified.
+	 * @return the encoded address
+	 */
+	byte[] encoded() {
+
+		byte[] curEncoded = encoded;
+		if (curEncoded == null) {
+			final byte[] utf8 = address.getBytes(StandardCharsets.UTF_8);
+			curEncoded = Arrays.copyOf(utf8, RawOSCPacket.alignedStringSize(utf8.length));
+			encoded = curEncoded;
+		}
+		return curEncoded;
+	}
+
+	private static boolean isAscii(final String str) {
+
+		for (int ci = 0; ci < str.length(); ci++) {
+			if (str.charAt(ci) >= ASCII_LIMIT) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Whether this address consists of ASCII characters only,
+	 * and is thus encoded the same in any ASCII compatible character-set.
+	 * @return {@code true} if all characters are ASCII
+	 */
+	boolean isAscii() {
+		return ascii;
+	}
+
+	/**
+	 * Returns the address in its wire format:
+	 * UTF-8 encoded, zero-terminated and padded to a multiple of
+	 * {@link OSCParser#ALIGNMENT_BYTES}.
+	 * @return a read-only view of the encoded address
+	 */
+	public ByteBuffer getEncoded() {
+		return ByteBuffer.wrap(encoded()).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Returns the parts of this address between the slashes.
+	 * For example, {@code "/mixer/channel/3"} consists of
+	 * {@code "mixer"}, {@code "channel"} and {@code "3"}.
+	 * @return the segments of this address
+	 */
+	public List<String> getSegments() {
+
+		List<String> curSegments = segments;
+		if (curSegments == null) {
+			curSegments = split(address);
+			segments = curSegments;
+		}
+		return curSegments;
+	}
+
+	/**
+	 * Splits an OSC message address or address selector pattern into its parts.
+	 * @param addressOrPattern to be split into parts, e.g.: "/hello/", "/hello//world//"
+	 * @return the given address or pattern split into parts: {"hello"}, {"hello, "", "world", ""}
+	 */
+	public static List<String> split(final String addressOrPattern) {
+
+		final List<String> parts
+				= new ArrayList<>(Arrays.asList(addressOrPattern.split("/", -1)));
+		if (addressOrPattern.startsWith("/")) {
+			// as "/hello" gets split into {"", "hello"}, we remove the first empty entry,
+			// so we end up with {"hello"}
+			parts.remove(0);
+		}
+		if (addressOrPattern.endsWith("/")) {
+			// as "hello/" gets split into {"hello", ""}, we also remove the last empty entry,
+			// so we end up with {"hello"}
+			parts.remove(parts.size() - 1);
+		}
+		return Collections.unmodifiableList(parts);
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+
+		return (this == other)
+				|| ((other instanceof OSCAddress) && address.equals(((OSCAddress) other).address));
+	}
+
+	@Override
+	public int hashCode() {
+		return address.hashCode();
+	}
+
+	@Override
+	public int compareTo(final OSCAddress other) {
+		return address.compareTo(other.address);
+	}
+
+	@Override
+	public String toString() {
+		return address;
+	}
+}
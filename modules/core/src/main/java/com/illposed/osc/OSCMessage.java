@@ -7,7 +7,6 @@ package com.illposed.osc;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Pattern;
 
 /**
  * An simple (non-bundle) OSC message.
@@ -20,15 +19,11 @@ public class OSCMessage implements OSCPacket {
 
 	private static final long serialVersionUID = 1L;
 
+	private final String address;
 	/**
-	 * Java regular expression pattern matching a single invalid character.
-	 * The invalid characters are:
-	 * ' ', '#', '*', ',', '?', '[', ']', '{', '}'
+	 * Lazily initialized, unless the message was created with it.
 	 */
-	private static final Pattern ILLEGAL_ADDRESS_CHAR
-			= Pattern.compile("[ #*,?\\[\\]{}]");
-
-	private final String address;
+	private transient OSCAddress oscAddress;
 	private final List<Object> arguments;
 	private OSCMessageInfo info;
 
@@ -78,10 +73,50 @@ public class OSCMessage implements OSCPacket {
 			checkAddress(address);
 		}
 		this.address = address;
-		this.arguments = Collections.unmodifiableList(arguments);
+		this.oscAddress = null;
+		this.arguments = wrapArguments(arguments);
+		this.info = info;
+	}
+
+	/**
+	 * Creates an OSCMessage with a pre-validated address
+	 * and arguments already initialized.
+	 * This skips address verification, as that was already done
+	 * when creating the address.
+	 * @param address  the recipient of this OSC message
+	 * @param arguments  the data sent to the receiver
+	 */
+	public OSCMessage(final OSCAddress address, final List<?> arguments) {
+		this(address, arguments, null);
+	}
+
+	/**
+	 * Creates an OSCMessage with a pre-validated address
+	 * and arguments already initialized.
+	 * This skips address verification, as that was already done
+	 * when creating the address.
+	 * @param address  the recipient of this OSC message
+	 * @param arguments  the data sent to the receiver
+	 * @param info  meta-info about the message, or {@code null}, if not yet available
+	 */
+	public OSCMessage(final OSCAddress address, final List<?> arguments, final OSCMessageInfo info) {
+
+		this.address = address.toString();
+		this.oscAddress = address;
+		this.arguments = wrapArguments(arguments);
 		this.info = info;
 	}
 
+	@SuppressWarnings("unchecked")
+	private static List<Object> wrapArguments(final List<?> arguments) {
+
+		if (arguments instanceof CompactArgumentList) {
+			// already immutable
+			return (List<Object>) arguments;
+		}
+		return Collections.unmodifiableList(arguments);
+	}
+
 	/**
 	 * The receiver of this message.
 	 * @return the receiver of this OSC Message
@@ -90,14 +125,93 @@ public class OSCMessage implements OSCPacket {
 		return address;
 	}
 
+	/**
+	 * The receiver of this message,
+	 * including its cached wire representation and segments.
+	 * @return the receiver of this OSC Message
+	 */
+	public OSCAddress getOSCAddress() {
+
+		OSCAddress curOscAddress = oscAddress;
+		if (curOscAddress == null) {
+			// the address was already checked in the constructor, if at all
+			curOscAddress = OSCAddress.valueOfUnchecked(address);
+			oscAddress = curOscAddress;
+		}
+		return curOscAddress;
+	}
+
 	/**
 	 * The arguments of this message.
+	 * If the arguments are stored compactly, as is the case for parsed messages,
+	 * this is a view that boxes primitive arguments on access;
+	 * prefer the typed accessors like {@link #getFloat(int)} for those.
 	 * @return the arguments to this message
 	 */
 	public List<Object> getArguments() {
 		return arguments;
 	}
 
+	/**
+	 * Returns a numeric argument as an {@code int},
+	 * without boxing it if the arguments are stored compactly.
+	 * @param index of the argument
+	 * @return the argument, converted like {@link Number#intValue()}
+	 * @throws ClassCastException if the argument is not a number
+	 * @see CompactArgumentList
+	 */
+	public int getInt(final int index) {
+
+		return (arguments instanceof CompactArgumentList)
+				? ((CompactArgumentList) arguments).getInt(index)
+				: ((Number) arguments.get(index)).intValue();
+	}
+
+	/**
+	 * Returns a numeric argument as a {@code long},
+	 * without boxing it if the arguments are stored compactly.
+	 * @param index of the argument
+	 * @return the argument, converted like {@link Number#longValue()}
+	 * @throws ClassCastException if the argument is not a number
+	 * @see CompactArgumentList
+	 */
+	public long getLong(final int index) {
+
+		return (arguments instanceof CompactArgumentList)
+				? ((CompactArgumentList) arguments).getLong(index)
+				: ((Number) arguments.get(index)).longValue();
+	}
+
+	/**
+	 * Returns a numeric argument as a {@code float},
+	 * without boxing it if the arguments are stored compactly.
+	 * @param index of the argument
+	 * @return the argument, converted like {@link Number#floatValue()}
+	 * @throws ClassCastException if the argument is not a number
+	 * @see CompactArgumentList
+	 */
+	public float getFloat(final int index) {
+
+		return (arguments instanceof CompactArgumentList)
+				? ((CompactArgumentList) arguments).getFloat(index)
+				: ((Number) arguments.get(index)).floatValue();
+	}
+
+	/**
+	 * Returns a numeric argument as a {@code double},
+	 * without boxing it if the arguments are stored compactly.
+	 * @param index of the argument
+	 * @return the argument, converted like {@link Number#doubleValue()}
+	 * @throws ClassCastException if the argument is not a number
+	 * @see CompactArgumentList
+	 */
+	public double getDouble(final int index) {
+
+		return (arguments instanceof CompactArgumentList)
+				? ((CompactArgumentList) arguments).getDouble(index)
+				: ((Number) arguments.get(index)).doubleValue();
+	}
+
 	/**
 	 * Returns meta-info about this message.
 	 * @return the meta-info, or {@code null}, if none are set yet.
@@ -142,17 +256,10 @@ public class OSCMessage implements OSCPacket {
 	 * Checks whether a given string is a valid OSC <i>Address Pattern</i>.
 	 * @param address to be checked for validity
 	 * @return true if the supplied string constitutes a valid OSC address
+	 * @see OSCAddress#isValid(String)
 	 */
 	@SuppressWarnings("WeakerAccess")
 	public static boolean isValidAddress(final String address) {
-		return (address != null)
-				&& !address.isEmpty()
-				&& (
-					address.equals("#reply")
-					|| (
-						(address.charAt(0) == '/')
-						&& !address.contains("//")
-						&& !ILLEGAL_ADDRESS_CHAR.matcher(address).find()
-					));
+		return OSCAddress.isValid(address);
 	}
 }
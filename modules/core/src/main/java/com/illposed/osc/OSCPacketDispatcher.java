@@ -7,17 +7,28 @@ package com.illposed.osc;
 
 import com.illposed.osc.argument.OSCTimeTag64;
 import com.illposed.osc.argument.handler.StringArgumentHandler;
+import com.illposed.osc.messageselector.MultiRegexAddressIndex;
+import com.illposed.osc.metrics.OSCMetrics;
+import com.illposed.osc.routing.AddressFilter;
+import com.illposed.osc.routing.AddressPrefixTrie;
+import com.illposed.osc.tracing.OSCTracer;
+import com.illposed.osc.tracing.OSCTracing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 /**
  * Dispatches {@link OSCPacket}s to registered listeners (<i>Method</i>s).
@@ -27,25 +38,70 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 	// Public API
 	/**
 	 * Completely arbitrary number of arguments,
-	 * required only due to library internal technical reasons.
-	 * It should be possible to get around this limitation,
-	 * by refactoring the code.
-	 * XXX refactor-out this arbitrary number
+	 * formerly the most a message lacking meta-info could have.
+	 * Type tags are now generated without this limitation,
+	 * so it is no longer used by this library.
 	 */
 	@SuppressWarnings("WeakerAccess")
 	public static final int MAX_ARGUMENTS = 64;
 	private static final int DEFAULT_CORE_THREADS = 3;
-	private final BytesReceiver argumentTypesOutput;
-	private final OSCSerializer serializer;
-	private final Charset typeTagsCharset;
+	private final Logger log = LoggerFactory.getLogger(OSCPacketDispatcher.class);
+	/**
+	 * Generates the type tags of messages lacking meta-info,
+	 * or {@code null} if we were not given a serializer builder.
+	 */
+	private final TypeTagSignatureCache typeTagSignatures;
+	/**
+	 * Guards {@link #selectiveMessageListeners} and rebuilding {@link #routing}.
+	 */
+	private final Object listenersLock;
+	/**
+	 * Guarded by {@link #listenersLock}.
+	 */
 	private final List<SelectiveMessageListener> selectiveMessageListeners;
 	private final List<OSCBadDataListener> badDataListeners;
+	/**
+	 * What the registered listeners get selected by,
+	 * or {@code null} if listeners were added or removed since it was last built.
+	 * It gets rebuilt on demand, so adding many listeners in a row
+	 * costs only a single rebuild.
+	 */
+	private volatile ListenerRouting routing;
+	/**
+	 * Per thread storage for matching the regular expression address selectors,
+	 * or {@code null} while it is in use by an outer dispatch on the same thread.
+	 */
+	private final ThreadLocal<MultiRegexAddressIndex.Matches> regexMatches;
+	private final AddressFilter addressFilter;
 	private boolean metaInfoRequired;
 	/**
 	 * Whether to disregard bundle time-stamps for dispatch-scheduling.
 	 */
 	private boolean alwaysDispatchingImmediately;
 	private final ScheduledExecutorService dispatchScheduler;
+	private volatile OSCMetrics metrics;
+	/**
+	 * How long a single listener call may take, in nanoseconds,
+	 * or {@code 0} to not time listeners at all.
+	 */
+	private volatile long listenerBudgetNanos;
+	/**
+	 * After how many consecutive calls exceeding the budget
+	 * a listener gets moved to its own thread, or {@code 0} for never.
+	 */
+	private volatile int quarantineThreshold;
+	private volatile SlowListenerHandler slowListenerHandler;
+	/**
+	 * The threads packets get dispatched on,
+	 * or {@code null} to dispatch on the calling thread.
+	 */
+	private volatile DispatchShard[] shards;
+	private volatile ShardKeyFunction shardKeyFunction;
+	/**
+	 * Runs the listener invocations of each message,
+	 * or {@code null} to invoke listeners on the dispatching thread.
+	 */
+	private volatile SerializingExecutor listenerExecutor;
 
 	public static class DaemonThreadFactory implements ThreadFactory {
 		@Override
@@ -61,13 +117,52 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 
 		private final MessageSelector selector;
 		private final OSCMessageListener listener;
+		private final MessageListenerStats stats;
+		/**
+		 * The thread this listener runs on after it got quarantined,
+		 * or {@code null} while it runs on the dispatching thread.
+		 * Once set, it stays, even after being shut down on removal of the listener.
+		 */
+		private volatile ExecutorService quarantineExecutor;
+		/**
+		 * Whether this listener got removed from the dispatcher.
+		 * Guarded by {@code this}.
+		 */
+		private boolean released;
+		/**
+		 * Feeds this listener on a thread of its own,
+		 * or {@code null} if it runs on the dispatching thread.
+		 */
+		private final ListenerMailbox mailbox;
 
+		/**
+		 * Creates a listener registration with a mailbox.
+		 * @param mailboxDeliverer gets called on the mailbox thread
+		 *   with this registration and each message taken from the mailbox
+		 */
 		SelectiveMessageListener(
 				final MessageSelector selector,
-				final OSCMessageListener listener)
+				final OSCMessageListener listener,
+				final int capacity,
+				final MailboxOverflowPolicy overflowPolicy,
+				final BiConsumer<SelectiveMessageListener, OSCMessageEvent> mailboxDeliverer)
 		{
 			this.selector = selector;
 			this.listener = listener;
+			this.mailbox = (overflowPolicy == null)
+					? null
+					: new ListenerMailbox("OSC mailbox " + listener, capacity, overflowPolicy,
+							event -> mailboxDeliverer.accept(this, event));
+			this.stats = new MessageListenerStats(selector, listener, mailbox);
+			this.quarantineExecutor = null;
+			this.released = false;
+		}
+
+		SelectiveMessageListener(
+				final MessageSelector selector,
+				final OSCMessageListener listener)
+		{
+			this(selector, listener, 0, null, null);
 		}
 
 		public MessageSelector getSelector() {
@@ -78,6 +173,36 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 			return listener;
 		}
 
+		public MessageListenerStats getStats() {
+			return stats;
+		}
+
+		/**
+		 * Moves this listener to its own thread,
+		 * unless it was moved already, or got removed.
+		 * @return {@code true} if this call moved it
+		 */
+		synchronized boolean quarantine() {
+
+			if (released || (quarantineExecutor != null)) {
+				return false;
+			}
+			quarantineExecutor = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+			stats.setQuarantined();
+			return true;
+		}
+
+		synchronized void release() {
+
+			released = true;
+			if (quarantineExecutor != null) {
+				quarantineExecutor.shutdown();
+			}
+			if (mailbox != null) {
+				mailbox.close();
+			}
+		}
+
 		@Override
 		public boolean equals(final Object other) {
 
@@ -100,27 +225,40 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 		}
 	}
 
-	private static class NullOSCSerializer extends OSCSerializer {
+	/**
+	 * The registered listeners, in order of registration,
+	 * with the regular expression address selectors among them indexed,
+	 * so they can be matched all at once.
+	 * Instances are immutable, and thus thread-safe.
+	 */
+	private static final class ListenerRouting {
 
-		NullOSCSerializer() {
-			super(
-					Collections.emptyList(),
-					Collections.emptyMap(),
-					null);
-		}
+		private final SelectiveMessageListener[] listeners;
+		/**
+		 * The address prefixes of all the selectors.
+		 */
+		private final AddressPrefixTrie<MessageSelector> addressPrefixes;
+		private final MultiRegexAddressIndex regexSelectors;
+		/**
+		 * Indices of the listeners whose selectors are not in {@link #regexSelectors}.
+		 */
+		private final int[] unindexedListeners;
 
-		@Override
-		public void writeOnlyTypeTags(final List<?> arguments) {
-			throw new IllegalStateException(
-					"You need to either dispatch only packets containing meta-info, "
-					+ "or supply a serialization factory to the dispatcher");
-		}
-	}
+		ListenerRouting(final SelectiveMessageListener[] listeners) {
 
-	private static class NullOSCSerializerBuilder extends OSCSerializerAndParserBuilder {
-		@Override
-		public OSCSerializer buildSerializer(final BytesReceiver output) {
-			return new NullOSCSerializer();
+			this.listeners = listeners;
+			this.addressPrefixes = new AddressPrefixTrie<>();
+			this.regexSelectors = new MultiRegexAddressIndex();
+			final int[] unindexed = new int[listeners.length];
+			int numUnindexed = 0;
+			for (int li = 0; li < listeners.length; li++) {
+				final MessageSelector selector = listeners[li].getSelector();
+				addressPrefixes.put(selector.getAddressPrefix(), selector);
+				if (!regexSelectors.add(selector, li)) {
+					unindexed[numUnindexed++] = li;
+				}
+			}
+			this.unindexedListeners = Arrays.copyOf(unindexed, numUnindexed);
 		}
 	}
 
@@ -130,29 +268,38 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 			final OSCSerializerAndParserBuilder serializerBuilder,
 			final ScheduledExecutorService dispatchScheduler)
 	{
-		final OSCSerializerAndParserBuilder nonNullSerializerBuilder;
-		final ByteBuffer argumentTypesBuffer;
 		if (serializerBuilder == null) {
-			argumentTypesBuffer = ByteBuffer.allocate(0);
-			nonNullSerializerBuilder = new NullOSCSerializerBuilder();
+			this.typeTagSignatures = null;
 		} else {
-			argumentTypesBuffer = ByteBuffer.allocate(MAX_ARGUMENTS);
-			nonNullSerializerBuilder = serializerBuilder;
-		}
-		this.argumentTypesOutput = new BufferBytesReceiver(argumentTypesBuffer);
-		this.serializer = nonNullSerializerBuilder.buildSerializer(argumentTypesOutput);
-		final Map<String, Object> serializationProperties
-				= nonNullSerializerBuilder.getProperties();
-		final Charset propertiesCharset
-				= (Charset) serializationProperties.get(StringArgumentHandler.PROP_NAME_CHARSET);
-		this.typeTagsCharset = (propertiesCharset == null)
-				? Charset.defaultCharset()
-				: propertiesCharset;
+			final Map<String, Object> serializationProperties
+					= serializerBuilder.getProperties();
+			final Charset propertiesCharset
+					= (Charset) serializationProperties.get(StringArgumentHandler.PROP_NAME_CHARSET);
+			final Charset typeTagsCharset = (propertiesCharset == null)
+					? Charset.defaultCharset()
+					: propertiesCharset;
+			this.typeTagSignatures = new TypeTagSignatureCache(
+					serializerBuilder.buildSerializerEngine(), typeTagsCharset);
+		}
+		// NOTE Listeners may get invoked from other threads than the one registering them,
+		//   which only ever see them through the immutable routing
+		this.listenersLock = new Object();
 		this.selectiveMessageListeners = new ArrayList<>();
 		this.badDataListeners = new ArrayList<>();
+		this.routing = new ListenerRouting(new SelectiveMessageListener[0]);
+		this.regexMatches = new ThreadLocal<>();
+		this.addressFilter = (data, offset, length)
+				-> getRouting().addressPrefixes.matchesAny(data, offset, length);
 		this.metaInfoRequired = false;
 		this.alwaysDispatchingImmediately = false;
 		this.dispatchScheduler = dispatchScheduler;
+		this.metrics = OSCMetrics.DISABLED;
+		this.listenerBudgetNanos = 0L;
+		this.quarantineThreshold = 0;
+		this.slowListenerHandler = null;
+		this.shards = null;
+		this.shardKeyFunction = ShardKeyFunction.ADDRESS;
+		this.listenerExecutor = null;
 	}
 
 	// Public API
@@ -171,6 +318,280 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 		return Executors.newScheduledThreadPool(DEFAULT_CORE_THREADS, new DaemonThreadFactory());
 	}
 
+	/**
+	 * Returns the metrics this dispatcher reports to.
+	 * @return the metrics in use, {@link OSCMetrics#DISABLED} by default
+	 */
+	public OSCMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Sets the metrics to report dispatch times, dispatched messages
+	 * and the lateness of scheduled bundles to.
+	 * @param metrics the metrics to use, or {@code null} to disable them
+	 */
+	public void setMetrics(final OSCMetrics metrics) {
+		this.metrics = (metrics == null) ? OSCMetrics.DISABLED : metrics;
+	}
+
+	// Public API
+	/**
+	 * Sets how long a single call to a message listener may take.
+	 * While a budget is set, every call gets timed,
+	 * and {@link #getListenerStats() statistics} are kept per listener.
+	 * Calls exceeding the budget are reported to the
+	 * {@link #setSlowListenerHandler(SlowListenerHandler) slow listener handler},
+	 * or logged if there is none.
+	 * @param budget how long a listener call may take, or {@code 0} to disable timing
+	 * @param unit the unit of {@code budget}
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public void setListenerBudget(final long budget, final TimeUnit unit) {
+		this.listenerBudgetNanos = unit.toNanos(budget);
+	}
+
+	// Public API
+	/**
+	 * Returns how long a single call to a message listener may take.
+	 * @return the budget in nanoseconds, or {@code 0} if listeners are not timed
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public long getListenerBudgetNanos() {
+		return listenerBudgetNanos;
+	}
+
+	// Public API
+	/**
+	 * Sets after how many consecutive calls exceeding the
+	 * {@link #setListenerBudget(long, TimeUnit) budget}
+	 * a listener gets quarantined.
+	 * A quarantined listener is moved to its own, single thread,
+	 * so it no longer delays the dispatching thread and the other listeners.
+	 * It still receives its messages in order,
+	 * but no longer in order with respect to the other listeners.
+	 * Messages queue up without bound if it can not keep up.
+	 * @param quarantineThreshold the number of consecutive slow calls,
+	 *   or {@code 0} to never quarantine listeners
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public void setQuarantineThreshold(final int quarantineThreshold) {
+		this.quarantineThreshold = quarantineThreshold;
+	}
+
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public int getQuarantineThreshold() {
+		return quarantineThreshold;
+	}
+
+	// Public API
+	/**
+	 * Sets who gets notified about listener calls exceeding the budget.
+	 * @param slowListenerHandler the handler to notify,
+	 *   or {@code null} to log slow calls instead
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public void setSlowListenerHandler(final SlowListenerHandler slowListenerHandler) {
+		this.slowListenerHandler = slowListenerHandler;
+	}
+
+	// Public API
+	/**
+	 * Returns the execution statistics of all registered listeners,
+	 * in the order they were added.
+	 * @return a snapshot of the listener registrations statistics
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public List<MessageListenerStats> getListenerStats() {
+
+		final SelectiveMessageListener[] listeners = getRouting().listeners;
+		final List<MessageListenerStats> stats = new ArrayList<>(listeners.length);
+		for (final SelectiveMessageListener selectiveMessageListener : listeners) {
+			stats.add(selectiveMessageListener.getStats());
+		}
+		return stats;
+	}
+
+	// Public API
+	/**
+	 * Sets the number of threads packets get dispatched on.
+	 * By default, packets get dispatched on the thread calling
+	 * {@link #handlePacket(OSCPacketEvent)}, which is the receiving one for ports.
+	 * With shards, each packet gets queued for one of them instead,
+	 * chosen by the {@link #setShardKeyFunction(ShardKeyFunction) key}
+	 * of the (first) message it contains.
+	 * This spreads the work across cores, while messages with equal keys
+	 * (by default, the same address) still get dispatched in order.
+	 * A bundle always gets dispatched as a whole by a single shard,
+	 * so it may overtake messages to its other addresses that were received earlier.
+	 * Listeners have to be thread-safe if their selectors match
+	 * messages that may end up on different shards.
+	 * Changing the number of shards while packets are being dispatched
+	 * may reorder the packets in flight.
+	 * @param shardCount the number of dispatch threads,
+	 *   or {@code 0} to dispatch on the calling thread
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public synchronized void setShardCount(final int shardCount) {
+
+		if (shardCount < 0) {
+			throw new IllegalArgumentException("Shard count may not be negative: " + shardCount);
+		}
+		final DispatchShard[] oldShards = shards;
+		if (shardCount == 0) {
+			shards = null;
+		} else {
+			final DispatchShard[] newShards = new DispatchShard[shardCount];
+			for (int si = 0; si < shardCount; si++) {
+				newShards[si] = new DispatchShard("OSC dispatch shard " + si, this::dispatchOnShard);
+				newShards[si].start();
+			}
+			shards = newShards;
+		}
+		if (oldShards != null) {
+			for (final DispatchShard shard : oldShards) {
+				shard.stop();
+			}
+		}
+	}
+
+	// Public API
+	/**
+	 * Returns the number of threads packets get dispatched on.
+	 * @return the number of shards, or {@code 0} if packets get dispatched
+	 *   on the calling thread
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public int getShardCount() {
+
+		final DispatchShard[] curShards = shards;
+		return (curShards == null) ? 0 : curShards.length;
+	}
+
+	// Public API
+	/**
+	 * Returns the number of packets waiting to be dispatched, per shard.
+	 * @return the current queue size of each shard,
+	 *   or an empty array if not sharding
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public int[] getShardQueueSizes() {
+
+		final DispatchShard[] curShards = shards;
+		if (curShards == null) {
+			return new int[0];
+		}
+		final int[] sizes = new int[curShards.length];
+		for (int si = 0; si < curShards.length; si++) {
+			sizes[si] = curShards[si].getQueueSize();
+		}
+		return sizes;
+	}
+
+	// Public API
+	/**
+	 * Sets what decides the shard a message gets dispatched by.
+	 * @param shardKeyFunction extracts the key from a message,
+	 *   or {@code null} to use {@link ShardKeyFunction#ADDRESS}
+	 * @see #setShardCount(int)
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public void setShardKeyFunction(final ShardKeyFunction shardKeyFunction) {
+		this.shardKeyFunction = (shardKeyFunction == null)
+				? ShardKeyFunction.ADDRESS
+				: shardKeyFunction;
+	}
+
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public ShardKeyFunction getShardKeyFunction() {
+		return shardKeyFunction;
+	}
+
+	// Public API
+	/**
+	 * Indicates whether the runtime supports virtual threads,
+	 * which requires Java 21 or later.
+	 * @return whether {@link #setVirtualThreadExecution(int)} uses virtual threads
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public static boolean isVirtualThreadExecutionSupported() {
+		return VirtualThreads.isSupported();
+	}
+
+	// Public API
+	/**
+	 * Makes the listeners get invoked on virtual threads,
+	 * instead of on the dispatching thread.
+	 * This suits listeners that block, for example on network or database I/O,
+	 * which would otherwise hold up dispatching, and thus receiving.
+	 * All the listeners for one message get invoked on the same thread,
+	 * and messages to the same address get handled one after the other,
+	 * in the order they were dispatched.
+	 * Messages to different addresses get handled concurrently,
+	 * so listeners have to be thread-safe.
+	 * If the runtime does not support virtual threads (before Java 21),
+	 * a pool of platform threads is used instead.
+	 * @param maxInFlight how many messages may be waiting for or being handled
+	 *   by their listeners at most;
+	 *   dispatching blocks while this many are in flight.
+	 *   Use {@code 0} to invoke listeners on the dispatching thread again (the default).
+	 * @see #isVirtualThreadExecutionSupported()
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public synchronized void setVirtualThreadExecution(final int maxInFlight) {
+
+		if (maxInFlight < 0) {
+			throw new IllegalArgumentException(
+					"Maximum in-flight invocations may not be negative: " + maxInFlight);
+		}
+		final SerializingExecutor oldExecutor = listenerExecutor;
+		if (maxInFlight == 0) {
+			listenerExecutor = null;
+		} else {
+			final ExecutorService executor;
+			if (VirtualThreads.isSupported()) {
+				executor = VirtualThreads.newPerTaskExecutor();
+			} else {
+				log.info("Virtual threads are not supported by this runtime;"
+						+ " invoking listeners on platform threads instead");
+				executor = Executors.newCachedThreadPool(new DaemonThreadFactory());
+			}
+			listenerExecutor = new SerializingExecutor(executor, maxInFlight);
+		}
+		if (oldExecutor != null) {
+			oldExecutor.shutdown();
+		}
+	}
+
+	// Public API
+	/**
+	 * Returns how many messages may be in flight to the listeners at most.
+	 * @return the bound, or {@code 0} if listeners get invoked on the dispatching thread
+	 * @see #setVirtualThreadExecution(int)
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public int getMaxInFlightInvocations() {
+
+		final SerializingExecutor curExecutor = listenerExecutor;
+		return (curExecutor == null) ? 0 : curExecutor.getMaxInFlight();
+	}
+
+	// Public API
+	/**
+	 * Returns how many messages are currently waiting for or being handled by their listeners.
+	 * @return the number of messages in flight,
+	 *   always {@code 0} if listeners get invoked on the dispatching thread
+	 * @see #setVirtualThreadExecution(int)
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public int getInFlightInvocations() {
+
+		final SerializingExecutor curExecutor = listenerExecutor;
+		return (curExecutor == null) ? 0 : curExecutor.getInFlight();
+	}
+
 	/**
 	 * Set whether to disregard bundle time-stamps for dispatch-scheduling.
 	 * @param alwaysDispatchingImmediately if {@code true}, all bundles will be
@@ -214,9 +635,51 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 			final MessageSelector messageSelector,
 			final OSCMessageListener listener)
 	{
-		selectiveMessageListeners.add(new SelectiveMessageListener(messageSelector, listener));
-		if (messageSelector.isInfoRequired()) {
-			metaInfoRequired = true;
+		addListener(new SelectiveMessageListener(messageSelector, listener));
+	}
+
+	// Public API
+	/**
+	 * Adds a listener (<i>Method</i> in OSC speak) that gets its own mailbox,
+	 * and is notified of the messages matching the selector
+	 * on a thread of its own.
+	 * This isolates it from the other listeners:
+	 * however slow it is, it does not hold up dispatching to them,
+	 * and a listener added this way never gets
+	 * {@link #setQuarantineThreshold(int) quarantined}.
+	 * It receives the selected messages in the order they were dispatched,
+	 * minus those discarded by the overflow policy.
+	 * The mailbox depth and the number of dropped messages
+	 * are available through {@link #getListenerStats()}.
+	 * @param messageSelector selects which messages will be forwarded to the listener
+	 * @param listener receives messages accepted by the selector
+	 * @param capacity how many messages may wait in the mailbox
+	 * @param overflowPolicy what to do with messages arriving while the mailbox is full
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public void addListener(
+			final MessageSelector messageSelector,
+			final OSCMessageListener listener,
+			final int capacity,
+			final MailboxOverflowPolicy overflowPolicy)
+	{
+		if (overflowPolicy == null) {
+			throw new IllegalArgumentException("Mailbox overflow policy may not be null");
+		}
+		final SelectiveMessageListener selectiveMessageListener = new SelectiveMessageListener(
+				messageSelector, listener, capacity, overflowPolicy, this::deliverFromMailbox);
+		addListener(selectiveMessageListener);
+		selectiveMessageListener.mailbox.start();
+	}
+
+	private void addListener(final SelectiveMessageListener selectiveMessageListener) {
+
+		synchronized (listenersLock) {
+			selectiveMessageListeners.add(selectiveMessageListener);
+			if (selectiveMessageListener.getSelector().isInfoRequired()) {
+				metaInfoRequired = true;
+			}
+			routing = null;
 		}
 	}
 
@@ -233,12 +696,61 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 			final MessageSelector messageSelector,
 			final OSCMessageListener listener)
 	{
-		selectiveMessageListeners.remove(new SelectiveMessageListener(messageSelector, listener));
-		if (metaInfoRequired) {
-			// re-evaluate whether meta info is still required
-			metaInfoRequired = selectiveMessageListeners.stream()
-					.anyMatch(selMsgListener -> selMsgListener.getSelector().isInfoRequired());
+		synchronized (listenersLock) {
+			final int index = selectiveMessageListeners.indexOf(
+					new SelectiveMessageListener(messageSelector, listener));
+			if (index >= 0) {
+				selectiveMessageListeners.remove(index).release();
+			}
+			if (metaInfoRequired) {
+				// re-evaluate whether meta info is still required
+				metaInfoRequired = selectiveMessageListeners.stream()
+						.anyMatch(selMsgListener -> selMsgListener.getSelector().isInfoRequired());
+			}
+			routing = null;
+		}
+	}
+
+	/**
+	 * Returns the routing for the currently registered listeners,
+	 * building it first if they changed.
+	 * @return the current routing, never {@code null}
+	 */
+	private ListenerRouting getRouting() {
+
+		ListenerRouting curRouting = routing;
+		if (curRouting == null) {
+			synchronized (listenersLock) {
+				curRouting = routing;
+				if (curRouting == null) {
+					curRouting = new ListenerRouting(
+							selectiveMessageListeners.toArray(new SelectiveMessageListener[0]));
+					routing = curRouting;
+				}
+			}
 		}
+		return curRouting;
+	}
+
+	// Public API
+	/**
+	 * Returns a filter accepting only addresses that may be selected
+	 * by at least one of the registered listeners,
+	 * according to their {@link MessageSelector#getAddressPrefix() address prefixes}.
+	 * The filter always reflects the currently registered listeners,
+	 * and is safe to be used from an other thread, for example a receiving one.
+	 * Setting it on a port makes the port discard uninteresting messages
+	 * before parsing them; this is only valid if this dispatcher
+	 * is the only packet listener of that port:
+	 * <blockquote><pre>{@code
+	 * port.setAddressFilter(port.getDispatcher().getAddressFilter());
+	 * }</pre></blockquote>
+	 * @return a live filter based on the registered listeners
+	 * @see com.illposed.osc.transport.OSCPortIn#setAddressFilter(AddressFilter)
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public AddressFilter getAddressFilter() {
+		return addressFilter;
 	}
 
 	// Public API
@@ -293,7 +805,63 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 	 */
 	@Override
 	public void handlePacket(final OSCPacketEvent event) {
+
+		final DispatchShard[] curShards = shards;
+		if (curShards == null) {
+			dispatchTimed(event);
+		} else {
+			// the shard dispatches after the receive buffer got reused
+			curShards[shardIndex(event.getPacket(), curShards.length)]
+					.enqueue(BlobDetacher.detach(event));
+		}
+	}
+
+	private void dispatchTimed(final OSCPacketEvent event) {
+
+		final OSCMetrics curMetrics = metrics;
+		final long dispatchStart = curMetrics.startTimer();
 		dispatchPacket(event.getSource(), event.getPacket(), OSCTimeTag64.IMMEDIATE);
+		curMetrics.packetDispatched(dispatchStart);
+	}
+
+	private void dispatchOnShard(final OSCPacketEvent event) {
+
+		try {
+			dispatchTimed(event);
+		} catch (final RuntimeException ex) {
+			log.error("Failed to dispatch a packet", ex);
+		}
+	}
+
+	/**
+	 * Returns the first message of a packet, searching bundles depth-first.
+	 * @return the first message, or {@code null} if there is none
+	 */
+	private static OSCMessage firstMessage(final OSCPacket packet) {
+
+		if (packet instanceof OSCBundle) {
+			for (final OSCPacket contained : ((OSCBundle) packet).getPackets()) {
+				final OSCMessage message = firstMessage(contained);
+				if (message != null) {
+					return message;
+				}
+			}
+			return null;
+		} else {
+			return (OSCMessage) packet;
+		}
+	}
+
+	private int shardIndex(final OSCPacket packet, final int numShards) {
+
+		final OSCMessage message = firstMessage(packet);
+		final Object key = (message == null) ? null : shardKeyFunction.keyOf(message);
+		if (key == null) {
+			return 0;
+		}
+		final int hash = key.hashCode();
+		// spread the higher bits, as done in HashMap
+		return Math.floorMod(hash ^ (hash >>> 16), numShards);
 	}
 
 	/**
@@ -312,7 +880,19 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 
 		@Override
 		public void run() {
+
+			final OSCTracer tracer = OSCTracing.getTracer();
+			final Object traceToken = tracer.bundleFireStarted();
+			final OSCMetrics curMetrics = metrics;
+			final boolean measuringLateness = curMetrics.isEnabled() || (traceToken != null);
+			final long latenessMs = measuringLateness
+					? -calculateDelayFromNow(bundle.getTimestamp())
+					: 0L;
+			curMetrics.bundleFired(TimeUnit.MILLISECONDS.toNanos(latenessMs));
 			dispatchBundleNow(source, bundle);
+			if (traceToken != null) {
+				tracer.bundleFired(traceToken, latenessMs, bundle.getPackets().size());
+			}
 		}
 	}
 
@@ -337,8 +917,11 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 			//   default system clock, and thus might not be enough in some use-cases.
 			//   It can never be more accurate then 1ms, and on many systems will be ~ 10ms.
 			final long delayMs = calculateDelayFromNow(timeStamp);
+			metrics.bundleScheduled();
+			OSCTracing.getTracer().bundleScheduled(
+					timeStamp.toDate(null).getTime(), delayMs, bundle.getPackets().size());
 			dispatchScheduler.schedule(
-					new BundleDispatcher(source, bundle),
+					new BundleDispatcher(source, BlobDetacher.detach(bundle)),
 					delayMs,
 					TimeUnit.MILLISECONDS);
 		}
@@ -364,15 +947,20 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 
 	private CharSequence generateTypeTagsString(final List<?> arguments) {
 
+		if (typeTagSignatures == null) {
+			throw new IllegalStateException(
+					"You need to either dispatch only packets containing meta-info, "
+					+ "or supply a serialization factory to the dispatcher");
+		}
+		// NOTE This is called concurrently by all shards and scheduler threads,
+		//      which is fine, as the cache is thread-safe
 		try {
-			serializer.writeOnlyTypeTags(arguments);
+			return typeTagSignatures.getTypeTags(arguments);
 		} catch (final OSCSerializeException ex) {
 			throw new IllegalArgumentException(
 					"Failed generating Arguments Type Tag string while dispatching",
 					ex);
 		}
-
-		return new String(argumentTypesOutput.toByteArray(), typeTagsCharset);
 	}
 
 	private void ensureMetaInfo(final OSCMessage message) {
@@ -393,11 +981,190 @@ public class OSCPacketDispatcher implements OSCPacketListener {
 	private void dispatchMessageNow(final OSCMessageEvent event) {
 
 		ensureMetaInfo(event.getMessage());
+		metrics.messageDispatched();
+
+		final SerializingExecutor curListenerExecutor = listenerExecutor;
+		if (curListenerExecutor == null) {
+			deliverToListeners(event, false);
+		} else {
+			// the listeners run after the receive buffer got reused
+			final OSCMessageEvent detachedEvent = BlobDetacher.detach(event);
+			try {
+				curListenerExecutor.execute(event.getMessage().getAddress(),
+						() -> deliverToListenersLogged(detachedEvent));
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				log.warn("Interrupted while waiting to dispatch \"{}\"; dropping it",
+						event.getMessage().getAddress());
+			}
+		}
+	}
+
+	private void deliverToListenersLogged(final OSCMessageEvent event) {
+
+		try {
+			deliverToListeners(event, true);
+		} catch (final RuntimeException ex) {
+			log.error("Listener failed to handle \"{}\"", event.getMessage().getAddress(), ex);
+		}
+	}
+
+	/**
+	 * Hands a message to all the listeners selecting it.
+	 * @param event the message to deliver plus event meta-data
+	 * @param detached whether the blobs of the message
+	 *   were copied out of the receive buffer already
+	 */
+	private void deliverToListeners(final OSCMessageEvent event, final boolean detached) {
+
+		final ListenerRouting curRouting = getRouting();
+		final SelectiveMessageListener[] listeners = curRouting.listeners;
+		OSCMessageEvent asyncEvent = detached ? event : null;
+		if (curRouting.regexSelectors.isEmpty()) {
+			for (final SelectiveMessageListener selectiveMessageListener : listeners) {
+				if (selectiveMessageListener.getSelector().matches(event)) {
+					asyncEvent = deliverToListener(selectiveMessageListener, event, asyncEvent);
+				}
+			}
+			return;
+		}
+
+		// matches all the regular expression selectors at once,
+		// and then only the others one by one
+		MultiRegexAddressIndex.Matches matches = regexMatches.get();
+		if (matches == null) {
+			// first use on this thread, or a listener dispatching from within a dispatch
+			matches = new MultiRegexAddressIndex.Matches();
+		} else {
+			regexMatches.set(null);
+		}
+		try {
+			curRouting.regexSelectors.collectMatches(event.getMessage().getAddress(), matches);
+			final BitSet matching = matches.getIndices();
+			for (final int listenerIndex : curRouting.unindexedListeners) {
+				if (listeners[listenerIndex].getSelector().matches(event)) {
+					matching.set(listenerIndex);
+				}
+			}
+			for (int li = matching.nextSetBit(0); li >= 0; li = matching.nextSetBit(li + 1)) {
+				asyncEvent = deliverToListener(listeners[li], event, asyncEvent);
+			}
+		} finally {
+			matches.clear();
+			regexMatches.set(matches);
+		}
+	}
 
-		for (final SelectiveMessageListener selectiveMessageListener : selectiveMessageListeners) {
-			if (selectiveMessageListener.getSelector().matches(event)) {
-				selectiveMessageListener.getListener().acceptMessage(event);
+	/**
+	 * Hands a message to a single listener, or to the thread it runs on.
+	 * @param selectiveMessageListener to receive the message
+	 * @param event the message to deliver plus event meta-data
+	 * @param asyncEvent {@code event} with its blobs copied out of the receive buffer,
+	 *   or {@code null} if that was not needed so far
+	 * @return {@code asyncEvent}, possibly created by this call
+	 */
+	private OSCMessageEvent deliverToListener(
+			final SelectiveMessageListener selectiveMessageListener,
+			final OSCMessageEvent event,
+			final OSCMessageEvent asyncEvent)
+	{
+		final ExecutorService quarantineExecutor = selectiveMessageListener.quarantineExecutor;
+		if ((selectiveMessageListener.mailbox == null) && (quarantineExecutor == null)) {
+			deliver(selectiveMessageListener, event);
+			return asyncEvent;
+		}
+		final OSCMessageEvent detachedEvent
+				= (asyncEvent == null) ? BlobDetacher.detach(event) : asyncEvent;
+		if (selectiveMessageListener.mailbox != null) {
+			postToMailbox(selectiveMessageListener, detachedEvent);
+		} else {
+			try {
+				quarantineExecutor.execute(() -> deliver(selectiveMessageListener, detachedEvent));
+			} catch (final RejectedExecutionException ex) {
+				// the listener got removed while we were dispatching to it
+				log.debug("Skipping removed listener {} for \"{}\"",
+						selectiveMessageListener.getStats(), event.getMessage().getAddress());
 			}
 		}
+		return detachedEvent;
+	}
+
+	private void postToMailbox(
+			final SelectiveMessageListener selectiveMessageListener,
+			final OSCMessageEvent event)
+	{
+		try {
+			selectiveMessageListener.mailbox.post(event);
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			log.warn("Interrupted while waiting for room in the mailbox of {}; dropping \"{}\"",
+					selectiveMessageListener.getStats(), event.getMessage().getAddress());
+		}
+	}
+
+	private void deliverFromMailbox(
+			final SelectiveMessageListener selectiveMessageListener,
+			final OSCMessageEvent event)
+	{
+		try {
+			deliver(selectiveMessageListener, event);
+		} catch (final RuntimeException ex) {
+			log.error("Listener {} failed to handle \"{}\"",
+					selectiveMessageListener.getStats(), event.getMessage().getAddress(), ex);
+		}
+	}
+
+	/**
+	 * Hands a message to a single listener,
+	 * timing the call if a budget is set.
+	 */
+	private void deliver(
+			final SelectiveMessageListener selectiveMessageListener,
+			final OSCMessageEvent event)
+	{
+		final OSCMessageListener listener = selectiveMessageListener.getListener();
+		final long budgetNanos = listenerBudgetNanos;
+		final long start = (budgetNanos > 0) ? System.nanoTime() : 0L;
+		final OSCTracer tracer = OSCTracing.getTracer();
+		final Object traceToken = tracer.listenerStarted();
+		listener.acceptMessage(event);
+		if (traceToken != null) {
+			tracer.listenerFinished(traceToken, event.getMessage().getAddress(), listener.getClass());
+		}
+		if (budgetNanos > 0) {
+			final long durationNanos = System.nanoTime() - start;
+			final int consecutiveOverBudget
+					= selectiveMessageListener.getStats().record(durationNanos, budgetNanos);
+			if (consecutiveOverBudget > 0) {
+				handleSlowListener(selectiveMessageListener, event, durationNanos,
+						consecutiveOverBudget);
+			}
+		}
+	}
+
+	private void handleSlowListener(
+			final SelectiveMessageListener selectiveMessageListener,
+			final OSCMessageEvent event,
+			final long durationNanos,
+			final int consecutiveOverBudget)
+	{
+		final MessageListenerStats stats = selectiveMessageListener.getStats();
+		final SlowListenerHandler handler = slowListenerHandler;
+		if (handler == null) {
+			log.warn("Listener {} took {} us to handle \"{}\", which exceeds its budget of {} us",
+					stats, TimeUnit.NANOSECONDS.toMicros(durationNanos),
+					event.getMessage().getAddress(),
+					TimeUnit.NANOSECONDS.toMicros(listenerBudgetNanos));
+		} else {
+			handler.listenerOverBudget(stats, event, durationNanos);
+		}
+		final int threshold = quarantineThreshold;
+		if ((threshold > 0) && (consecutiveOverBudget >= threshold) && !stats.isQuarantined()
+				&& (selectiveMessageListener.mailbox == null)
+				&& selectiveMessageListener.quarantine())
+		{
+			log.warn("Quarantined listener {} to its own thread, after {} consecutive calls"
+					+ " exceeded its budget", stats, consecutiveOverBudget);
+		}
 	}
 }
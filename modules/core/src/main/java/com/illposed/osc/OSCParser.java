@@ -7,8 +7,18 @@ package com.illposed.osc;
 
 import com.illposed.osc.argument.OSCTimeTag64;
 import com.illposed.osc.argument.ArgumentHandler;
+import com.illposed.osc.argument.handler.DoubleArgumentHandler;
+import com.illposed.osc.argument.handler.FloatArgumentHandler;
 import com.illposed.osc.argument.handler.IntegerArgumentHandler;
+import com.illposed.osc.argument.handler.LongArgumentHandler;
+import com.illposed.osc.argument.handler.StringArgumentHandler;
 import com.illposed.osc.argument.handler.TimeTag64ArgumentHandler;
+import com.illposed.osc.metrics.OSCMetrics;
+import com.illposed.osc.routing.AddressFilter;
+import com.illposed.osc.routing.AddressInterner;
+import com.illposed.osc.routing.RawOSCPacket;
+import com.illposed.osc.tracing.OSCTracer;
+import com.illposed.osc.tracing.OSCTracing;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.nio.Buffer;
@@ -42,6 +52,14 @@ public class OSCParser {
 	private static final byte[] BUNDLE_START_BYTES
 			= BUNDLE_START.getBytes(StandardCharsets.UTF_8);
 	private static final String NO_ARGUMENT_TYPES = "";
+	/**
+	 * Number of slots in the table of recently seen type tags.
+	 */
+	private static final int TYPE_TAGS_TABLE_SIZE = 64;
+	/**
+	 * Longer type tags are never looked up in the table of recently seen ones.
+	 */
+	private static final int MAX_TABLE_TYPE_TAGS_LENGTH = 64;
 	// Public API
 	@SuppressWarnings("WeakerAccess")
 	public static final byte TYPES_VALUES_SEPARATOR = (byte) ',';
@@ -57,6 +75,21 @@ public class OSCParser {
 	private final Map<Character, ArgumentHandler> identifierToType;
 	private final Map<String, Object> properties;
 	private final byte[] bundleStartChecker;
+	/**
+	 * Which type tags are handled by the default handler of a primitive type,
+	 * and can thus be parsed directly into a {@link CompactArgumentList}.
+	 */
+	private final boolean[] compactTypes;
+	/**
+	 * Recently seen type tags, interned, so equal signatures are the same object,
+	 * and messages with a known signature need no decoding of it.
+	 * This is {@code null} if strings are not decoded ASCII compatible.
+	 */
+	private final String[] typeTagsTable;
+	private volatile AddressFilter addressFilter;
+	private AddressInterner addressInterner;
+	private boolean parsingPrimitiveArrays;
+	private OSCMetrics metrics;
 
 	private static class UnknownArgumentTypeParseException extends OSCParseException {
 		UnknownArgumentTypeParseException(
@@ -94,6 +127,26 @@ public class OSCParser {
 		this.properties = Collections.unmodifiableMap(
 				new HashMap<>(properties));
 		this.bundleStartChecker = new byte[BUNDLE_START.length()];
+		this.compactTypes = new boolean[Byte.MAX_VALUE + 1];
+		markCompact(IntegerArgumentHandler.DEFAULT_IDENTIFIER, IntegerArgumentHandler.class);
+		markCompact(LongArgumentHandler.DEFAULT_IDENTIFIER, LongArgumentHandler.class);
+		markCompact(FloatArgumentHandler.DEFAULT_IDENTIFIER, FloatArgumentHandler.class);
+		markCompact(DoubleArgumentHandler.DEFAULT_IDENTIFIER, DoubleArgumentHandler.class);
+		final ArgumentHandler stringType = this.identifierToType.get('s');
+		this.typeTagsTable = ((stringType instanceof StringArgumentHandler)
+				&& ((StringArgumentHandler) stringType).isAsciiCompatible())
+				? new String[TYPE_TAGS_TABLE_SIZE]
+				: null;
+		this.addressFilter = null;
+		this.addressInterner = null;
+		this.parsingPrimitiveArrays = false;
+		this.metrics = OSCMetrics.DISABLED;
+	}
+
+	private void markCompact(final char typeIdentifier, final Class<?> defaultHandlerClass) {
+
+		final ArgumentHandler type = identifierToType.get(typeIdentifier);
+		compactTypes[typeIdentifier] = (type != null) && (type.getClass() == defaultHandlerClass);
 	}
 
 	/**
@@ -123,19 +176,102 @@ public class OSCParser {
 		return properties;
 	}
 
+	/**
+	 * Returns the filter deciding which messages get parsed at all.
+	 * @return the filter set, or {@code null} if all messages get parsed
+	 */
+	public AddressFilter getAddressFilter() {
+		return addressFilter;
+	}
+
+	/**
+	 * Sets a filter deciding which messages get parsed at all,
+	 * based on their raw address.
+	 * Messages within bundles that get rejected by the filter are skipped,
+	 * and are therefore missing from the resulting bundle.
+	 * If the filter rejects a packet that is a single message,
+	 * {@link #convert(ByteBuffer)} returns {@code null}.
+	 * @param addressFilter the filter to use, or {@code null} to parse all messages
+	 */
+	public void setAddressFilter(final AddressFilter addressFilter) {
+		this.addressFilter = addressFilter;
+	}
+
+	/**
+	 * Returns the table of canonical addresses used by this parser.
+	 * @return the table in use, or {@code null} if each address is decoded anew
+	 */
+	public AddressInterner getAddressInterner() {
+		return addressInterner;
+	}
+
+	/**
+	 * Sets a table of canonical addresses,
+	 * so recurring addresses are neither decoded nor allocated again.
+	 * The same table may be shared by multiple parsers.
+	 * @param addressInterner the table to use, or {@code null} to decode each address anew
+	 */
+	public void setAddressInterner(final AddressInterner addressInterner) {
+		this.addressInterner = addressInterner;
+	}
+
+	/**
+	 * Returns whether homogeneous numeric arrays get parsed into primitive arrays.
+	 * @return {@code true} if arrays of only integers, longs, floats or doubles
+	 *   are parsed into {@code int[]}, {@code long[]}, {@code float[]} or {@code double[]}
+	 */
+	public boolean isParsingPrimitiveArrays() {
+		return parsingPrimitiveArrays;
+	}
+
+	/**
+	 * Sets whether homogeneous numeric arrays get parsed into primitive arrays,
+	 * decoding them in bulk.
+	 * This is off by default, because arrays are parsed into {@code List}s otherwise.
+	 * Arrays with mixed or non-numeric element types, and empty arrays,
+	 * are always parsed into {@code List}s.
+	 * @param parsingPrimitiveArrays whether to parse arrays of only integers, longs,
+	 *   floats or doubles into {@code int[]}, {@code long[]}, {@code float[]} or {@code double[]}
+	 */
+	public void setParsingPrimitiveArrays(final boolean parsingPrimitiveArrays) {
+		this.parsingPrimitiveArrays = parsingPrimitiveArrays;
+	}
+
+	/**
+	 * Returns the metrics this parser reports to.
+	 * @return the metrics in use, {@link OSCMetrics#DISABLED} by default
+	 */
+	public OSCMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Sets the metrics this parser reports messages with unknown type tags to.
+	 * @param metrics the metrics to use, or {@code null} to disable them
+	 */
+	public void setMetrics(final OSCMetrics metrics) {
+		this.metrics = (metrics == null) ? OSCMetrics.DISABLED : metrics;
+	}
+
 	/**
 	 * Converts a byte-buffer into an {@link OSCPacket}
 	 * (either an {@link OSCMessage} or {@link OSCBundle}).
 	 * @param rawInput the storage containing the raw OSC packet
-	 * @return the successfully parsed OSC packet
+	 * @return the successfully parsed OSC packet,
+	 *   or {@code null} if it is a message rejected by the
+	 *   {@link #setAddressFilter(AddressFilter) address filter}
 	 * @throws OSCParseException if the input has an invalid format
 	 */
 	public OSCPacket convert(final ByteBuffer rawInput) throws OSCParseException {
 
+		final OSCTracer tracer = OSCTracing.getTracer();
+		final Object traceToken = tracer.parseStarted();
 		final ByteBuffer readOnlyInput = rawInput.asReadOnlyBuffer();
 		final OSCPacket packet;
 		if (isBundle(readOnlyInput)) {
 			packet = convertBundle(readOnlyInput);
+		} else if (!isAccepted(readOnlyInput)) {
+			packet = null;
 		} else {
 			OSCPacket tmpPacket = null;
 			try {
@@ -146,14 +282,35 @@ public class OSCParser {
 				//   in the OSC specification. OSC applications are not required to recognize
 				//   these types; an OSC application should discard any message whose
 				//   OSC Type Tag string contains any unrecognized OSC Type Tags.
+				metrics.unknownTypeTag();
 				log.warn("Package ignored because: {}", ex.getMessage());
 			}
 			packet = tmpPacket;
 		}
+		if (traceToken != null) {
+			tracer.parseFinished(traceToken, packet, rawInput.remaining());
+		}
 
 		return packet;
 	}
 
+	/**
+	 * Checks whether the message starting at the current position
+	 * passes the address filter, without parsing it.
+	 * @return {@code true} if there is no filter, or it accepts the message
+	 */
+	private boolean isAccepted(final ByteBuffer rawMessage) throws OSCParseException {
+
+		final AddressFilter curAddressFilter = addressFilter;
+		if (curAddressFilter == null) {
+			return true;
+		}
+		final int start = rawMessage.position();
+		final int addressLength
+				= RawOSCPacket.addressLength(rawMessage, start, rawMessage.remaining());
+		return curAddressFilter.accepts(rawMessage, start, addressLength);
+	}
+
 	/**
 	 * Checks whether my byte array is a bundle.
 	 * From the OSC 1.0 specifications:
@@ -212,6 +369,9 @@ public class OSCParser {
 			final ByteBuffer packetBytes = rawInput.slice();
 			((Buffer)packetBytes).limit(packetLength);
 			((Buffer)rawInput).position(rawInput.position() + packetLength);
+			if (!isBundle(packetBytes) && !isAccepted(packetBytes)) {
+				continue;
+			}
 			final OSCPacket packet = convert(packetBytes);
 			bundle.addPacket(packet);
 		}
@@ -225,30 +385,61 @@ public class OSCParser {
 	 */
 	private OSCMessage convertMessage(final ByteBuffer rawInput) throws OSCParseException {
 
-		final String address = readString(rawInput);
+		final AddressInterner interner = addressInterner;
+		final int addressStart = rawInput.position();
+		final int addressLength;
+		OSCAddress internedAddress = null;
+		if (interner != null) {
+			addressLength = RawOSCPacket.addressLength(rawInput, addressStart, rawInput.remaining());
+			internedAddress = interner.lookup(rawInput, addressStart, addressLength);
+		} else {
+			addressLength = -1;
+		}
+		final String address;
+		if (internedAddress == null) {
+			address = readString(rawInput);
+		} else {
+			address = null;
+			((Buffer)rawInput).position(
+					addressStart + RawOSCPacket.alignedStringSize(addressLength));
+		}
 		final CharSequence typeIdentifiers = readTypes(rawInput);
 		// typeIdentifiers.length() gives us an upper bound for the number of arguments
 		// and a good approximation in general.
 		// It is equal to the number of arguments if there are no arrays.
-		final List<Object> arguments = new ArrayList<>(typeIdentifiers.length());
+		final CompactArgumentList.Builder arguments
+				= new CompactArgumentList.Builder(typeIdentifiers.length());
 		for (int ti = 0; ti < typeIdentifiers.length(); ++ti) {
-			if (TYPE_ARRAY_BEGIN == typeIdentifiers.charAt(ti)) {
+			final char typeIdentifier = typeIdentifiers.charAt(ti);
+			if (TYPE_ARRAY_BEGIN == typeIdentifier) {
 				// we're looking at an array -- read it in
 				arguments.add(readArray(rawInput, typeIdentifiers, ++ti));
 				// then increment i to the end of the array
 				while (typeIdentifiers.charAt(ti) != TYPE_ARRAY_END) {
 					ti++;
 				}
+			} else if ((typeIdentifier < compactTypes.length) && compactTypes[typeIdentifier]) {
+				readPrimitiveArgument(rawInput, typeIdentifier, arguments);
 			} else {
-				arguments.add(readArgument(rawInput, typeIdentifiers.charAt(ti)));
+				arguments.add(readArgument(rawInput, typeIdentifier));
 			}
 		}
 
+		final OSCMessageInfo info = new OSCMessageInfo(typeIdentifiers);
+		if (internedAddress != null) {
+			return new OSCMessage(internedAddress, arguments.build(), info);
+		}
+		final OSCMessage message;
 		try {
-			return new OSCMessage(address, arguments, new OSCMessageInfo(typeIdentifiers));
+			message = new OSCMessage(address, arguments.build(), info);
 		} catch (final IllegalArgumentException ex) {
 			throw new OSCParseException(ex, rawInput);
 		}
+		if (interner != null) {
+			// only valid addresses make it into the table
+			interner.add(rawInput, addressStart, addressLength, message.getOSCAddress());
+		}
+		return message;
 	}
 
 	/**
@@ -274,7 +465,7 @@ public class OSCParser {
 			if (rawInput.get(rawInput.position()) == TYPES_VALUES_SEPARATOR) {
 				// position++ to skip the TYPES_VALUES_SEPARATOR
 				rawInput.get();
-				typeTags = readString(rawInput);
+				typeTags = (typeTagsTable == null) ? readString(rawInput) : readTypeTags(rawInput);
 			} else {
 				// data format is invalid
 				throw new OSCParseException(
@@ -298,6 +489,131 @@ public class OSCParser {
 		return typeTags;
 	}
 
+	/**
+	 * Reads the type tags string through the table of recently seen ones.
+	 * Type tags are plain ASCII, so we can compare the raw bytes
+	 * to the characters of the strings in the table.
+	 * @param rawInput positioned at the start of the type tags string
+	 * @return the interned type tags
+	 * @throws OSCParseException if the type tags failed to parse
+	 */
+	private String readTypeTags(final ByteBuffer rawInput) throws OSCParseException {
+
+		final int start = rawInput.position();
+		final int maxEnd = Math.min(rawInput.limit(), start + MAX_TABLE_TYPE_TAGS_LENGTH);
+		int hash = 0;
+		int end = start;
+		while (true) {
+			if (end == maxEnd) {
+				// too long, not terminated or not complete; let the string handler deal with it
+				return readString(rawInput);
+			}
+			final byte typeTag = rawInput.get(end);
+			if (typeTag == 0) {
+				break;
+			} else if (typeTag < 0) {
+				return readString(rawInput);
+			}
+			hash = (31 * hash) + typeTag;
+			end++;
+		}
+		final int length = end - start;
+		final int slot = (hash ^ (hash >>> 16)) & (TYPE_TAGS_TABLE_SIZE - 1);
+		final String known = typeTagsTable[slot];
+		if ((known != null) && (known.length() == length)) {
+			int ti = 0;
+			while ((ti < length) && (known.charAt(ti) == rawInput.get(start + ti))) {
+				ti++;
+			}
+			if (ti == length) {
+				// skip the string and its terminating zero byte, just like the string handler
+				((Buffer)rawInput).position(end + 1);
+				align(rawInput);
+				return known;
+			}
+		}
+		final String typeTags = readString(rawInput).intern();
+		typeTagsTable[slot] = typeTags;
+		return typeTags;
+	}
+
+	/**
+	 * Reads a numeric argument without boxing it,
+	 * exactly like its default handler would.
+	 * @param rawInput to read the argument from
+	 * @param typeIdentifier one of the types marked in {@link #compactTypes}
+	 * @param arguments to add the argument to
+	 */
+	private static void readPrimitiveArgument(
+			final ByteBuffer rawInput,
+			final char typeIdentifier,
+			final CompactArgumentList.Builder arguments)
+	{
+		switch (typeIdentifier) {
+			case IntegerArgumentHandler.DEFAULT_IDENTIFIER:
+				arguments.addInt(rawInput.getInt());
+				break;
+			case LongArgumentHandler.DEFAULT_IDENTIFIER:
+				arguments.addLong(rawInput.getLong());
+				break;
+			case FloatArgumentHandler.DEFAULT_IDENTIFIER:
+				arguments.addFloat(Float.intBitsToFloat(rawInput.getInt()));
+				break;
+			case DoubleArgumentHandler.DEFAULT_IDENTIFIER:
+				arguments.addDouble(Double.longBitsToDouble(rawInput.getLong()));
+				break;
+			default:
+				throw new IllegalStateException("Not a primitive type: " + typeIdentifier);
+		}
+	}
+
+	/**
+	 * Reads a homogeneous numeric array in bulk,
+	 * exactly like the default element handler would, one by one.
+	 * @param rawInput to read the array elements from
+	 * @param typeIdentifier one of the types marked in {@link #compactTypes}
+	 * @param arrayLen number of elements
+	 * @return the primitive array
+	 */
+	private static Object readPrimitiveArray(
+			final ByteBuffer rawInput,
+			final char typeIdentifier,
+			final int arrayLen)
+	{
+		final Object array;
+		final int elementBytes;
+		switch (typeIdentifier) {
+			case IntegerArgumentHandler.DEFAULT_IDENTIFIER:
+				final int[] ints = new int[arrayLen];
+				rawInput.asIntBuffer().get(ints);
+				array = ints;
+				elementBytes = Integer.BYTES;
+				break;
+			case LongArgumentHandler.DEFAULT_IDENTIFIER:
+				final long[] longs = new long[arrayLen];
+				rawInput.asLongBuffer().get(longs);
+				array = longs;
+				elementBytes = Long.BYTES;
+				break;
+			case FloatArgumentHandler.DEFAULT_IDENTIFIER:
+				final float[] floats = new float[arrayLen];
+				rawInput.asFloatBuffer().get(floats);
+				array = floats;
+				elementBytes = Float.BYTES;
+				break;
+			case DoubleArgumentHandler.DEFAULT_IDENTIFIER:
+				final double[] doubles = new double[arrayLen];
+				rawInput.asDoubleBuffer().get(doubles);
+				array = doubles;
+				elementBytes = Double.BYTES;
+				break;
+			default:
+				throw new IllegalStateException("Not a primitive type: " + typeIdentifier);
+		}
+		((Buffer)rawInput).position(rawInput.position() + (arrayLen * elementBytes));
+		return array;
+	}
+
 	/**
 	 * Reads an object of the type specified by the type char.
 	 * @param typeIdentifier type of the argument to read
@@ -324,14 +640,23 @@ public class OSCParser {
 	 * @param pos at which position to start reading
 	 * @return the array that was read
 	 */
-	private List<Object> readArray(
+	private Object readArray(
 			final ByteBuffer rawInput, final CharSequence typeIdentifiers, final int pos)
 			throws OSCParseException
 	{
 		int arrayLen = 0;
+		boolean homogeneous = true;
+		final char firstTypeIdentifier = typeIdentifiers.charAt(pos);
 		while (typeIdentifiers.charAt(pos + arrayLen) != TYPE_ARRAY_END) {
+			homogeneous &= (typeIdentifiers.charAt(pos + arrayLen) == firstTypeIdentifier);
 			arrayLen++;
 		}
+		if (parsingPrimitiveArrays && homogeneous && (arrayLen > 0)
+				&& (firstTypeIdentifier < compactTypes.length)
+				&& compactTypes[firstTypeIdentifier])
+		{
+			return readPrimitiveArray(rawInput, firstTypeIdentifier, arrayLen);
+		}
 		final List<Object> array = new ArrayList<>(arrayLen);
 		for (int ai = 0; ai < arrayLen; ai++) {
 			array.add(readArgument(rawInput, typeIdentifiers.charAt(pos + ai)));
@@ -6,24 +6,29 @@
 package com.illposed.osc;
 
 import com.illposed.osc.argument.ArgumentHandler;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.illposed.osc.argument.handler.DoubleArgumentHandler;
+import com.illposed.osc.argument.handler.FloatArgumentHandler;
+import com.illposed.osc.argument.handler.IntegerArgumentHandler;
+import com.illposed.osc.argument.handler.LongArgumentHandler;
+import com.illposed.osc.argument.handler.StringArgumentHandler;
+import com.illposed.osc.tracing.OSCTracer;
+import com.illposed.osc.tracing.OSCTracing;
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Converts OSC packet Java objects to their byte stream representations,
  * conforming to the OSC specification.
  * This class is NOT thread-save, and will produce invalid results and errors
  * if used by multiple threads simultaneously.
- * Please use a separate instance per thread.
+ * It is cheap to create though, as all the argument handling is left
+ * to a shareable {@link OSCSerializerEngine},
+ * so threads may share an engine and each use their own serializer.
  *
  * The implementation was originally based on
  * <a href="http://www.emergent.de">Markus Gaelli</a> and
@@ -31,13 +36,6 @@ import java.util.Set;
  */
 public class OSCSerializer {
 
-	/**
-	 * If a supplied arguments class implements more then one supported argument types,
-	 * there is no solid way to figure out as which one we should interpret and serialize it,
-	 * so we will fail fast.
-	 */
-	private static final int MAX_IMPLEMENTED_ARGUMENT_TYPES = 1;
-
 	/**
 	 * Intermediate/Mock/Placeholder value indicating the size of a packet.
 	 * It will be used internally, as long as we do not yet know
@@ -46,37 +44,8 @@ public class OSCSerializer {
 	 */
 	private static final Integer PACKET_SIZE_PLACEHOLDER = -1;
 
-	private final Logger log = LoggerFactory.getLogger(OSCSerializer.class);
-
+	private final OSCSerializerEngine engine;
 	private final BytesReceiver output;
-	/**
-	 * Cache for Java classes of which we know, that we have no argument handler
-	 * that supports serializing them.
-	 */
-	private final Set<Class> unsupportedTypes;
-	/**
-	 * Cache for Java classes that are sub-classes of a supported argument handlers Java class,
-	 * mapped to that base class.
-	 * This does not include base classes
-	 * (Java classes directly supported by one of our argument handlers).
-	 */
-	private final Map<Class, Class> subToSuperTypes;
-	/**
-	 * For each base-class, indicates whether it is a marker-only type.
-	 * @see ArgumentHandler#isMarkerOnly()
-	 */
-	private final Map<Class, Boolean> classToMarker;
-	/**
-	 * Maps supported Java class to argument-handlers for all our non-marker-only base-classes.
-	 * @see ArgumentHandler#isMarkerOnly()
-	 */
-	private final Map<Class, ArgumentHandler> classToType;
-	/**
-	 * Maps values to argument-handlers for all our marker-only base-classes.
-	 * @see ArgumentHandler#isMarkerOnly()
-	 */
-	private final Map<Object, ArgumentHandler> markerValueToType;
-	private final Map<String, Object> properties;
 
 	/**
 	 * Creates a new serializer with all the required ingredients.
@@ -90,71 +59,31 @@ public class OSCSerializer {
 			final Map<String, Object> properties,
 			final BytesReceiver output)
 	{
-		final Map<Class, Boolean> classToMarkerTmp = new HashMap<>(types.size());
-		final Map<Class, ArgumentHandler> classToTypeTmp = new HashMap<>();
-		final Map<Object, ArgumentHandler> markerValueToTypeTmp = new HashMap<>();
-		for (final ArgumentHandler type : types) {
-			final Class typeJava = type.getJavaClass();
-			final Boolean registeredIsMarker = classToMarkerTmp.get(typeJava);
-			if ((registeredIsMarker != null) && (registeredIsMarker != type.isMarkerOnly())) {
-				throw new IllegalStateException(ArgumentHandler.class.getSimpleName()
-						+ " implementations disagree on the marker nature of their class: "
-						+ typeJava);
-			}
-			classToMarkerTmp.put(typeJava, type.isMarkerOnly());
-
-			if (type.isMarkerOnly()) {
-				try {
-					final Object markerValue = type.parse(null);
-					final ArgumentHandler previousType = markerValueToTypeTmp.get(markerValue);
-					if (previousType != null) {
-						throw new IllegalStateException("Marker value \"" + markerValue
-								+ "\" is already used for type "
-								+ previousType.getClass().getCanonicalName());
-					}
-					markerValueToTypeTmp.put(markerValue, type);
-				} catch (final OSCParseException ex) {
-					throw new IllegalStateException("Developer error; this should never happen",
-							ex);
-				}
-			} else {
-				final ArgumentHandler previousType = classToTypeTmp.get(typeJava);
-				if (previousType != null) {
-					throw new IllegalStateException("Java argument type "
-							+ typeJava.getCanonicalName() + " is already used for type "
-							+ previousType.getClass().getCanonicalName());
-				}
-				classToTypeTmp.put(typeJava, type);
-			}
-		}
+		this(new OSCSerializerEngine(types, properties), output);
+	}
 
+	/**
+	 * Creates a new serializer, sharing the argument handling with others.
+	 * @param engine does the argument handling, and may be shared with other threads
+	 * @param output the output buffer, where raw OSC data is written to
+	 * @see OSCSerializerEngine#createSerializer(BytesReceiver)
+	 */
+	public OSCSerializer(final OSCSerializerEngine engine, final BytesReceiver output) {
+
+		this.engine = engine;
 		this.output = output;
-		// usually, we should not need a stack size of 16, which is the default initial size
-		this.unsupportedTypes = new HashSet<>(4);
-		this.subToSuperTypes = new HashMap<>(4);
-		// We create (shallow) copies of these collections,
-		// so if "the creator" modifies them after creating us,
-		// we do not get different behaviour during our lifetime,
-		// which might be very confusing to users of this class.
-		// As the copies are not deep though,
-		// It does not protect us from change in behaviour
-		// do to change of the objects themselves,
-		// which are contained in these collections.
-		// TODO instead of these shallow copies, maybe create deep ones?
-		this.classToMarker = Collections.unmodifiableMap(
-				new HashMap<>(classToMarkerTmp));
-		this.classToType = Collections.unmodifiableMap(
-				new HashMap<>(classToTypeTmp));
-		this.markerValueToType = Collections.unmodifiableMap(
-				new HashMap<>(markerValueToTypeTmp));
-		this.properties = Collections.unmodifiableMap(
-				new HashMap<>(properties));
+	}
+
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public OSCSerializerEngine getEngine() {
+		return engine;
 	}
 
 	// Public API
 	@SuppressWarnings({"WeakerAccess", "unused"})
 	public Map<Class, ArgumentHandler> getClassToTypeMapping() {
-		return classToType;
+		return engine.getClassToTypeMapping();
 	}
 
 	/**
@@ -163,7 +92,7 @@ public class OSCSerializer {
 	 * @see ArgumentHandler#setProperties(Map)
 	 */
 	public Map<String, Object> getProperties() {
-		return properties;
+		return engine.getProperties();
 	}
 
 	// Public API
@@ -226,7 +155,31 @@ public class OSCSerializer {
 	 * @throws OSCSerializeException if the message failed to serialize
 	 */
 	private void writeAddress(final OSCMessage message) throws OSCSerializeException {
-		write(message.getAddress());
+
+		final OSCAddress address = message.getOSCAddress();
+		if (isPreEncodedUsable(address)) {
+			output.put(address.encoded());
+		} else {
+			write(message.getAddress());
+		}
+	}
+
+	/**
+	 * Checks whether the cached wire representation of an address
+	 * is exactly what the string handler would produce.
+	 * @param address to be written
+	 * @return {@code true} if the pre-encoded address may be written as is
+	 */
+	private boolean isPreEncodedUsable(final OSCAddress address) {
+
+		final StringArgumentHandler stringArgumentHandler = engine.getStringArgumentHandler();
+		if ((stringArgumentHandler == null)
+				|| ((output.position() % OSCParser.ALIGNMENT_BYTES) != 0))
+		{
+			return false;
+		}
+		return (address.isAscii() && stringArgumentHandler.isAsciiCompatible())
+				|| stringArgumentHandler.getCharset().equals(StandardCharsets.UTF_8);
 	}
 
 	/**
@@ -258,7 +211,8 @@ public class OSCSerializer {
 
 		final ByteBuffer serializedPacketBuffer = ByteBuffer.allocate(4);
 		final BufferBytesReceiver serializedPacketSize = new BufferBytesReceiver(serializedPacketBuffer);
-		final ArgumentHandler<Integer> type = findType(PACKET_SIZE_PLACEHOLDER);
+		@SuppressWarnings("unchecked") final ArgumentHandler<Integer> type
+				= engine.findType(PACKET_SIZE_PLACEHOLDER);
 
 		final int sizePosition = output.position();
 		// write place-holder size (will be overwritten later)
@@ -287,6 +241,8 @@ public class OSCSerializer {
 
 	public void write(final OSCPacket packet) throws OSCSerializeException {
 
+		final OSCTracer tracer = OSCTracing.getTracer();
+		final Object traceToken = tracer.serializeStarted();
 		// reset position, limit and mark
 		output.clear();
 		try {
@@ -294,6 +250,9 @@ public class OSCSerializer {
 		} catch (final BufferOverflowException ex) {
 			throw new OSCSerializeException("Packet is too large for the buffer in use", ex);
 		}
+		if (traceToken != null) {
+			tracer.serializeFinished(traceToken, packet, output.position());
+		}
 	}
 
 	/**
@@ -313,113 +272,36 @@ public class OSCSerializer {
 		}
 	}
 
-	private Set<ArgumentHandler> findSuperTypes(final Class argumentClass) {
-
-		final Set<ArgumentHandler> matchingSuperTypes = new HashSet<>();
-
-		// check all base-classes, for whether our argument-class is a sub-class
-		// of any of them
-		for (final Map.Entry<Class, ArgumentHandler> baseClassAndType
-				: classToType.entrySet())
-		{
-			final Class<?> baseClass = baseClassAndType.getKey();
-			if ((baseClass != Object.class)
-					&& baseClass.isAssignableFrom(argumentClass))
-			{
-				matchingSuperTypes.add(baseClassAndType.getValue());
-			}
-		}
-
-		return matchingSuperTypes;
-	}
-
-	private Class findSuperType(final Class argumentClass) throws OSCSerializeException {
-
-		// check if we already found the base-class for this argument-class before
-		Class superType = subToSuperTypes.get(argumentClass);
-		// ... if we did not, ...
-		if ((superType == null)
-				// check if we already know this argument-class to not be supported
-				&& !unsupportedTypes.contains(argumentClass))
-		{
-			final Set<ArgumentHandler> matchingSuperTypes = findSuperTypes(argumentClass);
-			if (matchingSuperTypes.isEmpty()) {
-				unsupportedTypes.add(argumentClass);
-			} else {
-				if (matchingSuperTypes.size() > MAX_IMPLEMENTED_ARGUMENT_TYPES) {
-					log.warn("Java class {} is a sub-class of multiple supported argument types:",
-							argumentClass.getCanonicalName());
-					for (final ArgumentHandler matchingSuperType : matchingSuperTypes) {
-						log.warn("\t{} (supported by {})",
-								matchingSuperType.getJavaClass().getCanonicalName(),
-								matchingSuperType.getClass().getCanonicalName());
-					}
-				}
-				final ArgumentHandler matchingSuperType = matchingSuperTypes.iterator().next();
-				log.info("Java class {} will be mapped to {} (supported by {})",
-						argumentClass.getCanonicalName(),
-						matchingSuperType.getJavaClass().getCanonicalName(),
-						matchingSuperType.getClass().getCanonicalName());
-				final Class matchingSuperClass = matchingSuperType.getJavaClass();
-				subToSuperTypes.put(argumentClass, matchingSuperClass);
-				superType = matchingSuperClass;
-			}
-		}
-
-		if (superType == null) {
-			throw new OSCSerializeException("No type handler registered for serializing class "
-					+ argumentClass.getCanonicalName());
-		}
-
-		return superType;
-	}
-
-	private ArgumentHandler findType(final Object argumentValue, final Class argumentClass)
-			throws OSCSerializeException
-	{
-		final ArgumentHandler type;
-
-		final Boolean markerType = classToMarker.get(argumentClass);
-		if (markerType == null) {
-			type = findType(argumentValue, findSuperType(argumentClass));
-		} else if (markerType) {
-			type = markerValueToType.get(argumentValue);
-		} else {
-			type = classToType.get(argumentClass);
-		}
-
-		return type;
-	}
-
-	private ArgumentHandler findType(final Object argumentValue) throws OSCSerializeException {
-		return findType(argumentValue, extractTypeClass(argumentValue));
-	}
-
 	/**
 	 * Write an object into the byte stream.
 	 * @param anObject (usually) one of Float, Double, String, Character, Integer, Long,
-	 *   or a Collection of these.
+	 *   or a Collection of these,
+	 *   or a primitive array of floats, integers, doubles or longs.
 	 *   See {@link #getClassToTypeMapping()} for a complete list of which classes may be used here.
 	 * @throws OSCSerializeException if the argument object failed to serialize
 	 */
 	private void write(final Object anObject) throws OSCSerializeException {
 
-		if (anObject instanceof Collection) {
+		if (anObject instanceof float[]) {
+			output.putFloats((float[]) anObject);
+		} else if (anObject instanceof int[]) {
+			output.putInts((int[]) anObject);
+		} else if (anObject instanceof double[]) {
+			output.putDoubles((double[]) anObject);
+		} else if (anObject instanceof long[]) {
+			output.putLongs((long[]) anObject);
+		} else if (anObject instanceof Collection) {
 			// We can safely suppress the warning, as we already made sure the cast will not fail.
 			@SuppressWarnings("unchecked") final Collection<?> theArray = (Collection<?>) anObject;
 			for (final Object entry : theArray) {
 				write(entry);
 			}
 		} else {
-			@SuppressWarnings("unchecked") final ArgumentHandler<Object> type = findType(anObject);
+			@SuppressWarnings("unchecked") final ArgumentHandler<Object> type = engine.findType(anObject);
 			type.serialize(output, anObject);
 		}
 	}
 
-	private static Class extractTypeClass(final Object value) {
-		return (value == null) ? Object.class : value.getClass();
-	}
-
 	/**
 	 * Write the OSC specification type tag for the type a certain Java type
 	 * converts to.
@@ -428,7 +310,7 @@ public class OSCSerializer {
 	 */
 	private void writeType(final Object value) throws OSCSerializeException {
 
-		final ArgumentHandler type = findType(value);
+		final ArgumentHandler type = engine.findType(value);
 		output.put((byte) type.getDefaultIdentifier());
 	}
 
@@ -440,7 +322,9 @@ public class OSCSerializer {
 	private void writeTypeTagsRaw(final List<?> arguments) throws OSCSerializeException {
 
 		for (final Object argument : arguments) {
-			if (argument instanceof List) {
+			if (isPrimitiveArray(argument)) {
+				writePrimitiveArrayTypeTags(argument);
+			} else if (argument instanceof List) {
 				@SuppressWarnings("unchecked") final List<?> argumentsArray = (List<?>) argument;
 				// This is used for nested arguments.
 				// open the array
@@ -456,6 +340,43 @@ public class OSCSerializer {
 		}
 	}
 
+	private static boolean isPrimitiveArray(final Object argument) {
+
+		return (argument instanceof float[])
+				|| (argument instanceof int[])
+				|| (argument instanceof double[])
+				|| (argument instanceof long[]);
+	}
+
+	/**
+	 * Writes the type tags of a primitive array argument in one go,
+	 * as an OSC array of the corresponding primitive type.
+	 * @param array one of {@code float[]}, {@code int[]}, {@code double[]} or {@code long[]}
+	 */
+	private void writePrimitiveArrayTypeTags(final Object array) {
+
+		final char typeIdentifier;
+		final int length;
+		if (array instanceof float[]) {
+			typeIdentifier = FloatArgumentHandler.DEFAULT_IDENTIFIER;
+			length = ((float[]) array).length;
+		} else if (array instanceof int[]) {
+			typeIdentifier = IntegerArgumentHandler.DEFAULT_IDENTIFIER;
+			length = ((int[]) array).length;
+		} else if (array instanceof double[]) {
+			typeIdentifier = DoubleArgumentHandler.DEFAULT_IDENTIFIER;
+			length = ((double[]) array).length;
+		} else {
+			typeIdentifier = LongArgumentHandler.DEFAULT_IDENTIFIER;
+			length = ((long[]) array).length;
+		}
+		final byte[] typeTags = new byte[length + 2];
+		Arrays.fill(typeTags, (byte) typeIdentifier);
+		typeTags[0] = (byte) OSCParser.TYPE_ARRAY_BEGIN;
+		typeTags[length + 1] = (byte) OSCParser.TYPE_ARRAY_END;
+		output.put(typeTags);
+	}
+
 	/**
 	 * Write the type tags for a given list of arguments, and cleanup the stream.
 	 * @param arguments  the arguments to an OSCMessage
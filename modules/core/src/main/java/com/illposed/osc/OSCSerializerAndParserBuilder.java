@@ -7,6 +7,7 @@ package com.illposed.osc;
 
 import com.illposed.osc.argument.ArgumentHandler;
 import com.illposed.osc.argument.handler.Activator;
+import com.illposed.osc.routing.AddressInterner;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -21,12 +22,16 @@ public class OSCSerializerAndParserBuilder {
 	private final Map<String, Object> properties;
 	private final Map<Character, ArgumentHandler> identifierToType;
 	private boolean usingDefaultHandlers;
+	private AddressInterner addressInterner;
+	private boolean parsingPrimitiveArrays;
 
 	public OSCSerializerAndParserBuilder() {
 
 		this.properties = new HashMap<>();
 		this.identifierToType = new HashMap<>();
 		this.usingDefaultHandlers = true;
+		this.addressInterner = null;
+		this.parsingPrimitiveArrays = false;
 	}
 
 	// Public API
@@ -35,7 +40,13 @@ public class OSCSerializerAndParserBuilder {
 		return Collections.unmodifiableMap(identifierToType);
 	}
 
-	public OSCSerializer buildSerializer(final BytesReceiver output) {
+	/**
+	 * Creates a serializer engine, which may be shared by multiple threads,
+	 * each serializing through its own, cheap {@link OSCSerializer}.
+	 * @return a new, thread-safe engine with the current handlers and properties
+	 * @see OSCSerializerEngine#createSerializer(BytesReceiver)
+	 */
+	public OSCSerializerEngine buildSerializerEngine() {
 
 		final Map<String, Object> currentProperties = getProperties();
 		final List<ArgumentHandler> typeCopies
@@ -57,7 +68,11 @@ public class OSCSerializerAndParserBuilder {
 			typeCopies.addAll(defaultParserTypes);
 		}
 
-		return new OSCSerializer(typeCopies, currentProperties, output);
+		return new OSCSerializerEngine(typeCopies, currentProperties);
+	}
+
+	public OSCSerializer buildSerializer(final BytesReceiver output) {
+		return buildSerializerEngine().createSerializer(output);
 	}
 
 	public OSCParser buildParser() {
@@ -85,7 +100,10 @@ public class OSCSerializerAndParserBuilder {
 			identifierToTypeCopy.putAll(defaultParserTypes);
 		}
 
-		return new OSCParser(identifierToTypeCopy, currentProperties);
+		final OSCParser parser = new OSCParser(identifierToTypeCopy, currentProperties);
+		parser.setAddressInterner(addressInterner);
+		parser.setParsingPrimitiveArrays(parsingPrimitiveArrays);
+		return parser;
 	}
 
 	public OSCSerializerAndParserBuilder setUsingDefaultHandlers(final boolean newUsingDefaultHandlers) {
@@ -94,6 +112,59 @@ public class OSCSerializerAndParserBuilder {
 		return this;
 	}
 
+	// Public API
+	/**
+	 * Returns whether created parsers parse homogeneous numeric arrays
+	 * into primitive arrays.
+	 * @return {@code true} if arrays of only integers, longs, floats or doubles
+	 *   are parsed into {@code int[]}, {@code long[]}, {@code float[]} or {@code double[]}
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public boolean isParsingPrimitiveArrays() {
+		return parsingPrimitiveArrays;
+	}
+
+	// Public API
+	/**
+	 * Sets whether created parsers parse homogeneous numeric arrays
+	 * into primitive arrays.
+	 * This will only have an effect for parsers being created in the future.
+	 * @param parsingPrimitiveArrays whether to parse arrays of only integers, longs,
+	 *   floats or doubles into {@code int[]}, {@code long[]}, {@code float[]} or {@code double[]}
+	 * @see OSCParser#setParsingPrimitiveArrays(boolean)
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public OSCSerializerAndParserBuilder setParsingPrimitiveArrays(
+			final boolean parsingPrimitiveArrays)
+	{
+		this.parsingPrimitiveArrays = parsingPrimitiveArrays;
+		return this;
+	}
+
+	// Public API
+	/**
+	 * Returns the table of canonical addresses shared by all the parsers created.
+	 * @return the table to use, or {@code null} if parsers decode each address anew
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public AddressInterner getAddressInterner() {
+		return addressInterner;
+	}
+
+	// Public API
+	/**
+	 * Sets a table of canonical addresses, to be shared by all the parsers created.
+	 * This will only have an effect for parsers being created in the future.
+	 * @param addressInterner the table to use, or {@code null} to decode each address anew
+	 * @see OSCParser#setAddressInterner(AddressInterner)
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public OSCSerializerAndParserBuilder setAddressInterner(final AddressInterner addressInterner) {
+
+		this.addressInterner = addressInterner;
+		return this;
+	}
+
 	/**
 	 * Returns the current set of properties.
 	 * These will be propagated to created serializers and parsers
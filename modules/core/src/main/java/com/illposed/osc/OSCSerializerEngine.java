@@ -0,0 +1,268 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import com.illposed.osc.argument.ArgumentHandler;
+import com.illposed.osc.argument.handler.StringArgumentHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The immutable part of serializing OSC packets:
+ * the argument handlers, and which of them to use for which Java class.
+ * This class is thread-safe, and one instance may be shared by any number of threads,
+ * each of them writing through its own cheap {@link OSCSerializer},
+ * created with {@link #createSerializer(BytesReceiver)}.
+ *
+ * For this to work, the argument handlers themselves have to be able
+ * to serialize concurrently, which all the default ones are.
+ */
+public final class OSCSerializerEngine {
+
+	/**
+	 * If a supplied arguments class implements more then one supported argument types,
+	 * there is no solid way to figure out as which one we should interpret and serialize it,
+	 * so we will fail fast.
+	 */
+	private static final int MAX_IMPLEMENTED_ARGUMENT_TYPES = 1;
+
+	private static final Logger LOG = LoggerFactory.getLogger(OSCSerializerEngine.class);
+
+	/**
+	 * Maps supported Java class to argument-handlers for all our non-marker-only base-classes.
+	 * @see ArgumentHandler#isMarkerOnly()
+	 */
+	private final Map<Class, ArgumentHandler> classToType;
+	/**
+	 * Maps values to argument-handlers for all our marker-only base-classes.
+	 * @see ArgumentHandler#isMarkerOnly()
+	 */
+	private final Map<Object, ArgumentHandler> markerValueToType;
+	/**
+	 * All the Java classes handled by marker-only handlers.
+	 * @see ArgumentHandler#isMarkerOnly()
+	 */
+	private final Set<Class> markerClasses;
+	/**
+	 * Resolves each Java class to the handler serializing its (non-marker) values,
+	 * including sub-classes of the supported classes.
+	 * Resolves to {@code null} for marker-only and unsupported classes.
+	 * Unlike a map, this caches per class without any locking,
+	 * and does not prevent classes from being unloaded.
+	 */
+	private final ClassValue<ArgumentHandler> classToResolvedType;
+	private final Map<String, Object> properties;
+	/**
+	 * The handler used for strings, if it is the default one,
+	 * which allows us to use the pre-encoded form of {@link OSCAddress}es.
+	 */
+	private final StringArgumentHandler stringArgumentHandler;
+
+	/**
+	 * Creates a new serializer engine with all the required ingredients.
+	 * @param types all of these, and only these arguments will be serializable
+	 *   by this object, that are supported by these handlers
+	 * @param properties see {@link ArgumentHandler#setProperties(Map)}
+	 */
+	public OSCSerializerEngine(
+			final List<ArgumentHandler> types,
+			final Map<String, Object> properties)
+	{
+		final Map<Class, Boolean> classToMarkerTmp = new HashMap<>(types.size());
+		final Map<Class, ArgumentHandler> classToTypeTmp = new HashMap<>();
+		final Map<Object, ArgumentHandler> markerValueToTypeTmp = new HashMap<>();
+		for (final ArgumentHandler type : types) {
+			final Class typeJava = type.getJavaClass();
+			final Boolean registeredIsMarker = classToMarkerTmp.get(typeJava);
+			if ((registeredIsMarker != null) && (registeredIsMarker != type.isMarkerOnly())) {
+				throw new IllegalStateException(ArgumentHandler.class.getSimpleName()
+						+ " implementations disagree on the marker nature of their class: "
+						+ typeJava);
+			}
+			classToMarkerTmp.put(typeJava, type.isMarkerOnly());
+
+			if (type.isMarkerOnly()) {
+				try {
+					final Object markerValue = type.parse(null);
+					final ArgumentHandler previousType = markerValueToTypeTmp.get(markerValue);
+					if (previousType != null) {
+						throw new IllegalStateException("Marker value \"" + markerValue
+								+ "\" is already used for type "
+								+ previousType.getClass().getCanonicalName());
+					}
+					markerValueToTypeTmp.put(markerValue, type);
+				} catch (final OSCParseException ex) {
+					throw new IllegalStateException("Developer error; this should never happen",
+							ex);
+				}
+			} else {
+				final ArgumentHandler previousType = classToTypeTmp.get(typeJava);
+				if (previousType != null) {
+					throw new IllegalStateException("Java argument type "
+							+ typeJava.getCanonicalName() + " is already used for type "
+							+ previousType.getClass().getCanonicalName());
+				}
+				classToTypeTmp.put(typeJava, type);
+			}
+		}
+
+		// We create (shallow) copies of these collections,
+		// so if "the creator" modifies them after creating us,
+		// we do not get different behaviour during our lifetime,
+		// which might be very confusing to users of this class.
+		// As the copies are not deep though,
+		// It does not protect us from change in behaviour
+		// do to change of the objects themselves,
+		// which are contained in these collections.
+		// TODO instead of these shallow copies, maybe create deep ones?
+		this.classToType = Collections.unmodifiableMap(
+				new HashMap<>(classToTypeTmp));
+		this.markerValueToType = Collections.unmodifiableMap(
+				new HashMap<>(markerValueToTypeTmp));
+		this.properties = Collections.unmodifiableMap(
+				new HashMap<>(properties));
+		final Set<Class> markerClassesTmp = new HashSet<>();
+		for (final Map.Entry<Class, Boolean> classAndMarker : classToMarkerTmp.entrySet()) {
+			if (classAndMarker.getValue()) {
+				markerClassesTmp.add(classAndMarker.getKey());
+			}
+		}
+		this.markerClasses = Collections.unmodifiableSet(markerClassesTmp);
+		this.classToResolvedType = new ClassValue<ArgumentHandler>() {
+			@Override
+			protected ArgumentHandler computeValue(final Class<?> argumentClass) {
+
+				if (markerClasses.contains(argumentClass)) {
+					return null;
+				}
+				final ArgumentHandler type = classToType.get(argumentClass);
+				return (type == null) ? findSuperType(argumentClass) : type;
+			}
+		};
+		final ArgumentHandler stringType = classToTypeTmp.get(String.class);
+		this.stringArgumentHandler = (stringType instanceof StringArgumentHandler)
+				? (StringArgumentHandler) stringType
+				: null;
+	}
+
+	/**
+	 * Creates a serializer writing to the given output, using this engine.
+	 * This is cheap, so it may well be done for every single packet.
+	 * @param output the output buffer, where raw OSC data is written to
+	 * @return a new serializer, to be used by a single thread only
+	 */
+	public OSCSerializer createSerializer(final BytesReceiver output) {
+		return new OSCSerializer(this, output);
+	}
+
+	// Public API
+	@SuppressWarnings({"WeakerAccess", "unused"})
+	public Map<Class, ArgumentHandler> getClassToTypeMapping() {
+		return classToType;
+	}
+
+	/**
+	 * Returns the set of properties this engine was created with.
+	 * @return the set of properties to adhere to
+	 * @see ArgumentHandler#setProperties(Map)
+	 */
+	public Map<String, Object> getProperties() {
+		return properties;
+	}
+
+	StringArgumentHandler getStringArgumentHandler() {
+		return stringArgumentHandler;
+	}
+
+	/**
+	 * Returns whether the type of an argument of the given class
+	 * depends on its value, as it is handled by marker-only handlers,
+	 * like {@code Boolean} with its separate types for {@code true} and {@code false}.
+	 * @param argumentClass the class of an argument
+	 * @return {@code true} if the class is handled by marker-only handlers
+	 * @see ArgumentHandler#isMarkerOnly()
+	 */
+	boolean isMarkerClass(final Class argumentClass) {
+		return markerClasses.contains(argumentClass);
+	}
+
+	private Set<ArgumentHandler> findSuperTypes(final Class argumentClass) {
+
+		final Set<ArgumentHandler> matchingSuperTypes = new HashSet<>();
+
+		// check all base-classes, for whether our argument-class is a sub-class
+		// of any of them
+		for (final Map.Entry<Class, ArgumentHandler> baseClassAndType
+				: classToType.entrySet())
+		{
+			final Class<?> baseClass = baseClassAndType.getKey();
+			if ((baseClass != Object.class)
+					&& baseClass.isAssignableFrom(argumentClass))
+			{
+				matchingSuperTypes.add(baseClassAndType.getValue());
+			}
+		}
+
+		return matchingSuperTypes;
+	}
+
+	/**
+	 * Finds the handler for a class that is not directly supported,
+	 * but might be a sub-class of a supported one.
+	 * This is only called once per class.
+	 * @param argumentClass the class of an argument
+	 * @return the handler of the super-class of the given class,
+	 *   or {@code null}, if there is none
+	 */
+	private ArgumentHandler findSuperType(final Class argumentClass) {
+
+		final Set<ArgumentHandler> matchingSuperTypes = findSuperTypes(argumentClass);
+		if (matchingSuperTypes.isEmpty()) {
+			return null;
+		}
+		if (matchingSuperTypes.size() > MAX_IMPLEMENTED_ARGUMENT_TYPES) {
+			LOG.warn("Java class {} is a sub-class of multiple supported argument types:",
+					argumentClass.getCanonicalName());
+			for (final ArgumentHandler matchingSuperType : matchingSuperTypes) {
+				LOG.warn("\t{} (supported by {})",
+						matchingSuperType.getJavaClass().getCanonicalName(),
+						matchingSuperType.getClass().getCanonicalName());
+			}
+		}
+		final ArgumentHandler matchingSuperType = matchingSuperTypes.iterator().next();
+		LOG.info("Java class {} will be mapped to {} (supported by {})",
+				argumentClass.getCanonicalName(),
+				matchingSuperType.getJavaClass().getCanonicalName(),
+				matchingSuperType.getClass().getCanonicalName());
+		return matchingSuperType;
+	}
+
+	/**
+	 * Finds the handler to serialize an argument with.
+	 * @param argumentValue the argument to be serialized; may be {@code null}
+	 * @return the handler for the given argument
+	 * @throws OSCSerializeException if no handler supports the argument
+	 */
+	ArgumentHandler findType(final Object argumentValue) throws OSCSerializeException {
+
+		final Class argumentClass = (argumentValue == null) ? Object.class : argumentValue.getClass();
+		ArgumentHandler type = classToResolvedType.get(argumentClass);
+		if (type == null) {
+			type = markerValueToType.get(argumentValue);
+			if ((type == null) || (type.getJavaClass() != argumentClass)) {
+				throw new OSCSerializeException("No type handler registered for serializing class "
+						+ argumentClass.getCanonicalName());
+			}
+		}
+
+		return type;
+	}
+}
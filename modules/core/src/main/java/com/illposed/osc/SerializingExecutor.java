@@ -0,0 +1,125 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs tasks on an underlying executor,
+ * one after the other for tasks submitted with the same key,
+ * and concurrently otherwise.
+ * Keys are hashed onto a fixed number of lanes,
+ * so memory use does not grow with the number of distinct keys;
+ * tasks with different keys that share a lane get serialized as well.
+ * The number of tasks submitted but not yet completed is bounded;
+ * submitting blocks while that bound is reached.
+ */
+final class SerializingExecutor {
+
+	private static final int NUM_LANES = 256;
+
+	/**
+	 * Runs the tasks queued for it in order,
+	 * as a single task of the underlying executor at a time.
+	 */
+	private final class Lane implements Runnable {
+
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		void submit(final Runnable task) {
+
+			tasks.offer(task);
+			schedule();
+		}
+
+		private void schedule() {
+
+			if (scheduled.compareAndSet(false, true)) {
+				try {
+					executor.execute(this);
+				} catch (final RejectedExecutionException ex) {
+					// we got shut down in the meantime; finish what was submitted
+					run();
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+
+			try {
+				Runnable task;
+				while ((task = tasks.poll()) != null) {
+					try {
+						task.run();
+					} finally {
+						inFlight.release();
+					}
+				}
+			} finally {
+				scheduled.set(false);
+				// a task might have been queued after we last looked
+				if (!tasks.isEmpty()) {
+					schedule();
+				}
+			}
+		}
+	}
+
+	private final ExecutorService executor;
+	private final int maxInFlight;
+	private final Semaphore inFlight;
+	private final Lane[] lanes;
+
+	SerializingExecutor(final ExecutorService executor, final int maxInFlight) {
+
+		if (maxInFlight < 1) {
+			throw new IllegalArgumentException(
+					"At least one task has to be allowed in flight: " + maxInFlight);
+		}
+		this.executor = executor;
+		this.maxInFlight = maxInFlight;
+		this.inFlight = new Semaphore(maxInFlight);
+		this.lanes = new Lane[NUM_LANES];
+		for (int li = 0; li < NUM_LANES; li++) {
+			lanes[li] = new Lane();
+		}
+	}
+
+	int getMaxInFlight() {
+		return maxInFlight;
+	}
+
+	int getInFlight() {
+		return maxInFlight - inFlight.availablePermits();
+	}
+
+	/**
+	 * Runs a task after all the tasks submitted earlier with the same key.
+	 * @param key decides which tasks get serialized
+	 * @param task to be run
+	 * @throws InterruptedException if interrupted while waiting
+	 *   for the number of tasks in flight to drop below the bound
+	 */
+	void execute(final Object key, final Runnable task) throws InterruptedException {
+
+		inFlight.acquire();
+		final int hash = key.hashCode();
+		lanes[(hash ^ (hash >>> 16)) & (NUM_LANES - 1)].submit(task);
+	}
+
+	/**
+	 * Lets the tasks submitted so far complete, without accepting new ones.
+	 */
+	void shutdown() {
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,30 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+/**
+ * Decides which shard of a sharded {@link OSCPacketDispatcher}
+ * dispatches a message.
+ * Messages with equal keys are dispatched by the same shard,
+ * and thus in the order they were received.
+ * @see OSCPacketDispatcher#setShardCount(int)
+ */
+@FunctionalInterface
+public interface ShardKeyFunction {
+
+	/**
+	 * Uses the message address as key,
+	 * which keeps the order of messages sent to the same address.
+	 */
+	ShardKeyFunction ADDRESS = OSCMessage::getAddress;
+
+	/**
+	 * Returns the key of a message.
+	 * Only its {@link Object#hashCode() hash-code} is used.
+	 * @param message to be dispatched
+	 * @return the key, or {@code null} to dispatch on the first shard
+	 */
+	Object keyOf(OSCMessage message);
+}
@@ -0,0 +1,22 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+/**
+ * Gets notified by an {@link OSCPacketDispatcher}
+ * whenever a message listener exceeds its execution budget.
+ * @see OSCPacketDispatcher#setListenerBudget(long, java.util.concurrent.TimeUnit)
+ */
+@FunctionalInterface
+public interface SlowListenerHandler {
+
+	/**
+	 * Called on the dispatching thread right after the slow call returned.
+	 * @param stats the statistics of the offending listener registration
+	 * @param event the message that took too long to handle
+	 * @param durationNanos how long the listener took
+	 */
+	void listenerOverBudget(MessageListenerStats stats, OSCMessageEvent event, long durationNanos);
+}
@@ -0,0 +1,281 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A bounded table of type tag strings, looked up by the classes of a list of arguments.
+ * Most applications send a limited set of argument signatures,
+ * so this serializes and decodes the type tags of each of them only once,
+ * and hands out the same, interned {@code String} from then on.
+ * A lookup that hits does not allocate.
+ *
+ * For classes handled by marker-only handlers, like {@code Boolean},
+ * the argument value is part of the key instead of its class.
+ * Arguments lists containing arrays are never cached,
+ * as their type tags depend on the array contents,
+ * and neither are lists without {@link RandomAccess}.
+ * The slots are managed by a {@link BoundedHashTable},
+ * like those of {@link com.illposed.osc.routing.AddressInterner}.
+ */
+public class TypeTagSignatureCache {
+
+	/**
+	 * Default number of entries in the table.
+	 */
+	public static final int DEFAULT_CAPACITY = 256;
+	/**
+	 * Signatures of more arguments are never cached.
+	 */
+	public static final int DEFAULT_MAX_ARGUMENTS = 32;
+	/**
+	 * Key of {@code null} arguments.
+	 */
+	private static final Object NULL_KEY = new Object();
+	/**
+	 * Marks signatures that can not be cached, in place of their hash.
+	 */
+	private static final long NO_HASH = -1L;
+
+	/**
+	 * How the type tag of arguments of a class is determined.
+	 */
+	private enum KeyKind {
+		/** The class alone determines the type tag. */
+		CLASS,
+		/** The type tag depends on the value, as with marker-only handlers. */
+		VALUE,
+		/** The type tag depends on the contents of the argument. */
+		UNCACHEABLE
+	}
+
+	private static final class Entry extends BoundedHashTable.Entry {
+
+		private final Object[] keys;
+		/**
+		 * Whether the key at the same index is an argument value,
+		 * instead of an argument class.
+		 */
+		private final boolean[] byValue;
+		private final String typeTags;
+
+		Entry(final int hash, final Object[] keys, final boolean[] byValue, final String typeTags) {
+
+			super(hash);
+			this.keys = keys;
+			this.byValue = byValue;
+			this.typeTags = typeTags;
+		}
+
+		boolean matches(final List<?> arguments, final int otherHash) {
+
+			if ((getHash() != otherHash) || (keys.length != arguments.size())) {
+				return false;
+			}
+			for (int ai = 0; ai < keys.length; ai++) {
+				final Object argument = arguments.get(ai);
+				final boolean keyMatches = byValue[ai]
+						? keys[ai].equals(argument)
+						: (keys[ai] == ((argument == null) ? NULL_KEY : argument.getClass()));
+				if (!keyMatches) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private final OSCSerializerEngine engine;
+	private final Charset charset;
+	private final ClassValue<KeyKind> keyKinds;
+	private final BoundedHashTable<Entry> table;
+	private final int maxArguments;
+
+	// Public API
+	/**
+	 * Creates a table.
+	 * @param engine used to serialize the type tags of signatures not yet in the table
+	 * @param charset used to decode the serialized type tags
+	 * @param capacity maximum number of signatures to keep;
+	 *   it is rounded up to the next power of two
+	 * @param maxArguments signatures of more arguments than this are never cached
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public TypeTagSignatureCache(
+			final OSCSerializerEngine engine,
+			final Charset charset,
+			final int capacity,
+			final int maxArguments)
+	{
+		this.table = new BoundedHashTable<>(capacity);
+		this.engine = Objects.requireNonNull(engine);
+		this.charset = Objects.requireNonNull(charset);
+		this.keyKinds = new ClassValue<KeyKind>() {
+			@Override
+			protected KeyKind computeValue(final Class<?> argumentClass) {
+
+				if (argumentClass.isArray() || Collection.class.isAssignableFrom(argumentClass)) {
+					return KeyKind.UNCACHEABLE;
+				} else if (engine.isMarkerClass(argumentClass)) {
+					return KeyKind.VALUE;
+				} else {
+					return KeyKind.CLASS;
+				}
+			}
+		};
+		this.maxArguments = maxArguments;
+	}
+
+	// Public API
+	/**
+	 * Creates a table with {@link #DEFAULT_CAPACITY} entries,
+	 * caching signatures of up to {@link #DEFAULT_MAX_ARGUMENTS} arguments.
+	 * @param engine used to serialize the type tags of signatures not yet in the table
+	 * @param charset used to decode the serialized type tags
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public TypeTagSignatureCache(final OSCSerializerEngine engine, final Charset charset) {
+		this(engine, charset, DEFAULT_CAPACITY, DEFAULT_MAX_ARGUMENTS);
+	}
+
+	private KeyKind keyKind(final Object argument) {
+		return (argument == null) ? KeyKind.CLASS : keyKinds.get(argument.getClass());
+	}
+
+	/**
+	 * Calculates the hash of the signature of a list of arguments.
+	 * @param arguments to calculate the signature hash of
+	 * @return the hash in the lower 32 bits,
+	 *   or {@link #NO_HASH} if the signature is uncacheable
+	 */
+	private long hash(final List<?> arguments) {
+
+		final int numArguments = arguments.size();
+		int hash = numArguments;
+		// arguments of the same class tend to come in runs
+		Class<?> lastClass = null;
+		KeyKind lastKind = null;
+		for (int ai = 0; ai < numArguments; ai++) {
+			final Object argument = arguments.get(ai);
+			final Object key;
+			if (argument == null) {
+				key = NULL_KEY;
+			} else {
+				final Class<?> argumentClass = argument.getClass();
+				if (argumentClass != lastClass) {
+					lastClass = argumentClass;
+					lastKind = keyKinds.get(argumentClass);
+				}
+				if (lastKind == KeyKind.CLASS) {
+					key = argumentClass;
+				} else if (lastKind == KeyKind.VALUE) {
+					key = argument;
+				} else {
+					return NO_HASH;
+				}
+			}
+			hash = 31 * hash + key.hashCode();
+		}
+		return BoundedHashTable.spread(hash) & 0xFFFFFFFFL;
+	}
+
+	private String serializeTypeTags(final List<?> arguments) throws OSCSerializeException {
+
+		final ByteArrayListBytesReceiver output = new ByteArrayListBytesReceiver();
+		engine.createSerializer(output).writeOnlyTypeTags(arguments);
+		return new String(output.toByteArray(), charset);
+	}
+
+	/**
+	 * Returns the type tags of a list of arguments,
+	 * as they would be serialized, but without the leading comma.
+	 * @param arguments to get the type tags of
+	 * @return the type tags of the given arguments,
+	 *   interned if they could be cached
+	 * @throws OSCSerializeException if the arguments failed to serialize
+	 */
+	public CharSequence getTypeTags(final List<?> arguments) throws OSCSerializeException {
+
+		if ((arguments.size() > maxArguments) || !(arguments instanceof RandomAccess)) {
+			return serializeTypeTags(arguments);
+		}
+		final long fullHash = hash(arguments);
+		if (fullHash == NO_HASH) {
+			return serializeTypeTags(arguments);
+		}
+		final int hash = (int) fullHash;
+		for (int pi = 0; pi < BoundedHashTable.PROBES; pi++) {
+			final Entry entry = table.probe(hash, pi);
+			if (entry == null) {
+				break;
+			}
+			if (entry.matches(arguments, hash)) {
+				table.hit();
+				return entry.typeTags;
+			}
+		}
+		table.miss();
+
+		final String typeTags = serializeTypeTags(arguments).intern();
+		final Object[] keys = new Object[arguments.size()];
+		final boolean[] byValue = new boolean[keys.length];
+		for (int ai = 0; ai < keys.length; ai++) {
+			final Object argument = arguments.get(ai);
+			byValue[ai] = (keyKind(argument) == KeyKind.VALUE);
+			if (byValue[ai]) {
+				keys[ai] = argument;
+			} else {
+				keys[ai] = (argument == null) ? NULL_KEY : argument.getClass();
+			}
+		}
+		table.put(new Entry(hash, keys, byValue, typeTags));
+		return typeTags;
+	}
+
+	/**
+	 * Returns the maximum number of signatures this table holds.
+	 * @return the number of slots
+	 */
+	public int getCapacity() {
+		return table.getCapacity();
+	}
+
+	/**
+	 * Returns the number of signatures currently in the table.
+	 * This takes time proportional to the capacity.
+	 * @return the number of occupied slots
+	 */
+	public int size() {
+		return table.size();
+	}
+
+	/**
+	 * Returns how many lookups found their signature.
+	 * @return the number of successful lookups so far
+	 */
+	public long getHits() {
+		return table.getHits();
+	}
+
+	/**
+	 * Returns how many cacheable lookups did not find their signature.
+	 * @return the number of failed lookups so far
+	 */
+	public long getMisses() {
+		return table.getMisses();
+	}
+
+	/**
+	 * Removes all signatures from the table, and resets the counters.
+	 */
+	public void clear() {
+		table.clear();
+	}
+}
@@ -0,0 +1,55 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Gives access to virtual threads if the runtime supports them (Java 21+),
+ * while this library is still built for Java 17.
+ */
+final class VirtualThreads {
+
+	private static final Method NEW_PER_TASK_EXECUTOR = findPerTaskExecutorFactory();
+
+	private VirtualThreads() {
+		// utility class
+	}
+
+	private static Method findPerTaskExecutorFactory() {
+
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (final NoSuchMethodException ex) {
+			return null;
+		}
+	}
+
+	static boolean isSupported() {
+		return NEW_PER_TASK_EXECUTOR != null;
+	}
+
+	/**
+	 * Creates an executor that starts a new virtual thread for each task.
+	 * @return a new executor
+	 * @throws UnsupportedOperationException if the runtime does not support virtual threads
+	 */
+	static ExecutorService newPerTaskExecutor() {
+
+		if (NEW_PER_TASK_EXECUTOR == null) {
+			throw new UnsupportedOperationException(
+					"Virtual threads require Java 21 or later; running on "
+					+ System.getProperty("java.version"));
+		}
+		try {
+			return (ExecutorService) NEW_PER_TASK_EXECUTOR.invoke(null);
+		} catch (final IllegalAccessException | InvocationTargetException ex) {
+			throw new IllegalStateException("Failed to create a virtual thread executor", ex);
+		}
+	}
+}
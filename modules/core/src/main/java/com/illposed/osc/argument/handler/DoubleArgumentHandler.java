@@ -17,6 +17,9 @@ import java.util.Map;
  */
 public class DoubleArgumentHandler implements ArgumentHandler<Double>, Cloneable {
 
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public static final char DEFAULT_IDENTIFIER = 'd';
 	public static final ArgumentHandler<Double> INSTANCE = new DoubleArgumentHandler();
 
 	// Public API
@@ -28,7 +31,7 @@ public class DoubleArgumentHandler implements ArgumentHandler<Double>, Cloneable
 
 	@Override
 	public char getDefaultIdentifier() {
-		return 'd';
+		return DEFAULT_IDENTIFIER;
 	}
 
 	@Override
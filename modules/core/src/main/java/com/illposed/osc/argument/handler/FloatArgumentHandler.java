@@ -17,6 +17,9 @@ import java.util.Map;
  */
 public class FloatArgumentHandler implements ArgumentHandler<Float>, Cloneable {
 
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public static final char DEFAULT_IDENTIFIER = 'f';
 	public static final ArgumentHandler<Float> INSTANCE = new FloatArgumentHandler();
 
 	// Public API
@@ -28,7 +31,7 @@ public class FloatArgumentHandler implements ArgumentHandler<Float>, Cloneable {
 
 	@Override
 	public char getDefaultIdentifier() {
-		return 'f';
+		return DEFAULT_IDENTIFIER;
 	}
 
 	@Override
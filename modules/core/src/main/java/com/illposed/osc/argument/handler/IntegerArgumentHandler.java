@@ -21,6 +21,9 @@ public class IntegerArgumentHandler implements ArgumentHandler<Integer>, Cloneab
 	 */
 	@SuppressWarnings("WeakerAccess")
 	public static final int BYTES = Integer.SIZE / Byte.SIZE;
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public static final char DEFAULT_IDENTIFIER = 'i';
 	public static final ArgumentHandler<Integer> INSTANCE = new IntegerArgumentHandler();
 
 	// Public API
@@ -32,7 +35,7 @@ public class IntegerArgumentHandler implements ArgumentHandler<Integer>, Cloneab
 
 	@Override
 	public char getDefaultIdentifier() {
-		return 'i';
+		return DEFAULT_IDENTIFIER;
 	}
 
 	@Override
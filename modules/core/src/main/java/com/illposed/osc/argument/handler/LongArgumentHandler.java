@@ -22,6 +22,9 @@ public class LongArgumentHandler implements ArgumentHandler<Long>, Cloneable {
 	 */
 	@SuppressWarnings("WeakerAccess")
 	public static final int BYTES = Long.SIZE / Byte.SIZE;
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public static final char DEFAULT_IDENTIFIER = 'h';
 	public static final ArgumentHandler<Long> INSTANCE = new LongArgumentHandler();
 
 	// Public API
@@ -33,7 +36,7 @@ public class LongArgumentHandler implements ArgumentHandler<Long>, Cloneable {
 
 	@Override
 	public char getDefaultIdentifier() {
-		return 'h';
+		return DEFAULT_IDENTIFIER;
 	}
 
 	@Override
@@ -14,10 +14,19 @@ import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
  * Parses and serializes an OSC string type.
+ * As nearly all OSC strings - and especially addresses - are pure ASCII,
+ * these are en- and decoded without going through the character-set machinery,
+ * if the character-set in use is ASCII compatible.
+ * Instances are not thread-safe, as they keep a decoder and a scratch buffer around;
+ * parsers and serializers each use their own clone.
  */
 public class StringArgumentHandler implements ArgumentHandler<String>, Cloneable {
 
@@ -26,12 +35,25 @@ public class StringArgumentHandler implements ArgumentHandler<String>, Cloneable
 	public static final char DEFAULT_IDENTIFIER = 's';
 	public static final String PROP_NAME_CHARSET = "charset";
 
+	private static final int WORD_BYTES = Long.BYTES;
+	private static final long LOW_BITS = 0x0101010101010101L;
+	private static final long HIGH_BITS = 0x8080808080808080L;
+	private static final int ASCII_LIMIT = 0x80;
+	private static final int INITIAL_SCRATCH_SIZE = 64;
+
 	private Charset charset;
+	/**
+	 * Whether the 7-bit ASCII range maps one-to-one onto the same byte values
+	 * in the current character-set, in both directions.
+	 */
+	private boolean asciiCompatible;
+	private CharsetDecoder decoder;
+	private byte[] scratch;
 
 	// Public API
 	@SuppressWarnings("WeakerAccess")
 	public StringArgumentHandler(final Charset charset) {
-		this.charset = charset;
+		setCharset(charset);
 	}
 	// Public API
 	@SuppressWarnings("WeakerAccess")
@@ -56,7 +78,41 @@ public class StringArgumentHandler implements ArgumentHandler<String>, Cloneable
 	 */
 	@SuppressWarnings("WeakerAccess")
 	public void setCharset(final Charset charset) {
+
 		this.charset = charset;
+		this.asciiCompatible = isAsciiCompatible(charset);
+		this.decoder = null;
+	}
+
+	// Public API
+	/**
+	 * Whether the current character-set encodes and decodes
+	 * the 7-bit ASCII range to and from the same byte values.
+	 * @return {@code true} if pure ASCII strings are encoded as plain ASCII
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public boolean isAsciiCompatible() {
+		return asciiCompatible;
+	}
+
+	private static boolean isAsciiCompatible(final Charset charset) {
+
+		if (charset.equals(StandardCharsets.UTF_8)
+				|| charset.equals(StandardCharsets.US_ASCII)
+				|| charset.equals(StandardCharsets.ISO_8859_1))
+		{
+			return true;
+		}
+		if (!charset.canEncode()) {
+			return false;
+		}
+		final byte[] asciiBytes = new byte[ASCII_LIMIT - 1];
+		for (int bi = 0; bi < asciiBytes.length; bi++) {
+			asciiBytes[bi] = (byte) (bi + 1);
+		}
+		final String ascii = new String(asciiBytes, StandardCharsets.US_ASCII);
+		return Arrays.equals(asciiBytes, ascii.getBytes(charset))
+				&& ascii.equals(new String(asciiBytes, charset));
 	}
 
 	@Override
@@ -86,33 +142,95 @@ public class StringArgumentHandler implements ArgumentHandler<String>, Cloneable
 	@Override
 	@SuppressWarnings("unchecked")
 	public StringArgumentHandler clone() throws CloneNotSupportedException {
-		return (StringArgumentHandler) super.clone();
+
+		final StringArgumentHandler copy = (StringArgumentHandler) super.clone();
+		// neither of these may be shared between instances
+		copy.decoder = null;
+		copy.scratch = null;
+		return copy;
 	}
 
 	/**
 	 * Get the length of the string currently in the byte stream.
+	 * This scans a word (8 bytes) at a time for the terminating zero byte.
+	 * @param rawInput to scan, starting at its current position
+	 * @return the length of the string in bytes, excluding the terminating zero,
+	 *   and negated minus one ({@code -(length + 1)}) if the string contains any non-ASCII bytes
 	 */
-	private int lengthOfCurrentString(final ByteBuffer rawInput) {
-		int len = 0;
-		while (rawInput.get(rawInput.position() + len) != 0) {
-			len++;
+	private static int lengthOfCurrentString(final ByteBuffer rawInput) {
+
+		final int start = rawInput.position();
+		final int wordsLimit = rawInput.limit() - WORD_BYTES;
+		long highBits = 0L;
+		int pos = start;
+		while (pos <= wordsLimit) {
+			final long word = rawInput.getLong(pos);
+			if (((word - LOW_BITS) & ~word & HIGH_BITS) != 0) {
+				// this word contains the terminating zero
+				break;
+			}
+			highBits |= word;
+			pos += WORD_BYTES;
 		}
-		return len;
+		byte cur = rawInput.get(pos);
+		while (cur != 0) {
+			highBits |= cur;
+			pos++;
+			cur = rawInput.get(pos);
+		}
+		final int len = pos - start;
+		return ((highBits & HIGH_BITS) == 0) ? len : -(len + 1);
 	}
 
-	@Override
-	public String parse(final ByteBuffer input) throws OSCParseException {
+	private byte[] scratch(final int size) {
+
+		if ((scratch == null) || (scratch.length < size)) {
+			scratch = new byte[Math.max(size, INITIAL_SCRATCH_SIZE)];
+		}
+		return scratch;
+	}
+
+	private String decodeAscii(final ByteBuffer input, final int strLen) {
 
-		final int strLen = lengthOfCurrentString(input);
+		if (input.hasArray()) {
+			return new String(input.array(), input.arrayOffset() + input.position(), strLen,
+					StandardCharsets.ISO_8859_1);
+		}
+		final byte[] bytes = scratch(strLen);
+		input.get(input.position(), bytes, 0, strLen);
+		return new String(bytes, 0, strLen, StandardCharsets.ISO_8859_1);
+	}
+
+	private String decode(final ByteBuffer input, final int strLen)
+			throws CharacterCodingException
+	{
+		if (decoder == null) {
+			decoder = charset.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPORT)
+					.onUnmappableCharacter(CodingErrorAction.REPORT);
+		}
 		final ByteBuffer strBuffer = input.slice();
 		((Buffer)strBuffer).limit(strLen);
+		return decoder.reset().decode(strBuffer).toString();
+	}
+
+	@Override
+	public String parse(final ByteBuffer input) throws OSCParseException {
+
+		final int scanned = lengthOfCurrentString(input);
+		final boolean ascii = (scanned >= 0);
+		final int strLen = ascii ? scanned : -(scanned + 1);
 		final String res;
-		try {
-			res = charset.newDecoder().decode(strBuffer).toString();
-		} catch (final CharacterCodingException ex) {
-			throw new OSCParseException(
-				"Failed decoding a string argument", ex, input
-			);
+		if (ascii && asciiCompatible) {
+			res = decodeAscii(input, strLen);
+		} else {
+			try {
+				res = decode(input, strLen);
+			} catch (final CharacterCodingException ex) {
+				throw new OSCParseException(
+					"Failed decoding a string argument", ex, input
+				);
+			}
 		}
 		((Buffer)input).position(input.position() + strLen);
 		// because strings are always padded with at least one zero,
@@ -126,8 +244,32 @@ public class StringArgumentHandler implements ArgumentHandler<String>, Cloneable
 	@Override
 	public void serialize(final BytesReceiver output, final String value) {
 
-		final byte[] stringBytes = value.getBytes(charset);
+		byte[] stringBytes = asciiCompatible ? encodeAscii(value) : null;
+		if (stringBytes == null) {
+			stringBytes = value.getBytes(charset);
+		}
 		output.put(stringBytes);
 		OSCSerializer.terminateAndAlign(output);
 	}
+
+	/**
+	 * Encodes a pure ASCII string without going through the character-set.
+	 * NOTE This can not use a re-usable scratch buffer,
+	 *   as some {@link BytesReceiver}s keep a reference to the array put into them.
+	 * @param value to be encoded
+	 * @return the encoded string, or {@code null} if it contains non-ASCII characters
+	 */
+	private static byte[] encodeAscii(final String value) {
+
+		final int strLen = value.length();
+		final byte[] bytes = new byte[strLen];
+		for (int ci = 0; ci < strLen; ci++) {
+			final char chr = value.charAt(ci);
+			if (chr >= ASCII_LIMIT) {
+				return null;
+			}
+			bytes[ci] = (byte) chr;
+		}
+		return bytes;
+	}
 }
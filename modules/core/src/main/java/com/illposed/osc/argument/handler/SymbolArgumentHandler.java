@@ -21,7 +21,7 @@ public class SymbolArgumentHandler implements ArgumentHandler<OSCSymbol>, Clonea
 	@SuppressWarnings("WeakerAccess")
 	public static final char DEFAULT_IDENTIFIER = 'S';
 
-	private final StringArgumentHandler stringArgumentHandler;
+	private StringArgumentHandler stringArgumentHandler;
 
 	// Public API
 	@SuppressWarnings("WeakerAccess")
@@ -58,7 +58,11 @@ public class SymbolArgumentHandler implements ArgumentHandler<OSCSymbol>, Clonea
 	@Override
 	@SuppressWarnings("unchecked")
 	public SymbolArgumentHandler clone() throws CloneNotSupportedException {
-		return (SymbolArgumentHandler) super.clone();
+
+		final SymbolArgumentHandler copy = (SymbolArgumentHandler) super.clone();
+		// the string handler keeps state that may not be shared between instances
+		copy.stringArgumentHandler = stringArgumentHandler.clone();
+		return copy;
 	}
 
 	@Override
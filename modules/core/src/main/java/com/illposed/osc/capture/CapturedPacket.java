@@ -0,0 +1,52 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.capture;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * A single raw packet read from a capture file.
+ */
+public class CapturedPacket {
+
+	private final long timestampNanos;
+	private final InetSocketAddress source;
+	private final ByteBuffer data;
+
+	public CapturedPacket(
+			final long timestampNanos,
+			final InetSocketAddress source,
+			final ByteBuffer data)
+	{
+		this.timestampNanos = timestampNanos;
+		this.source = source;
+		this.data = data;
+	}
+
+	/**
+	 * Returns when the packet was received.
+	 * @return nanoseconds since the Java epoch (1970-01-01T00:00:00Z)
+	 */
+	public long getTimestampNanos() {
+		return timestampNanos;
+	}
+
+	/**
+	 * Returns where the packet was sent from.
+	 * @return the senders address, or {@code null} if it was not recorded
+	 */
+	public InetSocketAddress getSource() {
+		return source;
+	}
+
+	/**
+	 * Returns the raw packet.
+	 * @return the packet bytes, between position and limit of a read-only buffer
+	 */
+	public ByteBuffer getData() {
+		return data.duplicate();
+	}
+}
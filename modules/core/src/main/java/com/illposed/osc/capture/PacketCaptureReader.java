@@ -0,0 +1,140 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.capture;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads the packets from a capture file, in the order they were recorded.
+ * See {@link PacketCaptureWriter} for details about the file format.
+ * A truncated last record is treated like the end of the log.
+ *
+ * This class is NOT thread-safe.
+ */
+public class PacketCaptureReader implements Closeable {
+
+	private final FileChannel channel;
+	private final ByteBuffer recordHeader;
+	private long position;
+
+	/**
+	 * Opens a capture file for reading.
+	 * @param file the capture file
+	 * @throws IOException if the file can not be opened, or is not a capture file
+	 */
+	public PacketCaptureReader(final Path file) throws IOException {
+
+		this.channel = FileChannel.open(file, StandardOpenOption.READ);
+		this.recordHeader = ByteBuffer.allocate(PacketCaptureWriter.MAX_RECORD_HEADER_BYTES);
+		final ByteBuffer magic = ByteBuffer.allocate(PacketCaptureWriter.MAGIC.length);
+		if (!readFully(magic, 0)
+				|| !Arrays.equals(magic.array(), PacketCaptureWriter.MAGIC))
+		{
+			channel.close();
+			throw new IOException("Not an OSC capture file: " + file);
+		}
+		this.position = PacketCaptureWriter.MAGIC.length;
+	}
+
+	/**
+	 * Finds the end of the log in an existing capture file.
+	 * @param file the capture file
+	 * @return the position right after the last complete record,
+	 *   or {@code -1} if the file does not exist or is empty
+	 * @throws IOException if the file is not a capture file
+	 */
+	static long findEnd(final Path file) throws IOException {
+
+		if (!Files.exists(file) || (Files.size(file) == 0)) {
+			return -1;
+		}
+		try (PacketCaptureReader reader = new PacketCaptureReader(file)) {
+			while (reader.next() != null) {
+				// just skip through
+			}
+			return reader.getPosition();
+		}
+	}
+
+	private boolean readFully(final ByteBuffer dst, final long offset) throws IOException {
+
+		long curOffset = offset;
+		while (dst.hasRemaining()) {
+			final int read = channel.read(dst, curOffset);
+			if (read < 0) {
+				return false;
+			}
+			curOffset += read;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns where the next record starts.
+	 * @return the file position of the next record
+	 */
+	public long getPosition() {
+		return position;
+	}
+
+	/**
+	 * Reads the next packet.
+	 * @return the next packet, or {@code null} if the end of the log was reached
+	 * @throws IOException if reading fails
+	 */
+	public CapturedPacket next() throws IOException {
+
+		recordHeader.clear();
+		recordHeader.limit(PacketCaptureWriter.RECORD_HEADER_BYTES - Short.BYTES);
+		if (!readFully(recordHeader, position)) {
+			return null;
+		}
+		recordHeader.flip();
+		final int length = recordHeader.getInt();
+		final long timestampNanos = recordHeader.getLong();
+		final int sourceIpLength = recordHeader.get();
+		if ((length <= 0) || (sourceIpLength < 0)) {
+			return null;
+		}
+
+		final long sourceStart = position + PacketCaptureWriter.RECORD_HEADER_BYTES - Short.BYTES;
+		recordHeader.clear();
+		recordHeader.limit(sourceIpLength + Short.BYTES);
+		if (!readFully(recordHeader, sourceStart)) {
+			return null;
+		}
+		recordHeader.flip();
+		InetSocketAddress source = null;
+		if (sourceIpLength > 0) {
+			final byte[] sourceIp = new byte[sourceIpLength];
+			recordHeader.get(sourceIp);
+			final int port = recordHeader.getShort() & 0xFFFF;
+			source = new InetSocketAddress(InetAddress.getByAddress(sourceIp), port);
+		}
+
+		final long dataStart = sourceStart + sourceIpLength + Short.BYTES;
+		final ByteBuffer data = ByteBuffer.allocate(length);
+		if (!readFully(data, dataStart)) {
+			return null;
+		}
+		data.flip();
+		position = dataStart + length;
+		return new CapturedPacket(timestampNanos, source, data.asReadOnlyBuffer());
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,241 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.capture;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends raw packets to a capture file, through a memory mapping.
+ * The file is mapped in chunks, so the cost of appending a packet
+ * is that of a memory copy, most of the time.
+ *
+ * The file format is compact and simple:
+ * An eight byte header ({@code "JOSCCAP1"}),
+ * followed by one record per packet, all in big endian byte order:
+ * <ol>
+ * <li>{@code int} - number of packet bytes (always larger then 0)</li>
+ * <li>{@code long} - receive time, in nanoseconds since the Java epoch</li>
+ * <li>{@code byte} - number of source IP address bytes (0, 4 or 16)</li>
+ * <li>{@code byte[]} - source IP address</li>
+ * <li>{@code short} - source port (unsigned)</li>
+ * <li>{@code byte[]} - packet bytes</li>
+ * </ol>
+ * The record size is written last, so a record is either complete or absent;
+ * a size of 0 marks the end of the log.
+ * This makes the log readable even if the writing process died
+ * before it was able to {@link #close()} it.
+ *
+ * This class is thread-safe.
+ */
+public class PacketCaptureWriter implements Closeable {
+
+	/**
+	 * Identifies capture files, and their format version.
+	 */
+	static final byte[] MAGIC = "JOSCCAP1".getBytes(StandardCharsets.US_ASCII);
+	/**
+	 * Number of bytes of a record, without the source IP address and the packet itself.
+	 */
+	static final int RECORD_HEADER_BYTES = Integer.BYTES + Long.BYTES + Byte.BYTES + Short.BYTES;
+	/**
+	 * Maximum number of bytes of a record header.
+	 */
+	static final int MAX_RECORD_HEADER_BYTES = RECORD_HEADER_BYTES + 16;
+	// Public API
+	/**
+	 * By how much the file grows whenever the mapped region is full, 16 MiB.
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+	private final FileChannel channel;
+	private final int chunkSize;
+	private final long epochNanosBase;
+	private final long nanoTimeBase;
+	private MappedByteBuffer chunk;
+	private long writePosition;
+	private long packetsWritten;
+	private SocketAddress lastSource;
+	private byte[] lastSourceIp;
+	private boolean closed;
+
+	public PacketCaptureWriter(final Path file) throws IOException {
+		this(file, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Opens a capture file for appending, creating it if it does not exist yet.
+	 * @param file the capture file
+	 * @param chunkSize by how many bytes to grow the mapped region of the file at once
+	 * @throws IOException if the file can not be opened,
+	 *   or exists but is not a capture file
+	 */
+	public PacketCaptureWriter(final Path file, final int chunkSize) throws IOException {
+
+		this.chunkSize = chunkSize;
+		final Instant now = Instant.now();
+		this.nanoTimeBase = System.nanoTime();
+		this.epochNanosBase = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+		final long existingEnd = PacketCaptureReader.findEnd(file);
+		this.channel = FileChannel.open(
+				file,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		if (existingEnd < 0) {
+			channel.truncate(0);
+			channel.write(ByteBuffer.wrap(MAGIC), 0);
+			this.writePosition = MAGIC.length;
+		} else {
+			this.writePosition = existingEnd;
+		}
+		this.chunk = null;
+		this.packetsWritten = 0;
+		this.lastSource = null;
+		this.lastSourceIp = null;
+		this.closed = false;
+	}
+
+	/**
+	 * Returns the current time, in the resolution used for the records.
+	 * @return nanoseconds since the Java epoch
+	 */
+	public long currentTimeNanos() {
+		return epochNanosBase + (System.nanoTime() - nanoTimeBase);
+	}
+
+	/**
+	 * Returns the number of packets appended through this writer.
+	 * @return number of records written since opening the file
+	 */
+	public synchronized long getPacketsWritten() {
+		return packetsWritten;
+	}
+
+	/**
+	 * Returns the size of the log.
+	 * @return number of bytes of the file that are actually in use
+	 */
+	public synchronized long getSize() {
+		return writePosition;
+	}
+
+	private void ensureCapacity(final int recordSize) throws IOException {
+
+		if ((chunk == null) || (chunk.remaining() < (recordSize + Integer.BYTES))) {
+			chunk = channel.map(
+					FileChannel.MapMode.READ_WRITE,
+					writePosition,
+					Math.max(chunkSize, recordSize + Integer.BYTES));
+		}
+	}
+
+	private byte[] sourceIp(final SocketAddress source) {
+
+		if (!source.equals(lastSource)) {
+			lastSource = source;
+			lastSourceIp = (source instanceof InetSocketAddress)
+					&& !((InetSocketAddress) source).isUnresolved()
+					? ((InetSocketAddress) source).getAddress().getAddress()
+					: null;
+		}
+		return lastSourceIp;
+	}
+
+	/**
+	 * Appends a packet to the log, time-stamped with the current time.
+	 * @param data contains the raw packet between its position and limit,
+	 *   which are left unchanged
+	 * @param source where the packet was sent from, or {@code null} if unknown
+	 * @throws IOException if this writer was closed, or the file can not grow
+	 */
+	public void append(final ByteBuffer data, final SocketAddress source) throws IOException {
+		append(data, source, currentTimeNanos());
+	}
+
+	/**
+	 * Appends a packet to the log.
+	 * Empty packets are ignored.
+	 * @param data contains the raw packet between its position and limit,
+	 *   which are left unchanged
+	 * @param source where the packet was sent from, or {@code null} if unknown
+	 * @param timestampNanos when the packet was received,
+	 *   in nanoseconds since the Java epoch
+	 * @throws IOException if this writer was closed, or the file can not grow
+	 */
+	public synchronized void append(
+			final ByteBuffer data,
+			final SocketAddress source,
+			final long timestampNanos)
+			throws IOException
+	{
+		if (closed) {
+			throw new ClosedChannelException();
+		}
+		final int length = data.remaining();
+		if (length == 0) {
+			return;
+		}
+		final byte[] sourceIp = (source == null) ? null : sourceIp(source);
+		final int sourceIpLength = (sourceIp == null) ? 0 : sourceIp.length;
+		final int recordSize = RECORD_HEADER_BYTES + sourceIpLength + length;
+		ensureCapacity(recordSize);
+
+		final int recordStart = chunk.position();
+		chunk.position(recordStart + Integer.BYTES);
+		chunk.putLong(timestampNanos);
+		chunk.put((byte) sourceIpLength);
+		if (sourceIp == null) {
+			chunk.putShort((short) 0);
+		} else {
+			chunk.put(sourceIp);
+			chunk.putShort((short) ((InetSocketAddress) source).getPort());
+		}
+		chunk.put(data.duplicate());
+		// written last, marking the record as complete
+		chunk.putInt(recordStart, length);
+
+		writePosition += recordSize;
+		packetsWritten++;
+	}
+
+	/**
+	 * Forces all records written so far to the storage device.
+	 */
+	public synchronized void flush() {
+
+		if (chunk != null) {
+			chunk.force();
+		}
+	}
+
+	/**
+	 * Flushes the log, and trims the file to the size actually used.
+	 * @throws IOException if trimming or closing the file fails
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+
+		if (!closed) {
+			closed = true;
+			flush();
+			chunk = null;
+			channel.truncate(writePosition);
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,112 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.capture;
+
+import com.illposed.osc.BufferBytesReceiver;
+import com.illposed.osc.OSCBadDataEvent;
+import com.illposed.osc.OSCPacketEvent;
+import com.illposed.osc.OSCPacketListener;
+import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.OSCSerializer;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.transport.RawPacketListener;
+import com.illposed.osc.transport.udp.UDPTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * Records received OSC traffic to a capture file.
+ * It may be used at two levels:
+ * <ul>
+ * <li>
+ *   at the raw level, as a {@link RawPacketListener}
+ *   (see {@link com.illposed.osc.transport.OSCPortIn#setRawPacketListener(RawPacketListener)}),
+ *   which records the datagrams exactly as received, including their source address,
+ *   and is the preferred way
+ * </li>
+ * <li>
+ *   as an {@link OSCPacketListener}
+ *   (see {@link com.illposed.osc.transport.OSCPortIn#addPacketListener(OSCPacketListener)}),
+ *   which works with any transport, but has to re-serialize the parsed packets,
+ *   and can not record the source address
+ * </li>
+ * </ul>
+ * Failures to record are logged, but do not disturb receiving.
+ */
+public class PacketRecorder implements RawPacketListener, OSCPacketListener, Closeable {
+
+	private final Logger log = LoggerFactory.getLogger(PacketRecorder.class);
+
+	private final PacketCaptureWriter writer;
+	private final ByteBuffer serializationBuffer;
+	private final OSCSerializer serializer;
+
+	public PacketRecorder(final PacketCaptureWriter writer) {
+		this(writer, new OSCSerializerAndParserBuilder());
+	}
+
+	/**
+	 * Creates a recorder.
+	 * @param writer where to record to
+	 * @param serializerBuilder used to serialize the packets handed to
+	 *   {@link #handlePacket(OSCPacketEvent)}
+	 */
+	public PacketRecorder(
+			final PacketCaptureWriter writer,
+			final OSCSerializerAndParserBuilder serializerBuilder)
+	{
+		this.writer = writer;
+		this.serializationBuffer = ByteBuffer.allocate(UDPTransport.BUFFER_SIZE);
+		this.serializer = serializerBuilder.buildSerializer(
+				new BufferBytesReceiver(serializationBuffer));
+	}
+
+	public PacketCaptureWriter getWriter() {
+		return writer;
+	}
+
+	@Override
+	public void packetReceived(final ByteBuffer data, final SocketAddress source) {
+
+		try {
+			writer.append(data, source);
+		} catch (final IOException ex) {
+			log.error("Failed to record a packet", ex);
+		}
+	}
+
+	@Override
+	public void handlePacket(final OSCPacketEvent event) {
+
+		final long timestampNanos = writer.currentTimeNanos();
+		synchronized (serializer) {
+			try {
+				serializer.write(event.getPacket());
+				serializationBuffer.flip();
+				writer.append(serializationBuffer, null, timestampNanos);
+			} catch (final IOException | OSCSerializeException ex) {
+				log.error("Failed to record a packet", ex);
+			}
+		}
+	}
+
+	/**
+	 * Does nothing, as bad data can only be recorded at the raw level.
+	 * @param event ignored
+	 */
+	@Override
+	public void handleBadData(final OSCBadDataEvent event) {
+		// nothing to do
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+}
@@ -0,0 +1,9 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+/**
+ * Provides means to record raw OSC traffic to disk, and read it back later,
+ * for example to replay it.
+ */
+package com.illposed.osc.capture;
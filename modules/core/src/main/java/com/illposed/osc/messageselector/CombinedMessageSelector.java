@@ -7,10 +7,22 @@ package com.illposed.osc.messageselector;
 
 import com.illposed.osc.MessageSelector;
 import com.illposed.osc.OSCMessageEvent;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Checks whether a certain logical combination of two message selectors matches.
  *
+ * With {@link LogicOperator#AND} and {@link LogicOperator#OR},
+ * the second selector is only checked if the first one does not decide the result already.
+ * Which one gets checked first depends on their {@link MessageSelector#getCostHint() cost hints},
+ * and on how often each of them decided the result so far;
+ * the selectors should therefore be free of side effects.
+ * Only a random sample of the checks is counted,
+ * so a selector used by many dispatching threads at once
+ * does not have them all write to the same memory on every check.
+ * The counts are kept without synchronization,
+ * as lost updates only delay adapting the order.
+ *
  * An example:<br>
  * <blockquote><pre>{@code
  * // matches only if both the address and the argument tags match
@@ -51,9 +63,34 @@ public class CombinedMessageSelector implements MessageSelector {
 		public abstract boolean matches(boolean matches1, boolean matches2);
 	}
 
+	/**
+	 * One out of how many checks gets counted.
+	 */
+	private static final int SAMPLE_INTERVAL = 16;
+	/**
+	 * After how many counted checks to re-consider which selector to check first.
+	 */
+	private static final int REORDER_INTERVAL = 64;
+
 	private final MessageSelector selector1;
 	private final MessageSelector selector2;
 	private final LogicOperator logicOperator;
+	private final int costHint1;
+	private final int costHint2;
+	/**
+	 * Whether to check {@link #selector2} first.
+	 */
+	private boolean secondFirst;
+	private int checks;
+	/**
+	 * How often each selector was checked since the last re-ordering,
+	 * and how often it decided the result on its own,
+	 * counting only the sampled checks.
+	 */
+	private int checked1;
+	private int checked2;
+	private int decided1;
+	private int decided2;
 
 	// Public API
 	@SuppressWarnings("WeakerAccess")
@@ -65,6 +102,10 @@ public class CombinedMessageSelector implements MessageSelector {
 		this.selector1 = selector1;
 		this.selector2 = selector2;
 		this.logicOperator = logicOperator;
+		this.costHint1 = Math.max(1, selector1.getCostHint());
+		this.costHint2 = Math.max(1, selector2.getCostHint());
+		this.secondFirst = (costHint2 < costHint1);
+		this.checks = 0;
 	}
 
 	// Public API
@@ -83,6 +124,107 @@ public class CombinedMessageSelector implements MessageSelector {
 
 	@Override
 	public boolean matches(final OSCMessageEvent messageEvent) {
-		return logicOperator.matches(selector1.matches(messageEvent), selector2.matches(messageEvent));
+
+		if (logicOperator == LogicOperator.XOR) {
+			return logicOperator.matches(selector1.matches(messageEvent), selector2.matches(messageEvent));
+		}
+		// with AND, a mismatch decides the result, with OR a match
+		final boolean deciding = (logicOperator == LogicOperator.OR);
+		if (ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) != 0) {
+			final MessageSelector first = secondFirst ? selector2 : selector1;
+			final MessageSelector second = secondFirst ? selector1 : selector2;
+			final boolean matches = first.matches(messageEvent);
+			return (matches == deciding) ? matches : second.matches(messageEvent);
+		}
+		boolean matches;
+		if (secondFirst) {
+			matches = selector2.matches(messageEvent);
+			checked2++;
+			if (matches == deciding) {
+				decided2++;
+			} else {
+				matches = selector1.matches(messageEvent);
+				checked1++;
+				if (matches == deciding) {
+					decided1++;
+				}
+			}
+		} else {
+			matches = selector1.matches(messageEvent);
+			checked1++;
+			if (matches == deciding) {
+				decided1++;
+			} else {
+				matches = selector2.matches(messageEvent);
+				checked2++;
+				if (matches == deciding) {
+					decided2++;
+				}
+			}
+		}
+		if (++checks >= REORDER_INTERVAL) {
+			reorder();
+		}
+		return matches;
+	}
+
+	/**
+	 * Checks first the selector with the lower expected cost per decided result,
+	 * which is its cost hint divided by the share of checks in which it decided the result.
+	 * Selectors never checked are assumed to decide half of the time.
+	 * The counts are then halved, so the order adapts to changing traffic.
+	 */
+	private void reorder() {
+
+		// (cost / ((decided + 1) / (checked + 2))), compared cross-multiplied
+		final long weighted1 = (long) costHint1 * (checked1 + 2) * (decided2 + 1);
+		final long weighted2 = (long) costHint2 * (checked2 + 2) * (decided1 + 1);
+		if ((weighted1 != weighted2) && (secondFirst != (weighted2 < weighted1))) {
+			secondFirst = !secondFirst;
+		}
+		checks = 0;
+		checked1 /= 2;
+		checked2 /= 2;
+		decided1 /= 2;
+		decided2 /= 2;
+	}
+
+	/**
+	 * Sums up the cost hints of the two selectors,
+	 * as in the worst case, both of them have to be checked.
+	 * @return the estimated cost of checking both selectors
+	 */
+	@Override
+	public int getCostHint() {
+		return costHint1 + costHint2;
+	}
+
+	/**
+	 * Combines the address prefixes of the two selectors.
+	 * With {@link LogicOperator#AND}, both prefixes have to match,
+	 * so the longer one is returned; with any other operator,
+	 * an address matching only one of the selectors may be selected,
+	 * so only the common part of the two prefixes is returned.
+	 * @return a prefix of all addresses this selector may match
+	 */
+	@Override
+	public String getAddressPrefix() {
+
+		final String prefix1 = selector1.getAddressPrefix();
+		final String prefix2 = selector2.getAddressPrefix();
+		final String prefix;
+		if (logicOperator == LogicOperator.AND) {
+			prefix = (prefix1.length() >= prefix2.length()) ? prefix1 : prefix2;
+		} else {
+			int commonLength = 0;
+			final int maxLength = Math.min(prefix1.length(), prefix2.length());
+			while ((commonLength < maxLength)
+					&& (prefix1.charAt(commonLength) == prefix2.charAt(commonLength)))
+			{
+				commonLength++;
+			}
+			prefix = prefix1.substring(0, commonLength);
+		}
+		return prefix;
 	}
 }
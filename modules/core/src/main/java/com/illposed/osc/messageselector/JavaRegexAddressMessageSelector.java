@@ -15,6 +15,9 @@ import java.util.regex.Pattern;
  */
 public class JavaRegexAddressMessageSelector implements MessageSelector {
 
+	private static final String REGEX_SPECIAL_CHARS = "\\^$.|?*+()[]{}";
+	private static final String REGEX_QUANTIFIER_CHARS = "?*{";
+
 	private final Pattern selector;
 
 	// Public API
@@ -27,6 +30,10 @@ public class JavaRegexAddressMessageSelector implements MessageSelector {
 		this(Pattern.compile(selectorRegex));
 	}
 
+	Pattern getPattern() {
+		return selector;
+	}
+
 	@Override
 	public boolean equals(final Object other) {
 
@@ -54,4 +61,33 @@ public class JavaRegexAddressMessageSelector implements MessageSelector {
 	public boolean matches(final OSCMessageEvent messageEvent) {
 		return selector.matcher(messageEvent.getMessage().getAddress()).matches();
 	}
+
+	/**
+	 * Extracts the literal characters at the start of the regular expression.
+	 * This is conservative: it stops at the first special character,
+	 * drops the last literal character if it is followed by an optional quantifier,
+	 * and gives up completely on alternations and flags.
+	 * @return a prefix of all addresses this selector may match
+	 */
+	@Override
+	public String getAddressPrefix() {
+
+		final String regex = selector.pattern();
+		if (((selector.flags() & ~Pattern.UNICODE_CASE) != 0) || (regex.indexOf('|') >= 0)) {
+			return "";
+		}
+		final StringBuilder prefix = new StringBuilder();
+		int ci = regex.startsWith("^") ? 1 : 0;
+		for (; ci < regex.length(); ci++) {
+			final char curChar = regex.charAt(ci);
+			if (REGEX_SPECIAL_CHARS.indexOf(curChar) >= 0) {
+				if ((REGEX_QUANTIFIER_CHARS.indexOf(curChar) >= 0) && (prefix.length() > 0)) {
+					prefix.setLength(prefix.length() - 1);
+				}
+				break;
+			}
+			prefix.append(curChar);
+		}
+		return prefix.toString();
+	}
 }
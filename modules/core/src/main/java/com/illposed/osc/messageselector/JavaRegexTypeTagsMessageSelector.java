@@ -12,15 +12,19 @@ import java.util.regex.Pattern;
 
 /**
  * Checks whether an OSC <i>Argument Type Tags</i> string matches a given Java regular expression.
+ * Results are remembered per (interned) type tags string.
  */
 public class JavaRegexTypeTagsMessageSelector implements MessageSelector {
 
 	private final Pattern selector;
+	private final SignatureMatches signatureMatches;
 
 	// Public API
 	@SuppressWarnings("WeakerAccess")
 	public JavaRegexTypeTagsMessageSelector(final Pattern selector) {
+
 		this.selector = selector;
+		this.signatureMatches = new SignatureMatches();
 	}
 
 	// Public API
@@ -63,8 +67,23 @@ public class JavaRegexTypeTagsMessageSelector implements MessageSelector {
 		return true;
 	}
 
+	/**
+	 * Repeated signatures cost a single lookup, but new ones run the regular expression.
+	 * @return {@code 3}
+	 */
+	@Override
+	public int getCostHint() {
+		return 3;
+	}
+
 	@Override
 	public boolean matches(final OSCMessageEvent messageEvent) {
-		return selector.matcher(messageEvent.getMessage().getInfo().getArgumentTypeTags()).matches();
+
+		final CharSequence typeTags = messageEvent.getMessage().getInfo().getArgumentTypeTags();
+		final Boolean known = signatureMatches.lookup(typeTags);
+		if (known != null) {
+			return known;
+		}
+		return signatureMatches.add(typeTags, selector.matcher(typeTags).matches());
 	}
 }
@@ -0,0 +1,378 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.messageselector;
+
+import com.illposed.osc.MessageSelector;
+import com.illposed.osc.routing.AddressPrefixTrie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds all the {@link JavaRegexAddressMessageSelector}s out of many
+ * that match a given address, without running each of their regular expressions.
+ * Each selector is added together with an index, for example its position in a list of listeners,
+ * and the indices of all the matching selectors are reported at once.
+ * Java regular expressions may use back-references, look-arounds and flags,
+ * so they can not generally be merged into a single automaton.
+ * Instead, they are narrowed down to the few that may match:
+ * <ul>
+ * <li>regular expressions consisting of literal characters only
+ *   are looked up by the whole address</li>
+ * <li>all the others are looked up by their
+ *   {@link JavaRegexAddressMessageSelector#getAddressPrefix() literal prefix}
+ *   in a single pass over the address,
+ *   and skipped if the address lacks a literal they require further on</li>
+ * <li>selectors sharing the same regular expression run it only once</li>
+ * </ul>
+ * Thus the cost of matching an address mostly depends on
+ * the number of selectors that may actually match it,
+ * rather than on the number of selectors in total.
+ *
+ * This class is NOT thread-safe while being modified.
+ * Once filled, it may be used by multiple threads simultaneously,
+ * as long as it is published safely (for example through a {@code volatile} field).
+ */
+public class MultiRegexAddressIndex {
+
+	private static final String REGEX_QUANTIFIER_CHARS = "?*{";
+	/**
+	 * Escaped letters that stand for a single character out of a class,
+	 * or for a position, like {@code "\\d"} or {@code "\\b"}.
+	 */
+	private static final String REGEX_CLASS_ESCAPE_CHARS = "dDsSwWhHvVbBAzZGR";
+
+	/**
+	 * All the selectors sharing a regular expression.
+	 */
+	private static final class Group {
+
+		/**
+		 * Position of this group among all the groups of its index.
+		 */
+		private final int ordinal;
+		private final Pattern regex;
+		/**
+		 * A literal each matching address contains,
+		 * or {@code null} if there is none beyond the prefix.
+		 */
+		private final String requiredLiteral;
+		private final BitSet indices;
+
+		Group(final int ordinal, final Pattern regex, final String requiredLiteral) {
+
+			this.ordinal = ordinal;
+			this.regex = regex;
+			this.requiredLiteral = requiredLiteral;
+			this.indices = new BitSet();
+		}
+
+		boolean matches(final String address, final Matches matches) {
+			return ((requiredLiteral == null) || address.contains(requiredLiteral))
+					&& matches.matcher(this, address).matches();
+		}
+	}
+
+	/**
+	 * Receives the indices of the selectors matching an address,
+	 * and holds what is needed to find them,
+	 * so matching many addresses in a row does not allocate anything,
+	 * once warmed up.
+	 * This class is NOT thread-safe; use one instance per thread.
+	 * An instance may be used with different indices.
+	 */
+	public static final class Matches {
+
+		private final BitSet indices;
+		private final List<Group> candidates;
+		/**
+		 * The last matcher used per {@link Group#ordinal group ordinal}.
+		 */
+		private Matcher[] matchers;
+
+		public Matches() {
+
+			this.indices = new BitSet();
+			this.candidates = new ArrayList<>();
+			this.matchers = new Matcher[0];
+		}
+
+		/**
+		 * Returns the indices of the selectors matching the addresses
+		 * this was passed to {@link #collectMatches(String, Matches)} with,
+		 * since it was last {@link #clear() cleared}.
+		 * @return the indices of the matching selectors, as set bits
+		 */
+		public BitSet getIndices() {
+			return indices;
+		}
+
+		/**
+		 * Forgets the indices collected so far.
+		 */
+		public void clear() {
+			indices.clear();
+		}
+
+		private Matcher matcher(final Group group, final String address) {
+
+			if (group.ordinal >= matchers.length) {
+				matchers = Arrays.copyOf(matchers, Math.max(group.ordinal + 1, 2 * matchers.length));
+			}
+			Matcher matcher = matchers[group.ordinal];
+			if ((matcher == null) || (matcher.pattern() != group.regex)) {
+				matcher = group.regex.matcher(address);
+				matchers[group.ordinal] = matcher;
+			} else {
+				matcher.reset(address);
+			}
+			return matcher;
+		}
+	}
+
+	private final Map<String, BitSet> literalAddresses;
+	private final Map<String, Group> groups;
+	private final AddressPrefixTrie<Group> prefixes;
+	private int size;
+
+	public MultiRegexAddressIndex() {
+
+		this.literalAddresses = new HashMap<>();
+		this.groups = new HashMap<>();
+		this.prefixes = new AddressPrefixTrie<>();
+		this.size = 0;
+	}
+
+	/**
+	 * Indicates whether a selector may be added to an index.
+	 * This is only the case for plain {@link JavaRegexAddressMessageSelector}s,
+	 * as sub-classes might match differently.
+	 * @param selector to be checked
+	 * @return {@code true} if {@link #add(MessageSelector, int)} will accept it
+	 */
+	public static boolean isIndexable(final MessageSelector selector) {
+		return (selector != null) && (selector.getClass() == JavaRegexAddressMessageSelector.class);
+	}
+
+	/**
+	 * Adds a selector, if it is {@link #isIndexable(MessageSelector) indexable}.
+	 * @param selector to be added
+	 * @param index to be reported whenever the selector matches
+	 * @return {@code true} if the selector was added
+	 */
+	public boolean add(final MessageSelector selector, final int index) {
+
+		if (!isIndexable(selector)) {
+			return false;
+		}
+		final JavaRegexAddressMessageSelector regexSelector
+				= (JavaRegexAddressMessageSelector) selector;
+		size++;
+		final Pattern regex = regexSelector.getPattern();
+		final String prefix = regexSelector.getAddressPrefix();
+		final String regexStr = regex.pattern();
+		final int literalStart = regexStr.startsWith("^") ? 1 : 0;
+		if (prefix.length() == (regexStr.length() - literalStart)) {
+			literalAddresses.computeIfAbsent(prefix, key -> new BitSet()).set(index);
+			return true;
+		}
+		final String key = regex.flags() + ":" + regexStr;
+		Group group = groups.get(key);
+		if (group == null) {
+			final String requiredLiteral = requiredLiteral(regex);
+			group = new Group(groups.size(), regex,
+					requiredLiteral.isEmpty() ? null : requiredLiteral);
+			groups.put(key, group);
+			prefixes.put(prefix, group);
+		}
+		group.indices.set(index);
+		return true;
+	}
+
+	/**
+	 * Returns the number of selectors in this index.
+	 * @return the number of selectors added
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Indicates whether there are no selectors in this index.
+	 * @return {@code true} if no address will ever match
+	 */
+	public boolean isEmpty() {
+		return (size == 0);
+	}
+
+	/**
+	 * Collects the indices of all the selectors matching an address.
+	 * @param address the address of a message
+	 * @param matches where to set the bits of the matching selectors' indices
+	 */
+	public void collectMatches(final String address, final Matches matches) {
+
+		final BitSet literalMatches = literalAddresses.get(address);
+		if (literalMatches != null) {
+			matches.indices.or(literalMatches);
+		}
+		if (!prefixes.isEmpty()) {
+			final List<Group> candidates = matches.candidates;
+			prefixes.collectMatches(address, candidates);
+			for (int ci = 0; ci < candidates.size(); ci++) {
+				final Group candidate = candidates.get(ci);
+				if (candidate.matches(address, matches)) {
+					matches.indices.or(candidate.indices);
+				}
+			}
+			candidates.clear();
+		}
+	}
+
+	/**
+	 * Finds the longest run of literal characters every match has to contain,
+	 * besides the one at the start, which is covered by the address prefix already.
+	 * Like {@link JavaRegexAddressMessageSelector#getAddressPrefix()},
+	 * this is conservative: it ignores everything within groups and character classes,
+	 * drops the last literal character if it is followed by an optional quantifier,
+	 * gives up completely on alternations and flags,
+	 * and stops at inline flags and rarely used escapes.
+	 * @param regex to be analyzed
+	 * @return a literal every matching address contains, possibly the empty string
+	 */
+	static String requiredLiteral(final Pattern regex) {
+
+		final String regexStr = regex.pattern();
+		if (((regex.flags() & ~Pattern.UNICODE_CASE) != 0) || (regexStr.indexOf('|') >= 0)) {
+			return "";
+		}
+		String longest = "";
+		final StringBuilder run = new StringBuilder();
+		final int leadingRunStart = regexStr.startsWith("^") ? 1 : 0;
+		int runStart = -1;
+		int groupDepth = 0;
+		int ci = 0;
+		while (ci < regexStr.length()) {
+			final int elementStart = ci;
+			final char curChar = regexStr.charAt(ci);
+			char literal = 0;
+			boolean isLiteral = false;
+			if (curChar == '\\') {
+				if ((ci + 1) == regexStr.length()) {
+					break;
+				}
+				final char escaped = regexStr.charAt(ci + 1);
+				if (!Character.isLetterOrDigit(escaped)) {
+					literal = escaped;
+					isLiteral = true;
+					ci += 2;
+				} else if ((escaped == 'p') || (escaped == 'P')) {
+					final int end = regexStr.indexOf('}', ci);
+					if (((ci + 2) < regexStr.length()) && (regexStr.charAt(ci + 2) == '{') && (end > 0)) {
+						ci = end + 1;
+					} else {
+						ci += 3;
+					}
+				} else if (REGEX_CLASS_ESCAPE_CHARS.indexOf(escaped) >= 0) {
+					ci += 2;
+				} else {
+					// octal, hex, unicode, quoting, back-references, ...
+					break;
+				}
+			} else if (curChar == '[') {
+				ci = skipCharacterClass(regexStr, ci);
+				if (ci < 0) {
+					break;
+				}
+			} else if (curChar == '(') {
+				if (((ci + 2) < regexStr.length()) && (regexStr.charAt(ci + 1) == '?')
+						&& ((regexStr.charAt(ci + 2) == '-')
+						|| Character.isLetter(regexStr.charAt(ci + 2))))
+				{
+					// inline flags, which might change the meaning of all that follows
+					break;
+				}
+				groupDepth++;
+				ci++;
+			} else if (curChar == ')') {
+				groupDepth--;
+				ci++;
+			} else if (REGEX_QUANTIFIER_CHARS.indexOf(curChar) >= 0) {
+				if (run.length() > 0) {
+					run.setLength(run.length() - 1);
+				}
+				ci = (curChar == '{') ? (regexStr.indexOf('}', ci) + 1) : (ci + 1);
+				if (ci == 0) {
+					break;
+				}
+			} else if ((curChar == '+') || (curChar == '.') || (curChar == '^') || (curChar == '$')) {
+				ci++;
+			} else {
+				literal = curChar;
+				isLiteral = true;
+				ci++;
+			}
+
+			if (isLiteral && (groupDepth == 0)) {
+				if (run.length() == 0) {
+					runStart = elementStart;
+				}
+				run.append(literal);
+				continue;
+			}
+			if ((runStart != leadingRunStart) && (run.length() > longest.length())) {
+				longest = run.toString();
+			}
+			run.setLength(0);
+		}
+		if ((runStart != leadingRunStart) && (run.length() > longest.length())) {
+			longest = run.toString();
+		}
+		return longest;
+	}
+
+	/**
+	 * Skips a character class like {@code "[a-z&&[^x]]"}.
+	 * @param regex the whole regular expression
+	 * @param start index of the opening bracket
+	 * @return index of the character after the closing bracket,
+	 *   or {@code -1} if there is none
+	 */
+	private static int skipCharacterClass(final String regex, final int start) {
+
+		int ci = start + 1;
+		if ((ci < regex.length()) && (regex.charAt(ci) == '^')) {
+			ci++;
+		}
+		if ((ci < regex.length()) && (regex.charAt(ci) == ']')) {
+			// a leading closing bracket is literal
+			ci++;
+		}
+		int depth = 0;
+		while (ci < regex.length()) {
+			final char curChar = regex.charAt(ci);
+			if (curChar == '\\') {
+				ci += 2;
+				continue;
+			}
+			if (curChar == '[') {
+				depth++;
+			} else if (curChar == ']') {
+				if (depth == 0) {
+					return ci + 1;
+				}
+				depth--;
+			}
+			ci++;
+		}
+		return -1;
+	}
+}
@@ -6,11 +6,9 @@
 package com.illposed.osc.messageselector;
 
 import com.illposed.osc.MessageSelector;
+import com.illposed.osc.OSCAddress;
 import com.illposed.osc.OSCMessageEvent;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -60,7 +58,11 @@ import java.util.List;
  */
 public class OSCPatternAddressMessageSelector implements MessageSelector {
 
+	private static final String WILDCARD_CHARS = "*?[]{}";
+
 	private final List<String> patternParts;
+	private final String addressPrefix;
+	private final int costHint;
 
 	/**
 	 * Creates a selector that may take a simple address or a wildcard as matching criteria.
@@ -71,7 +73,22 @@ public class OSCPatternAddressMessageSelector implements MessageSelector {
 	 *   for more details
 	 */
 	public OSCPatternAddressMessageSelector(final String selector) {
-		this.patternParts = splitIntoParts(selector);
+		this.patternParts = OSCAddress.split(selector);
+		this.addressPrefix = extractLiteralPrefix(selector);
+		this.costHint = containsWildcards(selector) ? 5 : 2;
+	}
+
+	// Public API
+	/**
+	 * Creates a selector that matches exactly one address.
+	 *
+	 * @param address the only address to match, for example "/sc/mixer/volume"
+	 */
+	@SuppressWarnings("unused")
+	public OSCPatternAddressMessageSelector(final OSCAddress address) {
+		this.patternParts = address.getSegments();
+		this.addressPrefix = extractLiteralPrefix(address.toString());
+		this.costHint = 2;
 	}
 
 	@Override
@@ -100,31 +117,60 @@ public class OSCPatternAddressMessageSelector implements MessageSelector {
 	@Override
 	public boolean matches(final OSCMessageEvent messageEvent) {
 
-		final List<String> messageAddressParts = splitIntoParts(messageEvent.getMessage().getAddress());
+		final List<String> messageAddressParts = messageEvent.getMessage().getOSCAddress().getSegments();
 		return matches(patternParts, 0, messageAddressParts, 0);
 	}
 
+	@Override
+	public String getAddressPrefix() {
+		return addressPrefix;
+	}
+
+	/**
+	 * Comparing the address segments costs about as much as comparing a string,
+	 * while wildcards may require back-tracking.
+	 * @return {@code 2} for plain addresses, {@code 5} for patterns with wildcards
+	 */
+	@Override
+	public int getCostHint() {
+		return costHint;
+	}
+
+	private static boolean containsWildcards(final String pattern) {
+
+		for (int ci = 0; ci < pattern.length(); ci++) {
+			if (WILDCARD_CHARS.indexOf(pattern.charAt(ci)) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
-	 * Splits an OSC message address or address selector pattern into parts that are convenient
-	 * during the matching process.
-	 * @param addressOrPattern to be split into parts, e.g.: "/hello/", "/hello//world//"
-	 * @return the given address or pattern split into parts: {"hello"}, {"hello, "", "world", ""}
+	 * Extracts the part of a pattern before the first wildcard.
+	 * A trailing slash is dropped, as "/hello/" also matches "/hello",
+	 * and patterns not starting with a slash yield no prefix at all,
+	 * as they match addresses that do.
+	 * @param pattern the address selector pattern, e.g.: "/mixer/?/volume"
+	 * @return a prefix of all addresses the pattern may match, e.g.: "/mixer"
 	 */
-	private static List<String> splitIntoParts(final String addressOrPattern) {
-
-		final List<String> parts
-				= new ArrayList<>(Arrays.asList(addressOrPattern.split("/", -1)));
-		if (addressOrPattern.startsWith("/")) {
-			// as "/hello" gets split into {"", "hello"}, we remove the first empty entry,
-			// so we end up with {"hello"}
-			parts.remove(0);
+	private static String extractLiteralPrefix(final String pattern) {
+
+		if (!pattern.startsWith("/")) {
+			return "";
+		}
+		int end = pattern.indexOf("//");
+		if (end < 0) {
+			end = pattern.length();
 		}
-		if (addressOrPattern.endsWith("/")) {
-			// as "hello/" gets split into {"hello", ""}, we also remove the last empty entry,
-			// so we end up with {"hello"}
-			parts.remove(parts.size() - 1);
+		for (int ci = 0; ci < end; ci++) {
+			if (WILDCARD_CHARS.indexOf(pattern.charAt(ci)) >= 0) {
+				end = ci;
+				break;
+			}
 		}
-		return Collections.unmodifiableList(parts);
+		final String prefix = pattern.substring(0, end);
+		return prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
 	}
 
 	/**
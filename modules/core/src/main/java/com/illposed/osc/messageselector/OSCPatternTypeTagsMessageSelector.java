@@ -12,15 +12,26 @@ import com.illposed.osc.OSCMessageEvent;
  * Checks whether an OSC <i>Argument Type Tags</i> string matches a given wildcard expression,
  * as described in the OSC protocol specification for address matching.
  * See {@link OSCPatternAddressMessageSelector the corresponding address selector} for more details.
+ * The expression gets compiled into a small automaton where possible,
+ * and results are remembered per (interned) type tags string.
  */
 public class OSCPatternTypeTagsMessageSelector implements MessageSelector {
 
 	private final String selector;
+	/**
+	 * The compiled selector, or {@code null} if it uses constructs not supported by it,
+	 * in which case we use the string matcher.
+	 */
+	private final TypeTagsAutomaton automaton;
+	private final SignatureMatches signatureMatches;
 
 	// Public API
 	@SuppressWarnings("WeakerAccess")
 	public OSCPatternTypeTagsMessageSelector(final String selector) {
+
 		this.selector = selector;
+		this.automaton = TypeTagsAutomaton.compile(selector);
+		this.signatureMatches = new SignatureMatches();
 	}
 
 	// Public API
@@ -57,10 +68,26 @@ public class OSCPatternTypeTagsMessageSelector implements MessageSelector {
 		return true;
 	}
 
+	/**
+	 * Repeated signatures cost a single lookup, and new ones mostly a pass of the automaton.
+	 * @return {@code 2}
+	 */
+	@Override
+	public int getCostHint() {
+		return 2;
+	}
+
 	@Override
 	public boolean matches(final OSCMessageEvent messageEvent) {
-		return OSCPatternAddressMessageSelector.matches(
-				messageEvent.getMessage().getInfo().getArgumentTypeTags().toString(),
-				selector);
+
+		final CharSequence typeTags = messageEvent.getMessage().getInfo().getArgumentTypeTags();
+		final Boolean known = signatureMatches.lookup(typeTags);
+		if (known != null) {
+			return known;
+		}
+		final boolean matches = (automaton == null)
+				? OSCPatternAddressMessageSelector.matches(typeTags.toString(), selector)
+				: automaton.matches(typeTags);
+		return signatureMatches.add(typeTags, matches);
 	}
 }
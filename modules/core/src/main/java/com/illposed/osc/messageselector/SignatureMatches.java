@@ -0,0 +1,82 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.messageselector;
+
+/**
+ * A small, bounded memo of whether a selector matched an <i>Argument Type Tags</i> string,
+ * keyed by the identity of that string.
+ * The parser and the dispatcher hand out interned type tags,
+ * so each distinct signature is usually the very same {@code String} instance,
+ * and a repeated signature costs a single table lookup.
+ * Only {@code String}s are memoized, as other {@code CharSequence}s may change.
+ *
+ * This class is thread-safe; entries are immutable,
+ * and concurrent additions may at worst overwrite each other,
+ * which only costs a later miss.
+ */
+final class SignatureMatches {
+
+	/**
+	 * Number of slots; applications rarely use more distinct signatures.
+	 */
+	private static final int SIZE = 64;
+
+	private static final class Entry {
+
+		private final String typeTags;
+		private final boolean matches;
+
+		Entry(final String typeTags, final boolean matches) {
+
+			this.typeTags = typeTags;
+			this.matches = matches;
+		}
+	}
+
+	private final Entry[] entries;
+
+	SignatureMatches() {
+		this.entries = new Entry[SIZE];
+	}
+
+	private static int slot(final String typeTags) {
+
+		final int hash = typeTags.hashCode();
+		return (hash ^ (hash >>> 16)) & (SIZE - 1);
+	}
+
+	/**
+	 * Looks up a previous result.
+	 * @param typeTags the type tags of a message
+	 * @return {@code Boolean.TRUE} or {@code Boolean.FALSE} if the result is known,
+	 *   {@code null} otherwise
+	 */
+	Boolean lookup(final CharSequence typeTags) {
+
+		if (!(typeTags instanceof String)) {
+			return null;
+		}
+		final Entry entry = entries[slot((String) typeTags)];
+		if ((entry == null) || (entry.typeTags != typeTags)) {
+			return null;
+		}
+		return entry.matches;
+	}
+
+	/**
+	 * Remembers a result.
+	 * @param typeTags the type tags of a message
+	 * @param matches whether the selector matched them
+	 * @return {@code matches}
+	 */
+	boolean add(final CharSequence typeTags, final boolean matches) {
+
+		if (typeTags instanceof String) {
+			final String typeTagsStr = (String) typeTags;
+			entries[slot(typeTagsStr)] = new Entry(typeTagsStr, matches);
+		}
+		return matches;
+	}
+}
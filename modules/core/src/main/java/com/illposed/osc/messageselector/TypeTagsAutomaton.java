@@ -0,0 +1,354 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.messageselector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An OSC wildcard pattern, compiled into a deterministic finite automaton.
+ * This matches a string in a single pass, one table lookup per character,
+ * without any back-tracking or allocation.
+ * It is meant for <i>Argument Type Tags</i>,
+ * which use a tiny alphabet and short patterns,
+ * so the automaton stays small.
+ *
+ * The pattern is first turned into a position automaton,
+ * with each state set represented as bits of a {@code long},
+ * which is then converted into the table of the deterministic automaton.
+ * Patterns that would need too many states,
+ * or that use constructs which {@link OSCPatternAddressMessageSelector#matches(String, String)}
+ * interprets in a peculiar way, are not compiled;
+ * see {@link #compile(String)}.
+ * Instances are immutable, and thus thread-safe.
+ */
+final class TypeTagsAutomaton {
+
+	/**
+	 * Position 0 is the start; all the others consume one character each.
+	 */
+	private static final int MAX_POSITIONS = Long.SIZE;
+	private static final int MAX_STATES = 256;
+	/**
+	 * Characters below this get their own column in the alphabet lookup;
+	 * all the others share a single column.
+	 */
+	private static final int ALPHABET_SIZE = 128;
+	private static final int DEAD_STATE = 0;
+
+	/**
+	 * Maps each character below {@link #ALPHABET_SIZE} to its column in the transition table.
+	 */
+	private final byte[] charToColumn;
+	/**
+	 * The column for all characters from {@link #ALPHABET_SIZE} on.
+	 */
+	private final int otherColumn;
+	private final int numColumns;
+	/**
+	 * The next state for each state and column, at index {@code state * numColumns + column}.
+	 */
+	private final int[] transitions;
+	private final boolean[] accepting;
+
+	private TypeTagsAutomaton(
+			final byte[] charToColumn,
+			final int otherColumn,
+			final int numColumns,
+			final int[] transitions,
+			final boolean[] accepting)
+	{
+		this.charToColumn = charToColumn;
+		this.otherColumn = otherColumn;
+		this.numColumns = numColumns;
+		this.transitions = transitions;
+		this.accepting = accepting;
+	}
+
+	/**
+	 * Collects the positions of the automaton while parsing the pattern.
+	 * Each position consumes one character out of a set of characters.
+	 */
+	private static final class PositionsBuilder {
+
+		private final List<boolean[]> accepted = new ArrayList<>();
+		private final List<Boolean> acceptsOthers = new ArrayList<>();
+		private final long[] follow = new long[MAX_POSITIONS];
+		/**
+		 * The positions the next element of the pattern follows.
+		 */
+		private long previous = 1L;
+
+		PositionsBuilder() {
+
+			// the start position, which consumes nothing
+			accepted.add(new boolean[ALPHABET_SIZE]);
+			acceptsOthers.add(false);
+		}
+
+		/**
+		 * Adds a position following all the given ones.
+		 * @return the bit of the new position, or {@code 0} if there are too many
+		 */
+		long addPosition(final long after, final boolean[] chars, final boolean others) {
+
+			final int position = accepted.size();
+			if (position == MAX_POSITIONS) {
+				return 0L;
+			}
+			accepted.add(chars);
+			acceptsOthers.add(others);
+			final long bit = 1L << position;
+			for (int pi = 0; pi < position; pi++) {
+				if ((after & (1L << pi)) != 0) {
+					follow[pi] |= bit;
+				}
+			}
+			return bit;
+		}
+	}
+
+	private static boolean isWildcard(final char chr) {
+		return "*?[]{},".indexOf(chr) >= 0;
+	}
+
+	/**
+	 * Parses a character set like {@code "[a-cx]"} or {@code "[!a]"}.
+	 * Only sets consisting of single characters and plain ranges are supported.
+	 * @param pattern the whole pattern
+	 * @param start index of the character after the opening bracket
+	 * @param chars receives the characters in the set
+	 * @return index of the closing bracket, or {@code -1} if the set is not supported
+	 */
+	private static int parseSet(final String pattern, final int start, final boolean[] chars) {
+
+		int pi = start;
+		while ((pi < pattern.length()) && (pattern.charAt(pi) != ']')) {
+			final char from = pattern.charAt(pi);
+			if ((from == '-') || (from == '[') || (from >= ALPHABET_SIZE)) {
+				return -1;
+			}
+			pi++;
+			if ((pi < pattern.length()) && (pattern.charAt(pi) == '-')) {
+				pi++;
+				if (pi == pattern.length()) {
+					return -1;
+				}
+				final char to = pattern.charAt(pi);
+				if ((to == ']') || (to == '-') || (to == '[') || (to >= ALPHABET_SIZE)) {
+					return -1;
+				}
+				pi++;
+				// like the string matcher: "[z-a]" contains only "z" and "a"
+				chars[from] = true;
+				chars[to] = true;
+				for (int ci = from + 1; ci < to; ci++) {
+					chars[ci] = true;
+				}
+			} else {
+				chars[from] = true;
+			}
+		}
+		return ((pi == start) || (pi == pattern.length())) ? -1 : pi;
+	}
+
+	/**
+	 * Compiles an OSC wildcard pattern.
+	 * Supported are literal characters below 128, {@code '?'}, {@code '*'},
+	 * sets of characters and ranges like {@code "[!a-c]"},
+	 * and alternatives of literals of equal length like {@code "{ii,ff}"},
+	 * at the end of the pattern.
+	 * The string matcher back-tracks out of alternatives in a peculiar way,
+	 * which only matches ours in that case.
+	 * @param pattern to be compiled
+	 * @return the automaton matching the same strings
+	 *   as {@link OSCPatternAddressMessageSelector#matches(String, String)} does
+	 *   with this pattern, or {@code null} if the pattern is not supported
+	 */
+	static TypeTagsAutomaton compile(final String pattern) {
+
+		final PositionsBuilder builder = new PositionsBuilder();
+		int pi = 0;
+		while (pi < pattern.length()) {
+			final char chr = pattern.charAt(pi);
+			if (chr == '{') {
+				final int end = pattern.indexOf('}', pi);
+				if (end != (pattern.length() - 1)) {
+					return null;
+				}
+				long alternativesEnds = 0L;
+				final String[] alternatives = pattern.substring(pi + 1, end).split(",", -1);
+				for (final String alternative : alternatives) {
+					if (alternative.isEmpty() || (alternative.length() != alternatives[0].length())) {
+						return null;
+					}
+					long alternativeEnd = builder.previous;
+					for (int ai = 0; ai < alternative.length(); ai++) {
+						final char literal = alternative.charAt(ai);
+						if (isWildcard(literal) || (literal >= ALPHABET_SIZE)) {
+							return null;
+						}
+						final boolean[] chars = new boolean[ALPHABET_SIZE];
+						chars[literal] = true;
+						alternativeEnd = builder.addPosition(alternativeEnd, chars, false);
+						if (alternativeEnd == 0L) {
+							return null;
+						}
+					}
+					alternativesEnds |= alternativeEnd;
+				}
+				builder.previous = alternativesEnds;
+				pi = end + 1;
+				continue;
+			}
+
+			final boolean[] chars = new boolean[ALPHABET_SIZE];
+			final boolean others;
+			if ((chr == '*') || (chr == '?')) {
+				Arrays.fill(chars, true);
+				others = true;
+				pi++;
+			} else if (chr == '[') {
+				final boolean negate = ((pi + 1) < pattern.length()) && (pattern.charAt(pi + 1) == '!');
+				final int end = parseSet(pattern, pi + (negate ? 2 : 1), chars);
+				if (end < 0) {
+					return null;
+				}
+				if (negate) {
+					for (int ci = 0; ci < chars.length; ci++) {
+						chars[ci] = !chars[ci];
+					}
+				}
+				others = negate;
+				pi = end + 1;
+			} else if (isWildcard(chr) || (chr >= ALPHABET_SIZE)) {
+				return null;
+			} else {
+				chars[chr] = true;
+				others = false;
+				pi++;
+			}
+			final long bit = builder.addPosition(builder.previous, chars, others);
+			if (bit == 0L) {
+				return null;
+			}
+			if (chr == '*') {
+				// matches any number of characters, including none
+				builder.follow[Long.numberOfTrailingZeros(bit)] |= bit;
+				builder.previous |= bit;
+			} else {
+				builder.previous = bit;
+			}
+		}
+
+		return determinize(builder, builder.previous);
+	}
+
+	/**
+	 * Converts the position automaton into a deterministic one,
+	 * with each state of the latter representing a set of positions.
+	 * @param builder contains the positions
+	 * @param acceptingPositions the positions after which the pattern may end
+	 * @return the deterministic automaton, or {@code null} if it would have too many states
+	 */
+	private static TypeTagsAutomaton determinize(
+			final PositionsBuilder builder,
+			final long acceptingPositions)
+	{
+		final int numPositions = builder.accepted.size();
+
+		// characters accepted by exactly the same positions share a column
+		final byte[] charToColumn = new byte[ALPHABET_SIZE];
+		int otherColumn = 0;
+		final List<Long> columnPositions = new ArrayList<>();
+		final Map<Long, Integer> columnIndices = new HashMap<>();
+		for (int ci = 0; ci <= ALPHABET_SIZE; ci++) {
+			long positions = 0L;
+			for (int pi = 1; pi < numPositions; pi++) {
+				final boolean accepts = (ci == ALPHABET_SIZE)
+						? builder.acceptsOthers.get(pi)
+						: builder.accepted.get(pi)[ci];
+				if (accepts) {
+					positions |= 1L << pi;
+				}
+			}
+			Integer column = columnIndices.get(positions);
+			if (column == null) {
+				column = columnPositions.size();
+				columnPositions.add(positions);
+				columnIndices.put(positions, column);
+			}
+			if (ci < ALPHABET_SIZE) {
+				charToColumn[ci] = (byte) (int) column;
+			} else {
+				otherColumn = column;
+			}
+		}
+		final int numColumns = columnPositions.size();
+
+		// subset construction, with the empty set as the dead state
+		final List<Long> states = new ArrayList<>();
+		final Map<Long, Integer> stateIndices = new HashMap<>();
+		states.add(0L);
+		stateIndices.put(0L, DEAD_STATE);
+		states.add(1L);
+		stateIndices.put(1L, 1);
+		final List<int[]> rows = new ArrayList<>();
+		for (int si = 0; si < states.size(); si++) {
+			final long state = states.get(si);
+			long followers = 0L;
+			for (int pi = 0; pi < numPositions; pi++) {
+				if ((state & (1L << pi)) != 0) {
+					followers |= builder.follow[pi];
+				}
+			}
+			final int[] row = new int[numColumns];
+			for (int column = 0; column < numColumns; column++) {
+				final long next = followers & columnPositions.get(column);
+				Integer nextIndex = stateIndices.get(next);
+				if (nextIndex == null) {
+					if (states.size() == MAX_STATES) {
+						return null;
+					}
+					nextIndex = states.size();
+					states.add(next);
+					stateIndices.put(next, nextIndex);
+				}
+				row[column] = nextIndex;
+			}
+			rows.add(row);
+		}
+
+		final int[] transitions = new int[states.size() * numColumns];
+		final boolean[] accepting = new boolean[states.size()];
+		for (int si = 0; si < states.size(); si++) {
+			System.arraycopy(rows.get(si), 0, transitions, si * numColumns, numColumns);
+			accepting[si] = (states.get(si) & acceptingPositions) != 0;
+		}
+		return new TypeTagsAutomaton(charToColumn, otherColumn, numColumns, transitions, accepting);
+	}
+
+	/**
+	 * Checks whether a string matches the compiled pattern.
+	 * @param str to be matched, for example {@code "iif"}
+	 * @return {@code true} if the whole string matches
+	 */
+	boolean matches(final CharSequence str) {
+
+		int state = 1;
+		for (int ci = 0; ci < str.length(); ci++) {
+			final char chr = str.charAt(ci);
+			final int column = (chr < ALPHABET_SIZE) ? charToColumn[chr] : otherColumn;
+			state = transitions[state * numColumns + column];
+			if (state == DEAD_STATE) {
+				return false;
+			}
+		}
+		return accepting[state];
+	}
+}
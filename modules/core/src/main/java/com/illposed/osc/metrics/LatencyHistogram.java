@@ -0,0 +1,140 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations (or any other non-negative values),
+ * with one bucket per power of two.
+ * Recording a value costs only a few nanoseconds,
+ * and does not block, even under heavy contention,
+ * because every bucket is a {@link LongAdder}.
+ * The price is precision:
+ * percentiles are only accurate to within a factor of two.
+ * That is good enough to tell 10 microseconds from 10 milliseconds,
+ * which is what one usually wants to know in production.
+ */
+public class LatencyHistogram {
+
+	private static final int NUM_BUCKETS = Long.SIZE + 1;
+	private static final double PERCENT = 100.0;
+
+	private final LongAdder[] buckets;
+	private final LongAdder count;
+	private final LongAdder sum;
+	private final LongAccumulator max;
+
+	public LatencyHistogram() {
+
+		this.buckets = new LongAdder[NUM_BUCKETS];
+		for (int bi = 0; bi < NUM_BUCKETS; bi++) {
+			this.buckets[bi] = new LongAdder();
+		}
+		this.count = new LongAdder();
+		this.sum = new LongAdder();
+		this.max = new LongAccumulator(Math::max, 0L);
+	}
+
+	/**
+	 * Returns the index of the bucket containing the given value.
+	 * Bucket {@code 0} contains only {@code 0},
+	 * bucket {@code i > 0} contains the values in {@code [2^(i-1), 2^i)}.
+	 */
+	private static int bucketIndex(final long value) {
+		return Long.SIZE - Long.numberOfLeadingZeros(value);
+	}
+
+	/**
+	 * Returns the largest value that may be contained in a bucket.
+	 */
+	private static long bucketUpperBound(final int index) {
+		return (index >= Long.SIZE) ? Long.MAX_VALUE : ((1L << index) - 1);
+	}
+
+	/**
+	 * Records a single value.
+	 * @param value the value to record; negative values are recorded as {@code 0}
+	 */
+	public void record(final long value) {
+
+		final long nonNegativeValue = Math.max(0L, value);
+		buckets[bucketIndex(nonNegativeValue)].increment();
+		count.increment();
+		sum.add(nonNegativeValue);
+		max.accumulate(nonNegativeValue);
+	}
+
+	/**
+	 * Returns the number of values recorded.
+	 * @return the number of values recorded since creation or the last reset
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Returns the arithmetic mean of the recorded values.
+	 * @return the mean, or {@code 0} if no values were recorded
+	 */
+	public double getMean() {
+
+		final long curCount = count.sum();
+		return (curCount == 0) ? 0.0 : ((double) sum.sum() / curCount);
+	}
+
+	/**
+	 * Returns the largest recorded value.
+	 * @return the largest value, or {@code 0} if no values were recorded
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns an upper bound of the value at the given percentile.
+	 * @param percentile in {@code [0.0, 100.0]}, for example {@code 99.0}
+	 * @return a value that at least {@code percentile} percent of the recorded values
+	 *   are smaller than or equal to,
+	 *   which is at most twice as large as the real value at that percentile,
+	 *   or {@code 0} if no values were recorded
+	 */
+	public long getValueAtPercentile(final double percentile) {
+
+		final long[] counts = new long[NUM_BUCKETS];
+		long total = 0;
+		for (int bi = 0; bi < NUM_BUCKETS; bi++) {
+			counts[bi] = buckets[bi].sum();
+			total += counts[bi];
+		}
+		if (total == 0) {
+			return 0L;
+		}
+		final long threshold = Math.max(1L, (long) Math.ceil(total * (percentile / PERCENT)));
+		long seen = 0;
+		for (int bi = 0; bi < NUM_BUCKETS; bi++) {
+			seen += counts[bi];
+			if (seen >= threshold) {
+				return Math.min(bucketUpperBound(bi), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Forgets all recorded values.
+	 * Values recorded concurrently with this call may or may not be forgotten.
+	 */
+	public void reset() {
+
+		for (final LongAdder bucket : buckets) {
+			bucket.reset();
+		}
+		count.reset();
+		sum.reset();
+		max.reset();
+	}
+}
@@ -0,0 +1,303 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects counters and latency histograms about the traffic
+ * going through one or more OSC ports.
+ * All methods are thread-safe and never block.
+ * Counters are {@link LongAdder}s, so concurrent updates from the receiving,
+ * sending and dispatching threads do not contend on a single memory location.
+ *
+ * The {@link #DISABLED} instance is used by default;
+ * all its recording methods return right after checking a final field,
+ * so leaving metrics disabled costs close to nothing.
+ * They can be exported through JMX with {@link OSCMetricsRegistration}.
+ */
+public class OSCMetrics implements OSCMetricsMXBean {
+
+	/**
+	 * The instance that does not record anything.
+	 */
+	public static final OSCMetrics DISABLED = new OSCMetrics(false);
+
+	private static final double P50 = 50.0;
+	private static final double P99 = 99.0;
+
+	private final boolean enabled;
+	private final LongAdder packetsReceived;
+	private final LongAdder bytesReceived;
+	private final LongAdder packetsFiltered;
+	private final LongAdder packetsDropped;
+	private final LongAdder parseFailures;
+	private final LongAdder unknownTypeTags;
+	private final LongAdder packetsSent;
+	private final LongAdder bytesSent;
+	private final LongAdder sendFailures;
+	private final LongAdder messagesDispatched;
+	private final LongAdder bundlesScheduled;
+	private final LatencyHistogram dispatchTime;
+	private final LatencyHistogram bundleLateness;
+
+	private OSCMetrics(final boolean enabled) {
+
+		this.enabled = enabled;
+		this.packetsReceived = new LongAdder();
+		this.bytesReceived = new LongAdder();
+		this.packetsFiltered = new LongAdder();
+		this.packetsDropped = new LongAdder();
+		this.parseFailures = new LongAdder();
+		this.unknownTypeTags = new LongAdder();
+		this.packetsSent = new LongAdder();
+		this.bytesSent = new LongAdder();
+		this.sendFailures = new LongAdder();
+		this.messagesDispatched = new LongAdder();
+		this.bundlesScheduled = new LongAdder();
+		this.dispatchTime = new LatencyHistogram();
+		this.bundleLateness = new LatencyHistogram();
+	}
+
+	/**
+	 * Creates an enabled set of metrics.
+	 */
+	public OSCMetrics() {
+		this(true);
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns the current time for measuring a duration,
+	 * to be passed to a recording method later.
+	 * @return {@link System#nanoTime()}, or {@code 0} if disabled,
+	 *   to not even pay for reading the clock
+	 */
+	public long startTimer() {
+		return enabled ? System.nanoTime() : 0L;
+	}
+
+	public void packetReceived(final int numBytes) {
+
+		if (enabled) {
+			packetsReceived.increment();
+			bytesReceived.add(numBytes);
+		}
+	}
+
+	public void packetFiltered() {
+
+		if (enabled) {
+			packetsFiltered.increment();
+		}
+	}
+
+	public void packetDropped() {
+
+		if (enabled) {
+			packetsDropped.increment();
+		}
+	}
+
+	public void parseFailed() {
+
+		if (enabled) {
+			parseFailures.increment();
+		}
+	}
+
+	public void unknownTypeTag() {
+
+		if (enabled) {
+			unknownTypeTags.increment();
+		}
+	}
+
+	public void packetSent(final int numBytes) {
+
+		if (enabled) {
+			packetsSent.increment();
+			bytesSent.add(numBytes);
+		}
+	}
+
+	public void sendFailed() {
+
+		if (enabled) {
+			sendFailures.increment();
+		}
+	}
+
+	public void messageDispatched() {
+
+		if (enabled) {
+			messagesDispatched.increment();
+		}
+	}
+
+	/**
+	 * Records the time it took to dispatch a packet to all listeners.
+	 * @param startNanos as returned by {@link #startTimer()} before dispatching
+	 */
+	public void packetDispatched(final long startNanos) {
+
+		if (enabled) {
+			dispatchTime.record(System.nanoTime() - startNanos);
+		}
+	}
+
+	public void bundleScheduled() {
+
+		if (enabled) {
+			bundlesScheduled.increment();
+		}
+	}
+
+	/**
+	 * Records how late a scheduled bundle got dispatched.
+	 * @param latenessNanos how long after its time-tag the bundle got dispatched
+	 */
+	public void bundleFired(final long latenessNanos) {
+
+		if (enabled) {
+			bundleLateness.record(latenessNanos);
+		}
+	}
+
+	@Override
+	public long getPacketsReceived() {
+		return packetsReceived.sum();
+	}
+
+	@Override
+	public long getBytesReceived() {
+		return bytesReceived.sum();
+	}
+
+	@Override
+	public long getPacketsFiltered() {
+		return packetsFiltered.sum();
+	}
+
+	@Override
+	public long getPacketsDropped() {
+		return packetsDropped.sum();
+	}
+
+	@Override
+	public long getParseFailures() {
+		return parseFailures.sum();
+	}
+
+	@Override
+	public long getUnknownTypeTags() {
+		return unknownTypeTags.sum();
+	}
+
+	@Override
+	public long getPacketsSent() {
+		return packetsSent.sum();
+	}
+
+	@Override
+	public long getBytesSent() {
+		return bytesSent.sum();
+	}
+
+	@Override
+	public long getSendFailures() {
+		return sendFailures.sum();
+	}
+
+	@Override
+	public long getMessagesDispatched() {
+		return messagesDispatched.sum();
+	}
+
+	@Override
+	public long getBundlesScheduled() {
+		return bundlesScheduled.sum();
+	}
+
+	public LatencyHistogram getDispatchTime() {
+		return dispatchTime;
+	}
+
+	@Override
+	public long getDispatchTimeCount() {
+		return dispatchTime.getCount();
+	}
+
+	@Override
+	public double getDispatchTimeMean() {
+		return dispatchTime.getMean();
+	}
+
+	@Override
+	public long getDispatchTimeP50() {
+		return dispatchTime.getValueAtPercentile(P50);
+	}
+
+	@Override
+	public long getDispatchTimeP99() {
+		return dispatchTime.getValueAtPercentile(P99);
+	}
+
+	@Override
+	public long getDispatchTimeMax() {
+		return dispatchTime.getMax();
+	}
+
+	public LatencyHistogram getBundleLateness() {
+		return bundleLateness;
+	}
+
+	@Override
+	public long getBundleLatenessCount() {
+		return bundleLateness.getCount();
+	}
+
+	@Override
+	public double getBundleLatenessMean() {
+		return bundleLateness.getMean();
+	}
+
+	@Override
+	public long getBundleLatenessP50() {
+		return bundleLateness.getValueAtPercentile(P50);
+	}
+
+	@Override
+	public long getBundleLatenessP99() {
+		return bundleLateness.getValueAtPercentile(P99);
+	}
+
+	@Override
+	public long getBundleLatenessMax() {
+		return bundleLateness.getMax();
+	}
+
+	@Override
+	public void reset() {
+
+		packetsReceived.reset();
+		bytesReceived.reset();
+		packetsFiltered.reset();
+		packetsDropped.reset();
+		parseFailures.reset();
+		unknownTypeTags.reset();
+		packetsSent.reset();
+		bytesSent.reset();
+		sendFailures.reset();
+		messagesDispatched.reset();
+		bundlesScheduled.reset();
+		dispatchTime.reset();
+		bundleLateness.reset();
+	}
+}
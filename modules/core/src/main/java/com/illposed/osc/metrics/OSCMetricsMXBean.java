@@ -0,0 +1,81 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.metrics;
+
+/**
+ * The JMX management interface of {@link OSCMetrics}.
+ * All durations are in nanoseconds.
+ */
+public interface OSCMetricsMXBean {
+
+	boolean isEnabled();
+
+	long getPacketsReceived();
+
+	long getBytesReceived();
+
+	/**
+	 * Returns the number of received packets that got discarded
+	 * by an address filter before parsing.
+	 * @return number of packets dropped unparsed
+	 */
+	long getPacketsFiltered();
+
+	/**
+	 * Returns the number of received packets that got discarded unparsed,
+	 * because the receive pipeline was full.
+	 * @return number of packets dropped due to overflow
+	 * @see com.illposed.osc.transport.pipeline.ReceivePipeline
+	 */
+	long getPacketsDropped();
+
+	long getParseFailures();
+
+	/**
+	 * Returns the number of messages that got dropped,
+	 * because they contained a type tag no argument handler is registered for.
+	 * @return number of messages with unknown type tags
+	 */
+	long getUnknownTypeTags();
+
+	long getPacketsSent();
+
+	long getBytesSent();
+
+	long getSendFailures();
+
+	long getMessagesDispatched();
+
+	long getBundlesScheduled();
+
+	long getDispatchTimeCount();
+
+	double getDispatchTimeMean();
+
+	long getDispatchTimeP50();
+
+	long getDispatchTimeP99();
+
+	long getDispatchTimeMax();
+
+	/**
+	 * Returns the number of scheduled bundles that were dispatched.
+	 * @return number of bundles fired, whose lateness got recorded
+	 */
+	long getBundleLatenessCount();
+
+	double getBundleLatenessMean();
+
+	long getBundleLatenessP50();
+
+	long getBundleLatenessP99();
+
+	long getBundleLatenessMax();
+
+	/**
+	 * Sets all counters and histograms back to zero.
+	 */
+	void reset();
+}
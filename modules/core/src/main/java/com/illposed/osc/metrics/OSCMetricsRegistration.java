@@ -0,0 +1,125 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.metrics;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metrics exported as a JMX MBean.
+ * This is the only class of the metrics that uses JMX,
+ * so the rest of them also work where JMX is not available, like on Android.
+ *
+ * Example:
+ * <blockquote><pre>{@code
+ * OSCMetrics metrics = new OSCMetrics();
+ * receiver.setMetrics(metrics);
+ * OSCMetricsRegistration registration = OSCMetricsRegistration.register(
+ *     metrics, OSCMetricsRegistration.createObjectName("OSCPortIn", "synth"));
+ * // ...
+ * registration.unregister();
+ * }</pre></blockquote>
+ */
+public final class OSCMetricsRegistration {
+
+	/**
+	 * The JMX domain our MBeans are registered under.
+	 */
+	public static final String JMX_DOMAIN = "com.illposed.osc";
+
+	private static final Logger LOG = LoggerFactory.getLogger(OSCMetricsRegistration.class);
+
+	private final OSCMetrics metrics;
+	private final ObjectName name;
+	private boolean registered;
+
+	private OSCMetricsRegistration(final OSCMetrics metrics, final ObjectName name) {
+
+		this.metrics = metrics;
+		this.name = name;
+		this.registered = true;
+	}
+
+	/**
+	 * Creates a JMX object name in our domain.
+	 * @param type the kind of thing measured, for example {@code "OSCPortIn"}
+	 * @param name identifies the measured instance, for example a port description
+	 * @return {@code com.illposed.osc:type=<type>,name="<name>"}
+	 * @throws JMException if the resulting name is invalid
+	 */
+	public static ObjectName createObjectName(final String type, final String name)
+			throws JMException
+	{
+		return new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+	}
+
+	/**
+	 * Registers metrics with the platform MBean server.
+	 * @param metrics the metrics to export
+	 * @param name the name to register under
+	 * @return the registration, to {@link #unregister()} the metrics again later
+	 * @throws JMException if registration fails,
+	 *   for example because the name is already taken
+	 * @throws IllegalStateException if {@code metrics} is the {@link OSCMetrics#DISABLED} instance
+	 */
+	public static OSCMetricsRegistration register(final OSCMetrics metrics, final ObjectName name)
+			throws JMException
+	{
+		if (!metrics.isEnabled()) {
+			throw new IllegalStateException("Can not register disabled metrics");
+		}
+		ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, name);
+		return new OSCMetricsRegistration(metrics, name);
+	}
+
+	/**
+	 * Returns the exported metrics.
+	 * @return the metrics this registration is about
+	 */
+	public OSCMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Returns the name the metrics are registered under.
+	 * @return the JMX name
+	 */
+	public ObjectName getName() {
+		return name;
+	}
+
+	/**
+	 * Indicates whether the metrics are still registered.
+	 * @return {@code true} until {@link #unregister()} is called
+	 */
+	public synchronized boolean isRegistered() {
+		return registered;
+	}
+
+	/**
+	 * Unregisters the metrics from the platform MBean server,
+	 * if that was not done before.
+	 * Failing to do so only gets logged,
+	 * as this is usually done while cleaning up.
+	 */
+	public synchronized void unregister() {
+
+		if (registered) {
+			registered = false;
+			try {
+				final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+				if (server.isRegistered(name)) {
+					server.unregisterMBean(name);
+				}
+			} catch (final JMException ex) {
+				LOG.warn("Failed to unregister the metrics MBean {}", name, ex);
+			}
+		}
+	}
+}
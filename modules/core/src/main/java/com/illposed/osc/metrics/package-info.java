@@ -0,0 +1,9 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+/**
+ * Provides counters and latency histograms about the traffic going through
+ * OSC ports, which may be exported through JMX.
+ */
+package com.illposed.osc.metrics;
@@ -0,0 +1,26 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.routing;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decides whether a message is of interest, based solely on its raw address bytes.
+ * This allows to discard messages before they get parsed.
+ * @see com.illposed.osc.transport.OSCPortIn#setAddressFilter(AddressFilter)
+ */
+@FunctionalInterface
+public interface AddressFilter {
+
+	/**
+	 * Checks whether a message with the given raw address should be let through.
+	 * Implementations must not modify the buffer.
+	 * @param data contains the raw address
+	 * @param offset absolute index of the first address byte in {@code data}
+	 * @param length number of address bytes, excluding the terminating zero
+	 * @return {@code true} if the message should be parsed and dispatched
+	 */
+	boolean accepts(ByteBuffer data, int offset, int length);
+}
@@ -0,0 +1,184 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.routing;
+
+import com.illposed.osc.BoundedHashTable;
+import com.illposed.osc.OSCAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * A bounded table of canonical addresses, looked up by raw address bytes.
+ * Most applications use a limited set of addresses,
+ * so a parser using this table allocates and decodes each of them only once,
+ * and hands out the same {@link OSCAddress} and {@code String} instances from then on.
+ * This also means that the segments of an address,
+ * as used for pattern matching, are only computed once.
+ * Entries are keyed by hash and length of the raw bytes,
+ * and compared against the buffer contents on lookup.
+ * The slots are managed by a {@link BoundedHashTable},
+ * which also defines how this behaves when it is full,
+ * and when used concurrently.
+ */
+public class AddressInterner {
+
+	/**
+	 * Default number of entries in the table.
+	 */
+	public static final int DEFAULT_CAPACITY = 4096;
+	/**
+	 * Longer addresses are never interned.
+	 */
+	public static final int DEFAULT_MAX_ADDRESS_LENGTH = 256;
+
+	private static final class Entry extends BoundedHashTable.Entry {
+
+		private final byte[] bytes;
+		private final OSCAddress address;
+
+		Entry(final int hash, final byte[] bytes, final OSCAddress address) {
+
+			super(hash);
+			this.bytes = bytes;
+			this.address = address;
+		}
+
+		boolean matches(final ByteBuffer data, final int offset, final int length, final int otherHash) {
+
+			if ((getHash() != otherHash) || (bytes.length != length)) {
+				return false;
+			}
+			for (int bi = 0; bi < length; bi++) {
+				if (bytes[bi] != data.get(offset + bi)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private final BoundedHashTable<Entry> table;
+	private final int maxAddressLength;
+
+	// Public API
+	/**
+	 * Creates a table.
+	 * @param capacity maximum number of addresses to keep;
+	 *   it is rounded up to the next power of two
+	 * @param maxAddressLength addresses longer than this many bytes are never interned
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public AddressInterner(final int capacity, final int maxAddressLength) {
+
+		this.table = new BoundedHashTable<>(capacity);
+		this.maxAddressLength = maxAddressLength;
+	}
+
+	// Public API
+	/**
+	 * Creates a table with {@link #DEFAULT_CAPACITY} entries,
+	 * interning addresses of up to {@link #DEFAULT_MAX_ADDRESS_LENGTH} bytes.
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public AddressInterner() {
+		this(DEFAULT_CAPACITY, DEFAULT_MAX_ADDRESS_LENGTH);
+	}
+
+	private static int hash(final ByteBuffer data, final int offset, final int length) {
+
+		int hash = length;
+		for (int bi = 0; bi < length; bi++) {
+			hash = 31 * hash + data.get(offset + bi);
+		}
+		return BoundedHashTable.spread(hash);
+	}
+
+	/**
+	 * Looks up the canonical instance for a raw address.
+	 * @param data contains the raw address
+	 * @param offset absolute index of the first byte of the address
+	 * @param length number of bytes of the address, excluding the terminating zero
+	 * @return the canonical address, or {@code null} if it is not in the table
+	 */
+	public OSCAddress lookup(final ByteBuffer data, final int offset, final int length) {
+
+		if (length > maxAddressLength) {
+			return null;
+		}
+		final int hash = hash(data, offset, length);
+		for (int pi = 0; pi < BoundedHashTable.PROBES; pi++) {
+			final Entry entry = table.probe(hash, pi);
+			if (entry == null) {
+				break;
+			}
+			if (entry.matches(data, offset, length, hash)) {
+				table.hit();
+				return entry.address;
+			}
+		}
+		table.miss();
+		return null;
+	}
+
+	/**
+	 * Adds the canonical instance for a raw address,
+	 * after a {@link #lookup(ByteBuffer, int, int)} missed.
+	 * @param data contains the raw address
+	 * @param offset absolute index of the first byte of the address
+	 * @param length number of bytes of the address, excluding the terminating zero
+	 * @param address the decoded address
+	 */
+	public void add(final ByteBuffer data, final int offset, final int length, final OSCAddress address) {
+
+		if (length > maxAddressLength) {
+			return;
+		}
+		final int hash = hash(data, offset, length);
+		final byte[] bytes = new byte[length];
+		for (int bi = 0; bi < length; bi++) {
+			bytes[bi] = data.get(offset + bi);
+		}
+		table.put(new Entry(hash, bytes, address));
+	}
+
+	/**
+	 * Returns the maximum number of addresses this table holds.
+	 * @return the number of slots
+	 */
+	public int getCapacity() {
+		return table.getCapacity();
+	}
+
+	/**
+	 * Returns the number of addresses currently in the table.
+	 * This takes time proportional to the capacity.
+	 * @return the number of occupied slots
+	 */
+	public int size() {
+		return table.size();
+	}
+
+	/**
+	 * Returns how many lookups found their address.
+	 * @return the number of successful lookups so far
+	 */
+	public long getHits() {
+		return table.getHits();
+	}
+
+	/**
+	 * Returns how many lookups did not find their address.
+	 * @return the number of failed lookups so far
+	 */
+	public long getMisses() {
+		return table.getMisses();
+	}
+
+	/**
+	 * Removes all addresses from the table, and resets the counters.
+	 */
+	public void clear() {
+		table.clear();
+	}
+}
@@ -0,0 +1,222 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.routing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Maps OSC address prefixes to values,
+ * and finds all the values whose prefix matches a raw address,
+ * in a single pass over the address bytes.
+ * Prefixes are matched byte-wise on their UTF-8 encoding;
+ * a prefix of {@code "/synth"} therefore matches both
+ * {@code "/synth/1"} and {@code "/synthesizer"}.
+ * Use {@code "/synth/"} if only the former is desired.
+ * The empty prefix matches every address.
+ *
+ * This class is NOT thread-safe while being modified.
+ * Once filled, it may be used by multiple threads simultaneously,
+ * as long as it is published safely (for example through a {@code volatile} field).
+ * As an {@link AddressFilter}, it accepts all addresses matched by at least one prefix.
+ * @param <V> type of the values associated with prefixes
+ */
+public class AddressPrefixTrie<V> implements AddressFilter {
+
+	private static final byte[] NO_KEYS = new byte[0];
+
+	private static final class Node<V> {
+
+		private byte[] keys = NO_KEYS;
+		private Node<V>[] children;
+		private Object[] values;
+
+		Node<V> child(final byte key) {
+
+			final byte[] curKeys = keys;
+			for (int ki = 0; ki < curKeys.length; ki++) {
+				if (curKeys[ki] == key) {
+					return children[ki];
+				}
+			}
+			return null;
+		}
+
+		@SuppressWarnings("unchecked")
+		Node<V> getOrCreateChild(final byte key) {
+
+			Node<V> child = child(key);
+			if (child == null) {
+				child = new Node<>();
+				final int numChildren = keys.length;
+				keys = Arrays.copyOf(keys, numChildren + 1);
+				keys[numChildren] = key;
+				children = (children == null)
+						? new Node[1]
+						: Arrays.copyOf(children, numChildren + 1);
+				children[numChildren] = child;
+			}
+			return child;
+		}
+
+		void addValue(final V value) {
+
+			if (values == null) {
+				values = new Object[] {value};
+			} else {
+				values = Arrays.copyOf(values, values.length + 1);
+				values[values.length - 1] = value;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		void collectValues(final Collection<? super V> matches) {
+
+			if (values != null) {
+				for (final Object value : values) {
+					matches.add((V) value);
+				}
+			}
+		}
+	}
+
+	private final Node<V> root;
+	private int size;
+
+	public AddressPrefixTrie() {
+
+		this.root = new Node<>();
+		this.size = 0;
+	}
+
+	/**
+	 * Associates a value with an address prefix.
+	 * Multiple values may be associated with the same prefix.
+	 * @param prefix the address prefix, for example {@code "/mixer/"}
+	 * @param value to be reported for addresses starting with {@code prefix}
+	 */
+	public void put(final String prefix, final V value) {
+
+		Node<V> node = root;
+		for (final byte key : prefix.getBytes(StandardCharsets.UTF_8)) {
+			node = node.getOrCreateChild(key);
+		}
+		node.addValue(value);
+		size++;
+	}
+
+	/**
+	 * Returns the number of values stored.
+	 * @return the total number of (prefix, value) associations
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Indicates whether there are no values stored at all.
+	 * @return {@code true} if no address will ever match
+	 */
+	public boolean isEmpty() {
+		return (size == 0);
+	}
+
+	/**
+	 * Collects all values whose prefix matches the given raw address,
+	 * from the shortest to the longest prefix.
+	 * @param data contains the raw address
+	 * @param offset absolute index of the first address byte
+	 * @param length number of address bytes
+	 * @param matches where to add the matching values to
+	 */
+	public void collectMatches(
+			final ByteBuffer data,
+			final int offset,
+			final int length,
+			final Collection<? super V> matches)
+	{
+		Node<V> node = root;
+		node.collectValues(matches);
+		for (int bi = offset; bi < offset + length; bi++) {
+			node = node.child(data.get(bi));
+			if (node == null) {
+				return;
+			}
+			node.collectValues(matches);
+		}
+	}
+
+	/**
+	 * Collects all values whose prefix matches the given address,
+	 * from the shortest to the longest prefix.
+	 * Plain ASCII addresses are matched without encoding them first.
+	 * @param address the address to check
+	 * @param matches where to add the matching values to
+	 */
+	public void collectMatches(final String address, final Collection<? super V> matches) {
+
+		for (int ci = 0; ci < address.length(); ci++) {
+			if (address.charAt(ci) >= 0x80) {
+				final byte[] addressBytes = address.getBytes(StandardCharsets.UTF_8);
+				collectMatches(ByteBuffer.wrap(addressBytes), 0, addressBytes.length, matches);
+				return;
+			}
+		}
+		Node<V> node = root;
+		node.collectValues(matches);
+		for (int ci = 0; ci < address.length(); ci++) {
+			node = node.child((byte) address.charAt(ci));
+			if (node == null) {
+				return;
+			}
+			node.collectValues(matches);
+		}
+	}
+
+	/**
+	 * Checks whether any prefix matches the given raw address.
+	 * @param data contains the raw address
+	 * @param offset absolute index of the first address byte
+	 * @param length number of address bytes
+	 * @return {@code true} if at least one stored prefix is a prefix of the address
+	 */
+	public boolean matchesAny(final ByteBuffer data, final int offset, final int length) {
+
+		Node<V> node = root;
+		if (node.values != null) {
+			return true;
+		}
+		for (int bi = offset; bi < offset + length; bi++) {
+			node = node.child(data.get(bi));
+			if (node == null) {
+				return false;
+			}
+			if (node.values != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean accepts(final ByteBuffer data, final int offset, final int length) {
+		return matchesAny(data, offset, length);
+	}
+
+	/**
+	 * Checks whether any prefix matches the given address.
+	 * This is a convenience method, mainly for testing,
+	 * as it has to encode the address first.
+	 * @param address the address to check
+	 * @return {@code true} if at least one stored prefix is a prefix of the address
+	 */
+	public boolean matchesAny(final String address) {
+
+		final byte[] addressBytes = address.getBytes(StandardCharsets.UTF_8);
+		return matchesAny(ByteBuffer.wrap(addressBytes), 0, addressBytes.length);
+	}
+}
@@ -0,0 +1,25 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.routing;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Gets to see the raw address bytes of the messages contained in a raw OSC packet.
+ * @see RawOSCPacket#visitAddresses(ByteBuffer, int, int, AddressVisitor)
+ */
+@FunctionalInterface
+public interface AddressVisitor {
+
+	/**
+	 * Visits the address of a single message.
+	 * Implementations must not modify the buffer.
+	 * @param data contains the raw packet
+	 * @param offset absolute index of the first address byte in {@code data}
+	 * @param length number of address bytes, excluding the terminating zero
+	 * @return {@code true} to stop visiting any further addresses
+	 */
+	boolean visit(ByteBuffer data, int offset, int length);
+}
@@ -0,0 +1,146 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.routing;
+
+import com.illposed.osc.OSCParseException;
+import com.illposed.osc.OSCParser;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Allows to peek into raw OSC packets,
+ * looking only at the bundle structure and the message addresses.
+ * None of the methods in here allocate memory,
+ * nor do they modify the position, limit or content of the buffers they work on;
+ * all indices are absolute.
+ */
+public final class RawOSCPacket {
+
+	/**
+	 * The bundle start indicator plus its terminating zero, {@code "#bundle\0"}.
+	 */
+	private static final byte[] BUNDLE_START_BYTES
+			= (OSCParser.BUNDLE_START + '\0').getBytes(StandardCharsets.US_ASCII);
+	/**
+	 * Number of bytes of a bundle header:
+	 * the bundle start indicator plus the time-tag.
+	 */
+	public static final int BUNDLE_HEADER_BYTES = BUNDLE_START_BYTES.length + Long.BYTES;
+	/**
+	 * Number of bytes used to encode the size of a bundle element.
+	 */
+	public static final int ELEMENT_SIZE_BYTES = Integer.BYTES;
+
+	private RawOSCPacket() {
+		// utility class
+	}
+
+	/**
+	 * Checks whether a raw packet is a bundle.
+	 * @param data contains the raw packet
+	 * @param offset absolute index of the first byte of the packet
+	 * @param length number of bytes of the packet
+	 * @return {@code true} if the packet starts with the bundle start indicator
+	 * @see OSCParser#BUNDLE_START
+	 */
+	public static boolean isBundle(final ByteBuffer data, final int offset, final int length) {
+
+		if (length < BUNDLE_START_BYTES.length) {
+			return false;
+		}
+		for (int bi = 0; bi < BUNDLE_START_BYTES.length; bi++) {
+			if (data.get(offset + bi) != BUNDLE_START_BYTES[bi]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the length of the zero-terminated string starting at {@code offset}.
+	 * @param data contains the string
+	 * @param offset absolute index of the first byte of the string
+	 * @param end absolute index of the first byte not to look at anymore
+	 * @return the number of bytes before the terminating zero,
+	 *   or {@code -1} if no zero byte appears before {@code end}
+	 */
+	public static int stringLength(final ByteBuffer data, final int offset, final int end) {
+
+		for (int bi = offset; bi < end; bi++) {
+			if (data.get(bi) == 0) {
+				return bi - offset;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the number of bytes a zero-terminated string occupies
+	 * in the OSC byte stream, including padding.
+	 * @param stringLength the number of bytes before the terminating zero
+	 * @return the aligned size of the string
+	 */
+	public static int alignedStringSize(final int stringLength) {
+		return (stringLength + OSCParser.ALIGNMENT_BYTES) & -OSCParser.ALIGNMENT_BYTES;
+	}
+
+	/**
+	 * Returns the length of the address of a raw (non-bundle) message.
+	 * @param data contains the raw message
+	 * @param offset absolute index of the first byte of the message
+	 * @param length number of bytes of the message
+	 * @return the number of address bytes, excluding the terminating zero
+	 * @throws OSCParseException if the address is not zero-terminated
+	 */
+	public static int addressLength(final ByteBuffer data, final int offset, final int length)
+			throws OSCParseException
+	{
+		final int addressLength = stringLength(data, offset, offset + length);
+		if (addressLength < 0) {
+			throw new OSCParseException("Message address is not terminated", data);
+		}
+		return addressLength;
+	}
+
+	/**
+	 * Visits the addresses of all the messages contained in a raw packet,
+	 * recursing into (nested) bundles, in the order they appear in the packet.
+	 * @param data contains the raw packet
+	 * @param offset absolute index of the first byte of the packet
+	 * @param length number of bytes of the packet
+	 * @param visitor gets to see each address
+	 * @return {@code true} if the visitor requested to stop
+	 * @throws OSCParseException if the bundle structure or an address is malformed
+	 */
+	public static boolean visitAddresses(
+			final ByteBuffer data,
+			final int offset,
+			final int length,
+			final AddressVisitor visitor)
+			throws OSCParseException
+	{
+		if (isBundle(data, offset, length)) {
+			final int end = offset + length;
+			int elementStart = offset + BUNDLE_HEADER_BYTES;
+			while (elementStart < end) {
+				if (elementStart + ELEMENT_SIZE_BYTES > end) {
+					throw new OSCParseException("Truncated bundle element size", data);
+				}
+				final int elementSize = data.getInt(elementStart);
+				elementStart += ELEMENT_SIZE_BYTES;
+				if ((elementSize <= 0) || (elementSize > (end - elementStart))) {
+					throw new OSCParseException("Invalid bundle element size: " + elementSize, data);
+				}
+				if (visitAddresses(data, elementStart, elementSize, visitor)) {
+					return true;
+				}
+				elementStart += elementSize;
+			}
+			return false;
+		} else {
+			return visitor.visit(data, offset, addressLength(data, offset, length));
+		}
+	}
+}
@@ -0,0 +1,9 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+/**
+ * Provides means to inspect and route raw OSC packets by their addresses,
+ * without parsing them into Java objects.
+ */
+package com.illposed.osc.routing;
@@ -0,0 +1,150 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.tracing;
+
+import com.illposed.osc.OSCPacket;
+import java.net.SocketAddress;
+
+/**
+ * Gets told about the work done along the receive, parse, dispatch
+ * and send paths, for example to record it as profiler events.
+ *
+ * Timed work is reported in two steps:
+ * The {@code ...Started()} method is called before the work,
+ * and returns a token, for example an event object with its start time;
+ * if that token is not {@code null}, it is handed back to
+ * the matching {@code ...Finished(...)} method after the work.
+ * Returning {@code null} means the work is not traced,
+ * in which case the details are not even collected.
+ *
+ * All methods do nothing by default, and get called concurrently
+ * from the receiving, dispatching and sending threads.
+ * @see OSCTracing#setTracer(OSCTracer)
+ */
+public interface OSCTracer {
+
+	/**
+	 * The tracer that does not trace anything, which is used by default.
+	 */
+	OSCTracer NONE = new OSCTracer() {};
+
+	/**
+	 * A packet is about to be parsed.
+	 * @return the token to pass to {@link #parseFinished(Object, OSCPacket, int)},
+	 *   or {@code null} to not trace this
+	 */
+	default Object parseStarted() {
+		return null;
+	}
+
+	/**
+	 * A packet got parsed.
+	 * @param token as returned by {@link #parseStarted()}
+	 * @param packet the parsed packet,
+	 *   or {@code null} if it got rejected by the address filter
+	 * @param size of the raw packet in bytes
+	 */
+	default void parseFinished(final Object token, final OSCPacket packet, final int size) {}
+
+	/**
+	 * A packet is about to be serialized.
+	 * @return the token to pass to {@link #serializeFinished(Object, OSCPacket, int)},
+	 *   or {@code null} to not trace this
+	 */
+	default Object serializeStarted() {
+		return null;
+	}
+
+	/**
+	 * A packet got serialized.
+	 * @param token as returned by {@link #serializeStarted()}
+	 * @param packet the serialized packet
+	 * @param size of the raw packet in bytes
+	 */
+	default void serializeFinished(final Object token, final OSCPacket packet, final int size) {}
+
+	/**
+	 * A datagram arrived in the receive buffer, and is about to be handed on.
+	 * @return the token to pass to
+	 *   {@link #receiveFinished(Object, SocketAddress, int, boolean)},
+	 *   or {@code null} to not trace this
+	 */
+	default Object receiveStarted() {
+		return null;
+	}
+
+	/**
+	 * A received datagram got handed on.
+	 * @param token as returned by {@link #receiveStarted()}
+	 * @param source where the datagram came from
+	 * @param size of the datagram in bytes
+	 * @param filtered whether the datagram got discarded by the address filter
+	 */
+	default void receiveFinished(
+			final Object token,
+			final SocketAddress source,
+			final int size,
+			final boolean filtered)
+	{}
+
+	/**
+	 * A serialized packet is about to be written to a socket.
+	 * @return the token to pass to {@link #sendFinished(Object, SocketAddress, int)},
+	 *   or {@code null} to not trace this
+	 */
+	default Object sendStarted() {
+		return null;
+	}
+
+	/**
+	 * A serialized packet got written to a socket.
+	 * @param token as returned by {@link #sendStarted()}
+	 * @param destination where the packet got sent to
+	 * @param size of the packet in bytes
+	 */
+	default void sendFinished(final Object token, final SocketAddress destination, final int size) {}
+
+	/**
+	 * A message listener is about to handle a message.
+	 * @return the token to pass to {@link #listenerFinished(Object, String, Class)},
+	 *   or {@code null} to not trace this
+	 */
+	default Object listenerStarted() {
+		return null;
+	}
+
+	/**
+	 * A message listener handled a message.
+	 * @param token as returned by {@link #listenerStarted()}
+	 * @param address of the message
+	 * @param listener the class of the listener
+	 */
+	default void listenerFinished(final Object token, final String address, final Class<?> listener) {}
+
+	/**
+	 * A bundle with a time-tag in the future got scheduled for dispatching later.
+	 * @param timeTag when the bundle is due, in milliseconds since the epoch
+	 * @param delay in how many milliseconds the bundle is due
+	 * @param packets how many packets the bundle contains
+	 */
+	default void bundleScheduled(final long timeTag, final long delay, final int packets) {}
+
+	/**
+	 * A scheduled bundle is about to be dispatched.
+	 * @return the token to pass to {@link #bundleFired(Object, long, int)},
+	 *   or {@code null} to not trace this
+	 */
+	default Object bundleFireStarted() {
+		return null;
+	}
+
+	/**
+	 * A scheduled bundle got dispatched.
+	 * @param token as returned by {@link #bundleFireStarted()}
+	 * @param lateness how many milliseconds after its time-tag the bundle got dispatched
+	 * @param packets how many packets the bundle contains
+	 */
+	default void bundleFired(final Object token, final long lateness, final int packets) {}
+}
@@ -0,0 +1,33 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.tracing;
+
+/**
+ * Holds the tracer all of this library reports to.
+ * Like the profilers that tracers usually forward to,
+ * there is only one of it per class loader.
+ */
+public final class OSCTracing {
+
+	private static volatile OSCTracer tracer = OSCTracer.NONE;
+
+	private OSCTracing() {}
+
+	/**
+	 * Returns the tracer in use.
+	 * @return the tracer in use, {@link OSCTracer#NONE} by default
+	 */
+	public static OSCTracer getTracer() {
+		return tracer;
+	}
+
+	/**
+	 * Sets the tracer to report to from now on.
+	 * @param tracer the tracer to use, or {@code null} to not trace anything
+	 */
+	public static void setTracer(final OSCTracer tracer) {
+		OSCTracing.tracer = (tracer == null) ? OSCTracer.NONE : tracer;
+	}
+}
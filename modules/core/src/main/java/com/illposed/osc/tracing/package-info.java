@@ -0,0 +1,12 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+/**
+ * Provides a hook for tracing the work done along the receive, parse,
+ * dispatch and send paths.
+ * Nothing is traced by default.
+ * The {@code javaosc-java-se-addons} module contains a tracer
+ * that emits Java Flight Recorder events.
+ */
+package com.illposed.osc.tracing;
@@ -7,7 +7,10 @@ package com.illposed.osc.transport;
 
 /**
  * An enumeration of network protocols by which OSC packets can be sent.
+ * {@link #LOCAL} is not a network protocol in the strict sense;
+ * it connects ports living in the same JVM,
+ * see {@link com.illposed.osc.transport.local.LocalTransport}.
  */
 public enum NetworkProtocol {
-	UDP, TCP;
+	UDP, TCP, LOCAL;
 }
@@ -5,9 +5,12 @@
 
 package com.illposed.osc.transport;
 
+import com.illposed.osc.transport.local.LocalTransport;
 import com.illposed.osc.transport.udp.UDPTransport;
 import com.illposed.osc.transport.tcp.TCPTransport;
 import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.metrics.OSCMetrics;
+import com.illposed.osc.metrics.OSCMetricsRegistration;
 import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
@@ -15,6 +18,7 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
+import javax.management.JMException;
 
 /**
  * An abstract superclass.
@@ -27,6 +31,14 @@ public class OSCPort {
 	public static final int DEFAULT_SC_LANG_OSC_PORT = 57120;
 
 	private final Transport transport;
+	private OSCMetrics metrics;
+	/**
+	 * The JMX registration of the metrics created by {@link #enableMetrics()},
+	 * or {@code null} if they are not in use.
+	 * Only these are unregistered by this port,
+	 * as all other metrics are managed by the user.
+	 */
+	private OSCMetricsRegistration metricsRegistration;
 
 	protected OSCPort(
 		final SocketAddress local,
@@ -54,11 +66,16 @@ public class OSCPort {
 					serializerAndParserBuilder
 				);
 				break;
+			case LOCAL:
+				this.transport = new LocalTransport(local, remote, serializerAndParserBuilder);
+				break;
 			default:
 				throw new IllegalArgumentException(
 					"Unexpected NetworkProtocol: " + protocol
 				);
 		}
+		this.metrics = OSCMetrics.DISABLED;
+		this.metricsRegistration = null;
 	}
 
 	protected OSCPort(
@@ -74,6 +91,70 @@ public class OSCPort {
 		return transport;
 	}
 
+	/**
+	 * Returns the metrics this port reports to.
+	 * @return the metrics in use, {@link OSCMetrics#DISABLED} by default
+	 */
+	public OSCMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Sets the metrics this port and its transport report to.
+	 * The same metrics may be shared by multiple ports.
+	 * If they replace metrics created by {@link #enableMetrics()},
+	 * those get unregistered from JMX.
+	 * @param metrics the metrics to use, or {@code null} to disable them
+	 */
+	public void setMetrics(final OSCMetrics metrics) {
+
+		this.metrics = (metrics == null) ? OSCMetrics.DISABLED : metrics;
+		transport.setMetrics(this.metrics);
+		if ((metricsRegistration != null) && (metricsRegistration.getMetrics() != this.metrics)) {
+			metricsRegistration.unregister();
+			metricsRegistration = null;
+		}
+	}
+
+	// Public API
+	/**
+	 * Enables metrics for this port, and exports them as a JMX MBean
+	 * named {@code com.illposed.osc:type=<port class>,name="<transport>"}.
+	 * They get unregistered again when this port is {@link #close() closed},
+	 * or when they get replaced by {@link #setMetrics(OSCMetrics)}
+	 * or by calling this method again.
+	 * JMX is only used when calling this method,
+	 * so it is not required otherwise.
+	 * @return the newly created metrics
+	 * @throws JMException if registering with the platform MBean server fails
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public OSCMetrics enableMetrics() throws JMException {
+
+		if (metricsRegistration != null) {
+			// frees the name for the new ones
+			metricsRegistration.unregister();
+			metricsRegistration = null;
+		}
+		final OSCMetrics newMetrics = new OSCMetrics();
+		final OSCMetricsRegistration registration = OSCMetricsRegistration.register(newMetrics,
+				OSCMetricsRegistration.createObjectName(
+						getClass().getSimpleName(), transport.toString()));
+		setMetrics(newMetrics);
+		metricsRegistration = registration;
+		return newMetrics;
+	}
+
+	// Public API
+	/**
+	 * Returns the JMX registration of the metrics created by {@link #enableMetrics()}.
+	 * @return the registration, or {@code null} if those metrics are not in use
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public OSCMetricsRegistration getMetricsRegistration() {
+		return metricsRegistration;
+	}
+
 	/**
 	 * The port that the SuperCollider <b>synth</b> engine
 	 * usually listens to.
@@ -153,7 +234,15 @@ public class OSCPort {
 	 * @throws IOException If an I/O error occurs on the channel
 	 */
 	public void close() throws IOException {
-		transport.close();
+
+		try {
+			transport.close();
+		} finally {
+			if (metricsRegistration != null) {
+				metricsRegistration.unregister();
+				metricsRegistration = null;
+			}
+		}
 	}
 
 	@Override
@@ -12,6 +12,11 @@ import com.illposed.osc.OSCPacketEvent;
 import com.illposed.osc.OSCPacketListener;
 import com.illposed.osc.OSCParseException;
 import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.metrics.OSCMetrics;
+import com.illposed.osc.routing.AddressFilter;
+import com.illposed.osc.transport.pipeline.ReceivePipeline;
+import com.illposed.osc.transport.pipeline.ReceivePipelineBuilder;
+import com.illposed.osc.transport.udp.UDPTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.io.IOException;
@@ -57,6 +62,29 @@ public class OSCPortIn extends OSCPort implements Runnable {
 	private boolean resilient;
 	private Thread listeningThread;
 	private final List<OSCPacketListener> packetListeners;
+	private final OSCSerializerAndParserBuilder parserBuilder;
+	private ReceivePipelineBuilder receivePipelineBuilder;
+	private ReceivePipeline receivePipeline;
+
+	/**
+	 * Hands the packets parsed by the workers of the receive pipeline
+	 * on to our packet listeners, just like {@link #run()} does.
+	 */
+	private final class PipelineSink implements OSCPacketListener {
+
+		@Override
+		public void handlePacket(final OSCPacketEvent event) {
+
+			for (final OSCPacketListener listener : packetListeners) {
+				listener.handlePacket(event);
+			}
+		}
+
+		@Override
+		public void handleBadData(final OSCBadDataEvent event) {
+			badPacketReceived(event.getException());
+		}
+	}
 
 	public static OSCPacketDispatcher getDispatcher(
 			final List<OSCPacketListener> listeners)
@@ -111,6 +139,9 @@ public class OSCPortIn extends OSCPort implements Runnable {
 		this.daemonListener = true;
 		this.resilient = true;
 		this.packetListeners = packetListeners;
+		this.parserBuilder = parserBuilder;
+		this.receivePipelineBuilder = null;
+		this.receivePipeline = null;
 	}
 
 	public OSCPortIn(
@@ -220,6 +251,8 @@ public class OSCPortIn extends OSCPort implements Runnable {
 	}
 
 	private void badPacketReceived(final OSCParseException exception) {
+
+		getMetrics().parseFailed();
 		final ByteBuffer data = exception.getData();
 		final OSCBadDataEvent badDataEvt = new OSCBadDataEvent(this, data, exception);
 
@@ -242,6 +275,14 @@ public class OSCPortIn extends OSCPort implements Runnable {
 		// NOTE This is not thread-save
 		if (!isListening()) {
 			listening = true;
+			if (receivePipelineBuilder != null) {
+				receivePipeline = receivePipelineBuilder.build(
+						(UDPTransport) getTransport(), parserBuilder, this, new PipelineSink());
+				receivePipeline.setMetrics(getMetrics());
+				receivePipeline.setDaemon(daemonListener);
+				receivePipeline.start();
+				return;
+			}
 			listeningThread = new Thread(this);
 			// The JVM exits when the only threads running are all daemon threads.
 			listeningThread.setDaemon(daemonListener);
@@ -256,6 +297,9 @@ public class OSCPortIn extends OSCPort implements Runnable {
 	@SuppressWarnings("WeakerAccess")
 	public void stopListening() {
 		listening = false;
+		if (receivePipeline != null) {
+			receivePipeline.stop();
+		}
 		// NOTE This is not thread-save
 		if (getTransport().isBlocking()) {
 			try {
@@ -301,7 +345,7 @@ public class OSCPortIn extends OSCPort implements Runnable {
 	@SuppressWarnings("WeakerAccess")
 	public void setDaemonListener(final boolean daemonListener) {
 
-		if (isListening()) {
+		if (isListening() && (listeningThread != null)) {
 			listeningThread.setDaemon(daemonListener);
 		}
 		this.daemonListener = daemonListener;
@@ -375,6 +419,108 @@ public class OSCPortIn extends OSCPort implements Runnable {
 		return dispatcher;
 	}
 
+	// Public API
+	/**
+	 * Sets a filter to discard received messages before they get parsed,
+	 * based on their raw address.
+	 * Use {@link OSCPacketDispatcher#getAddressFilter()} to only parse messages
+	 * that may be of interest to any of the dispatcher's listeners,
+	 * given the dispatcher is the only packet listener of this port.
+	 * This is currently only supported by the UDP transport.
+	 * @param addressFilter the filter to use, or {@code null} to parse all messages
+	 * @throws UnsupportedOperationException if the transport does not support filtering
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public void setAddressFilter(final AddressFilter addressFilter) {
+
+		final Transport transport = getTransport();
+		if (transport instanceof UDPTransport) {
+			((UDPTransport) transport).setAddressFilter(addressFilter);
+		} else {
+			throw new UnsupportedOperationException(
+				"Address filtering is not supported by " + transport.getClass().getSimpleName());
+		}
+	}
+
+	// Public API
+	/**
+	 * Sets a listener that gets to see all received packets in raw form,
+	 * before they get filtered or parsed, for example to record them.
+	 * This is currently only supported by the UDP transport.
+	 * @param rawPacketListener the listener to use, or {@code null} for none
+	 * @throws UnsupportedOperationException if the transport does not support this
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public void setRawPacketListener(final RawPacketListener rawPacketListener) {
+
+		final Transport transport = getTransport();
+		if (transport instanceof UDPTransport) {
+			((UDPTransport) transport).setRawPacketListener(rawPacketListener);
+		} else {
+			throw new UnsupportedOperationException(
+				"Raw packet listening is not supported by " + transport.getClass().getSimpleName());
+		}
+	}
+
+	// Public API
+	/**
+	 * Sets up this port to receive through a staged pipeline,
+	 * the next time it starts listening.
+	 * Datagrams then get received on one thread,
+	 * and parsed and handed to the packet listeners on one or more worker threads,
+	 * so slow listeners do not delay receiving.
+	 * With more than one worker,
+	 * the packet listeners have to be thread-safe.
+	 * This is currently only supported by the UDP transport.
+	 * @param receivePipelineBuilder the pipeline settings,
+	 *   or {@code null} to receive, parse and dispatch on a single thread (the default)
+	 * @throws UnsupportedOperationException if the transport does not support this
+	 * @throws IllegalStateException if this port is listening already
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public void setReceivePipeline(final ReceivePipelineBuilder receivePipelineBuilder) {
+
+		final Transport transport = getTransport();
+		if (!(transport instanceof UDPTransport)) {
+			throw new UnsupportedOperationException(
+				"A receive pipeline is not supported by " + transport.getClass().getSimpleName());
+		}
+		if (isListening()) {
+			throw new IllegalStateException("Can not change the receive pipeline while listening");
+		}
+		this.receivePipelineBuilder = receivePipelineBuilder;
+	}
+
+	// Public API
+	/**
+	 * Returns the pipeline this port receives through,
+	 * for example to monitor its queue depth.
+	 * @return the pipeline created when this port last started listening,
+	 *   or {@code null} if it does not use one
+	 */
+	@SuppressWarnings("WeakerAccess")
+	public ReceivePipeline getReceivePipeline() {
+		return receivePipeline;
+	}
+
+	/**
+	 * Sets the metrics this port, its transport, its receive pipeline
+	 * and its dispatcher (if one is among the packet listeners) report to.
+	 * @param metrics the metrics to use, or {@code null} to disable them
+	 */
+	@Override
+	public void setMetrics(final OSCMetrics metrics) {
+
+		super.setMetrics(metrics);
+		final OSCPacketDispatcher dispatcher = getDispatcher(packetListeners);
+		if (dispatcher != null) {
+			dispatcher.setMetrics(metrics);
+		}
+		if (receivePipeline != null) {
+			receivePipeline.setMetrics(metrics);
+		}
+	}
+
 	public List<OSCPacketListener> getPacketListeners() {
 		return packetListeners;
 	}
@@ -10,6 +10,7 @@ import com.illposed.osc.OSCMessageListener;
 import com.illposed.osc.OSCPacketDispatcher;
 import com.illposed.osc.OSCPacketListener;
 import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.transport.pipeline.ReceivePipelineBuilder;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -24,6 +25,7 @@ public class OSCPortInBuilder {
 	private SocketAddress local;
 	private SocketAddress remote;
 	private NetworkProtocol networkProtocol = NetworkProtocol.UDP;
+	private ReceivePipelineBuilder receivePipelineBuilder;
 
 	private OSCPacketListener addDefaultPacketListener() {
 		if (packetListeners == null) {
@@ -54,9 +56,14 @@ public class OSCPortInBuilder {
 			addDefaultPacketListener();
 		}
 
-		return new OSCPortIn(
+		final OSCPortIn port = new OSCPortIn(
 			parserBuilder, packetListeners, local, remote, networkProtocol
 		);
+		if (receivePipelineBuilder != null) {
+			port.setReceivePipeline(receivePipelineBuilder);
+		}
+
+		return port;
 	}
 
 	public OSCPortInBuilder setPort(final int port) {
@@ -92,11 +99,31 @@ public class OSCPortInBuilder {
 		return this;
 	}
 
+	public OSCPortInBuilder setParserBuilder(
+			final OSCSerializerAndParserBuilder parserBuilder)
+	{
+		this.parserBuilder = parserBuilder;
+		return this;
+	}
+
 	public OSCPortInBuilder setNetworkProtocol(final NetworkProtocol protocol) {
 		networkProtocol = protocol;
 		return this;
 	}
 
+	/**
+	 * Makes the port receive through a staged pipeline.
+	 * @param receivePipelineBuilder the pipeline settings, or {@code null} for none
+	 * @return this builder
+	 * @see OSCPortIn#setReceivePipeline(ReceivePipelineBuilder)
+	 */
+	public OSCPortInBuilder setReceivePipeline(
+			final ReceivePipelineBuilder receivePipelineBuilder)
+	{
+		this.receivePipelineBuilder = receivePipelineBuilder;
+		return this;
+	}
+
 	public OSCPortInBuilder setPacketListeners(
 			final List<OSCPacketListener> listeners)
 	{
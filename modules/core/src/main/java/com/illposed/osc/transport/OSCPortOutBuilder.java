@@ -70,6 +70,13 @@ public class OSCPortOutBuilder {
 		return this;
 	}
 
+	public OSCPortOutBuilder setSerializerBuilder(
+			final OSCSerializerAndParserBuilder serializerBuilder)
+	{
+		this.serializerBuilder = serializerBuilder;
+		return this;
+	}
+
 	public OSCPortOutBuilder setNetworkProtocol(final NetworkProtocol protocol) {
 		networkProtocol = protocol;
 		return this;
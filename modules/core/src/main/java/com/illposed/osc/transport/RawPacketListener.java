@@ -0,0 +1,27 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.transport;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * Gets to see each packet exactly as it was received,
+ * before it gets filtered or parsed.
+ * @see OSCPortIn#setRawPacketListener(RawPacketListener)
+ */
+@FunctionalInterface
+public interface RawPacketListener {
+
+	/**
+	 * Called for each packet received.
+	 * This is called on the receiving thread,
+	 * so implementations should return quickly.
+	 * @param data contains the raw packet between its position and limit;
+	 *   must neither be modified, nor be used after returning
+	 * @param source where the packet was sent from, or {@code null} if unknown
+	 */
+	void packetReceived(ByteBuffer data, SocketAddress source);
+}
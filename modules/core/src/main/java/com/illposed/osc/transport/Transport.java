@@ -8,6 +8,7 @@ package com.illposed.osc.transport;
 import com.illposed.osc.OSCPacket;
 import com.illposed.osc.OSCSerializeException;
 import com.illposed.osc.OSCParseException;
+import com.illposed.osc.metrics.OSCMetrics;
 import java.io.IOException;
 
 /**
@@ -17,6 +18,7 @@ import java.io.IOException;
  * <ul>
  * <li>{@link com.illposed.osc.transport.udp.UDPTransport}</li>
  * <li>{@link com.illposed.osc.transport.tcp.TCPTransport}</li>
+ * <li>{@link com.illposed.osc.transport.local.LocalTransport}</li>
  * </ul>
  */
 public interface Transport {
@@ -41,6 +43,15 @@ public interface Transport {
 
 	boolean isBlocking();
 
+	/**
+	 * Sets the metrics to report received and sent packets to.
+	 * Transports that do not support metrics ignore this.
+	 * @param metrics the metrics to use, or {@code null} to disable them
+	 */
+	default void setMetrics(final OSCMetrics metrics) {
+		// metrics are not supported by default
+	}
+
 	void connect() throws IOException;
 
 	void disconnect() throws IOException;
@@ -12,6 +12,14 @@ import com.illposed.osc.OSCParser;
 import com.illposed.osc.OSCSerializeException;
 import com.illposed.osc.OSCSerializer;
 import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.OSCSerializerEngine;
+import com.illposed.osc.metrics.OSCMetrics;
+import com.illposed.osc.routing.AddressFilter;
+import com.illposed.osc.routing.AddressVisitor;
+import com.illposed.osc.routing.RawOSCPacket;
+import com.illposed.osc.tracing.OSCTracer;
+import com.illposed.osc.tracing.OSCTracing;
+import com.illposed.osc.transport.RawPacketListener;
 
 import java.io.IOException;
 import java.net.SocketAddress;
@@ -36,7 +44,19 @@ public class OSCDatagramChannel extends SelectableChannel {
 
 	private final DatagramChannel underlyingChannel;
 	private final OSCParser parser;
-	private final OSCSerializerAndParserBuilder serializerBuilder;
+	/**
+	 * Shared by all the serializers created for sending,
+	 * so what it learns about the argument classes is kept.
+	 */
+	private final OSCSerializerEngine serializerEngine;
+	private volatile AddressFilter addressFilter;
+	/**
+	 * Looks for an address accepted by {@link #addressFilter},
+	 * or is {@code null} if there is no filter.
+	 */
+	private volatile AddressVisitor acceptedAddressFinder;
+	private volatile RawPacketListener rawPacketListener;
+	private volatile OSCMetrics metrics;
 
 	public OSCDatagramChannel(
 			final DatagramChannel underlyingChannel,
@@ -45,45 +65,166 @@ public class OSCDatagramChannel extends SelectableChannel {
 	{
 		this.underlyingChannel = underlyingChannel;
 		OSCParser tmpParser = null;
+		OSCSerializerEngine tmpSerializerEngine = null;
 		if (serializerAndParserBuilder != null) {
 			tmpParser = serializerAndParserBuilder.buildParser();
+			tmpSerializerEngine = serializerAndParserBuilder.buildSerializerEngine();
 		}
 		this.parser = tmpParser;
-		this.serializerBuilder = serializerAndParserBuilder;
+		this.serializerEngine = tmpSerializerEngine;
+		this.addressFilter = null;
+		this.acceptedAddressFinder = null;
+		this.rawPacketListener = null;
+		this.metrics = OSCMetrics.DISABLED;
 	}
 
-	public OSCPacket read(final ByteBuffer recvBuffer) throws IOException, OSCParseException {
+	/**
+	 * Returns the metrics received and sent datagrams are reported to.
+	 * @return the metrics in use, {@link OSCMetrics#DISABLED} by default
+	 */
+	public OSCMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Sets the metrics to report received, filtered and sent datagrams to,
+	 * and the parser reports unknown type tags to.
+	 * @param metrics the metrics to use, or {@code null} to disable them
+	 */
+	public void setMetrics(final OSCMetrics metrics) {
+
+		this.metrics = (metrics == null) ? OSCMetrics.DISABLED : metrics;
+		if (parser != null) {
+			parser.setMetrics(metrics);
+		}
+	}
+
+	/**
+	 * Returns the listener that gets to see all received datagrams.
+	 * @return the listener in use, or {@code null}
+	 */
+	public RawPacketListener getRawPacketListener() {
+		return rawPacketListener;
+	}
+
+	/**
+	 * Sets a listener that gets to see all received datagrams,
+	 * before they get filtered or parsed,
+	 * for example to record them.
+	 * @param rawPacketListener the listener to use, or {@code null} for none
+	 */
+	public void setRawPacketListener(final RawPacketListener rawPacketListener) {
+		this.rawPacketListener = rawPacketListener;
+	}
+
+	/**
+	 * Returns the filter used to discard received datagrams before parsing them.
+	 * @return the filter in use, or {@code null} if all datagrams get parsed
+	 */
+	public AddressFilter getAddressFilter() {
+		return addressFilter;
+	}
+
+	/**
+	 * Sets a filter to discard received datagrams before parsing them.
+	 * A datagram is discarded if the filter rejects all the messages it contains;
+	 * otherwise, only the messages it accepts are parsed.
+	 * Only the address bytes are looked at to decide this,
+	 * which is much cheaper then parsing.
+	 * @param addressFilter the filter to use, or {@code null} to parse all datagrams
+	 */
+	public void setAddressFilter(final AddressFilter addressFilter) {
+
+		this.addressFilter = addressFilter;
+		this.acceptedAddressFinder = (addressFilter == null) ? null : addressFilter::accepts;
+		if (parser != null) {
+			parser.setAddressFilter(addressFilter);
+		}
+	}
+
+	/**
+	 * Checks whether at least one message in the received datagram
+	 * passes the address filter.
+	 * Malformed datagrams are accepted, so the parser may report them.
+	 */
+	private boolean isAccepted(final ByteBuffer datagram) {
+
+		final AddressVisitor curAcceptedAddressFinder = acceptedAddressFinder;
+		if ((curAcceptedAddressFinder == null) || !datagram.hasRemaining()) {
+			return true;
+		}
+		try {
+			return RawOSCPacket.visitAddresses(
+					datagram, datagram.position(), datagram.remaining(), curAcceptedAddressFinder);
+		} catch (final OSCParseException ex) {
+			return true;
+		}
+	}
+
+	/**
+	 * Receives the next datagram that passes the address filter, without parsing it.
+	 * Filtered datagrams are skipped.
+	 * @param recvBuffer where to receive the datagram into;
+	 *   it contains the datagram between its position and limit afterwards
+	 * @return where the datagram came from
+	 * @throws IOException if receiving fails, for example because the channel got closed
+	 */
+	public SocketAddress receive(final ByteBuffer recvBuffer) throws IOException {
 
 		boolean completed = false;
-		OSCPacket oscPacket;
+		final OSCMetrics curMetrics = metrics;
 		try {
 			begin();
 
-			recvBuffer.clear();
-			// NOTE From the doc of `read()` and `receive()`:
-			// "If there are fewer bytes remaining in the buffer
-			// than are required to hold the datagram
-			// then the remainder of the datagram is silently discarded."
-			if (underlyingChannel.isConnected()) {
-				underlyingChannel.read(recvBuffer);
-			} else {
-				underlyingChannel.receive(recvBuffer);
-			}
-//			final int readBytes = buffer.position();
-//			if (readBytes == buffer.capacity()) {
-//				// TODO In this case it is very likely that the buffer was actually too small, and the remainder of the datagram/packet was silently discarded. We might want to give a warning, like throw an exception in this case, but whether this happens should probably be user configurable.
-//			}
-			recvBuffer.flip();
-			if (recvBuffer.limit() == 0) {
-				throw new OSCParseException("Received a packet without any data", recvBuffer);
-			} else {
-				oscPacket = parser.convert(recvBuffer);
-				completed = true;
-			}
-			recvBuffer.flip();
+			boolean accepted;
+			SocketAddress source;
+			do {
+				recvBuffer.clear();
+				// NOTE From the doc of `read()` and `receive()`:
+				// "If there are fewer bytes remaining in the buffer
+				// than are required to hold the datagram
+				// then the remainder of the datagram is silently discarded."
+				if (underlyingChannel.isConnected()) {
+					underlyingChannel.read(recvBuffer);
+					source = underlyingChannel.getRemoteAddress();
+				} else {
+					source = underlyingChannel.receive(recvBuffer);
+				}
+//				final int readBytes = buffer.position();
+//				if (readBytes == buffer.capacity()) {
+//					// TODO In this case it is very likely that the buffer was actually too small, and the remainder of the datagram/packet was silently discarded. We might want to give a warning, like throw an exception in this case, but whether this happens should probably be user configurable.
+//				}
+				final OSCTracer tracer = OSCTracing.getTracer();
+				final Object traceToken = tracer.receiveStarted();
+				recvBuffer.flip();
+				curMetrics.packetReceived(recvBuffer.remaining());
+				final RawPacketListener curRawPacketListener = rawPacketListener;
+				if ((curRawPacketListener != null) && recvBuffer.hasRemaining()) {
+					curRawPacketListener.packetReceived(recvBuffer.asReadOnlyBuffer(), source);
+				}
+				accepted = isAccepted(recvBuffer);
+				if (traceToken != null) {
+					tracer.receiveFinished(traceToken, source, recvBuffer.remaining(), !accepted);
+				}
+				if (!accepted) {
+					curMetrics.packetFiltered();
+				}
+			} while (!accepted);
+			completed = true;
+			return source;
 		} finally {
 			end(completed);
 		}
+	}
+
+	public OSCPacket read(final ByteBuffer recvBuffer) throws IOException, OSCParseException {
+
+		receive(recvBuffer);
+		if (!recvBuffer.hasRemaining()) {
+			throw new OSCParseException("Received a packet without any data", recvBuffer);
+		}
+		final OSCPacket oscPacket = parser.convert(recvBuffer);
+		recvBuffer.flip();
 
 		return oscPacket;
 	}
@@ -94,10 +235,14 @@ public class OSCDatagramChannel extends SelectableChannel {
 		try {
 			begin();
 
-			final OSCSerializer serializer = serializerBuilder.buildSerializer(new BufferBytesReceiver(sendBuffer));
+			final OSCSerializer serializer
+					= serializerEngine.createSerializer(new BufferBytesReceiver(sendBuffer));
 			sendBuffer.rewind();
 			serializer.write(packet);
 			sendBuffer.flip();
+			final int numBytes = sendBuffer.remaining();
+			final OSCTracer tracer = OSCTracing.getTracer();
+			final Object traceToken = tracer.sendStarted();
 			if (underlyingChannel.isConnected()) {
 				underlyingChannel.write(sendBuffer);
 			} else if (remoteAddress == null) {
@@ -105,9 +250,18 @@ public class OSCDatagramChannel extends SelectableChannel {
 			} else {
 				underlyingChannel.send(sendBuffer, remoteAddress);
 			}
+			if (traceToken != null) {
+				tracer.sendFinished(traceToken,
+						(remoteAddress == null) ? underlyingChannel.getRemoteAddress() : remoteAddress,
+						numBytes);
+			}
 			sendBuffer.flip();
+			metrics.packetSent(numBytes);
 			completed = true;
 		} finally {
+			if (!completed) {
+				metrics.sendFailed();
+			}
 			end(completed);
 		}
 	}
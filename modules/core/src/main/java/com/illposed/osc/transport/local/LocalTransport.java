@@ -0,0 +1,343 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.transport.local;
+
+import com.illposed.osc.BufferBytesReceiver;
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCParseException;
+import com.illposed.osc.OSCParser;
+import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.OSCSerializer;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.metrics.OSCMetrics;
+import com.illposed.osc.transport.Transport;
+import com.illposed.osc.transport.udp.UDPTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.BindException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedTransferQueue;
+
+/**
+ * A {@link Transport} implementation for sending and receiving OSC packets
+ * between ports that live in the same JVM.
+ * Packets never touch the network stack:
+ * a sending transport looks up the transport bound to its remote address,
+ * and hands the packet over to it through a lock-free queue.
+ *
+ * By default, the packet objects themselves are handed over,
+ * skipping serialization and parsing altogether.
+ * This means that the receiving side gets to see the very same instance
+ * the sender passed to {@link #send(OSCPacket)},
+ * so senders should not modify packets after sending them.
+ * For fidelity testing, the transport can also be configured to serialize
+ * each packet into a buffer on sending, and parse that buffer on receiving,
+ * see {@link #PROP_NAME_SERIALIZING}.
+ *
+ * Addresses are only used as keys to pair transports,
+ * so any {@link SocketAddress} may be used.
+ * A sender addressing an {@link InetSocketAddress} will also reach a transport
+ * bound to the wildcard address on the same port.
+ * Transports with a local {@link InetSocketAddress} on port {@code 0}
+ * are not bound, and can thus only send.
+ */
+public class LocalTransport implements Transport {
+
+	/**
+	 * Property name (see {@link OSCSerializerAndParserBuilder#getProperties()})
+	 * of a {@code Boolean} indicating whether packets should go through
+	 * serialization and parsing on their way from sender to receiver.
+	 * This is {@code false} by default.
+	 */
+	public static final String PROP_NAME_SERIALIZING = "local.serializing";
+
+	/**
+	 * Transports that can currently be reached, by their local address.
+	 */
+	private static final ConcurrentMap<SocketAddress, LocalTransport> BOUND_TRANSPORTS
+			= new ConcurrentHashMap<>();
+	/**
+	 * Put into the queue on closing, to wake up a blocked receiver.
+	 */
+	private static final Object CLOSED_MARKER = new Object();
+
+	private final Logger log = LoggerFactory.getLogger(LocalTransport.class);
+
+	private final SocketAddress local;
+	private final SocketAddress remote;
+	private final boolean serializing;
+	private final BlockingQueue<Object> inbox;
+	private final OSCParser parser;
+	private final OSCSerializer serializer;
+	private final ByteBuffer sendBuffer;
+	private final boolean bound;
+	private volatile LocalTransport resolvedRemote;
+	private volatile boolean connected;
+	private volatile boolean closed;
+	private volatile OSCMetrics metrics;
+
+	public LocalTransport(
+			final SocketAddress local,
+			final SocketAddress remote)
+			throws IOException
+	{
+		this(local, remote, new OSCSerializerAndParserBuilder());
+	}
+
+	public LocalTransport(
+			final SocketAddress local,
+			final SocketAddress remote,
+			final OSCSerializerAndParserBuilder serializerAndParserBuilder)
+			throws IOException
+	{
+		this(
+				local,
+				remote,
+				serializerAndParserBuilder,
+				Boolean.TRUE.equals(
+						serializerAndParserBuilder.getProperties().get(PROP_NAME_SERIALIZING)));
+	}
+
+	/**
+	 * Creates a transport, and binds it to the local address,
+	 * making it reachable for other local transports.
+	 * @param local the address to bind to
+	 * @param remote where to send packets to
+	 * @param serializerAndParserBuilder used to create the serializer and parser,
+	 *   which are only used if {@code serializing} is {@code true}
+	 * @param serializing whether to pass packets on in their serialized form,
+	 *   instead of as objects
+	 * @throws IOException if an other local transport is already bound to {@code local}
+	 */
+	public LocalTransport(
+			final SocketAddress local,
+			final SocketAddress remote,
+			final OSCSerializerAndParserBuilder serializerAndParserBuilder,
+			final boolean serializing)
+			throws IOException
+	{
+		this.local = local;
+		this.remote = remote;
+		this.serializing = serializing;
+		this.inbox = new LinkedTransferQueue<>();
+		this.parser = serializerAndParserBuilder.buildParser();
+		if (serializing) {
+			this.sendBuffer = ByteBuffer.allocate(UDPTransport.BUFFER_SIZE);
+			this.serializer = serializerAndParserBuilder.buildSerializer(
+					new BufferBytesReceiver(sendBuffer));
+		} else {
+			this.sendBuffer = null;
+			this.serializer = null;
+		}
+		this.resolvedRemote = null;
+		this.connected = false;
+		this.closed = false;
+		this.metrics = OSCMetrics.DISABLED;
+		this.bound = isBindable(local);
+		if (bound && (BOUND_TRANSPORTS.putIfAbsent(local, this) != null)) {
+			throw new BindException("Local address already in use: " + local);
+		}
+	}
+
+	private static boolean isBindable(final SocketAddress address) {
+		return (address != null)
+				&& !((address instanceof InetSocketAddress)
+					&& (((InetSocketAddress) address).getPort() == 0));
+	}
+
+	private static LocalTransport lookup(final SocketAddress address)
+			throws UnknownHostException
+	{
+		LocalTransport target = BOUND_TRANSPORTS.get(address);
+		if ((target == null) && (address instanceof InetSocketAddress)) {
+			final InetSocketAddress inetAddress = (InetSocketAddress) address;
+			if (inetAddress.isUnresolved()) {
+				// UDP would fail on this as well
+				throw new UnknownHostException("Can not send to unresolved address " + address);
+			}
+			if (!inetAddress.getAddress().isAnyLocalAddress()) {
+				target = BOUND_TRANSPORTS.get(new InetSocketAddress(inetAddress.getPort()));
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * Indicates whether packets are passed on in their serialized form.
+	 * @return {@code true} if packets go through serialization and parsing
+	 * @see #PROP_NAME_SERIALIZING
+	 */
+	public boolean isSerializing() {
+		return serializing;
+	}
+
+	@Override
+	public void connect() throws IOException {
+		if (remote == null) {
+			throw new IllegalStateException(
+				"Can not connect a socket without a remote address specified"
+			);
+		}
+		connected = true;
+	}
+
+	@Override
+	public void disconnect() throws IOException {
+		connected = false;
+	}
+
+	@Override
+	public boolean isConnected() {
+		return connected;
+	}
+
+	/**
+	 * Unbinds this transport and wakes up a receiver blocked on it.
+	 * @throws IOException never
+	 */
+	@Override
+	public void close() throws IOException {
+
+		if (!closed) {
+			closed = true;
+			if (bound) {
+				BOUND_TRANSPORTS.remove(local, this);
+			}
+			inbox.offer(CLOSED_MARKER);
+		}
+	}
+
+	private LocalTransport resolveRemote() throws UnknownHostException {
+
+		LocalTransport target = resolvedRemote;
+		if ((target == null) || target.closed) {
+			target = lookup(remote);
+			resolvedRemote = target;
+		}
+		return target;
+	}
+
+	/**
+	 * Hands a packet over to the transport bound to the remote address.
+	 * Just like with UDP, the packet is silently dropped
+	 * if no transport is bound to that address.
+	 * @param packet the bundle or message to be sent
+	 * @throws IOException if this transport is closed,
+	 *   or the remote address is unresolved and no transport is bound to it as such
+	 * @throws OSCSerializeException if we are {@link #isSerializing() serializing}
+	 *   and the packet fails to serialize
+	 */
+	@Override
+	public void send(final OSCPacket packet) throws IOException, OSCSerializeException {
+
+		if (closed) {
+			throw new ClosedChannelException();
+		}
+		if (remote == null) {
+			throw new IllegalStateException("Not connected and no remote address is given");
+		}
+		final LocalTransport target = resolveRemote();
+		if (target == null) {
+			log.debug("Dropping packet, as no local transport is bound to {}", remote);
+			return;
+		}
+
+		final Object item;
+		final int numBytes;
+		if (serializing) {
+			synchronized (serializer) {
+				serializer.write(packet);
+				sendBuffer.flip();
+				final ByteBuffer serialized = ByteBuffer.allocate(sendBuffer.remaining());
+				serialized.put(sendBuffer);
+				serialized.flip();
+				item = serialized;
+			}
+			numBytes = ((ByteBuffer) item).remaining();
+		} else {
+			item = packet;
+			numBytes = 0;
+		}
+		target.inbox.offer(item);
+		metrics.packetSent(numBytes);
+	}
+
+	/**
+	 * Waits for a packet to be handed over by a sender.
+	 * @return the packet received
+	 * @throws IOException if this transport is closed before or while waiting,
+	 *   or the waiting thread gets interrupted
+	 * @throws OSCParseException if the packet was passed on in serialized form,
+	 *   and fails to parse
+	 */
+	@Override
+	public OSCPacket receive() throws IOException, OSCParseException {
+
+		if (closed) {
+			throw new ClosedChannelException();
+		}
+		final Object item;
+		try {
+			item = inbox.take();
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			final InterruptedIOException ioEx = new InterruptedIOException(
+					"Interrupted while waiting for a local packet");
+			ioEx.initCause(ex);
+			throw ioEx;
+		}
+
+		final OSCPacket packet;
+		if (item == CLOSED_MARKER) {
+			throw new ClosedChannelException();
+		} else if (item instanceof ByteBuffer) {
+			metrics.packetReceived(((ByteBuffer) item).remaining());
+			packet = parser.convert((ByteBuffer) item);
+		} else {
+			metrics.packetReceived(0);
+			packet = (OSCPacket) item;
+		}
+		return packet;
+	}
+
+	/**
+	 * Sets the metrics to report handed over packets to.
+	 * When not {@link #isSerializing() serializing}, packets are counted
+	 * with a size of zero bytes.
+	 * @param metrics the metrics to use, or {@code null} to disable them
+	 */
+	@Override
+	public void setMetrics(final OSCMetrics metrics) {
+
+		this.metrics = (metrics == null) ? OSCMetrics.DISABLED : metrics;
+		parser.setMetrics(metrics);
+	}
+
+	/**
+	 * Receiving blocks until a packet arrives or this transport gets closed.
+	 * @return {@code true}
+	 */
+	@Override
+	public boolean isBlocking() {
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+			"%s: local=%s, remote=%s, serializing=%b",
+			getClass().getSimpleName(), local, remote, serializing
+		);
+	}
+}
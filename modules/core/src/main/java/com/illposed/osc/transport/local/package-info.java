@@ -0,0 +1,9 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+/**
+ * Provides means to send and receive OSC content within a single JVM,
+ * without going through the network stack.
+ */
+package com.illposed.osc.transport.local;
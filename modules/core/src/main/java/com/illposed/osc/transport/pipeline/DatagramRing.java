@@ -0,0 +1,178 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.transport.pipeline;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded ring of preallocated datagram buffers,
+ * filled by a single producer and drained by any number of consumers.
+ * Every slot carries a sequence number, which tells the state of the slot
+ * for a given position in the stream:
+ * <ul>
+ * <li>{@code position}: free to be written by the producer</li>
+ * <li>{@code position + 1}: published, waiting for a consumer</li>
+ * <li>{@code position + capacity}: consumed, free for the next round</li>
+ * </ul>
+ * This lets producer and consumers hand over slots without locking,
+ * and without allocating anything per datagram.
+ * A consumer works on a slot in place, and releases it when done.
+ */
+final class DatagramRing {
+
+	private final int capacity;
+	private final int mask;
+	private final ByteBuffer[] buffers;
+	private final AtomicLongArray sequences;
+	/**
+	 * The next position to be written.
+	 * Only ever written by the producer.
+	 */
+	private volatile long producerPosition;
+	/**
+	 * The next position to be consumed.
+	 */
+	private final AtomicLong consumerPosition;
+
+	/**
+	 * Creates a ring.
+	 * @param capacity number of slots; has to be a power of two, and at least 2,
+	 *   so the sequence numbers of published and consumed slots never collide
+	 * @param slotSize size of each slot in bytes
+	 * @param direct whether to allocate the slots as direct buffers
+	 */
+	DatagramRing(final int capacity, final int slotSize, final boolean direct) {
+
+		if ((capacity < 2) || (Integer.bitCount(capacity) != 1)) {
+			throw new IllegalArgumentException(
+					"Capacity has to be a power of two of at least 2: " + capacity);
+		}
+		this.capacity = capacity;
+		this.mask = capacity - 1;
+		this.buffers = new ByteBuffer[capacity];
+		this.sequences = new AtomicLongArray(capacity);
+		for (int si = 0; si < capacity; si++) {
+			buffers[si] = direct ? ByteBuffer.allocateDirect(slotSize) : ByteBuffer.allocate(slotSize);
+			sequences.set(si, si);
+		}
+		this.producerPosition = 0;
+		this.consumerPosition = new AtomicLong();
+	}
+
+	int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of published slots no consumer has taken yet.
+	 * @return an estimate, as the positions are read non-atomically
+	 */
+	int size() {
+		return (int) Math.max(0L, producerPosition - consumerPosition.get());
+	}
+
+	int slotIndex(final long position) {
+		return (int) (position & mask);
+	}
+
+	ByteBuffer buffer(final int slot) {
+		return buffers[slot];
+	}
+
+	/**
+	 * Checks whether the producer may claim the next slot.
+	 * Only to be called by the producer.
+	 * @return whether {@link #claim()} would succeed
+	 */
+	boolean hasFreeSlot() {
+
+		final long position = producerPosition;
+		return sequences.get(slotIndex(position)) == position;
+	}
+
+	/**
+	 * Returns the slot for the producer to write next,
+	 * or {@code -1} if the ring is full.
+	 * Only to be called by the producer.
+	 * The slot has to be {@link #publish(int) published} before claiming the next one.
+	 * @return the slot index, or {@code -1}
+	 */
+	int claim() {
+		return hasFreeSlot() ? slotIndex(producerPosition) : -1;
+	}
+
+	/**
+	 * Hands the claimed slot over to the consumers.
+	 * Only to be called by the producer.
+	 * @param slot as returned by {@link #claim()},
+	 *   with the datagram between position and limit of its buffer
+	 */
+	void publish(final int slot) {
+
+		final long position = producerPosition;
+		sequences.set(slot, position + 1);
+		producerPosition = position + 1;
+	}
+
+	/**
+	 * Discards the oldest published slot, if it is the one the producer needs next.
+	 * Only to be called by the producer, when the ring is full.
+	 * @return whether a slot got freed
+	 */
+	boolean dropOldest() {
+
+		final long oldest = producerPosition - capacity;
+		final int slot = slotIndex(oldest);
+		if ((sequences.get(slot) == (oldest + 1))
+				&& consumerPosition.compareAndSet(oldest, oldest + 1))
+		{
+			release(oldest);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether there is a published slot to take.
+	 * @return whether {@link #take()} would probably succeed
+	 */
+	boolean hasPublished() {
+
+		final long position = consumerPosition.get();
+		return sequences.get(slotIndex(position)) == (position + 1);
+	}
+
+	/**
+	 * Takes the oldest published slot, if any.
+	 * The slot has to be {@link #release(long) released} once its content was handled.
+	 * @return the position taken, or {@code -1} if there is none
+	 */
+	long take() {
+
+		while (true) {
+			final long position = consumerPosition.get();
+			final long sequence = sequences.get(slotIndex(position));
+			if (sequence == (position + 1)) {
+				if (consumerPosition.compareAndSet(position, position + 1)) {
+					return position;
+				}
+			} else if (sequence <= position) {
+				// not yet published
+				return -1;
+			}
+			// else another consumer took it in the meantime; try the next one
+		}
+	}
+
+	/**
+	 * Frees a taken slot for the producer.
+	 * @param position as returned by {@link #take()}
+	 */
+	void release(final long position) {
+		sequences.set(slotIndex(position), position + capacity);
+	}
+}
@@ -0,0 +1,32 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.transport.pipeline;
+
+/**
+ * What a {@link ReceivePipeline} does with a received datagram,
+ * when all the slots of its ring are occupied.
+ */
+public enum OverflowPolicy {
+
+	/**
+	 * Stop receiving until a worker frees a slot.
+	 * Datagrams pile up in the operating systems receive buffer meanwhile,
+	 * which drops them once it is full.
+	 */
+	BLOCK,
+
+	/**
+	 * Keep receiving, but discard the datagrams that do not fit into the ring.
+	 */
+	DROP_NEWEST,
+
+	/**
+	 * Keep receiving, and make room by discarding the oldest datagram
+	 * no worker has started on yet.
+	 * This is useful if only the most recent state is of interest.
+	 * If all the occupied slots are being worked on, this behaves like {@link #BLOCK}.
+	 */
+	DROP_OLDEST
+}
@@ -0,0 +1,360 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.transport.pipeline;
+
+import com.illposed.osc.OSCBadDataEvent;
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCPacketEvent;
+import com.illposed.osc.OSCPacketListener;
+import com.illposed.osc.OSCParseException;
+import com.illposed.osc.OSCParser;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.metrics.OSCMetrics;
+import com.illposed.osc.routing.AddressFilter;
+import com.illposed.osc.transport.udp.UDPTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Receives datagrams on one thread, and parses and dispatches them on others.
+ * When receiving, parsing and dispatching all happen on the same thread,
+ * a single slow listener delays reading the next datagram,
+ * and once the operating systems receive buffer is full, datagrams get lost.
+ * This pipeline only receives datagrams into the preallocated slots of a ring
+ * on its receiving thread,
+ * from which one or more worker threads take them to parse and dispatch them.
+ * A burst of datagrams thus only has to fit into the ring,
+ * and what happens when it does not is defined by the {@link OverflowPolicy}.
+ *
+ * With a single worker, packets get handed to the sink in the order they were received.
+ * With more workers, this order is lost, and the sink gets called concurrently.
+ *
+ * Create instances through {@link ReceivePipelineBuilder},
+ * or let {@link com.illposed.osc.transport.OSCPortIn} do so.
+ */
+public class ReceivePipeline implements ReceivePipelineMXBean {
+
+	private final Logger log = LoggerFactory.getLogger(ReceivePipeline.class);
+
+	private final UDPTransport transport;
+	private final OSCSerializerAndParserBuilder parserBuilder;
+	private final Object source;
+	private final OSCPacketListener sink;
+	private final DatagramRing ring;
+	private final int numWorkers;
+	private final WaitStrategy waitStrategy;
+	private final OverflowPolicy overflowPolicy;
+	private final ByteBuffer overflowBuffer;
+	private final BooleanSupplier freeSlotOrStopped;
+	private final BooleanSupplier publishedSlotOrStopped;
+	private final LongAdder packetsEnqueued;
+	private final LongAdder packetsDropped;
+	private final LongAccumulator maxQueueDepth;
+	private final List<Thread> threads;
+	private volatile OSCMetrics metrics;
+	private volatile boolean running;
+	private boolean daemon;
+
+	ReceivePipeline(
+			final UDPTransport transport,
+			final OSCSerializerAndParserBuilder parserBuilder,
+			final Object source,
+			final OSCPacketListener sink,
+			final ReceivePipelineBuilder settings)
+	{
+		this.transport = transport;
+		this.parserBuilder = parserBuilder;
+		this.source = source;
+		this.sink = sink;
+		this.ring = new DatagramRing(
+				settings.getSlots(), settings.getSlotSize(), settings.isDirectBuffers());
+		this.numWorkers = settings.getWorkers();
+		this.waitStrategy = settings.getWaitStrategy();
+		this.overflowPolicy = settings.getOverflowPolicy();
+		this.overflowBuffer = (overflowPolicy == OverflowPolicy.DROP_NEWEST)
+				? ByteBuffer.allocate(settings.getSlotSize())
+				: null;
+		this.freeSlotOrStopped = () -> !running || ring.hasFreeSlot();
+		this.publishedSlotOrStopped = () -> !running || ring.hasPublished();
+		this.packetsEnqueued = new LongAdder();
+		this.packetsDropped = new LongAdder();
+		this.maxQueueDepth = new LongAccumulator(Math::max, 0L);
+		this.threads = new ArrayList<>(numWorkers + 1);
+		this.metrics = OSCMetrics.DISABLED;
+		this.running = false;
+		this.daemon = true;
+	}
+
+	/**
+	 * Returns the metrics dropped datagrams are reported to,
+	 * and the parsers of the workers report to.
+	 * @return the metrics in use, {@link OSCMetrics#DISABLED} by default
+	 */
+	public OSCMetrics getMetrics() {
+		return metrics;
+	}
+
+	public void setMetrics(final OSCMetrics metrics) {
+		this.metrics = (metrics == null) ? OSCMetrics.DISABLED : metrics;
+	}
+
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public boolean isDaemon() {
+		return daemon;
+	}
+
+	/**
+	 * Sets whether the threads of this pipeline are daemon threads.
+	 * This is {@code true} by default, and only has an effect before {@link #start()}.
+	 * @param daemon whether to use daemon threads
+	 * @see Thread#setDaemon(boolean)
+	 */
+	public void setDaemon(final boolean daemon) {
+		this.daemon = daemon;
+	}
+
+	/**
+	 * Starts the receiving thread and the workers.
+	 * @throws IllegalStateException if this pipeline is running already
+	 */
+	public synchronized void start() {
+
+		if (running) {
+			throw new IllegalStateException("Already running");
+		}
+		running = true;
+		threads.clear();
+		threads.add(new Thread(this::receiveLoop, "OSC receiver " + transport));
+		for (int wi = 0; wi < numWorkers; wi++) {
+			threads.add(new Thread(this::workLoop, "OSC worker " + wi + ' ' + transport));
+		}
+		for (final Thread thread : threads) {
+			thread.setDaemon(daemon);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Stops the workers, once they are done with the packets they are working on.
+	 * Datagrams still waiting in the ring get discarded.
+	 * This does not close the transport;
+	 * the receiving thread only ends once the transport got closed,
+	 * or the next datagram arrived.
+	 */
+	public synchronized void stop() {
+
+		running = false;
+		waitStrategy.signalAll();
+	}
+
+	/**
+	 * Waits for all the threads of this pipeline to end.
+	 * @param millis how long to wait at most per thread, or {@code 0} to wait forever
+	 * @throws InterruptedException if the calling thread got interrupted while waiting
+	 */
+	public void join(final long millis) throws InterruptedException {
+
+		final List<Thread> curThreads;
+		synchronized (this) {
+			curThreads = new ArrayList<>(threads);
+		}
+		for (final Thread thread : curThreads) {
+			if (thread != Thread.currentThread()) {
+				thread.join(millis);
+			}
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public int getCapacity() {
+		return ring.getCapacity();
+	}
+
+	@Override
+	public int getWorkers() {
+		return numWorkers;
+	}
+
+	@Override
+	public int getQueueDepth() {
+		return ring.size();
+	}
+
+	@Override
+	public int getMaxQueueDepth() {
+		return (int) maxQueueDepth.get();
+	}
+
+	@Override
+	public long getPacketsEnqueued() {
+		return packetsEnqueued.sum();
+	}
+
+	@Override
+	public long getPacketsDropped() {
+		return packetsDropped.sum();
+	}
+
+	@Override
+	public void reset() {
+
+		packetsEnqueued.reset();
+		packetsDropped.reset();
+		maxQueueDepth.reset();
+	}
+
+	private void dropped() {
+
+		packetsDropped.increment();
+		metrics.packetDropped();
+	}
+
+	private void publish(final int slot) {
+
+		ring.publish(slot);
+		packetsEnqueued.increment();
+		maxQueueDepth.accumulate(ring.size());
+		waitStrategy.signalAll();
+	}
+
+	/**
+	 * Claims the slot to receive the next datagram into,
+	 * making room according to the overflow policy if required.
+	 * @return the slot index, or {@code -1} if the next datagram is to be dropped,
+	 *   or this pipeline got stopped
+	 */
+	private int claimSlot() throws InterruptedException {
+
+		int slot = ring.claim();
+		while ((slot < 0) && running) {
+			if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+				break;
+			}
+			if ((overflowPolicy == OverflowPolicy.DROP_OLDEST) && ring.dropOldest()) {
+				dropped();
+			} else {
+				waitStrategy.await(freeSlotOrStopped);
+			}
+			slot = ring.claim();
+		}
+		return running ? slot : -1;
+	}
+
+	/**
+	 * Receives a datagram while the ring is full,
+	 * and keeps it only if a slot got freed in the meantime.
+	 */
+	private void receiveOverflow() throws IOException {
+
+		transport.receiveRaw(overflowBuffer);
+		final int slot = ring.claim();
+		if (slot < 0) {
+			dropped();
+		} else {
+			final ByteBuffer buffer = ring.buffer(slot);
+			buffer.clear();
+			buffer.put(overflowBuffer);
+			buffer.flip();
+			publish(slot);
+		}
+	}
+
+	private void receiveLoop() {
+
+		try {
+			while (running) {
+				final int slot = claimSlot();
+				if (slot >= 0) {
+					transport.receiveRaw(ring.buffer(slot));
+					publish(slot);
+				} else if (overflowBuffer != null) {
+					receiveOverflow();
+				}
+			}
+		} catch (final IOException ex) {
+			if (running) {
+				log.error("Failed to receive on {}", transport, ex);
+				stop();
+			}
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void workLoop() {
+
+		final OSCParser parser = parserBuilder.buildParser();
+		try {
+			while (running) {
+				final long position = ring.take();
+				if (position < 0) {
+					waitStrategy.await(publishedSlotOrStopped);
+				} else {
+					try {
+						handle(parser, ring.slotIndex(position));
+					} catch (final RuntimeException ex) {
+						log.error("Failed to handle a received packet", ex);
+					} finally {
+						ring.release(position);
+						waitStrategy.signalAll();
+					}
+				}
+			}
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static ByteBuffer copy(final ByteBuffer data) {
+
+		final ByteBuffer whole = data.duplicate();
+		whole.rewind();
+		final ByteBuffer copy = ByteBuffer.allocate(whole.remaining());
+		copy.put(whole);
+		copy.flip();
+		return copy;
+	}
+
+	private void handle(final OSCParser parser, final int slot) {
+
+		final OSCMetrics curMetrics = metrics;
+		if (parser.getMetrics() != curMetrics) {
+			parser.setMetrics(curMetrics);
+		}
+		final AddressFilter addressFilter = transport.getAddressFilter();
+		if (parser.getAddressFilter() != addressFilter) {
+			parser.setAddressFilter(addressFilter);
+		}
+
+		final ByteBuffer data = ring.buffer(slot);
+		try {
+			if (!data.hasRemaining()) {
+				throw new OSCParseException("Received a packet without any data", data);
+			}
+			final OSCPacket packet = parser.convert(data);
+			if (packet != null) {
+				sink.handlePacket(new OSCPacketEvent(source, packet));
+			}
+		} catch (final OSCParseException ex) {
+			// the slot gets reused, so hand on a copy of the data
+			final ByteBuffer dataCopy = copy(data);
+			final OSCParseException detached = new OSCParseException(ex.getMessage(), ex, dataCopy);
+			sink.handleBadData(new OSCBadDataEvent(source, dataCopy, detached));
+		}
+	}
+}
@@ -0,0 +1,153 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.transport.pipeline;
+
+import com.illposed.osc.OSCPacketListener;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.transport.udp.UDPTransport;
+
+/**
+ * Configures and creates {@link ReceivePipeline} instances.
+ * The defaults keep the packet order and use little CPU while idle:
+ * {@value #DEFAULT_SLOTS} slots of the maximum datagram size,
+ * a single worker, {@link WaitStrategies#blocking() blocking} waits
+ * and {@link OverflowPolicy#BLOCK}.
+ * If the received datagrams are known to be small,
+ * use smaller slots and more of them.
+ * Datagrams larger then the slot size get truncated.
+ */
+public class ReceivePipelineBuilder {
+
+	public static final int DEFAULT_SLOTS = 64;
+	public static final int DEFAULT_SLOT_SIZE = UDPTransport.BUFFER_SIZE;
+	public static final int DEFAULT_WORKERS = 1;
+
+	private int slots = DEFAULT_SLOTS;
+	private int slotSize = DEFAULT_SLOT_SIZE;
+	private int workers = DEFAULT_WORKERS;
+	private boolean directBuffers;
+	private WaitStrategy waitStrategy;
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+	public int getSlots() {
+		return slots;
+	}
+
+	/**
+	 * Sets the number of slots in the ring,
+	 * which is the number of received datagrams that may wait for a worker,
+	 * including those currently being worked on,
+	 * as workers parse the datagrams in place.
+	 * @param slots a power of two, and at least 2
+	 * @return this builder
+	 */
+	public ReceivePipelineBuilder setSlots(final int slots) {
+
+		if ((slots < 2) || (Integer.bitCount(slots) != 1)) {
+			throw new IllegalArgumentException(
+					"Number of slots has to be a power of two of at least 2: " + slots);
+		}
+		this.slots = slots;
+		return this;
+	}
+
+	public int getSlotSize() {
+		return slotSize;
+	}
+
+	public ReceivePipelineBuilder setSlotSize(final int slotSize) {
+
+		if (slotSize <= 0) {
+			throw new IllegalArgumentException("Slot size has to be positive: " + slotSize);
+		}
+		this.slotSize = slotSize;
+		return this;
+	}
+
+	public int getWorkers() {
+		return workers;
+	}
+
+	/**
+	 * Sets the number of threads that parse and dispatch packets.
+	 * With more than one, packets may get dispatched out of order,
+	 * and listeners get called concurrently.
+	 * @param workers at least 1
+	 * @return this builder
+	 */
+	public ReceivePipelineBuilder setWorkers(final int workers) {
+
+		if (workers < 1) {
+			throw new IllegalArgumentException("At least one worker is required: " + workers);
+		}
+		this.workers = workers;
+		return this;
+	}
+
+	public boolean isDirectBuffers() {
+		return directBuffers;
+	}
+
+	/**
+	 * Sets whether to allocate the slots as direct buffers,
+	 * which saves the JDK an internal copy of each received datagram.
+	 * This is {@code false} by default.
+	 * @param directBuffers whether to use direct buffers
+	 * @return this builder
+	 */
+	public ReceivePipelineBuilder setDirectBuffers(final boolean directBuffers) {
+		this.directBuffers = directBuffers;
+		return this;
+	}
+
+	/**
+	 * Returns the wait strategy the built pipeline uses.
+	 * @return the strategy set, or a new {@link WaitStrategies#blocking()} one
+	 */
+	public WaitStrategy getWaitStrategy() {
+		return (waitStrategy == null) ? WaitStrategies.blocking() : waitStrategy;
+	}
+
+	/**
+	 * Sets how idle threads of the pipeline wait.
+	 * @param waitStrategy one of {@link WaitStrategies},
+	 *   or {@code null} to use a new blocking one for each pipeline built
+	 * @return this builder
+	 */
+	public ReceivePipelineBuilder setWaitStrategy(final WaitStrategy waitStrategy) {
+		this.waitStrategy = waitStrategy;
+		return this;
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public ReceivePipelineBuilder setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+
+		if (overflowPolicy == null) {
+			throw new IllegalArgumentException("Overflow policy may not be null");
+		}
+		this.overflowPolicy = overflowPolicy;
+		return this;
+	}
+
+	/**
+	 * Creates a pipeline with the current settings.
+	 * @param transport to receive datagrams from
+	 * @param parserBuilder to create a parser for each worker from
+	 * @param source the source of the events handed to {@code sink}
+	 * @param sink gets all the parsed packets and bad data
+	 * @return a new, not yet started pipeline
+	 */
+	public ReceivePipeline build(
+			final UDPTransport transport,
+			final OSCSerializerAndParserBuilder parserBuilder,
+			final Object source,
+			final OSCPacketListener sink)
+	{
+		return new ReceivePipeline(transport, parserBuilder, source, sink, this);
+	}
+}
@@ -0,0 +1,50 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.transport.pipeline;
+
+/**
+ * The JMX management interface of {@link ReceivePipeline}.
+ */
+public interface ReceivePipelineMXBean {
+
+	boolean isRunning();
+
+	/**
+	 * Returns the number of slots in the ring.
+	 * @return how many received datagrams may wait for or be worked on
+	 *   by a worker at most
+	 */
+	int getCapacity();
+
+	int getWorkers();
+
+	/**
+	 * Returns the number of received datagrams currently waiting for a worker.
+	 * @return the current queue depth
+	 */
+	int getQueueDepth();
+
+	/**
+	 * Returns the highest queue depth seen since start or the last reset.
+	 * If this gets close to the capacity, consider adding workers or slots.
+	 * @return the queue depth high-water mark
+	 */
+	int getMaxQueueDepth();
+
+	long getPacketsEnqueued();
+
+	/**
+	 * Returns the number of received datagrams that got discarded,
+	 * because the ring was full.
+	 * @return number of datagrams dropped due to overflow
+	 * @see OverflowPolicy
+	 */
+	long getPacketsDropped();
+
+	/**
+	 * Sets the counters and the high-water mark back to zero.
+	 */
+	void reset();
+}
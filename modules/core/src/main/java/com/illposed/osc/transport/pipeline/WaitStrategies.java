@@ -0,0 +1,196 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.transport.pipeline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The available {@link WaitStrategy} implementations,
+ * ordered from lowest latency and highest CPU usage to the opposite.
+ * Each instance may only be used by a single pipeline.
+ */
+public final class WaitStrategies {
+
+	/**
+	 * How often to check the condition in a tight loop,
+	 * before backing off.
+	 */
+	private static final int SPIN_TRIES = 100;
+	/**
+	 * How often to yield the CPU,
+	 * before backing off further.
+	 */
+	private static final int YIELD_TRIES = 100;
+	private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	private WaitStrategies() {
+		// utility class
+	}
+
+	private static void checkInterrupted() throws InterruptedException {
+
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+	}
+
+	/**
+	 * Spins on the condition until it is met,
+	 * keeping one CPU core busy per waiting thread.
+	 * Only use this if there are enough cores to spare.
+	 */
+	private static final class BusySpin implements WaitStrategy {
+
+		@Override
+		public void await(final BooleanSupplier condition) throws InterruptedException {
+
+			while (!condition.getAsBoolean()) {
+				checkInterrupted();
+				Thread.onSpinWait();
+			}
+		}
+
+		@Override
+		public void signalAll() {
+			// nobody to wake up
+		}
+	}
+
+	/**
+	 * Spins for a while, then yields the CPU to other threads between checks.
+	 */
+	private static final class Yielding implements WaitStrategy {
+
+		@Override
+		public void await(final BooleanSupplier condition) throws InterruptedException {
+
+			int tries = 0;
+			while (!condition.getAsBoolean()) {
+				checkInterrupted();
+				if (tries < SPIN_TRIES) {
+					tries++;
+					Thread.onSpinWait();
+				} else {
+					Thread.yield();
+				}
+			}
+		}
+
+		@Override
+		public void signalAll() {
+			// nobody to wake up
+		}
+	}
+
+	/**
+	 * Spins for a while, then yields for a while,
+	 * and finally sleeps for short periods between checks.
+	 */
+	private static final class Sleeping implements WaitStrategy {
+
+		@Override
+		public void await(final BooleanSupplier condition) throws InterruptedException {
+
+			int tries = 0;
+			while (!condition.getAsBoolean()) {
+				checkInterrupted();
+				if (tries < SPIN_TRIES) {
+					tries++;
+					Thread.onSpinWait();
+				} else if (tries < (SPIN_TRIES + YIELD_TRIES)) {
+					tries++;
+					Thread.yield();
+				} else {
+					LockSupport.parkNanos(SLEEP_NANOS);
+				}
+			}
+		}
+
+		@Override
+		public void signalAll() {
+			// sleepers wake up on their own
+		}
+	}
+
+	/**
+	 * Spins for a while, then blocks until signaled.
+	 */
+	private static final class Blocking implements WaitStrategy {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition stateChanged = lock.newCondition();
+		private final AtomicInteger waiters = new AtomicInteger();
+
+		@Override
+		public void await(final BooleanSupplier condition) throws InterruptedException {
+
+			for (int tries = 0; tries < SPIN_TRIES; tries++) {
+				if (condition.getAsBoolean()) {
+					return;
+				}
+				Thread.onSpinWait();
+			}
+			lock.lockInterruptibly();
+			try {
+				// NOTE We register as a waiter before checking the condition again,
+				//      so a signaling thread either sees us waiting,
+				//      or we see the state change it made.
+				waiters.incrementAndGet();
+				while (!condition.getAsBoolean()) {
+					stateChanged.await();
+				}
+			} finally {
+				waiters.decrementAndGet();
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void signalAll() {
+
+			if (waiters.get() > 0) {
+				lock.lock();
+				try {
+					stateChanged.signalAll();
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+	}
+
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public static WaitStrategy busySpin() {
+		return new BusySpin();
+	}
+
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public static WaitStrategy yielding() {
+		return new Yielding();
+	}
+
+	// Public API
+	@SuppressWarnings("WeakerAccess")
+	public static WaitStrategy sleeping() {
+		return new Sleeping();
+	}
+
+	/**
+	 * Returns the strategy using the least CPU,
+	 * at the cost of the latency of waking up a blocked thread.
+	 * This is the default.
+	 * @return a new blocking wait strategy
+	 */
+	public static WaitStrategy blocking() {
+		return new Blocking();
+	}
+}
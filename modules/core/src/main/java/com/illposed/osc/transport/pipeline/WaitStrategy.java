@@ -0,0 +1,36 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.transport.pipeline;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Defines how a thread of a {@link ReceivePipeline} waits,
+ * when there is nothing for it to do.
+ * Workers wait for datagrams to arrive,
+ * and the receiving thread waits for free slots if
+ * {@link OverflowPolicy#BLOCK} is used.
+ * The choice trades CPU usage for latency.
+ * @see WaitStrategies
+ */
+public interface WaitStrategy {
+
+	/**
+	 * Waits until the given condition is met.
+	 * @param condition gets checked repeatedly;
+	 *   has to become {@code true} eventually,
+	 *   which {@link #signalAll()} is called after
+	 * @throws InterruptedException if the waiting thread got interrupted
+	 */
+	void await(BooleanSupplier condition) throws InterruptedException;
+
+	/**
+	 * Wakes up all the threads waiting in {@link #await(BooleanSupplier)},
+	 * so they re-check their condition.
+	 * This gets called after every state change that might fulfill a condition,
+	 * so it should be cheap if nobody is waiting.
+	 */
+	void signalAll();
+}
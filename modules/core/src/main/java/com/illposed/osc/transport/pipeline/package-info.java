@@ -0,0 +1,9 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+/**
+ * Provides a staged receive pipeline,
+ * which decouples receiving datagrams from parsing and dispatching them.
+ */
+package com.illposed.osc.transport.pipeline;
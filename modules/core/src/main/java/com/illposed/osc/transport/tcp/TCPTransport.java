@@ -12,6 +12,7 @@ import com.illposed.osc.OSCParser;
 import com.illposed.osc.OSCSerializeException;
 import com.illposed.osc.OSCSerializer;
 import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.metrics.OSCMetrics;
 import com.illposed.osc.transport.Transport;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
@@ -36,6 +37,7 @@ public class TCPTransport implements Transport {
 	private final OSCSerializer serializer;
 	private Socket clientSocket;
 	private ServerSocket serverSocket;
+	private volatile OSCMetrics metrics;
 
 	public TCPTransport(
 			final InetSocketAddress local,
@@ -58,6 +60,7 @@ public class TCPTransport implements Transport {
 		this.serializer = builder.buildSerializer(serializationBuffer);
 		this.clientSocket = null;
 		this.serverSocket = null;
+		this.metrics = OSCMetrics.DISABLED;
 	}
 
 	private Socket getClientSocket() throws IOException {
@@ -148,6 +151,7 @@ public class TCPTransport implements Transport {
 		try (OutputStream out = clientSock.getOutputStream()) {
 			serializationBuffer.writeTo(out);
 		}
+		metrics.packetSent(serializationBuffer.position());
 	}
 
 	// InputStream.readAllBytes is available as of Java 9. Implementing it here in
@@ -194,10 +198,18 @@ public class TCPTransport implements Transport {
 				continue;
 			}
 
+			metrics.packetReceived(bytes.length);
 			return parser.convert(ByteBuffer.wrap(bytes));
 		}
 	}
 
+	@Override
+	public void setMetrics(final OSCMetrics metrics) {
+
+		this.metrics = (metrics == null) ? OSCMetrics.DISABLED : metrics;
+		parser.setMetrics(metrics);
+	}
+
 	@Override
 	public boolean isBlocking() {
 		// Not relevant for TCP.
@@ -10,6 +10,9 @@ import com.illposed.osc.OSCPacket;
 import com.illposed.osc.OSCParseException;
 import com.illposed.osc.OSCSerializerAndParserBuilder;
 import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.metrics.OSCMetrics;
+import com.illposed.osc.routing.AddressFilter;
+import com.illposed.osc.transport.RawPacketListener;
 import com.illposed.osc.transport.Transport;
 import com.illposed.osc.transport.channel.OSCDatagramChannel;
 import java.io.IOException;
@@ -140,6 +143,49 @@ public class UDPTransport implements Transport {
 		return oscChannel.read(recvBuffer);
 	}
 
+	/**
+	 * Receives the next datagram that passes the address filter, without parsing it.
+	 * @param buffer where to receive the datagram into;
+	 *   it contains the datagram between its position and limit afterwards
+	 * @return where the datagram came from
+	 * @throws IOException if receiving fails, for example because the channel got closed
+	 * @see OSCDatagramChannel#receive(ByteBuffer)
+	 */
+	public SocketAddress receiveRaw(final ByteBuffer buffer) throws IOException {
+		return oscChannel.receive(buffer);
+	}
+
+	/**
+	 * Returns the filter used to discard received datagrams before parsing them.
+	 * @return the filter in use, or {@code null} if all datagrams get parsed
+	 */
+	public AddressFilter getAddressFilter() {
+		return oscChannel.getAddressFilter();
+	}
+
+	/**
+	 * Sets a filter to discard received datagrams before parsing them.
+	 * @param addressFilter the filter to use, or {@code null} to parse all datagrams
+	 * @see OSCDatagramChannel#setAddressFilter(AddressFilter)
+	 */
+	public void setAddressFilter(final AddressFilter addressFilter) {
+		oscChannel.setAddressFilter(addressFilter);
+	}
+
+	/**
+	 * Sets a listener that gets to see all received datagrams.
+	 * @param rawPacketListener the listener to use, or {@code null} for none
+	 * @see OSCDatagramChannel#setRawPacketListener(RawPacketListener)
+	 */
+	public void setRawPacketListener(final RawPacketListener rawPacketListener) {
+		oscChannel.setRawPacketListener(rawPacketListener);
+	}
+
+	@Override
+	public void setMetrics(final OSCMetrics metrics) {
+		oscChannel.setMetrics(metrics);
+	}
+
 	@Override
 	public boolean isBlocking() {
 		return channel.isBlocking();
@@ -0,0 +1,208 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import com.illposed.osc.messageselector.JavaRegexAddressMessageSelector;
+import com.illposed.osc.messageselector.OSCPatternAddressMessageSelector;
+import com.illposed.osc.transport.udp.UDPTransport;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Guards the number of bytes allocated on the hot paths
+ * against regressions.
+ * The exact numbers depend on the JVM version, its settings
+ * (like compressed pointers) and on what the JIT compiler makes of the code,
+ * so the budgets are about twice of what the current code allocates
+ * on OpenJDK 17 with default settings.
+ * That still catches allocating per argument, listener or message part.
+ * Those properties are also checked directly, by comparing against
+ * the allocations of a smaller operation of the same kind.
+ * This test runs in a JVM of its own, see the surefire configuration.
+ * @see AllocationMeter
+ */
+public class AllocationBudgetTest {
+
+	private static final List<Object> ARGUMENTS = Arrays.asList(42, 3.14f, "freq");
+	/**
+	 * By how many bytes per operation a larger operation may allocate more
+	 * than a smaller one of the same kind, to not be considered scaling with its size.
+	 */
+	private static final double SCALING_TOLERANCE_BYTES = 8.0;
+
+	private static ByteBuffer serialize(final OSCPacket packet) throws OSCSerializeException {
+
+		final ByteBuffer buffer = ByteBuffer.allocate(1024);
+		new OSCSerializerAndParserBuilder().buildSerializer(new BufferBytesReceiver(buffer))
+				.write(packet);
+		buffer.flip();
+		return buffer;
+	}
+
+	@Test
+	public void testMeterSeesAllocations() throws Exception {
+
+		Assertions.assertEquals(0.0,
+				AllocationMeter.bytesPerOperation(1000, 1000, () -> { }),
+				1.0);
+		final Object[] sink = new Object[1];
+		Assertions.assertTrue(
+				AllocationMeter.bytesPerOperation(1000, 1000, () -> sink[0] = new long[16])
+				>= (16 * Long.BYTES));
+	}
+
+	@Test
+	public void testParseMessage() throws Exception {
+
+		final OSCParser parser = new OSCSerializerAndParserBuilder().buildParser();
+		final ByteBuffer serialized = serialize(new OSCMessage("/synth/1/freq", ARGUMENTS));
+		AllocationMeter.assertAllocatesAtMost("Parsing a ,ifs message", 736, () -> {
+			serialized.rewind();
+			parser.convert(serialized);
+		});
+	}
+
+	@Test
+	public void testSerializeMessage() throws Exception {
+
+		final ByteBuffer buffer = ByteBuffer.allocate(1024);
+		final OSCSerializer serializer = new OSCSerializerAndParserBuilder()
+				.buildSerializer(new BufferBytesReceiver(buffer));
+		final OSCMessage message = new OSCMessage("/synth/1/freq", ARGUMENTS);
+		AllocationMeter.assertAllocatesAtMost("Serializing a ,ifs message", 368, () -> {
+			buffer.clear();
+			serializer.write(message);
+		});
+	}
+
+	@Test
+	public void testSendMessage() throws Exception {
+
+		final SocketAddress senderAddress
+				= new InetSocketAddress(InetAddress.getLoopbackAddress(), 40061);
+		final SocketAddress receiverAddress
+				= new InetSocketAddress(InetAddress.getLoopbackAddress(), 40062);
+		// never reads, so the OS drops what does not fit into its buffer
+		final UDPTransport receiver = new UDPTransport(receiverAddress, senderAddress);
+		final UDPTransport sender = new UDPTransport(senderAddress, receiverAddress);
+		final OSCMessage message = new OSCMessage("/synth/1/freq", ARGUMENTS);
+		try {
+			AllocationMeter.assertAllocatesAtMost("Sending a ,ifs message over UDP", 224,
+					() -> sender.send(message));
+		} finally {
+			sender.close();
+			receiver.close();
+		}
+	}
+
+	@Test
+	public void testDispatchMessage() throws Exception {
+
+		final OSCPacketDispatcher dispatcher = new OSCPacketDispatcher();
+		final SimpleOSCMessageListener listener = new SimpleOSCMessageListener();
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/synth/1/freq"), listener);
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/synth/2/freq"), listener);
+		final OSCPacketEvent event
+				= new OSCPacketEvent(this, new OSCMessage("/synth/1/freq", ARGUMENTS));
+		AllocationMeter.assertAllocatesAtMost("Dispatching to a literal address listener", 48,
+				() -> dispatcher.handlePacket(event));
+		Assertions.assertTrue(listener.isMessageReceived());
+	}
+
+	@Test
+	public void testDispatchMessageToRegexListeners() throws Exception {
+
+		final OSCPacketDispatcher dispatcher = new OSCPacketDispatcher();
+		final SimpleOSCMessageListener listener = new SimpleOSCMessageListener();
+		dispatcher.addListener(new JavaRegexAddressMessageSelector("/synth/\\d+/freq"), listener);
+		dispatcher.addListener(new JavaRegexAddressMessageSelector("/synth/2/freq"), listener);
+		dispatcher.addListener(new JavaRegexAddressMessageSelector(".*/freq"), listener);
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/synth/*/freq"), listener);
+		final OSCPacketEvent event
+				= new OSCPacketEvent(this, new OSCMessage("/synth/1/freq", ARGUMENTS));
+		AllocationMeter.assertAllocatesAtMost("Dispatching to regular expression listeners", 48,
+				() -> dispatcher.handlePacket(event));
+		Assertions.assertTrue(listener.isMessageReceived());
+	}
+
+	private static void assertNotMore(
+			final String message,
+			final double smallerBytes,
+			final double largerBytes)
+	{
+		Assertions.assertTrue(largerBytes <= smallerBytes + SCALING_TOLERANCE_BYTES,
+				() -> String.format("%s: %.1f instead of %.1f bytes per operation",
+						message, largerBytes, smallerBytes));
+	}
+
+	private static OSCPacketEvent messageEvent(final String address, final int numArguments) {
+
+		final List<Object> arguments = new ArrayList<>(numArguments);
+		for (int ai = 0; ai < numArguments; ai++) {
+			arguments.add(ai);
+		}
+		return new OSCPacketEvent(AllocationBudgetTest.class, new OSCMessage(address, arguments));
+	}
+
+	private static OSCPacketDispatcher dispatcherWithListeners(
+			final int numListeners,
+			final OSCMessageListener listener)
+	{
+		final OSCPacketDispatcher dispatcher = new OSCPacketDispatcher();
+		for (int li = 0; li < numListeners; li++) {
+			dispatcher.addListener(new OSCPatternAddressMessageSelector("/synth/*/freq"), listener);
+			dispatcher.addListener(new JavaRegexAddressMessageSelector("/synth/\\d+/freq"), listener);
+		}
+		return dispatcher;
+	}
+
+	@Test
+	public void testDispatchAllocationsIndependentOfMessageAndListeners() throws Exception {
+
+		Assumptions.assumeTrue(AllocationMeter.isSupported(),
+				"Allocation measuring is not supported by this JVM");
+		final SimpleOSCMessageListener listener = new SimpleOSCMessageListener();
+		final OSCPacketDispatcher few = dispatcherWithListeners(1, listener);
+		final OSCPacketDispatcher many = dispatcherWithListeners(16, listener);
+		final OSCPacketEvent small = messageEvent("/synth/1/freq", 1);
+		final OSCPacketEvent large = messageEvent("/synth/1/freq", 32);
+
+		final double smallToFew = AllocationMeter.bytesPerOperation(() -> few.handlePacket(small));
+		final double largeToFew = AllocationMeter.bytesPerOperation(() -> few.handlePacket(large));
+		final double smallToMany = AllocationMeter.bytesPerOperation(() -> many.handlePacket(small));
+		assertNotMore("Dispatching allocates per argument", smallToFew, largeToFew);
+		assertNotMore("Dispatching allocates per listener", smallToFew, smallToMany);
+	}
+
+	@Test
+	public void testSerializeAllocationsIndependentOfIntegerArguments() throws Exception {
+
+		Assumptions.assumeTrue(AllocationMeter.isSupported(),
+				"Allocation measuring is not supported by this JVM");
+		final ByteBuffer buffer = ByteBuffer.allocate(1024);
+		final OSCSerializer serializer = new OSCSerializerAndParserBuilder()
+				.buildSerializer(new BufferBytesReceiver(buffer));
+		final OSCPacket small = messageEvent("/synth/1/freq", 1).getPacket();
+		final OSCPacket large = messageEvent("/synth/1/freq", 32).getPacket();
+
+		final double smallBytes = AllocationMeter.bytesPerOperation(() -> {
+			buffer.clear();
+			serializer.write(small);
+		});
+		final double largeBytes = AllocationMeter.bytesPerOperation(() -> {
+			buffer.clear();
+			serializer.write(large);
+		});
+		assertNotMore("Serializing allocates per integer argument", smallBytes, largeBytes);
+	}
+}
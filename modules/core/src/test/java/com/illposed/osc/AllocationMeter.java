@@ -0,0 +1,134 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+
+/**
+ * Measures how many bytes an operation allocates on the heap,
+ * using the per-thread allocation counter of HotSpot
+ * ({@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}).
+ * The operation is first run often enough for the JIT compiler
+ * to kick in, including escape analysis, because what we care about
+ * is the steady state, not the interpreter.
+ * As the counter is per thread, other threads (compiler, GC, other tests)
+ * do not disturb the measurement;
+ * the minimum over a few rounds still gets reported,
+ * to filter out one-time effects like lazy initialization.
+ */
+public final class AllocationMeter {
+
+	private static final int DEFAULT_WARMUP_ITERATIONS = 20_000;
+	private static final int DEFAULT_ITERATIONS = 10_000;
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Some code that is to be measured.
+	 */
+	@FunctionalInterface
+	public interface Operation {
+		void run() throws Exception;
+	}
+
+	private AllocationMeter() {
+		// utility class
+	}
+
+	private static com.sun.management.ThreadMXBean threadBean() {
+
+		final java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (threadBean instanceof com.sun.management.ThreadMXBean) {
+			final com.sun.management.ThreadMXBean sunThreadBean
+					= (com.sun.management.ThreadMXBean) threadBean;
+			if (sunThreadBean.isThreadAllocatedMemorySupported()) {
+				if (!sunThreadBean.isThreadAllocatedMemoryEnabled()) {
+					sunThreadBean.setThreadAllocatedMemoryEnabled(true);
+				}
+				return sunThreadBean;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Indicates whether the running JVM is able to measure allocations per thread.
+	 * @return {@code true} if {@link #bytesPerOperation(Operation)} can be used
+	 */
+	public static boolean isSupported() {
+		return (threadBean() != null);
+	}
+
+	/**
+	 * Measures the average number of bytes allocated by a single run of an operation.
+	 * @param warmupIterations how many times to run the operation before measuring
+	 * @param iterations how many times to run the operation per measuring round
+	 * @param operation the code to measure
+	 * @return the average number of bytes allocated per run,
+	 *   in the round with the least allocations
+	 * @throws Exception if the operation fails
+	 */
+	public static double bytesPerOperation(
+			final int warmupIterations,
+			final int iterations,
+			final Operation operation)
+			throws Exception
+	{
+		final com.sun.management.ThreadMXBean threadBean = threadBean();
+		if (threadBean == null) {
+			throw new UnsupportedOperationException(
+					"This JVM does not support measuring allocations per thread");
+		}
+		for (int wi = 0; wi < warmupIterations; wi++) {
+			operation.run();
+		}
+		long minBytes = Long.MAX_VALUE;
+		for (int ri = 0; ri < ROUNDS; ri++) {
+			final long before = threadBean.getCurrentThreadAllocatedBytes();
+			for (int oi = 0; oi < iterations; oi++) {
+				operation.run();
+			}
+			final long after = threadBean.getCurrentThreadAllocatedBytes();
+			minBytes = Math.min(minBytes, after - before);
+		}
+		return (double) minBytes / iterations;
+	}
+
+	/**
+	 * Measures the average number of bytes allocated by a single run of an operation,
+	 * using default iteration counts.
+	 * @param operation the code to measure
+	 * @return the average number of bytes allocated per run
+	 * @throws Exception if the operation fails
+	 * @see #bytesPerOperation(int, int, Operation)
+	 */
+	public static double bytesPerOperation(final Operation operation) throws Exception {
+		return bytesPerOperation(DEFAULT_WARMUP_ITERATIONS, DEFAULT_ITERATIONS, operation);
+	}
+
+	/**
+	 * Fails the current test if a single run of an operation allocates
+	 * more than the given number of bytes on average.
+	 * The test is skipped if the JVM can not measure allocations.
+	 * @param description what is being measured, for the failure message
+	 * @param budgetBytes the maximum allowed number of bytes allocated per run
+	 * @param operation the code to measure
+	 * @throws Exception if the operation fails
+	 */
+	public static void assertAllocatesAtMost(
+			final String description,
+			final long budgetBytes,
+			final Operation operation)
+			throws Exception
+	{
+		Assumptions.assumeTrue(isSupported(), "Allocation measuring is not supported by this JVM");
+		final double bytesPerOperation = bytesPerOperation(operation);
+		Assertions.assertTrue(bytesPerOperation <= budgetBytes,
+				() -> String.format(
+						"%s allocated %.1f bytes per operation, but the budget is %d bytes",
+						description, bytesPerOperation, budgetBytes));
+	}
+}
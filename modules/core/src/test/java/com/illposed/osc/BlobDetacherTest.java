@@ -0,0 +1,59 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import com.illposed.osc.argument.OSCTimeTag64;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see BlobDetacher
+ */
+public class BlobDetacherTest {
+
+	@Test
+	public void testWithoutBlobsUnchanged() {
+
+		final OSCMessage message = new OSCMessage("/no/blobs",
+				Arrays.asList(1, "two", Collections.singletonList(3.0f)));
+		Assertions.assertSame(message, BlobDetacher.detach(message));
+
+		final OSCBundle bundle = new OSCBundle(Collections.singletonList(message));
+		Assertions.assertSame(bundle, BlobDetacher.detach(bundle));
+
+		final OSCMessageEvent event = new OSCMessageEvent(this, OSCTimeTag64.IMMEDIATE, message);
+		Assertions.assertSame(event, BlobDetacher.detach(event));
+	}
+
+	@Test
+	public void testBlobsCopied() {
+
+		final byte[] backing = {1, 2, 3, 4, 5, 6};
+		final ByteBuffer blob = ByteBuffer.wrap(backing, 1, 3).slice();
+		final OSCMessage message = new OSCMessage("/blobs",
+				Arrays.asList(1, blob, Collections.singletonList(blob)));
+		final OSCMessage other = new OSCMessage("/other");
+		final OSCTimeTag64 timestamp = OSCTimeTag64.valueOf(1234L);
+		final OSCBundle bundle = new OSCBundle(Arrays.asList(other, message), timestamp);
+
+		final OSCBundle detachedBundle = BlobDetacher.detach(bundle);
+		Arrays.fill(backing, (byte) 0);
+
+		Assertions.assertNotSame(bundle, detachedBundle);
+		Assertions.assertEquals(timestamp, detachedBundle.getTimestamp());
+		Assertions.assertSame(other, detachedBundle.getPackets().get(0));
+		final OSCMessage detached = (OSCMessage) detachedBundle.getPackets().get(1);
+		Assertions.assertEquals("/blobs", detached.getAddress());
+		final List<Object> arguments = detached.getArguments();
+		Assertions.assertEquals(1, arguments.get(0));
+		final ByteBuffer expected = ByteBuffer.wrap(new byte[] {2, 3, 4});
+		Assertions.assertEquals(expected, arguments.get(1));
+		Assertions.assertEquals(Collections.singletonList(expected), arguments.get(2));
+	}
+}
@@ -0,0 +1,95 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see BoundedHashTable
+ */
+public class BoundedHashTableTest {
+
+	private static final class Entry extends BoundedHashTable.Entry {
+
+		private final String value;
+
+		Entry(final int hash, final String value) {
+
+			super(hash);
+			this.value = value;
+		}
+	}
+
+	private static String lookup(final BoundedHashTable<Entry> table, final int hash, final String value) {
+
+		for (int pi = 0; pi < BoundedHashTable.PROBES; pi++) {
+			final Entry entry = table.probe(hash, pi);
+			if (entry == null) {
+				break;
+			}
+			if ((entry.getHash() == hash) && entry.value.equals(value)) {
+				table.hit();
+				return entry.value;
+			}
+		}
+		table.miss();
+		return null;
+	}
+
+	@Test
+	public void testCapacityRounded() {
+
+		Assertions.assertEquals(BoundedHashTable.PROBES, new BoundedHashTable<Entry>(1).getCapacity());
+		Assertions.assertEquals(16, new BoundedHashTable<Entry>(9).getCapacity());
+		Assertions.assertEquals(16, new BoundedHashTable<Entry>(16).getCapacity());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedHashTable<Entry>(0));
+	}
+
+	@Test
+	public void testProbingAndCounters() {
+
+		final BoundedHashTable<Entry> table = new BoundedHashTable<>(16);
+		Assertions.assertNull(lookup(table, 3, "a"));
+		table.put(new Entry(3, "a"));
+		// same slot, different hash: goes into the next one
+		table.put(new Entry(3 + 16, "b"));
+		Assertions.assertEquals("a", lookup(table, 3, "a"));
+		Assertions.assertEquals("b", lookup(table, 3 + 16, "b"));
+		Assertions.assertEquals(2, table.size());
+		Assertions.assertEquals(2, table.getHits());
+		Assertions.assertEquals(1, table.getMisses());
+
+		table.clear();
+		Assertions.assertEquals(0, table.size());
+		Assertions.assertEquals(0, table.getHits());
+		Assertions.assertEquals(0, table.getMisses());
+		Assertions.assertNull(lookup(table, 3, "a"));
+	}
+
+	@Test
+	public void testSameHashReplaced() {
+
+		final BoundedHashTable<Entry> table = new BoundedHashTable<>(16);
+		table.put(new Entry(5, "old"));
+		table.put(new Entry(5, "new"));
+		Assertions.assertEquals(1, table.size());
+		Assertions.assertEquals("new", table.probe(5, 0).value);
+	}
+
+	@Test
+	public void testFullSlotsOverwritten() {
+
+		final BoundedHashTable<Entry> table = new BoundedHashTable<>(16);
+		for (int ei = 0; ei < BoundedHashTable.PROBES; ei++) {
+			table.put(new Entry(7 + (ei * 16), "e" + ei));
+		}
+		Assertions.assertEquals(BoundedHashTable.PROBES, table.size());
+		table.put(new Entry(7 + 64, "last"));
+		Assertions.assertEquals(BoundedHashTable.PROBES, table.size());
+		Assertions.assertEquals("last", table.probe(7, 0).value);
+		Assertions.assertEquals("e1", table.probe(7, 1).value);
+	}
+}
@@ -0,0 +1,103 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see CompactArgumentList
+ */
+public class CompactArgumentListTest {
+
+	@Test
+	public void testBoxedView() {
+
+		final List<Object> plain = Arrays.asList(
+				1, 2L, 3.5f, 4.25, "five", null, Collections.singletonList(6));
+		final CompactArgumentList compact = CompactArgumentList.copyOf(plain);
+
+		Assertions.assertEquals(plain, compact);
+		Assertions.assertEquals(compact, plain);
+		Assertions.assertEquals(plain.hashCode(), compact.hashCode());
+		Assertions.assertEquals(Float.class, compact.get(2).getClass());
+		Assertions.assertTrue(compact.isPrimitive(3));
+		Assertions.assertFalse(compact.isPrimitive(4));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> compact.get(7));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> compact.add(8));
+		Assertions.assertSame(compact, CompactArgumentList.copyOf(compact));
+	}
+
+	@Test
+	public void testTypedAccessors() {
+
+		final CompactArgumentList.Builder builder = new CompactArgumentList.Builder(1);
+		builder.addInt(-7).addLong(1L << 40).addFloat(0.5f).addDouble(Math.PI).add("str");
+		final CompactArgumentList compact = builder.build();
+
+		Assertions.assertEquals(5, compact.size());
+		Assertions.assertEquals(-7, compact.getInt(0));
+		Assertions.assertEquals(-7L, compact.getLong(0));
+		Assertions.assertEquals(1L << 40, compact.getLong(1));
+		Assertions.assertEquals(0.5f, compact.getFloat(2));
+		Assertions.assertEquals(0.5, compact.getDouble(2));
+		Assertions.assertEquals(0, compact.getInt(2));
+		Assertions.assertEquals(Math.PI, compact.getDouble(3));
+		Assertions.assertThrows(ClassCastException.class, () -> compact.getFloat(4));
+	}
+
+	@Test
+	public void testNaNBits() {
+
+		final float nan = Float.intBitsToFloat(0x7fc00001);
+		final CompactArgumentList compact = new CompactArgumentList.Builder(1).addFloat(nan).build();
+		Assertions.assertEquals(
+				Float.floatToRawIntBits(nan),
+				Float.floatToRawIntBits(compact.getFloat(0)));
+	}
+
+	@Test
+	public void testSerializable() throws Exception {
+
+		final CompactArgumentList compact = CompactArgumentList.copyOf(Arrays.asList(1, 2.0f, "three"));
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(compact);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(
+				new ByteArrayInputStream(bytes.toByteArray())))
+		{
+			Assertions.assertEquals(compact, in.readObject());
+		}
+	}
+
+	@Test
+	public void testParsedMessage() throws Exception {
+
+		final List<Object> arguments = Arrays.asList(
+				1, 2.0f, "three", 4L, 5.0, Arrays.asList(6.0f, 7));
+		final ByteBuffer buffer = ByteBuffer.allocate(1024);
+		final OSCSerializerAndParserBuilder builder = new OSCSerializerAndParserBuilder();
+		builder.buildSerializer(new BufferBytesReceiver(buffer))
+				.write(new OSCMessage("/compact", arguments));
+		buffer.flip();
+		final OSCMessage parsed = (OSCMessage) builder.buildParser().convert(buffer);
+
+		Assertions.assertTrue(parsed.getArguments() instanceof CompactArgumentList);
+		Assertions.assertEquals(arguments, parsed.getArguments());
+		Assertions.assertEquals(1, parsed.getInt(0));
+		Assertions.assertEquals(2.0f, parsed.getFloat(1));
+		Assertions.assertEquals(4L, parsed.getLong(3));
+		Assertions.assertEquals(5.0, parsed.getDouble(4));
+	}
+}
@@ -0,0 +1,167 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see ConflatingPacketListener
+ */
+public class ConflatingPacketListenerTest {
+
+	/**
+	 * Records a description of every packet it gets.
+	 */
+	private static final class Recorder implements OSCPacketListener {
+
+		private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+		private static String describe(final OSCPacket packet) {
+
+			if (packet instanceof OSCBundle) {
+				final StringBuilder description = new StringBuilder("#bundle");
+				for (final OSCPacket contained : ((OSCBundle) packet).getPackets()) {
+					description.append(' ').append(describe(contained));
+				}
+				return description.toString();
+			}
+			final OSCMessage message = (OSCMessage) packet;
+			return message.getAddress() + '=' + message.getArguments().get(0);
+		}
+
+		@Override
+		public void handlePacket(final OSCPacketEvent event) {
+			received.add(describe(event.getPacket()));
+		}
+
+		@Override
+		public void handleBadData(final OSCBadDataEvent event) {
+			received.add("bad");
+		}
+	}
+
+	private static void send(final OSCPacketListener listener, final OSCPacket packet) {
+		listener.handlePacket(new OSCPacketEvent(ConflatingPacketListenerTest.class, packet));
+	}
+
+	private static OSCMessage value(final String address, final Object value) {
+
+		final OSCMessage message = new OSCMessage(address, Collections.singletonList(value));
+		message.setInfo(new OSCMessageInfo((value instanceof Float) ? "f" : "i"));
+		return message;
+	}
+
+	@Test
+	public void testKeepsLatestPerAddress() {
+
+		final Recorder recorder = new Recorder();
+		final ConflatingPacketListener conflater = new ConflatingPacketListener(recorder);
+		for (int vi = 0; vi < 100; vi++) {
+			send(conflater, value("/fader/1", vi));
+			send(conflater, value("/fader/2", -vi));
+		}
+		send(conflater, value("/fader/3", 7));
+		Assertions.assertEquals(3, conflater.getPendingCount());
+		Assertions.assertEquals(198, conflater.getConflatedCount());
+		Assertions.assertTrue(recorder.received.isEmpty());
+
+		Assertions.assertEquals(2, conflater.drain(2));
+		Assertions.assertEquals(Arrays.asList("/fader/1=99", "/fader/2=-99"), recorder.received);
+		send(conflater, value("/fader/1", 100));
+		Assertions.assertEquals(2, conflater.drain(Integer.MAX_VALUE));
+		Assertions.assertEquals(
+				Arrays.asList("/fader/1=99", "/fader/2=-99", "/fader/3=7", "/fader/1=100"),
+				recorder.received);
+		Assertions.assertEquals(0, conflater.drain(Integer.MAX_VALUE));
+		Assertions.assertEquals(0, conflater.getPendingCount());
+	}
+
+	@Test
+	public void testByTypeTags() {
+
+		final Recorder recorder = new Recorder();
+		final ConflatingPacketListener conflater = new ConflatingPacketListener(recorder, true);
+		send(conflater, value("/value", 1));
+		send(conflater, value("/value", 1.5f));
+		send(conflater, value("/value", 2));
+		conflater.drain(Integer.MAX_VALUE);
+		Assertions.assertEquals(Arrays.asList("/value=2", "/value=1.5"), recorder.received);
+	}
+
+	@Test
+	public void testCopiesBlobs() {
+
+		final List<OSCPacket> received = new ArrayList<>();
+		final ConflatingPacketListener conflater = new ConflatingPacketListener(new OSCPacketListener() {
+			@Override
+			public void handlePacket(final OSCPacketEvent event) {
+				received.add(event.getPacket());
+			}
+
+			@Override
+			public void handleBadData(final OSCBadDataEvent event) {}
+		});
+		// stands in for the receive buffer of a port
+		final byte[] buffer = {1, 2, 3};
+		send(conflater, new OSCMessage("/blob",
+				Collections.singletonList(ByteBuffer.wrap(buffer).slice())));
+		Arrays.fill(buffer, (byte) 0);
+		conflater.drain(Integer.MAX_VALUE);
+
+		Assertions.assertEquals(1, received.size());
+		Assertions.assertEquals(ByteBuffer.wrap(new byte[] {1, 2, 3}),
+				((OSCMessage) received.get(0)).getArguments().get(0));
+	}
+
+	@Test
+	public void testBundlesAndBadDataPassThrough() {
+
+		final Recorder recorder = new Recorder();
+		final ConflatingPacketListener conflater = new ConflatingPacketListener(recorder);
+		final OSCBundle bundle = new OSCBundle();
+		bundle.addPacket(value("/fader/1", 1));
+		bundle.addPacket(value("/fader/2", 2));
+		send(conflater, bundle);
+		send(conflater, bundle);
+		conflater.handleBadData(null);
+		Assertions.assertEquals(Collections.singletonList("bad"), recorder.received);
+
+		conflater.drain(Integer.MAX_VALUE);
+		Assertions.assertEquals(
+				Arrays.asList("bad", "#bundle /fader/1=1 /fader/2=2", "#bundle /fader/1=1 /fader/2=2"),
+				recorder.received);
+		Assertions.assertEquals(0, conflater.getConflatedCount());
+	}
+
+	@Test
+	public void testDrainingThread() throws InterruptedException {
+
+		final Recorder recorder = new Recorder();
+		final ConflatingPacketListener conflater = new ConflatingPacketListener(recorder);
+		conflater.startDraining();
+		try {
+			Assertions.assertThrows(IllegalStateException.class, conflater::startDraining);
+			for (int vi = 0; vi <= 1000; vi++) {
+				send(conflater, value("/fader/1", vi));
+			}
+			final long deadline = System.currentTimeMillis() + 5000;
+			while (!recorder.received.contains("/fader/1=1000")
+					&& (System.currentTimeMillis() < deadline))
+			{
+				Thread.sleep(10);
+			}
+		} finally {
+			conflater.stopDraining();
+		}
+		Assertions.assertEquals("/fader/1=1000", recorder.received.get(recorder.received.size() - 1));
+		Assertions.assertEquals(1001, recorder.received.size() + conflater.getConflatedCount());
+	}
+}
@@ -0,0 +1,100 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import com.illposed.osc.argument.handler.StringArgumentHandler;
+import com.illposed.osc.messageselector.OSCPatternAddressMessageSelector;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see OSCAddress
+ */
+public class OSCAddressTest {
+
+	private static byte[] serialize(
+			final OSCSerializerAndParserBuilder builder,
+			final OSCMessage message)
+			throws OSCSerializeException
+	{
+		final ByteBuffer buffer = ByteBuffer.allocate(1024);
+		builder.buildSerializer(new BufferBytesReceiver(buffer)).write(message);
+		buffer.flip();
+		return OSCSerializer.toByteArray(buffer);
+	}
+
+	@Test
+	public void testValidation() {
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> OSCAddress.valueOf(null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> OSCAddress.valueOf(""));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> OSCAddress.valueOf("hello"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> OSCAddress.valueOf("/hello//world"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> OSCAddress.valueOf("/hello/*"));
+		Assertions.assertEquals("#reply", OSCAddress.valueOf("#reply").toString());
+		Assertions.assertEquals(OSCAddress.valueOf("/hello"), OSCAddress.valueOf("/hello"));
+		Assertions.assertEquals("/hello".hashCode(), OSCAddress.valueOf("/hello").hashCode());
+	}
+
+	@Test
+	public void testSegments() {
+
+		Assertions.assertEquals(Arrays.asList("mixer", "channel", "3"),
+				OSCAddress.valueOf("/mixer/channel/3").getSegments());
+		Assertions.assertEquals(Collections.emptyList(), OSCAddress.valueOf("/").getSegments());
+		final OSCAddress address = OSCAddress.valueOf("/a/b");
+		Assertions.assertSame(address.getSegments(), address.getSegments());
+	}
+
+	@Test
+	public void testEncoded() {
+
+		final ByteBuffer encoded = OSCAddress.valueOf("/abc").getEncoded();
+		Assertions.assertEquals(ByteBuffer.wrap(new byte[] {'/', 'a', 'b', 'c', 0, 0, 0, 0}), encoded);
+		Assertions.assertTrue(encoded.isReadOnly());
+		Assertions.assertEquals(12, OSCAddress.valueOf("/über/a").getEncoded().remaining());
+	}
+
+	@Test
+	public void testSerializesLikeString() throws OSCSerializeException {
+
+		final OSCSerializerAndParserBuilder[] builders = {
+			new OSCSerializerAndParserBuilder(),
+			new OSCSerializerAndParserBuilder().setProperties(Collections.singletonMap(
+					StringArgumentHandler.PROP_NAME_CHARSET, StandardCharsets.UTF_8)),
+			new OSCSerializerAndParserBuilder().setProperties(Collections.singletonMap(
+					StringArgumentHandler.PROP_NAME_CHARSET, StandardCharsets.ISO_8859_1))
+		};
+		for (final OSCSerializerAndParserBuilder builder : builders) {
+			for (final String address : new String[] {"/a", "/abc", "/mixer/volume", "/äöü"}) {
+				Assertions.assertArrayEquals(
+						serialize(builder, new OSCMessage(address, Collections.singletonList(1))),
+						serialize(builder, new OSCMessage(
+								OSCAddress.valueOf(address), Collections.singletonList(1))),
+						address);
+			}
+		}
+	}
+
+	@Test
+	public void testMessageAndSelector() {
+
+		final OSCAddress address = OSCAddress.valueOf("/mixer/channel/3");
+		final OSCMessage message = new OSCMessage(address, Collections.emptyList());
+		Assertions.assertEquals("/mixer/channel/3", message.getAddress());
+		Assertions.assertSame(address, message.getOSCAddress());
+		Assertions.assertEquals(address, new OSCMessage("/mixer/channel/3").getOSCAddress());
+
+		final OSCMessageEvent event = new OSCMessageEvent(this, null, message);
+		Assertions.assertTrue(new OSCPatternAddressMessageSelector(address).matches(event));
+		Assertions.assertTrue(new OSCPatternAddressMessageSelector("/mixer/*/3").matches(event));
+		Assertions.assertFalse(new OSCPatternAddressMessageSelector(
+				OSCAddress.valueOf("/mixer/channel")).matches(event));
+	}
+}
@@ -5,9 +5,30 @@
 
 package com.illposed.osc;
 
+import com.illposed.osc.messageselector.JavaRegexAddressMessageSelector;
 import com.illposed.osc.messageselector.OSCPatternAddressMessageSelector;
+import com.illposed.osc.routing.AddressFilter;
+import com.illposed.osc.transport.OSCPortIn;
+import com.illposed.osc.transport.OSCPortInBuilder;
+import com.illposed.osc.transport.OSCPortOut;
+import com.illposed.osc.transport.OSCPortOutBuilder;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -145,4 +166,628 @@ public class OSCPacketDispatcherTest {
 					+ listener1.getMessageReceivedCount() + " times");
 		}
 	}
+
+	@Test
+	public void testDispatchRegexAndOtherSelectorsInOrder() {
+
+		final List<String> received = new ArrayList<>();
+		dispatcher.addListener(new JavaRegexAddressMessageSelector("/mixer/\\d+/volume"),
+				event -> received.add("regex"));
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/mixer/*/volume"),
+				event -> received.add("pattern"));
+		dispatcher.addListener(new JavaRegexAddressMessageSelector("/mixer/1/volume"),
+				event -> received.add("literal"));
+		final MessageSelector suffixSelector = new JavaRegexAddressMessageSelector(".*/volume");
+		final OSCMessageListener suffixListener = event -> received.add("suffix");
+		dispatcher.addListener(suffixSelector, suffixListener);
+		dispatcher.addListener(new JavaRegexAddressMessageSelector("/lights/.*"),
+				event -> received.add("lights"));
+
+		dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage("/mixer/1/volume")));
+		Assertions.assertEquals(Arrays.asList("regex", "pattern", "literal", "suffix"), received);
+
+		received.clear();
+		dispatcher.removeListener(suffixSelector, suffixListener);
+		dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage("/mixer/x/volume")));
+		Assertions.assertEquals(Collections.singletonList("pattern"), received);
+	}
+
+	@Test
+	public void testDispatchRegexFromWithinListener() {
+
+		final List<String> received = new ArrayList<>();
+		dispatcher.addListener(new JavaRegexAddressMessageSelector("/outer/\\d"), event -> {
+			received.add("outer");
+			dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage("/inner/1")));
+		});
+		dispatcher.addListener(new JavaRegexAddressMessageSelector("/inner/\\d"),
+				event -> received.add("inner"));
+		dispatcher.addListener(new JavaRegexAddressMessageSelector("/.*/1"),
+				event -> received.add("any"));
+
+		dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage("/outer/1")));
+		Assertions.assertEquals(Arrays.asList("outer", "inner", "any", "any"), received);
+	}
+
+	@Test
+	public void testConcurrentRegistration() throws InterruptedException {
+
+		final int numThreads = 8;
+		final int numPerThread = 200;
+		final AtomicInteger received = new AtomicInteger();
+		final OSCMessageListener counter = event -> received.incrementAndGet();
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> threads = new ArrayList<>();
+		for (int ti = 0; ti < numThreads; ti++) {
+			final int threadIndex = ti;
+			final Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (final InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int li = 0; li < numPerThread; li++) {
+					final String address = "/thread/" + threadIndex + "/" + li;
+					final MessageSelector selector = ((li % 2) == 0)
+							? new JavaRegexAddressMessageSelector(address)
+							: new OSCPatternAddressMessageSelector(address);
+					dispatcher.addListener(selector, counter);
+					// every address stays selected only by its last listener
+					final MessageSelector removed = new OSCPatternAddressMessageSelector(address + "x");
+					dispatcher.addListener(removed, counter);
+					dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage(address)));
+					dispatcher.removeListener(removed, counter);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+
+		Assertions.assertEquals(numThreads * numPerThread, received.get());
+		Assertions.assertEquals(2 + (numThreads * numPerThread), dispatcher.getListenerStats().size());
+		received.set(0);
+		for (int ti = 0; ti < numThreads; ti++) {
+			for (int li = 0; li < numPerThread; li++) {
+				final String address = "/thread/" + ti + "/" + li;
+				Assertions.assertTrue(accepts(dispatcher.getAddressFilter(), address), address);
+				dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage(address)));
+			}
+		}
+		Assertions.assertEquals(numThreads * numPerThread, received.get());
+	}
+
+	private static boolean accepts(final AddressFilter filter, final String address) {
+
+		final byte[] addressBytes = address.getBytes(StandardCharsets.UTF_8);
+		return filter.accepts(ByteBuffer.wrap(addressBytes), 0, addressBytes.length);
+	}
+
+	@Test
+	public void testAddressFilter() {
+
+		final AddressFilter filter = dispatcher.getAddressFilter();
+		Assertions.assertTrue(accepts(filter, "/listener1"));
+		Assertions.assertTrue(accepts(filter, "/listener2"));
+		Assertions.assertFalse(accepts(filter, "/nobody"));
+
+		final SimpleOSCMessageListener listener3 = new SimpleOSCMessageListener();
+		final MessageSelector selector3 = new OSCPatternAddressMessageSelector("/nobody/*");
+		dispatcher.addListener(selector3, listener3);
+		Assertions.assertTrue(accepts(filter, "/nobody/else"));
+		dispatcher.removeListener(selector3, listener3);
+		Assertions.assertFalse(accepts(filter, "/nobody/else"));
+	}
+
+	private static final class SlowListener implements OSCMessageListener {
+
+		private final long sleepMs;
+		private volatile Thread lastThread;
+
+		SlowListener(final long sleepMs) {
+			this.sleepMs = sleepMs;
+		}
+
+		@Override
+		public void acceptMessage(final OSCMessageEvent event) {
+
+			lastThread = Thread.currentThread();
+			try {
+				Thread.sleep(sleepMs);
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Test
+	public void testListenerBudget() {
+
+		final SlowListener slowListener = new SlowListener(5);
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/listener1"), slowListener);
+		final List<MessageListenerStats> reported = new ArrayList<>();
+		dispatcher.setSlowListenerHandler((stats, event, durationNanos) -> reported.add(stats));
+		dispatcher.setListenerBudget(1, TimeUnit.MILLISECONDS);
+
+		dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage("/listener1")));
+		dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage("/listener2")));
+
+		final List<MessageListenerStats> allStats = dispatcher.getListenerStats();
+		Assertions.assertEquals(3, allStats.size());
+		final MessageListenerStats slowStats = allStats.get(2);
+		Assertions.assertSame(slowListener, slowStats.getListener());
+		Assertions.assertEquals(1, slowStats.getLatency().getCount());
+		Assertions.assertEquals(1, slowStats.getOverBudgetCount());
+		Assertions.assertEquals(1, allStats.get(0).getLatency().getCount());
+		Assertions.assertEquals(0, allStats.get(0).getOverBudgetCount());
+		Assertions.assertEquals(1, allStats.get(1).getLatency().getCount());
+		Assertions.assertEquals(1, reported.size());
+		Assertions.assertSame(slowStats, reported.get(0));
+		Assertions.assertFalse(slowStats.isQuarantined());
+	}
+
+	@Test
+	public void testSlowListenerGetsQuarantined() throws InterruptedException {
+
+		final SlowListener slowListener = new SlowListener(5);
+		final MessageSelector slowSelector = new OSCPatternAddressMessageSelector("/listener1");
+		dispatcher.addListener(slowSelector, slowListener);
+		dispatcher.setSlowListenerHandler((stats, event, durationNanos) -> { });
+		dispatcher.setListenerBudget(1, TimeUnit.MILLISECONDS);
+		dispatcher.setQuarantineThreshold(2);
+
+		final MessageListenerStats slowStats = dispatcher.getListenerStats().get(2);
+		for (int mi = 0; mi < 2; mi++) {
+			dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage("/listener1")));
+			Assertions.assertSame(Thread.currentThread(), slowListener.lastThread);
+		}
+		Assertions.assertTrue(slowStats.isQuarantined());
+
+		dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage("/listener1")));
+		final long deadline = System.currentTimeMillis() + 1000;
+		while ((slowStats.getLatency().getCount() < 3) && (System.currentTimeMillis() < deadline)) {
+			Thread.sleep(10);
+		}
+		Assertions.assertEquals(3, slowStats.getLatency().getCount());
+		Assertions.assertNotSame(Thread.currentThread(), slowListener.lastThread);
+		// the other listeners are not affected
+		Assertions.assertEquals(3, listener1.getMessageReceivedCount());
+		Assertions.assertFalse(dispatcher.getListenerStats().get(0).isQuarantined());
+
+		dispatcher.removeListener(slowSelector, slowListener);
+		Assertions.assertEquals(2, dispatcher.getListenerStats().size());
+	}
+
+	@Test
+	public void testQuarantinedListenerRemovedWhileDispatching() throws InterruptedException {
+
+		final SlowListener slowListener = new SlowListener(5);
+		final MessageSelector slowSelector = new OSCPatternAddressMessageSelector("/*");
+		final AtomicInteger removals = new AtomicInteger();
+		// comes before the slow listener, so the dispatch to the latter goes on after its removal
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/remove"), event -> {
+			dispatcher.removeListener(slowSelector, slowListener);
+			removals.incrementAndGet();
+		});
+		dispatcher.addListener(slowSelector, slowListener);
+		dispatcher.setSlowListenerHandler((stats, event, durationNanos) -> { });
+		dispatcher.setListenerBudget(1, TimeUnit.MILLISECONDS);
+		dispatcher.setQuarantineThreshold(1);
+
+		dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage("/slow")));
+		final MessageListenerStats slowStats = dispatcher.getListenerStats().get(3);
+		Assertions.assertTrue(slowStats.isQuarantined());
+
+		dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage("/remove")));
+		Assertions.assertEquals(1, removals.get());
+		Assertions.assertEquals(3, dispatcher.getListenerStats().size());
+		Thread.sleep(50);
+		Assertions.assertEquals(1, slowStats.getLatency().getCount());
+	}
+
+	@Test
+	public void testQuarantinedListenerGetsCopiedBlobs() throws InterruptedException {
+
+		final Thread testThread = Thread.currentThread();
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<String> blobs = Collections.synchronizedList(new ArrayList<>());
+		final AtomicInteger blobsRead = new AtomicInteger();
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/blob"), event -> {
+			try {
+				Thread.sleep(5);
+				if (Thread.currentThread() != testThread) {
+					release.await(5, TimeUnit.SECONDS);
+				}
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			final ByteBuffer blob = ((ByteBuffer) event.getMessage().getArguments().get(0)).duplicate();
+			final byte[] content = new byte[blob.remaining()];
+			blob.get(content);
+			blobs.add(new String(content, StandardCharsets.US_ASCII));
+			blobsRead.incrementAndGet();
+		});
+		dispatcher.setSlowListenerHandler((stats, event, durationNanos) -> { });
+		dispatcher.setListenerBudget(1, TimeUnit.MILLISECONDS);
+		dispatcher.setQuarantineThreshold(1);
+
+		// stands in for the receive buffer of a port
+		final byte[] received = "AAAA".getBytes(StandardCharsets.US_ASCII);
+		final OSCMessage blobMessage = new OSCMessage("/blob",
+				Collections.singletonList(ByteBuffer.wrap(received).slice()));
+		dispatcher.handlePacket(new OSCPacketEvent(this, blobMessage));
+		Assertions.assertTrue(dispatcher.getListenerStats().get(2).isQuarantined());
+		dispatcher.handlePacket(new OSCPacketEvent(this, blobMessage));
+		Arrays.fill(received, (byte) 'B');
+		release.countDown();
+		waitFor(blobsRead, 2);
+
+		Assertions.assertEquals(Arrays.asList("AAAA", "AAAA"), blobs);
+	}
+
+	/**
+	 * Records the integer argument of each message, and the thread it got
+	 * dispatched on, per address.
+	 */
+	private static final class OrderRecorder implements OSCMessageListener {
+
+		private final Map<String, List<Integer>> sequences = new ConcurrentHashMap<>();
+		private final Map<String, Set<Thread>> threads = new ConcurrentHashMap<>();
+		private final AtomicInteger received = new AtomicInteger();
+
+		@Override
+		public void acceptMessage(final OSCMessageEvent event) {
+
+			final String address = event.getMessage().getAddress();
+			sequences.computeIfAbsent(address, key -> Collections.synchronizedList(new ArrayList<>()))
+					.add((Integer) event.getMessage().getArguments().get(0));
+			threads.computeIfAbsent(address, key -> ConcurrentHashMap.newKeySet())
+					.add(Thread.currentThread());
+			received.incrementAndGet();
+		}
+	}
+
+	private static void waitFor(final AtomicInteger counter, final int expected)
+			throws InterruptedException
+	{
+		final long deadline = System.currentTimeMillis() + 5000;
+		while ((counter.get() < expected) && (System.currentTimeMillis() < deadline)) {
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void testShardedDispatchKeepsPerAddressOrder() throws InterruptedException {
+
+		final OrderRecorder recorder = new OrderRecorder();
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/shard/*"), recorder);
+		dispatcher.setShardCount(4);
+		Assertions.assertEquals(4, dispatcher.getShardCount());
+
+		final int numAddresses = 8;
+		final int numPerAddress = 500;
+		try {
+			for (int mi = 0; mi < numPerAddress; mi++) {
+				for (int ai = 0; ai < numAddresses; ai++) {
+					dispatcher.handlePacket(new OSCPacketEvent(this,
+							new OSCMessage("/shard/" + ai, Collections.singletonList(mi))));
+				}
+			}
+			waitFor(recorder.received, numAddresses * numPerAddress);
+		} finally {
+			dispatcher.setShardCount(0);
+		}
+
+		Assertions.assertEquals(numAddresses * numPerAddress, recorder.received.get());
+		final Set<Thread> allThreads = new HashSet<>();
+		for (int ai = 0; ai < numAddresses; ai++) {
+			final List<Integer> sequence = recorder.sequences.get("/shard/" + ai);
+			Assertions.assertEquals(numPerAddress, sequence.size());
+			for (int mi = 0; mi < numPerAddress; mi++) {
+				Assertions.assertEquals(mi, sequence.get(mi).intValue());
+			}
+			final Set<Thread> addressThreads = recorder.threads.get("/shard/" + ai);
+			Assertions.assertEquals(1, addressThreads.size());
+			Assertions.assertNotSame(Thread.currentThread(), addressThreads.iterator().next());
+			allThreads.addAll(addressThreads);
+		}
+		Assertions.assertTrue(allThreads.size() > 1, "All addresses ended up on the same shard");
+	}
+
+	/**
+	 * Sends two blobs of the same size through a real port,
+	 * and makes the listener look at each of them only after both were received.
+	 * As the port parses each packet into the same buffer,
+	 * the listener sees the first blob only if it got copied
+	 * before being handed to an other thread.
+	 * @param port the local port to receive on
+	 * @param setUp adds the given listener to the given dispatcher,
+	 *   so that it gets called asynchronously
+	 * @return the contents of the blobs, as seen by the listener
+	 */
+	private static List<String> receiveBlobsAsync(
+			final int port,
+			final BiConsumer<OSCPacketDispatcher, OSCMessageListener> setUp)
+			throws Exception
+	{
+		final SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+		final OSCPortIn receiver = new OSCPortInBuilder()
+				.setLocalSocketAddress(address)
+				.build();
+		final OSCPortOut sender = new OSCPortOutBuilder()
+				.setRemoteSocketAddress(address)
+				.build();
+		final AtomicInteger packetsHandled = new AtomicInteger();
+		// notified after the dispatcher, so when this counts a packet,
+		// the receiving thread is done with it
+		receiver.addPacketListener(new OSCPacketListener() {
+			@Override
+			public void handlePacket(final OSCPacketEvent event) {
+				packetsHandled.incrementAndGet();
+			}
+
+			@Override
+			public void handleBadData(final OSCBadDataEvent event) {}
+		});
+		final List<String> blobs = Collections.synchronizedList(new ArrayList<>());
+		final AtomicInteger blobsRead = new AtomicInteger();
+		final OSCMessageListener blobReader = event -> {
+			try {
+				waitFor(packetsHandled, 2);
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			final ByteBuffer blob = ((ByteBuffer) event.getMessage().getArguments().get(0)).duplicate();
+			final byte[] content = new byte[blob.remaining()];
+			blob.get(content);
+			blobs.add(new String(content, StandardCharsets.US_ASCII));
+			blobsRead.incrementAndGet();
+		};
+		final OSCPacketDispatcher portDispatcher = receiver.getDispatcher();
+		setUp.accept(portDispatcher, blobReader);
+		try {
+			receiver.startListening();
+			for (final String content : Arrays.asList("AAAA", "BBBB")) {
+				sender.send(new OSCMessage("/blob", Collections.singletonList(
+						ByteBuffer.wrap(content.getBytes(StandardCharsets.US_ASCII)))));
+			}
+			waitFor(blobsRead, 2);
+		} finally {
+			receiver.close();
+			sender.close();
+			portDispatcher.setShardCount(0);
+			portDispatcher.setVirtualThreadExecution(0);
+		}
+		return blobs;
+	}
+
+	@Test
+	public void testShardedDispatchCopiesBlobs() throws Exception {
+
+		final List<String> blobs = receiveBlobsAsync(40051, (portDispatcher, blobReader) -> {
+			portDispatcher.addListener(new OSCPatternAddressMessageSelector("/blob"), blobReader);
+			portDispatcher.setShardCount(1);
+		});
+		Assertions.assertEquals(Arrays.asList("AAAA", "BBBB"), blobs);
+	}
+
+	@Test
+	public void testVirtualThreadExecutionCopiesBlobs() throws Exception {
+
+		final List<String> blobs = receiveBlobsAsync(40052, (portDispatcher, blobReader) -> {
+			portDispatcher.addListener(new OSCPatternAddressMessageSelector("/blob"), blobReader);
+			portDispatcher.setVirtualThreadExecution(10);
+		});
+		Assertions.assertEquals(Arrays.asList("AAAA", "BBBB"), blobs);
+	}
+
+	@Test
+	public void testMailboxCopiesBlobs() throws Exception {
+
+		final List<String> blobs = receiveBlobsAsync(40053, (portDispatcher, blobReader) ->
+				portDispatcher.addListener(new OSCPatternAddressMessageSelector("/blob"), blobReader,
+						4, MailboxOverflowPolicy.BLOCK));
+		Assertions.assertEquals(Arrays.asList("AAAA", "BBBB"), blobs);
+	}
+
+	@Test
+	public void testShardedDispatchKeepsBundlesTogether() throws InterruptedException {
+
+		final OrderRecorder recorder = new OrderRecorder();
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/shard/*"), recorder);
+		dispatcher.setShardCount(4);
+		final int numBundles = 50;
+		try {
+			for (int bi = 0; bi < numBundles; bi++) {
+				final OSCBundle bundle = new OSCBundle();
+				bundle.addPacket(new OSCMessage("/shard/" + bi, Collections.singletonList(bi)));
+				bundle.addPacket(new OSCMessage("/shard/" + bi + "x", Collections.singletonList(bi)));
+				dispatcher.handlePacket(new OSCPacketEvent(this, bundle));
+			}
+			waitFor(recorder.received, 2 * numBundles);
+		} finally {
+			dispatcher.setShardCount(0);
+		}
+
+		Assertions.assertEquals(2 * numBundles, recorder.received.get());
+		for (int bi = 0; bi < numBundles; bi++) {
+			Assertions.assertEquals(
+					recorder.threads.get("/shard/" + bi),
+					recorder.threads.get("/shard/" + bi + "x"));
+		}
+	}
+
+	@Test
+	public void testVirtualThreadExecution() throws InterruptedException {
+
+		final OrderRecorder recorder = new OrderRecorder();
+		final CountDownLatch release = new CountDownLatch(1);
+		final OSCMessageListener blocker = event -> {
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/blocking"), blocker);
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/shard/*"), recorder);
+		dispatcher.setVirtualThreadExecution(100);
+		Assertions.assertEquals(100, dispatcher.getMaxInFlightInvocations());
+
+		// NOTE "/blocking" hashes to lane 151 and "/shard/0" to "/shard/3" to lanes 248 to 251,
+		//   so the blocked listener holds up none of the others
+		final int numAddresses = 4;
+		final int numPerAddress = 20;
+		try {
+			// a blocked listener does not hold up dispatching
+			dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage("/blocking")));
+			for (int mi = 0; mi < numPerAddress; mi++) {
+				for (int ai = 0; ai < numAddresses; ai++) {
+					dispatcher.handlePacket(new OSCPacketEvent(this,
+							new OSCMessage("/shard/" + ai, Collections.singletonList(mi))));
+				}
+			}
+			waitFor(recorder.received, numAddresses * numPerAddress);
+			Assertions.assertEquals(numAddresses * numPerAddress, recorder.received.get());
+			// the other invocations give back their permits just after they returned
+			final long deadline = System.currentTimeMillis() + 5000;
+			while ((dispatcher.getInFlightInvocations() > 1)
+					&& (System.currentTimeMillis() < deadline))
+			{
+				Thread.sleep(10);
+			}
+			Assertions.assertEquals(1, dispatcher.getInFlightInvocations());
+		} finally {
+			release.countDown();
+			dispatcher.setVirtualThreadExecution(0);
+		}
+
+		for (int ai = 0; ai < numAddresses; ai++) {
+			final List<Integer> sequence = recorder.sequences.get("/shard/" + ai);
+			for (int mi = 0; mi < numPerAddress; mi++) {
+				Assertions.assertEquals(mi, sequence.get(mi).intValue());
+			}
+			Assertions.assertFalse(recorder.threads.get("/shard/" + ai).contains(Thread.currentThread()));
+		}
+		Assertions.assertEquals(0, dispatcher.getMaxInFlightInvocations());
+	}
+
+	/**
+	 * Records the addresses and integer arguments it receives,
+	 * after having waited for a latch on the first message.
+	 */
+	private static final class GatedRecorder implements OSCMessageListener {
+
+		private final CountDownLatch gate = new CountDownLatch(1);
+		private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+		private final AtomicInteger receivedCount = new AtomicInteger();
+		private volatile Thread lastThread;
+
+		@Override
+		public void acceptMessage(final OSCMessageEvent event) {
+
+			lastThread = Thread.currentThread();
+			try {
+				gate.await(5, TimeUnit.SECONDS);
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			received.add(event.getMessage().getAddress() + '='
+					+ event.getMessage().getArguments().get(0));
+			receivedCount.incrementAndGet();
+		}
+	}
+
+	private static OSCPacketEvent valueMessage(final Object source, final String address, final int value) {
+		return new OSCPacketEvent(source, new OSCMessage(address, Collections.singletonList(value)));
+	}
+
+	private void waitForDepth(final MessageListenerStats stats, final int depth)
+			throws InterruptedException
+	{
+		final long deadline = System.currentTimeMillis() + 5000;
+		while ((stats.getMailboxDepth() != depth) && (System.currentTimeMillis() < deadline)) {
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void testMailboxIsolatesSlowListener() throws InterruptedException {
+
+		final GatedRecorder slow = new GatedRecorder();
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/listener1"), slow,
+				16, MailboxOverflowPolicy.BLOCK);
+		final MessageListenerStats slowStats = dispatcher.getListenerStats().get(2);
+		Assertions.assertTrue(slowStats.hasMailbox());
+		Assertions.assertEquals(16, slowStats.getMailboxCapacity());
+		Assertions.assertFalse(dispatcher.getListenerStats().get(0).hasMailbox());
+
+		for (int mi = 0; mi < 5; mi++) {
+			dispatcher.handlePacket(valueMessage(this, "/listener1", mi));
+		}
+		// the fast listener got everything, while the slow one is still stuck on the first message
+		Assertions.assertEquals(5, listener1.getMessageReceivedCount());
+		waitForDepth(slowStats, 4);
+		Assertions.assertEquals(4, slowStats.getMailboxDepth());
+		Assertions.assertEquals(0, slow.receivedCount.get());
+
+		slow.gate.countDown();
+		waitFor(slow.receivedCount, 5);
+		Assertions.assertEquals(
+				List.of("/listener1=0", "/listener1=1", "/listener1=2", "/listener1=3", "/listener1=4"),
+				slow.received);
+		Assertions.assertNotSame(Thread.currentThread(), slow.lastThread);
+		Assertions.assertEquals(0, slowStats.getMailboxDroppedCount());
+
+		dispatcher.removeListener(new OSCPatternAddressMessageSelector("/listener1"), slow);
+		slow.lastThread.join(1000);
+		Assertions.assertFalse(slow.lastThread.isAlive());
+	}
+
+	@Test
+	public void testMailboxDropOldest() throws InterruptedException {
+
+		final GatedRecorder slow = new GatedRecorder();
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/listener1"), slow,
+				2, MailboxOverflowPolicy.DROP_OLDEST);
+		final MessageListenerStats slowStats = dispatcher.getListenerStats().get(2);
+
+		dispatcher.handlePacket(valueMessage(this, "/listener1", 0));
+		waitForDepth(slowStats, 0);
+		for (int mi = 1; mi < 5; mi++) {
+			dispatcher.handlePacket(valueMessage(this, "/listener1", mi));
+		}
+		Assertions.assertEquals(2, slowStats.getMailboxDepth());
+		Assertions.assertEquals(2, slowStats.getMailboxDroppedCount());
+
+		slow.gate.countDown();
+		waitFor(slow.receivedCount, 3);
+		Assertions.assertEquals(List.of("/listener1=0", "/listener1=3", "/listener1=4"), slow.received);
+	}
+
+	@Test
+	public void testMailboxConflate() throws InterruptedException {
+
+		final GatedRecorder slow = new GatedRecorder();
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/fader/*"), slow,
+				8, MailboxOverflowPolicy.CONFLATE);
+		final MessageListenerStats slowStats = dispatcher.getListenerStats().get(2);
+
+		dispatcher.handlePacket(valueMessage(this, "/fader/1", 0));
+		waitForDepth(slowStats, 0);
+		dispatcher.handlePacket(valueMessage(this, "/fader/1", 1));
+		dispatcher.handlePacket(valueMessage(this, "/fader/2", 1));
+		dispatcher.handlePacket(valueMessage(this, "/fader/1", 2));
+		dispatcher.handlePacket(valueMessage(this, "/fader/1", 3));
+		Assertions.assertEquals(2, slowStats.getMailboxDepth());
+		Assertions.assertEquals(2, slowStats.getMailboxDroppedCount());
+
+		slow.gate.countDown();
+		waitFor(slow.receivedCount, 3);
+		Assertions.assertEquals(List.of("/fader/1=0", "/fader/1=3", "/fader/2=1"), slow.received);
+	}
 }
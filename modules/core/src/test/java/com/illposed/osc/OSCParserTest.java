@@ -7,7 +7,10 @@ package com.illposed.osc;
 
 import com.illposed.osc.argument.OSCTimeTag64;
 import com.illposed.osc.argument.OSCUnsigned;
+import com.illposed.osc.routing.AddressInterner;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Assertions;
@@ -208,4 +211,70 @@ public class OSCParserTest {
 		final OSCMessage message = (OSCMessage) packets.get(0);
 		checkAddress("/test", message.getAddress());
 	}
+
+	@Test
+	public void testInternedAddresses() {
+
+		final AddressInterner interner = new AddressInterner();
+		converter = new OSCSerializerAndParserBuilder().setAddressInterner(interner).buildParser();
+		final byte[] bytes = {0x2F, 0x73, 0x5F, 0x6E, 0x65, 0x77, 0, 0, 0x2C, 0x69, 0x73, 0x66, 0, 0, 0, 0, 0, 0, 0x3, (byte) 0xE9, 0x66, 0x72, 0x65, 0x71, 0, 0, 0, 0, 0x43, (byte) 0xDC, 0, 0};
+
+		final OSCMessage first = convertToMessage(bytes);
+		final OSCMessage second = convertToMessage(bytes);
+		checkAddress("/s_new", second.getAddress());
+		Assertions.assertSame(first.getAddress(), second.getAddress());
+		Assertions.assertEquals(first.getArguments(), second.getArguments());
+		Assertions.assertEquals(1, interner.getHits());
+
+		final byte[] bundleBytes
+				= {0x23, 0x62, 0x75, 0x6E, 0x64, 0x6C, 0x65, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0,
+					0x0C, 0X2F, 0x74, 0x65, 0x73, 0x74, 0, 0, 0, 0x2C, 0, 0, 0};
+		final OSCMessage inBundle = (OSCMessage) ((OSCBundle) convertToPacket(bundleBytes)).getPackets().get(0);
+		final OSCMessage inBundleAgain = (OSCMessage) ((OSCBundle) convertToPacket(bundleBytes)).getPackets().get(0);
+		checkAddress("/test", inBundleAgain.getAddress());
+		Assertions.assertSame(inBundle.getAddress(), inBundleAgain.getAddress());
+	}
+
+	@Test
+	public void testInternedTypeTags() {
+
+		final byte[] bytes = {0x2F, 0x73, 0x5F, 0x6E, 0x65, 0x77, 0, 0, 0x2C, 0x69, 0x73, 0x66, 0, 0, 0, 0, 0, 0, 0x3, (byte) 0xE9, 0x66, 0x72, 0x65, 0x71, 0, 0, 0, 0, 0x43, (byte) 0xDC, 0, 0};
+
+		final OSCMessage first = convertToMessage(bytes);
+		final OSCMessage second = convertToMessage(bytes);
+		final CharSequence typeTags = second.getInfo().getArgumentTypeTags();
+		Assertions.assertEquals("isf", typeTags);
+		Assertions.assertSame(first.getInfo().getArgumentTypeTags(), typeTags);
+		Assertions.assertSame("isf", typeTags);
+		Assertions.assertEquals(Arrays.asList(1001, "freq", 440.0f), second.getArguments());
+	}
+
+	@Test
+	public void testReadPrimitiveArrays() throws Exception {
+
+		final List<?> arguments = Arrays.asList(
+				Arrays.asList(0.5f, -1.0f),
+				Arrays.asList(1, -2, 3),
+				Arrays.asList(Math.PI),
+				Arrays.asList(1L << 40),
+				Arrays.asList(1, 2.0f),
+				Collections.emptyList());
+		final ByteBuffer buffer = ByteBuffer.allocate(1024);
+		final OSCSerializerAndParserBuilder builder = new OSCSerializerAndParserBuilder();
+		builder.buildSerializer(new BufferBytesReceiver(buffer))
+				.write(new OSCMessage("/arrays", arguments));
+		buffer.flip();
+
+		final OSCMessage asLists = (OSCMessage) builder.buildParser().convert(buffer.duplicate());
+		Assertions.assertEquals(arguments, asLists.getArguments());
+
+		final List<Object> parsed = ((OSCMessage) builder.setParsingPrimitiveArrays(true)
+				.buildParser().convert(buffer)).getArguments();
+		Assertions.assertArrayEquals(new float[] {0.5f, -1.0f}, (float[]) parsed.get(0));
+		Assertions.assertArrayEquals(new int[] {1, -2, 3}, (int[]) parsed.get(1));
+		Assertions.assertArrayEquals(new double[] {Math.PI}, (double[]) parsed.get(2));
+		Assertions.assertArrayEquals(new long[] {1L << 40}, (long[]) parsed.get(3));
+		// mixed and empty arrays stay lists
+		Assertions.assertEquals(arguments.subList(4, 6), parsed.subList(4, 6));
+	}
 }
@@ -0,0 +1,97 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import com.illposed.osc.argument.OSCImpulse;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see OSCSerializerEngine
+ */
+public class OSCSerializerEngineTest {
+
+	private static byte[] serialize(final OSCSerializerEngine engine, final OSCPacket packet)
+			throws OSCSerializeException
+	{
+		final ByteBuffer buffer = ByteBuffer.allocate(1024);
+		engine.createSerializer(new BufferBytesReceiver(buffer)).write(packet);
+		buffer.flip();
+		return OSCSerializer.toByteArray(buffer);
+	}
+
+	@Test
+	public void testResolution() throws OSCSerializeException {
+
+		final OSCSerializerEngine engine = new OSCSerializerAndParserBuilder().buildSerializerEngine();
+		final Date subClassed = new Date(1234567890L) {
+			private static final long serialVersionUID = 1L;
+		};
+		final List<Object> arguments = Arrays.asList(
+				1, "two", true, false, null, OSCImpulse.INSTANCE, subClassed);
+		final OSCMessage message = new OSCMessage("/resolve", arguments);
+		Assertions.assertArrayEquals(
+				serialize(engine, new OSCMessage("/resolve", Arrays.asList(
+						1, "two", true, false, null, OSCImpulse.INSTANCE, new Date(1234567890L)))),
+				serialize(engine, message));
+
+		final ByteBuffer buffer = ByteBuffer.allocate(64);
+		final OSCSerializer serializer = engine.createSerializer(new BufferBytesReceiver(buffer));
+		serializer.writeOnlyTypeTags(arguments);
+		buffer.flip();
+		Assertions.assertEquals("isTFNIt", new String(OSCSerializer.toByteArray(buffer)));
+
+		Assertions.assertThrows(OSCSerializeException.class, () -> serialize(engine,
+				new OSCMessage("/unsupported", Collections.singletonList(new Object()))));
+		Assertions.assertThrows(OSCSerializeException.class, () -> serialize(engine,
+				new OSCMessage("/unsupported", Collections.singletonList(new StringBuilder()))));
+	}
+
+	@Test
+	public void testSharedBetweenThreads() throws Exception {
+
+		final OSCSerializerEngine engine = new OSCSerializerAndParserBuilder().buildSerializerEngine();
+		final int numThreads = 4;
+		final List<OSCMessage> messages = new ArrayList<>();
+		final List<byte[]> expected = new ArrayList<>();
+		for (int mi = 0; mi < 32; mi++) {
+			final OSCMessage message = new OSCMessage("/thread/" + mi,
+					Arrays.asList(mi, "arg" + mi, mi * 0.5f, (long) mi, Arrays.asList(mi, mi + 1)));
+			messages.add(message);
+			expected.add(serialize(new OSCSerializerAndParserBuilder().buildSerializerEngine(), message));
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try {
+			final List<Future<Boolean>> results = new ArrayList<>();
+			for (int ti = 0; ti < numThreads; ti++) {
+				results.add(executor.submit(() -> {
+					for (int round = 0; round < 200; round++) {
+						for (int mi = 0; mi < messages.size(); mi++) {
+							if (!Arrays.equals(expected.get(mi), serialize(engine, messages.get(mi)))) {
+								return false;
+							}
+						}
+					}
+					return true;
+				}));
+			}
+			for (final Future<Boolean> result : results) {
+				Assertions.assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
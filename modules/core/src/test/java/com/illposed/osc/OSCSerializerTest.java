@@ -7,11 +7,14 @@ package com.illposed.osc;
 
 import com.illposed.osc.argument.handler.StringArgumentHandler;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -139,4 +142,41 @@ public class OSCSerializerTest {
 				new byte[] {0, 0, 0, 0, 0, 0, 4, 100},
 				1124L);
 	}
+
+	private static byte[] serialize(final BytesReceiver output, final List<?> arguments)
+			throws OSCSerializeException
+	{
+		new OSCSerializerAndParserBuilder().buildSerializer(output)
+				.write(new OSCMessage("/array", arguments));
+		return output.toByteArray();
+	}
+
+	@Test
+	public void testSerializePrimitiveArrays() throws Exception {
+
+		final List<?> primitives = Arrays.asList(
+				new float[] {0.5f, -1.0f, Float.NaN},
+				new int[] {1, -2},
+				new double[] {Math.PI},
+				new long[] {1L << 40, -1L},
+				"tail");
+		final List<?> boxed = Arrays.asList(
+				Arrays.asList(0.5f, -1.0f, Float.NaN),
+				Arrays.asList(1, -2),
+				Arrays.asList(Math.PI),
+				Arrays.asList(1L << 40, -1L),
+				"tail");
+		final byte[] expected = serialize(
+				new BufferBytesReceiver(ByteBuffer.allocate(1024)), boxed);
+
+		Assertions.assertArrayEquals(expected, serialize(
+				new BufferBytesReceiver(ByteBuffer.allocate(1024)), primitives));
+		Assertions.assertArrayEquals(expected, serialize(
+				new BufferBytesReceiver(ByteBuffer.allocateDirect(1024)), primitives));
+		Assertions.assertArrayEquals(expected, serialize(
+				new BufferBytesReceiver(ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN)),
+				primitives));
+		Assertions.assertArrayEquals(expected, serialize(
+				new ByteArrayListBytesReceiver(), primitives));
+	}
 }
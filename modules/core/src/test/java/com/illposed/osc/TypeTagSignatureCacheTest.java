@@ -0,0 +1,85 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see TypeTagSignatureCache
+ */
+public class TypeTagSignatureCacheTest {
+
+	private static TypeTagSignatureCache createCache(final int capacity) {
+		return new TypeTagSignatureCache(
+				new OSCSerializerAndParserBuilder().buildSerializerEngine(),
+				StandardCharsets.UTF_8,
+				capacity,
+				TypeTagSignatureCache.DEFAULT_MAX_ARGUMENTS);
+	}
+
+	@Test
+	public void testLookup() throws OSCSerializeException {
+
+		final TypeTagSignatureCache cache = createCache(TypeTagSignatureCache.DEFAULT_CAPACITY);
+		final CharSequence first = cache.getTypeTags(Arrays.asList(1, 2.0f, "three"));
+		Assertions.assertEquals("ifs", first.toString());
+		Assertions.assertEquals(0, cache.getHits());
+		Assertions.assertEquals(1, cache.getMisses());
+
+		final CharSequence second = cache.getTypeTags(Arrays.asList(4, 5.0f, "six"));
+		Assertions.assertSame(first, second);
+		Assertions.assertEquals(1, cache.getHits());
+		Assertions.assertEquals(1, cache.size());
+
+		Assertions.assertEquals("", cache.getTypeTags(Collections.emptyList()).toString());
+		Assertions.assertEquals("TFN", cache.getTypeTags(Arrays.asList(true, false, null)).toString());
+		Assertions.assertEquals("FTN", cache.getTypeTags(Arrays.asList(false, true, null)).toString());
+		Assertions.assertEquals("FTN", cache.getTypeTags(Arrays.asList(false, true, null)).toString());
+		Assertions.assertEquals(2, cache.getHits());
+
+		cache.clear();
+		Assertions.assertEquals(0, cache.size());
+		Assertions.assertEquals(0, cache.getHits());
+	}
+
+	@Test
+	public void testUncacheable() throws OSCSerializeException {
+
+		final TypeTagSignatureCache cache = createCache(TypeTagSignatureCache.DEFAULT_CAPACITY);
+		Assertions.assertEquals("i[ii]", cache.getTypeTags(Arrays.asList(1, Arrays.asList(2, 3))).toString());
+		Assertions.assertEquals("i[i]", cache.getTypeTags(Arrays.asList(1, Collections.singletonList(2))).toString());
+		Assertions.assertEquals("[fff]", cache.getTypeTags(
+				Collections.singletonList(new float[] {1.0f, 2.0f, 3.0f})).toString());
+		Assertions.assertEquals(0, cache.size());
+		Assertions.assertEquals(0, cache.getMisses());
+
+		final List<Integer> manyArguments = Collections.nCopies(TypeTagSignatureCache.DEFAULT_MAX_ARGUMENTS + 1, 1);
+		Assertions.assertEquals(manyArguments.size(), cache.getTypeTags(manyArguments).length());
+		Assertions.assertEquals(0, cache.size());
+
+		Assertions.assertThrows(OSCSerializeException.class,
+				() -> cache.getTypeTags(Collections.singletonList(new Object())));
+	}
+
+	@Test
+	public void testBounded() throws OSCSerializeException {
+
+		final TypeTagSignatureCache cache = createCache(8);
+		Assertions.assertEquals(8, cache.getCapacity());
+		final Object[] samples = {1, 2L, 3.0f, 4.0, "five", 'c', true, false, null};
+		for (final Object first : samples) {
+			for (final Object second : samples) {
+				final List<Object> arguments = Arrays.asList(first, second);
+				Assertions.assertEquals(2, cache.getTypeTags(arguments).length());
+			}
+		}
+		Assertions.assertTrue(cache.size() <= cache.getCapacity());
+	}
+}
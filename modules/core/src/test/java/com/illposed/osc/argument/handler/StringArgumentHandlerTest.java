@@ -0,0 +1,109 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.argument.handler;
+
+import com.illposed.osc.OSCParseException;
+import com.illposed.osc.OSCSerializeException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see StringArgumentHandler
+ */
+public class StringArgumentHandlerTest {
+
+	@SuppressWarnings("SpellCheckingInspection")
+	private static final String[] STRINGS = {
+		"",
+		"a",
+		"abc",
+		"abcd",
+		"/abcdefg",
+		"/abcdefgh",
+		"/some/longer/address/spanning/multiple/words",
+		"über",
+		"/mixed/ascii/and/äöü/after/a/few/words",
+		"日本語"
+	};
+
+	private static String reparse(final StringArgumentHandler handler, final String orig)
+			throws OSCSerializeException, OSCParseException
+	{
+		final int maxLength = orig.getBytes(handler.getCharset()).length + 4;
+		return ColorArgumentHandlerTest.reparse(handler, maxLength, orig);
+	}
+
+	@Test
+	public void testReparse() throws Exception {
+
+		final StringArgumentHandler handler = new StringArgumentHandler(StandardCharsets.UTF_8);
+		for (final String orig : STRINGS) {
+			Assertions.assertEquals(orig, reparse(handler, orig));
+		}
+	}
+
+	@Test
+	public void testReparseOtherCharsets() throws Exception {
+
+		final Charset[] charsets = {
+			StandardCharsets.ISO_8859_1,
+			Charset.forName("windows-1252")
+		};
+		for (final Charset charset : charsets) {
+			final StringArgumentHandler handler = new StringArgumentHandler(charset);
+			for (final String orig : new String[] {"/abcdefgh", "über/äöü"}) {
+				Assertions.assertEquals(orig, reparse(handler, orig), charset.name());
+			}
+		}
+	}
+
+	@Test
+	public void testParseDirectAndLittleEndian() throws Exception {
+
+		final byte[] encoded = "/some/address/ü\0\0\0\0/next\0\0\0".getBytes(StandardCharsets.UTF_8);
+		final ByteBuffer[] inputs = {
+			ByteBuffer.allocateDirect(encoded.length),
+			ByteBuffer.allocate(encoded.length).order(ByteOrder.LITTLE_ENDIAN)
+		};
+		for (final ByteBuffer input : inputs) {
+			input.put(encoded).flip();
+			final StringArgumentHandler handler = new StringArgumentHandler(StandardCharsets.UTF_8);
+			Assertions.assertEquals("/some/address/ü", handler.parse(input));
+			Assertions.assertEquals(20, input.position());
+			Assertions.assertEquals("/next", handler.parse(input));
+			Assertions.assertFalse(input.hasRemaining());
+		}
+	}
+
+	@Test
+	public void testParseSliced() throws Exception {
+
+		final byte[] encoded = "xxxx/sliced/address\0".getBytes(StandardCharsets.US_ASCII);
+		final ByteBuffer input = ByteBuffer.wrap(encoded);
+		input.position(4);
+		final StringArgumentHandler handler = new StringArgumentHandler(StandardCharsets.UTF_8);
+		Assertions.assertEquals("/sliced/address", handler.parse(input.slice()));
+	}
+
+	@Test
+	public void testParseMalformed() {
+
+		final ByteBuffer input = ByteBuffer.wrap(new byte[] {'/', 'a', (byte) 0xC3, 0, 0, 0, 0, 0});
+		final StringArgumentHandler handler = new StringArgumentHandler(StandardCharsets.UTF_8);
+		Assertions.assertThrows(OSCParseException.class, () -> handler.parse(input));
+	}
+
+	@Test
+	public void testParseUnterminated() {
+
+		final ByteBuffer input = ByteBuffer.wrap("/unterminated/string".getBytes(StandardCharsets.US_ASCII));
+		final StringArgumentHandler handler = new StringArgumentHandler(StandardCharsets.UTF_8);
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> handler.parse(input));
+	}
+}
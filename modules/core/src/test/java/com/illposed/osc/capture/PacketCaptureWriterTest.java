@@ -0,0 +1,212 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.capture;
+
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCPacketEvent;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.transport.OSCPortIn;
+import com.illposed.osc.transport.OSCPortInBuilder;
+import com.illposed.osc.transport.OSCPortOut;
+import com.illposed.osc.transport.OSCPortOutBuilder;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @see PacketCaptureWriter
+ * @see PacketCaptureReader
+ * @see PacketRecorder
+ */
+public class PacketCaptureWriterTest {
+
+	private static final int WAIT_FOR_RECEIVE_MS = 1000;
+
+	@TempDir
+	Path tempDir;
+
+	private static ByteBuffer bytes(final String content) {
+		return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String content(final CapturedPacket packet) {
+
+		final ByteBuffer data = packet.getData();
+		final byte[] content = new byte[data.remaining()];
+		data.get(content);
+		return new String(content, StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+
+		final Path file = tempDir.resolve("simple.jcap");
+		final InetSocketAddress source4 = new InetSocketAddress(
+				InetAddress.getByAddress(new byte[] {10, 0, 0, 1}), 65000);
+		final InetSocketAddress source6 = new InetSocketAddress(
+				InetAddress.getByName("::1"), 7770);
+		final PacketCaptureWriter writer = new PacketCaptureWriter(file);
+		try {
+			writer.append(bytes("first"), source4, 1000L);
+			writer.append(bytes(""), source4, 1500L);
+			writer.append(bytes("second"), source6, 2000L);
+			writer.append(bytes("third"), null, 3000L);
+			Assertions.assertEquals(3, writer.getPacketsWritten());
+		} finally {
+			writer.close();
+		}
+		Assertions.assertEquals(Files.size(file), writer.getSize());
+
+		try (PacketCaptureReader reader = new PacketCaptureReader(file)) {
+			CapturedPacket packet = reader.next();
+			Assertions.assertEquals("first", content(packet));
+			Assertions.assertEquals(1000L, packet.getTimestampNanos());
+			Assertions.assertEquals(source4, packet.getSource());
+
+			packet = reader.next();
+			Assertions.assertEquals("second", content(packet));
+			Assertions.assertEquals(2000L, packet.getTimestampNanos());
+			Assertions.assertEquals(source6, packet.getSource());
+
+			packet = reader.next();
+			Assertions.assertEquals("third", content(packet));
+			Assertions.assertNull(packet.getSource());
+
+			Assertions.assertNull(reader.next());
+		}
+	}
+
+	@Test
+	public void testGrowingAndAppending() throws IOException {
+
+		final Path file = tempDir.resolve("growing.jcap");
+		final int numPackets = 100;
+		// a tiny chunk size forces frequent re-mapping
+		PacketCaptureWriter writer = new PacketCaptureWriter(file, 64);
+		try {
+			for (int pi = 0; pi < numPackets; pi++) {
+				writer.append(bytes("packet-" + pi), null);
+			}
+		} finally {
+			writer.close();
+		}
+		writer = new PacketCaptureWriter(file);
+		try {
+			writer.append(bytes("appended"), null);
+		} finally {
+			writer.close();
+		}
+
+		try (PacketCaptureReader reader = new PacketCaptureReader(file)) {
+			long lastTimestamp = Long.MIN_VALUE;
+			for (int pi = 0; pi < numPackets; pi++) {
+				final CapturedPacket packet = reader.next();
+				Assertions.assertEquals("packet-" + pi, content(packet));
+				Assertions.assertTrue(packet.getTimestampNanos() >= lastTimestamp);
+				lastTimestamp = packet.getTimestampNanos();
+			}
+			Assertions.assertEquals("appended", content(reader.next()));
+			Assertions.assertNull(reader.next());
+		}
+	}
+
+	@Test
+	public void testUnclosedLogIsReadable() throws IOException {
+
+		final Path file = tempDir.resolve("unclosed.jcap");
+		final PacketCaptureWriter writer = new PacketCaptureWriter(file);
+		try {
+			writer.append(bytes("flushed"), null);
+			writer.flush();
+			// the file is still padded with zeros up to the chunk size at this point
+			try (PacketCaptureReader reader = new PacketCaptureReader(file)) {
+				Assertions.assertEquals("flushed", content(reader.next()));
+				Assertions.assertNull(reader.next());
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testNotACaptureFile() throws IOException {
+
+		final Path file = tempDir.resolve("other.txt");
+		Files.write(file, "not a capture".getBytes(StandardCharsets.UTF_8));
+		Assertions.assertThrows(IOException.class, () -> new PacketCaptureReader(file));
+		Assertions.assertThrows(IOException.class, () -> new PacketCaptureWriter(file));
+	}
+
+	@Test
+	public void testRecordParsedPackets() throws Exception {
+
+		final Path file = tempDir.resolve("parsed.jcap");
+		final PacketRecorder recorder = new PacketRecorder(new PacketCaptureWriter(file));
+		final OSCMessage message = new OSCMessage("/recorded", Collections.singletonList(42));
+		try {
+			recorder.handlePacket(new OSCPacketEvent(this, message));
+		} finally {
+			recorder.close();
+		}
+
+		try (PacketCaptureReader reader = new PacketCaptureReader(file)) {
+			final OSCMessage parsed = (OSCMessage) new OSCSerializerAndParserBuilder().buildParser()
+					.convert(reader.next().getData());
+			Assertions.assertEquals(message.getAddress(), parsed.getAddress());
+			Assertions.assertEquals(message.getArguments(), parsed.getArguments());
+		}
+	}
+
+	@Test
+	public void testRecordRawPackets() throws Exception {
+
+		final Path file = tempDir.resolve("raw.jcap");
+		final PacketRecorder recorder = new PacketRecorder(new PacketCaptureWriter(file));
+		final OSCPortIn receiver = new OSCPortInBuilder()
+				.setLocalSocketAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), 40011))
+				.setPacketListeners(new ArrayList<>())
+				.build();
+		try {
+			receiver.setRawPacketListener(recorder);
+			receiver.startListening();
+			final OSCPortOut sender = new OSCPortOutBuilder()
+					.setRemoteSocketAddress(
+							new InetSocketAddress(InetAddress.getLoopbackAddress(), 40011))
+					.build();
+			try {
+				sender.send(new OSCMessage("/raw"));
+			} finally {
+				sender.close();
+			}
+			final long deadline = System.currentTimeMillis() + WAIT_FOR_RECEIVE_MS;
+			while ((recorder.getWriter().getPacketsWritten() == 0)
+					&& (System.currentTimeMillis() < deadline))
+			{
+				Thread.sleep(10);
+			}
+		} finally {
+			receiver.close();
+			recorder.close();
+		}
+
+		try (PacketCaptureReader reader = new PacketCaptureReader(file)) {
+			final CapturedPacket packet = reader.next();
+			Assertions.assertNotNull(packet, "Packet was not recorded");
+			Assertions.assertNotNull(packet.getSource());
+			final OSCMessage parsed = (OSCMessage) new OSCSerializerAndParserBuilder().buildParser()
+					.convert(packet.getData());
+			Assertions.assertEquals("/raw", parsed.getAddress());
+		}
+	}
+}
@@ -77,4 +77,120 @@ public class CombinedMessageSelectorTest {
 		Assertions.assertTrue( matches(matcher, "/hello", "i"));
 	}
 
+	/**
+	 * Selects either all or no messages, counting how often it was checked.
+	 */
+	private static final class CountingSelector implements MessageSelector {
+
+		private final boolean matches;
+		private final int costHint;
+		private int checks;
+
+		CountingSelector(final boolean matches, final int costHint) {
+
+			this.matches = matches;
+			this.costHint = costHint;
+			this.checks = 0;
+		}
+
+		@Override
+		public boolean isInfoRequired() {
+			return false;
+		}
+
+		@Override
+		public boolean matches(final OSCMessageEvent messageEvent) {
+
+			checks++;
+			return matches;
+		}
+
+		@Override
+		public int getCostHint() {
+			return costHint;
+		}
+	}
+
+	@Test
+	public void testResultsWithAnyOrder() {
+
+		final boolean[] values = {false, true};
+		for (final CombinedMessageSelector.LogicOperator operator
+				: CombinedMessageSelector.LogicOperator.values())
+		{
+			for (final boolean matches1 : values) {
+				for (final boolean matches2 : values) {
+					for (final int costHint1 : new int[] {1, 10}) {
+						final MessageSelector matcher = new CombinedMessageSelector(
+								new CountingSelector(matches1, costHint1),
+								new CountingSelector(matches2, 5),
+								operator);
+						for (int mi = 0; mi < 3000; mi++) {
+							Assertions.assertEquals(operator.matches(matches1, matches2),
+									matches(matcher, "/hello", ""));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testChecksCheapSelectorFirst() {
+
+		final CountingSelector expensive = new CountingSelector(true, 10);
+		final CountingSelector cheap = new CountingSelector(false, 1);
+		final MessageSelector matcher = new CombinedMessageSelector(expensive, cheap);
+		Assertions.assertEquals(11, matcher.getCostHint());
+
+		for (int mi = 0; mi < 3000; mi++) {
+			Assertions.assertFalse(matches(matcher, "/hello", ""));
+		}
+		Assertions.assertEquals(0, expensive.checks);
+		Assertions.assertEquals(3000, cheap.checks);
+	}
+
+	@Test
+	public void testAdaptsToSelectivity() {
+
+		final CountingSelector passing = new CountingSelector(true, 2);
+		final CountingSelector rejecting = new CountingSelector(false, 2);
+		final MessageSelector matcher = new CombinedMessageSelector(passing, rejecting);
+
+		// the given order is kept until enough checks were sampled
+		for (int mi = 0; mi < 100; mi++) {
+			Assertions.assertFalse(matches(matcher, "/hello", ""));
+		}
+		Assertions.assertEquals(100, passing.checks);
+		// about 16 000 checks are needed to sample 1000,
+		// which is way more than enough to re-order
+		for (int mi = 0; mi < 16_000; mi++) {
+			Assertions.assertFalse(matches(matcher, "/hello", ""));
+		}
+		final int passingChecks = passing.checks;
+		Assertions.assertTrue(passingChecks < 16_000);
+		for (int mi = 0; mi < 1024; mi++) {
+			Assertions.assertFalse(matches(matcher, "/hello", ""));
+		}
+		Assertions.assertEquals(passingChecks, passing.checks);
+		Assertions.assertEquals(17_124, rejecting.checks);
+	}
+
+	@Test
+	public void testAddressPrefix() {
+
+		final MessageSelector hello = new OSCPatternAddressMessageSelector("/hello/*");
+		final MessageSelector helloWorld = new OSCPatternAddressMessageSelector("/hello/world");
+		final MessageSelector helmet = new JavaRegexAddressMessageSelector("/helmet.*");
+		final MessageSelector types = new OSCPatternTypeTagsMessageSelector("i");
+
+		Assertions.assertEquals("/hello/world", new CombinedMessageSelector(
+				hello, helloWorld, CombinedMessageSelector.LogicOperator.AND).getAddressPrefix());
+		Assertions.assertEquals("/hello", new CombinedMessageSelector(
+				hello, types, CombinedMessageSelector.LogicOperator.AND).getAddressPrefix());
+		Assertions.assertEquals("/hel", new CombinedMessageSelector(
+				helmet, helloWorld, CombinedMessageSelector.LogicOperator.OR).getAddressPrefix());
+		Assertions.assertEquals("", new CombinedMessageSelector(
+				hello, types, CombinedMessageSelector.LogicOperator.XOR).getAddressPrefix());
+	}
 }
@@ -0,0 +1,34 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.messageselector;
+
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see JavaRegexAddressMessageSelector
+ */
+public class JavaRegexAddressMessageSelectorTest {
+
+	private static String prefix(final String regex) {
+		return new JavaRegexAddressMessageSelector(regex).getAddressPrefix();
+	}
+
+	@Test
+	public void testAddressPrefix() {
+
+		Assertions.assertEquals("/hello/world", prefix("/hello/world"));
+		Assertions.assertEquals("/hello/world", prefix("^/hello/world$"));
+		Assertions.assertEquals("/hello/", prefix("/hello/.*"));
+		Assertions.assertEquals("/hello/", prefix("/hello/w?orld"));
+		Assertions.assertEquals("/hello/w", prefix("/hello/w+orld"));
+		Assertions.assertEquals("/hello/", prefix("/hello/\\w+"));
+		Assertions.assertEquals("", prefix("/hello|/bye"));
+		Assertions.assertEquals("", prefix("(?i)/hello"));
+		Assertions.assertEquals("", new JavaRegexAddressMessageSelector(
+				Pattern.compile("/hello", Pattern.CASE_INSENSITIVE)).getAddressPrefix());
+	}
+}
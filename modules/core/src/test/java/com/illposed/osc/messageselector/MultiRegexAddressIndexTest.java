@@ -0,0 +1,101 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.messageselector;
+
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCMessageEvent;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see MultiRegexAddressIndex
+ */
+public class MultiRegexAddressIndexTest {
+
+	private static String required(final String regex) {
+		return MultiRegexAddressIndex.requiredLiteral(Pattern.compile(regex));
+	}
+
+	@Test
+	public void testRequiredLiteral() {
+
+		Assertions.assertEquals("", required("/hello/world"));
+		Assertions.assertEquals("", required("^/hello/world$"));
+		Assertions.assertEquals("/volume", required(".*/volume"));
+		Assertions.assertEquals("/volume", required("/mixer/\\d+/volume"));
+		Assertions.assertEquals("/fader.", required("/m/[0-9]+/fader\\.\\w"));
+		Assertions.assertEquals("er/", required("/mix?er/[a-z]*"));
+		Assertions.assertEquals("/x", required("/mixer/(chan)[0-9]/x"));
+		Assertions.assertEquals("/b", required("/a{2}/b\\p{Alpha}"));
+		Assertions.assertEquals("/mixer", required("/m/\\d/mixer(?i:x)/volume"));
+		Assertions.assertEquals("", required("/m/\\d/mixer(?i)/volume"));
+		Assertions.assertEquals("/mixer/", required("/m/\\d/mixer/\\x41/volume"));
+		Assertions.assertEquals("", required("/hello|/bye"));
+		Assertions.assertEquals("", MultiRegexAddressIndex.requiredLiteral(
+				Pattern.compile("/hello", Pattern.CASE_INSENSITIVE)));
+	}
+
+	@Test
+	public void testMatchesLikeSelectors() {
+
+		final String[] regexes = {
+			"/mixer/1/volume", "^/mixer/1/volume", "/mixer/\\d+/volume", ".*/volume",
+			"/mixer/.*", "/mixer/[12]/(volume|pan)", "/mix?er/1/volume", "(?i)/MIXER/1/VOLUME",
+			"/lights/.*", "/(\\w+)/\\1", "", ".*", "/mixer/1/volume/?"
+		};
+		final String[] addresses = {
+			"/mixer/1/volume", "/mixer/2/pan", "/mixer/10/volume", "/mier/1/volume",
+			"/lights/1", "/a/a", "/a/b", "/mixer/1/volume/", "/MIXER/1/VOLUME", "/mïxer/1/volume"
+		};
+		final MultiRegexAddressIndex index = new MultiRegexAddressIndex();
+		final List<JavaRegexAddressMessageSelector> selectors = new ArrayList<>();
+		for (final String regex : regexes) {
+			// twice each, to cover selectors sharing a regular expression
+			for (int si = 0; si < 2; si++) {
+				final JavaRegexAddressMessageSelector selector
+						= new JavaRegexAddressMessageSelector(regex);
+				Assertions.assertTrue(index.add(selector, selectors.size()));
+				selectors.add(selector);
+			}
+		}
+		Assertions.assertEquals(selectors.size(), index.size());
+
+		final MultiRegexAddressIndex.Matches matches = new MultiRegexAddressIndex.Matches();
+		for (final String address : addresses) {
+			final OSCMessageEvent event = new OSCMessageEvent(this, null, new OSCMessage(address));
+			// reused, like the dispatcher does
+			matches.clear();
+			index.collectMatches(address, matches);
+			for (int si = 0; si < selectors.size(); si++) {
+				final JavaRegexAddressMessageSelector selector = selectors.get(si);
+				Assertions.assertEquals(selector.matches(event), matches.getIndices().get(si),
+						selector.getPattern() + " ~ " + address);
+			}
+		}
+	}
+
+	@Test
+	public void testOnlyPlainRegexSelectors() {
+
+		final MultiRegexAddressIndex index = new MultiRegexAddressIndex();
+		final JavaRegexAddressMessageSelector subClassed
+				= new JavaRegexAddressMessageSelector("/hello") {};
+		final OSCPatternAddressMessageSelector pattern
+				= new OSCPatternAddressMessageSelector("/hello");
+		Assertions.assertFalse(index.add(subClassed, 0));
+		Assertions.assertFalse(index.add(pattern, 1));
+		Assertions.assertTrue(index.isEmpty());
+
+		Assertions.assertTrue(index.add(new JavaRegexAddressMessageSelector("/hello"), 2));
+		Assertions.assertEquals(1, index.size());
+		final MultiRegexAddressIndex.Matches matches = new MultiRegexAddressIndex.Matches();
+		index.collectMatches("/hello", matches);
+		Assertions.assertEquals(BitSet.valueOf(new long[] {0b100}), matches.getIndices());
+	}
+}
@@ -463,4 +463,25 @@ public class OSCPatternAddressMessageSelectorTest {
 		Assertions.assertTrue( matches(matcher, "/my/few/cents/hello/thats/two/or/three/no/two/cents/too"));
 		Assertions.assertFalse(matches(matcher, "/my/few/cents/hello/thats/two/or/three/no/two/bad/cents/too"));
 	}
+
+	@Test
+	public void testAddressPrefix() {
+
+		Assertions.assertEquals("/hello/world",
+				new OSCPatternAddressMessageSelector("/hello/world").getAddressPrefix());
+		Assertions.assertEquals("/hello",
+				new OSCPatternAddressMessageSelector("/hello/").getAddressPrefix());
+		Assertions.assertEquals("/hello/w",
+				new OSCPatternAddressMessageSelector("/hello/w?rld").getAddressPrefix());
+		Assertions.assertEquals("/hello",
+				new OSCPatternAddressMessageSelector("/hello/*").getAddressPrefix());
+		Assertions.assertEquals("/my",
+				new OSCPatternAddressMessageSelector("/my//hello").getAddressPrefix());
+		Assertions.assertEquals("",
+				new OSCPatternAddressMessageSelector("//hello").getAddressPrefix());
+		Assertions.assertEquals("",
+				new OSCPatternAddressMessageSelector("hello/world").getAddressPrefix());
+		Assertions.assertEquals("",
+				new OSCPatternAddressMessageSelector("/{hello,bye}").getAddressPrefix());
+	}
 }
@@ -0,0 +1,74 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.messageselector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see TypeTagsAutomaton
+ */
+public class TypeTagsAutomatonTest {
+
+	private static final String ALPHABET = "ifs[]Ä";
+
+	private static List<String> allStrings(final int maxLength) {
+
+		final List<String> strings = new ArrayList<>();
+		strings.add("");
+		int start = 0;
+		for (int length = 1; length <= maxLength; length++) {
+			final int end = strings.size();
+			for (int si = start; si < end; si++) {
+				for (int ci = 0; ci < ALPHABET.length(); ci++) {
+					strings.add(strings.get(si) + ALPHABET.charAt(ci));
+				}
+			}
+			start = end;
+		}
+		return strings;
+	}
+
+	@Test
+	public void testMatchesLikeStringMatcher() {
+
+		final String[] patterns = {
+			"", "i", "if", "?", "??", "*", "**", "i*", "*i", "*i*", "i*f", "*[if]",
+			"[if]", "[!if]", "[a-j]", "[j-a]", "[a-cf-i]", "[!a-h]*", "?*f", "i?*?f",
+			"{i,f}", "{ii,if,ff}", "i{f,s}", "*{s,f}", "*{is,fs}", "[if]{f,s}", "\\[i\\]"
+		};
+		final List<String> strings = allStrings(4);
+		for (final String pattern : patterns) {
+			final TypeTagsAutomaton automaton = TypeTagsAutomaton.compile(pattern);
+			Assertions.assertNotNull(automaton, pattern);
+			for (final String str : strings) {
+				final boolean expected;
+				try {
+					expected = OSCPatternAddressMessageSelector.matches(str, pattern);
+				} catch (final StringIndexOutOfBoundsException ex) {
+					// the string matcher fails on some alternatives, where we say "no"
+					Assertions.assertFalse(automaton.matches(str), pattern + " ~ " + str);
+					continue;
+				}
+				Assertions.assertEquals(expected, automaton.matches(str), pattern + " ~ " + str);
+			}
+		}
+	}
+
+	@Test
+	public void testUnsupported() {
+
+		final String[] patterns = {
+			"{i,f}f", "{i,}", "i{f,ff}", "{i*,f}", "[]", "[a-]", "[-a]", "[!", "[if", "]", "i,f", "Ä", "*Ä?",
+			String.join("", Collections.nCopies(Long.SIZE, "i"))
+		};
+		for (final String pattern : patterns) {
+			Assertions.assertNull(TypeTagsAutomaton.compile(pattern), pattern);
+		}
+	}
+}
@@ -0,0 +1,201 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.metrics;
+
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCParser;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.SimpleOSCMessageListener;
+import com.illposed.osc.messageselector.OSCPatternAddressMessageSelector;
+import com.illposed.osc.transport.OSCPortIn;
+import com.illposed.osc.transport.OSCPortInBuilder;
+import com.illposed.osc.transport.OSCPortOut;
+import com.illposed.osc.transport.OSCPortOutBuilder;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see OSCMetrics
+ * @see LatencyHistogram
+ */
+public class OSCMetricsTest {
+
+	private static final int WAIT_FOR_RECEIVE_MS = 1000;
+
+	@Test
+	public void testHistogram() {
+
+		final LatencyHistogram histogram = new LatencyHistogram();
+		Assertions.assertEquals(0, histogram.getValueAtPercentile(99.0));
+		for (int vi = 1; vi <= 100; vi++) {
+			histogram.record(vi);
+		}
+		histogram.record(-5);
+		Assertions.assertEquals(101, histogram.getCount());
+		Assertions.assertEquals(100, histogram.getMax());
+		Assertions.assertEquals(5050.0 / 101, histogram.getMean(), 0.0001);
+		// percentiles are upper bounds, accurate to a factor of two
+		final long p50 = histogram.getValueAtPercentile(50.0);
+		Assertions.assertTrue((p50 >= 50) && (p50 < 100), "p50 is " + p50);
+		Assertions.assertEquals(100, histogram.getValueAtPercentile(100.0));
+
+		histogram.reset();
+		Assertions.assertEquals(0, histogram.getCount());
+		Assertions.assertEquals(0, histogram.getMax());
+	}
+
+	@Test
+	public void testDisabledRecordsNothing() {
+
+		final OSCMetrics metrics = OSCMetrics.DISABLED;
+		Assertions.assertFalse(metrics.isEnabled());
+		Assertions.assertEquals(0, metrics.startTimer());
+		metrics.packetReceived(100);
+		metrics.packetDispatched(0);
+		Assertions.assertEquals(0, metrics.getPacketsReceived());
+		Assertions.assertEquals(0, metrics.getDispatchTimeCount());
+		Assertions.assertThrows(IllegalStateException.class,
+				() -> OSCMetricsRegistration.register(metrics,
+						OSCMetricsRegistration.createObjectName("Test", "disabled")));
+	}
+
+	@Test
+	public void testUnknownTypeTagsAreCounted() throws Exception {
+
+		final OSCMetrics metrics = new OSCMetrics();
+		final OSCParser parser = new OSCSerializerAndParserBuilder().buildParser();
+		parser.setMetrics(metrics);
+		// "/a" with the unknown type tag 'x'
+		final byte[] bytes = {'/', 'a', 0, 0, ',', 'x', 0, 0};
+		Assertions.assertNull(parser.convert(ByteBuffer.wrap(bytes)));
+		Assertions.assertEquals(1, metrics.getUnknownTypeTags());
+	}
+
+	@Test
+	public void testJmxRegistration() throws Exception {
+
+		final OSCMetrics metrics = new OSCMetrics();
+		final ObjectName name = OSCMetricsRegistration.createObjectName("Test", "registration");
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		final OSCMetricsRegistration registration = OSCMetricsRegistration.register(metrics, name);
+		try {
+			metrics.packetReceived(12);
+			Assertions.assertEquals(1L, server.getAttribute(name, "PacketsReceived"));
+			Assertions.assertEquals(12L, server.getAttribute(name, "BytesReceived"));
+			server.invoke(name, "reset", null, null);
+			Assertions.assertEquals(0L, server.getAttribute(name, "PacketsReceived"));
+		} finally {
+			registration.unregister();
+		}
+		Assertions.assertFalse(server.isRegistered(name));
+		Assertions.assertFalse(registration.isRegistered());
+		// unregistering twice does nothing
+		registration.unregister();
+	}
+
+	@Test
+	public void testPortsReportTraffic() throws Exception {
+
+		final SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 40021);
+		final OSCPortIn receiver = new OSCPortInBuilder()
+				.setLocalSocketAddress(address)
+				.build();
+		final OSCPortOut sender = new OSCPortOutBuilder()
+				.setRemoteSocketAddress(address)
+				.build();
+		final SimpleOSCMessageListener listener = new SimpleOSCMessageListener();
+		receiver.getDispatcher().addListener(
+				new OSCPatternAddressMessageSelector("/metrics"), listener);
+		final OSCMetrics inMetrics = receiver.enableMetrics();
+		final OSCMetrics outMetrics = new OSCMetrics();
+		sender.setMetrics(outMetrics);
+		final ObjectName name = receiver.getMetricsRegistration().getName();
+		try {
+			Assertions.assertNotNull(name);
+			Assertions.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+			receiver.startListening();
+			sender.send(new OSCMessage("/metrics", Collections.singletonList(1)));
+			final long deadline = System.currentTimeMillis() + WAIT_FOR_RECEIVE_MS;
+			while ((inMetrics.getDispatchTimeCount() == 0)
+					&& (System.currentTimeMillis() < deadline))
+			{
+				Thread.sleep(10);
+			}
+		} finally {
+			receiver.close();
+			sender.close();
+		}
+
+		Assertions.assertTrue(listener.isMessageReceived());
+		Assertions.assertEquals(1, outMetrics.getPacketsSent());
+		Assertions.assertEquals(20, outMetrics.getBytesSent());
+		Assertions.assertEquals(1, inMetrics.getPacketsReceived());
+		Assertions.assertEquals(20, inMetrics.getBytesReceived());
+		Assertions.assertEquals(1, inMetrics.getMessagesDispatched());
+		Assertions.assertEquals(1, inMetrics.getDispatchTimeCount());
+		Assertions.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+	}
+
+	@Test
+	public void testPortOnlyUnregistersItsOwnMetrics() throws Exception {
+
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		final SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 40022);
+		final OSCMetrics shared = new OSCMetrics();
+		final OSCMetricsRegistration sharedRegistration = OSCMetricsRegistration.register(shared,
+				OSCMetricsRegistration.createObjectName("Test", "shared"));
+		final OSCPortOut sender = new OSCPortOutBuilder()
+				.setRemoteSocketAddress(address)
+				.build();
+		try {
+			sender.setMetrics(shared);
+			sender.close();
+			// these are managed by the user
+			Assertions.assertTrue(server.isRegistered(sharedRegistration.getName()));
+			Assertions.assertNull(sender.getMetricsRegistration());
+		} finally {
+			sharedRegistration.unregister();
+		}
+	}
+
+	@Test
+	public void testReplacedPortMetricsGetUnregistered() throws Exception {
+
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		final SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 40023);
+		final OSCPortOut sender = new OSCPortOutBuilder()
+				.setRemoteSocketAddress(address)
+				.build();
+		try {
+			sender.enableMetrics();
+			final ObjectName first = sender.getMetricsRegistration().getName();
+			Assertions.assertTrue(server.isRegistered(first));
+
+			sender.setMetrics(sender.getMetrics());
+			Assertions.assertTrue(server.isRegistered(first));
+			sender.setMetrics(new OSCMetrics());
+			Assertions.assertFalse(server.isRegistered(first));
+			Assertions.assertNull(sender.getMetricsRegistration());
+
+			final OSCMetrics second = sender.enableMetrics();
+			// replacing them with their own kind works too
+			sender.enableMetrics();
+			Assertions.assertNotSame(second, sender.getMetrics());
+			Assertions.assertTrue(server.isRegistered(sender.getMetricsRegistration().getName()));
+		} finally {
+			sender.close();
+		}
+		Assertions.assertTrue(server.queryNames(new ObjectName(
+				OSCMetricsRegistration.JMX_DOMAIN + ":type=OSCPortOut,*"), null).isEmpty());
+	}
+}
@@ -0,0 +1,71 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.routing;
+
+import com.illposed.osc.OSCAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see AddressInterner
+ */
+public class AddressInternerTest {
+
+	private static ByteBuffer raw(final String prefix, final String address) {
+		return ByteBuffer.wrap((prefix + address + '\0').getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testLookupAndAdd() {
+
+		final AddressInterner interner = new AddressInterner();
+		final OSCAddress address = OSCAddress.valueOf("/mixer/channel/3/volume");
+		final int length = address.toString().length();
+		final ByteBuffer first = raw("", address.toString());
+		Assertions.assertNull(interner.lookup(first, 0, length));
+		interner.add(first, 0, length, address);
+
+		// same bytes at a different offset, in a different buffer
+		final ByteBuffer second = raw("####", address.toString());
+		Assertions.assertSame(address, interner.lookup(second, 4, length));
+		// a prefix of the address
+		Assertions.assertNull(interner.lookup(second, 4, length - 1));
+		// same length, different content
+		Assertions.assertNull(interner.lookup(raw("", "/mixer/channel/4/volume"), 0, length));
+
+		Assertions.assertEquals(1, interner.getHits());
+		Assertions.assertEquals(3, interner.getMisses());
+		Assertions.assertEquals(1, interner.size());
+
+		interner.clear();
+		Assertions.assertEquals(0, interner.size());
+		Assertions.assertEquals(0, interner.getHits());
+		Assertions.assertNull(interner.lookup(first, 0, length));
+	}
+
+	@Test
+	public void testBounded() {
+
+		final AddressInterner interner = new AddressInterner(16, 8);
+		Assertions.assertEquals(16, interner.getCapacity());
+		for (int ai = 0; ai < 1000; ai++) {
+			final String address = "/" + ai;
+			interner.add(raw("", address), 0, address.length(), OSCAddress.valueOf(address));
+		}
+		Assertions.assertTrue(interner.size() <= 16);
+
+		final OSCAddress tooLong = OSCAddress.valueOf("/too/long");
+		final ByteBuffer tooLongRaw = raw("", tooLong.toString());
+		interner.add(tooLongRaw, 0, 9, tooLong);
+		Assertions.assertNull(interner.lookup(tooLongRaw, 0, 9));
+	}
+
+	@Test
+	public void testInvalidCapacity() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new AddressInterner(0, 8));
+	}
+}
@@ -0,0 +1,173 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.routing;
+
+import com.illposed.osc.BufferBytesReceiver;
+import com.illposed.osc.OSCBundle;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCParseException;
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see AddressPrefixTrie
+ * @see RawOSCPacket
+ */
+public class AddressPrefixTrieTest {
+
+	private static List<String> collect(final AddressPrefixTrie<String> trie, final String address) {
+
+		final byte[] addressBytes = address.getBytes(StandardCharsets.UTF_8);
+		final List<String> matches = new ArrayList<>();
+		trie.collectMatches(ByteBuffer.wrap(addressBytes), 0, addressBytes.length, matches);
+		return matches;
+	}
+
+	private static ByteBuffer serialize(final OSCPacket packet) throws Exception {
+
+		final ByteBuffer buffer = ByteBuffer.allocate(1024);
+		new OSCSerializerAndParserBuilder().buildSerializer(new BufferBytesReceiver(buffer))
+				.write(packet);
+		buffer.flip();
+		return buffer;
+	}
+
+	private static List<String> addresses(final ByteBuffer raw) throws OSCParseException {
+
+		final List<String> addresses = new ArrayList<>();
+		RawOSCPacket.visitAddresses(raw, raw.position(), raw.remaining(), (data, offset, length) -> {
+			final byte[] addressBytes = new byte[length];
+			for (int bi = 0; bi < length; bi++) {
+				addressBytes[bi] = data.get(offset + bi);
+			}
+			addresses.add(new String(addressBytes, StandardCharsets.UTF_8));
+			return false;
+		});
+		return addresses;
+	}
+
+	@Test
+	public void testEmpty() {
+
+		final AddressPrefixTrie<String> trie = new AddressPrefixTrie<>();
+		Assertions.assertTrue(trie.isEmpty());
+		Assertions.assertFalse(trie.matchesAny("/anything"));
+		Assertions.assertEquals(Collections.emptyList(), collect(trie, "/anything"));
+	}
+
+	@Test
+	public void testMatchesFromShortestToLongest() {
+
+		final AddressPrefixTrie<String> trie = new AddressPrefixTrie<>();
+		trie.put("/synth/", "synth");
+		trie.put("/synth/1/", "synth1");
+		trie.put("/lights/", "lights");
+		trie.put("", "all");
+		Assertions.assertEquals(4, trie.size());
+
+		Assertions.assertEquals(
+				Arrays.asList("all", "synth", "synth1"),
+				collect(trie, "/synth/1/freq"));
+		Assertions.assertEquals(
+				Arrays.asList("all", "synth"),
+				collect(trie, "/synth/2/freq"));
+		Assertions.assertEquals(
+				Collections.singletonList("all"),
+				collect(trie, "/mixer/fader"));
+	}
+
+	@Test
+	public void testMatchesString() {
+
+		final AddressPrefixTrie<String> trie = new AddressPrefixTrie<>();
+		trie.put("/synth/", "synth");
+		trie.put("/synth/ä", "synth-ä");
+		trie.put("/lights/", "lights");
+		for (final String address : Arrays.asList("/synth/1", "/synth/ä/1", "/lights", "/ä")) {
+			final List<String> matches = new ArrayList<>();
+			trie.collectMatches(address, matches);
+			Assertions.assertEquals(collect(trie, address), matches, address);
+		}
+	}
+
+	@Test
+	public void testMatchesAny() {
+
+		final AddressPrefixTrie<String> trie = new AddressPrefixTrie<>();
+		trie.put("/synth", "synth");
+		trie.put("/synth", "synth-again");
+		Assertions.assertTrue(trie.matchesAny("/synth"));
+		Assertions.assertTrue(trie.matchesAny("/synthesizer"));
+		Assertions.assertFalse(trie.matchesAny("/syn"));
+		Assertions.assertFalse(trie.matchesAny("/lights"));
+		Assertions.assertEquals(
+				Arrays.asList("synth", "synth-again"),
+				collect(trie, "/synth/1"));
+	}
+
+	@Test
+	public void testMatchesAtOffset() {
+
+		final AddressPrefixTrie<String> trie = new AddressPrefixTrie<>();
+		trie.put("/a/", "a");
+		final ByteBuffer data = ByteBuffer.wrap("xx/a/b".getBytes(StandardCharsets.UTF_8));
+		Assertions.assertTrue(trie.matchesAny(data, 2, 4));
+		Assertions.assertFalse(trie.matchesAny(data, 0, 6));
+	}
+
+	@Test
+	public void testVisitMessageAddress() throws Exception {
+
+		final ByteBuffer raw = serialize(new OSCMessage("/synth/1", Collections.singletonList(1)));
+		Assertions.assertFalse(RawOSCPacket.isBundle(raw, 0, raw.remaining()));
+		Assertions.assertEquals(Collections.singletonList("/synth/1"), addresses(raw));
+		Assertions.assertEquals(0, raw.position());
+	}
+
+	@Test
+	public void testVisitNestedBundleAddresses() throws Exception {
+
+		final OSCBundle inner = new OSCBundle();
+		inner.addPacket(new OSCMessage("/inner/1"));
+		inner.addPacket(new OSCMessage("/inner/2", Collections.singletonList("arg")));
+		final OSCBundle outer = new OSCBundle();
+		outer.addPacket(new OSCMessage("/outer/1", Collections.singletonList(1.0f)));
+		outer.addPacket(inner);
+		outer.addPacket(new OSCMessage("/outer/2"));
+
+		final ByteBuffer raw = serialize(outer);
+		Assertions.assertTrue(RawOSCPacket.isBundle(raw, 0, raw.remaining()));
+		Assertions.assertEquals(
+				Arrays.asList("/outer/1", "/inner/1", "/inner/2", "/outer/2"),
+				addresses(raw));
+	}
+
+	@Test
+	public void testVisitMalformedBundle() throws Exception {
+
+		final OSCBundle bundle = new OSCBundle();
+		bundle.addPacket(new OSCMessage("/a"));
+		final ByteBuffer raw = serialize(bundle);
+		raw.putInt(RawOSCPacket.BUNDLE_HEADER_BYTES, 1000);
+		Assertions.assertThrows(OSCParseException.class, () -> addresses(raw));
+	}
+
+	@Test
+	public void testAlignedStringSize() {
+
+		Assertions.assertEquals(4, RawOSCPacket.alignedStringSize(0));
+		Assertions.assertEquals(4, RawOSCPacket.alignedStringSize(3));
+		Assertions.assertEquals(8, RawOSCPacket.alignedStringSize(4));
+		Assertions.assertEquals(8, RawOSCPacket.alignedStringSize(7));
+	}
+}
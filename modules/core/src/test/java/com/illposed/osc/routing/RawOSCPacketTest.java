@@ -0,0 +1,115 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.routing;
+
+import com.illposed.osc.BufferBytesReceiver;
+import com.illposed.osc.OSCBundle;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCParseException;
+import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see RawOSCPacket
+ */
+public class RawOSCPacketTest {
+
+	private static ByteBuffer serialize(final OSCPacket packet) throws OSCSerializeException {
+
+		final ByteBuffer buffer = ByteBuffer.allocate(1024);
+		new OSCSerializerAndParserBuilder().buildSerializer(new BufferBytesReceiver(buffer))
+				.write(packet);
+		buffer.flip();
+		return buffer;
+	}
+
+	private static List<String> addresses(final ByteBuffer data, final String stopAt)
+			throws OSCParseException
+	{
+		final List<String> addresses = new ArrayList<>();
+		RawOSCPacket.visitAddresses(data, data.position(), data.remaining(),
+				(addressData, offset, length) -> {
+					final byte[] addressBytes = new byte[length];
+					addressData.get(offset, addressBytes);
+					final String address = new String(addressBytes, StandardCharsets.UTF_8);
+					addresses.add(address);
+					return address.equals(stopAt);
+				});
+		return addresses;
+	}
+
+	@Test
+	public void testIsBundle() throws OSCSerializeException {
+
+		final ByteBuffer bundle = serialize(new OSCBundle());
+		Assertions.assertTrue(RawOSCPacket.isBundle(bundle, 0, bundle.limit()));
+		Assertions.assertFalse(RawOSCPacket.isBundle(bundle, 0, 7));
+		final ByteBuffer message = serialize(new OSCMessage("/bundle"));
+		Assertions.assertFalse(RawOSCPacket.isBundle(message, 0, message.limit()));
+	}
+
+	@Test
+	public void testAlignedStringSize() {
+
+		Assertions.assertEquals(4, RawOSCPacket.alignedStringSize(0));
+		Assertions.assertEquals(4, RawOSCPacket.alignedStringSize(3));
+		Assertions.assertEquals(8, RawOSCPacket.alignedStringSize(4));
+		Assertions.assertEquals(8, RawOSCPacket.alignedStringSize(7));
+	}
+
+	@Test
+	public void testAddressLength() throws Exception {
+
+		final ByteBuffer message = serialize(new OSCMessage("/abc/d", Collections.singletonList(1)));
+		Assertions.assertEquals(6, RawOSCPacket.addressLength(message, 0, message.limit()));
+		Assertions.assertThrows(OSCParseException.class,
+				() -> RawOSCPacket.addressLength(message, 0, 6));
+	}
+
+	@Test
+	public void testVisitNestedBundles() throws Exception {
+
+		final OSCBundle inner = new OSCBundle(Arrays.asList(
+				new OSCMessage("/b/c", Collections.singletonList(2)),
+				new OSCMessage("/d")));
+		final OSCBundle outer = new OSCBundle(Arrays.asList(
+				new OSCMessage("/a", Collections.singletonList("x")),
+				inner,
+				new OSCMessage("/e")));
+		final ByteBuffer data = serialize(outer);
+
+		Assertions.assertEquals(Arrays.asList("/a", "/b/c", "/d", "/e"), addresses(data, null));
+		Assertions.assertEquals(Arrays.asList("/a", "/b/c"), addresses(data, "/b/c"));
+		Assertions.assertEquals(0, data.position());
+	}
+
+	@Test
+	public void testInvalidBundleElementSize() throws Exception {
+
+		final ByteBuffer data = serialize(new OSCBundle(Collections.singletonList(new OSCMessage("/a"))));
+		final int sizeIndex = RawOSCPacket.BUNDLE_HEADER_BYTES;
+		final int size = data.getInt(sizeIndex);
+
+		data.putInt(sizeIndex, size + 4);
+		Assertions.assertThrows(OSCParseException.class, () -> addresses(data, null));
+		data.putInt(sizeIndex, 0);
+		Assertions.assertThrows(OSCParseException.class, () -> addresses(data, null));
+		data.putInt(sizeIndex, size);
+		Assertions.assertEquals(Collections.singletonList("/a"), addresses(data, null));
+
+		// a size field cut short
+		data.limit(sizeIndex + 2);
+		Assertions.assertThrows(OSCParseException.class, () -> addresses(data, null));
+	}
+}
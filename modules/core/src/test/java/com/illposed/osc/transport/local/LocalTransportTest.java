@@ -0,0 +1,202 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.transport.local;
+
+import com.illposed.osc.OSCBundle;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.SimpleOSCMessageListener;
+import com.illposed.osc.messageselector.OSCPatternAddressMessageSelector;
+import com.illposed.osc.transport.NetworkProtocol;
+import com.illposed.osc.transport.OSCPortIn;
+import com.illposed.osc.transport.OSCPortInBuilder;
+import com.illposed.osc.transport.OSCPortOut;
+import com.illposed.osc.transport.OSCPortOutBuilder;
+import java.io.IOException;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see LocalTransport
+ */
+public class LocalTransportTest {
+
+	private static final int WAIT_FOR_RECEIVE_MS = 1000;
+
+	private static void waitForMessage(final SimpleOSCMessageListener listener)
+			throws InterruptedException
+	{
+		final long deadline = System.currentTimeMillis() + WAIT_FOR_RECEIVE_MS;
+		while (!listener.isMessageReceived() && (System.currentTimeMillis() < deadline)) {
+			Thread.sleep(10);
+		}
+		Assertions.assertTrue(listener.isMessageReceived(), "Message was not received");
+	}
+
+	@Test
+	public void testPacketObjectIsHandedOver() throws Exception {
+
+		final SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 40001);
+		final LocalTransport receiver = new LocalTransport(address, null);
+		final LocalTransport sender = new LocalTransport(new InetSocketAddress(0), address);
+		try {
+			final OSCMessage message = new OSCMessage("/local", Collections.singletonList(42));
+			sender.send(message);
+			Assertions.assertSame(message, receiver.receive());
+		} finally {
+			receiver.close();
+			sender.close();
+		}
+	}
+
+	@Test
+	public void testSerializedPacketIsParsed() throws Exception {
+
+		final SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 40002);
+		final LocalTransport receiver = new LocalTransport(address, null);
+		final LocalTransport sender = new LocalTransport(
+				new InetSocketAddress(0),
+				address,
+				new OSCSerializerAndParserBuilder(),
+				true);
+		try {
+			final OSCMessage message = new OSCMessage("/local", Arrays.asList(42, "hello", 1.5f));
+			sender.send(message);
+			final OSCPacket received = receiver.receive();
+			Assertions.assertNotSame(message, received);
+			Assertions.assertEquals(message.getAddress(), ((OSCMessage) received).getAddress());
+			Assertions.assertEquals(message.getArguments(), ((OSCMessage) received).getArguments());
+		} finally {
+			receiver.close();
+			sender.close();
+		}
+	}
+
+	@Test
+	public void testWildcardReceiverIsReachable() throws Exception {
+
+		final LocalTransport receiver = new LocalTransport(new InetSocketAddress(40003), null);
+		final LocalTransport sender = new LocalTransport(
+				new InetSocketAddress(0),
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 40003));
+		try {
+			final OSCBundle bundle = new OSCBundle();
+			sender.send(bundle);
+			Assertions.assertSame(bundle, receiver.receive());
+		} finally {
+			receiver.close();
+			sender.close();
+		}
+	}
+
+	@Test
+	public void testUnresolvedRemote() throws Exception {
+
+		final InetSocketAddress unresolved = InetSocketAddress.createUnresolved("osc.invalid", 40007);
+		final LocalTransport sender = new LocalTransport(new InetSocketAddress(0), unresolved);
+		try {
+			final IOException ex = Assertions.assertThrows(IOException.class,
+					() -> sender.send(new OSCBundle()));
+			Assertions.assertTrue(ex.getMessage().contains("osc.invalid"), ex.getMessage());
+
+			// it is found when bound exactly like this though
+			final LocalTransport receiver = new LocalTransport(unresolved, null);
+			try {
+				final OSCBundle bundle = new OSCBundle();
+				sender.send(bundle);
+				Assertions.assertSame(bundle, receiver.receive());
+			} finally {
+				receiver.close();
+			}
+		} finally {
+			sender.close();
+		}
+	}
+
+	@Test
+	public void testDoubleBindFails() throws Exception {
+
+		final SocketAddress address = new InetSocketAddress(40004);
+		final LocalTransport first = new LocalTransport(address, null);
+		try {
+			Assertions.assertThrows(BindException.class, () -> new LocalTransport(address, null));
+		} finally {
+			first.close();
+		}
+		// after closing, the address is free again
+		new LocalTransport(address, null).close();
+	}
+
+	@Test
+	public void testCloseUnblocksReceiver() throws Exception {
+
+		final LocalTransport receiver = new LocalTransport(new InetSocketAddress(40005), null);
+		final Exception[] result = new Exception[1];
+		final Thread receiveThread = new Thread(() -> {
+			try {
+				receiver.receive();
+			} catch (final Exception ex) {
+				result[0] = ex;
+			}
+		});
+		receiveThread.start();
+		receiver.close();
+		receiveThread.join(WAIT_FOR_RECEIVE_MS);
+		Assertions.assertFalse(receiveThread.isAlive());
+		Assertions.assertTrue(result[0] instanceof IOException);
+	}
+
+	private void testPorts(final boolean serializing) throws Exception {
+
+		final OSCSerializerAndParserBuilder builder = new OSCSerializerAndParserBuilder();
+		final Map<String, Object> properties = new HashMap<>();
+		properties.put(LocalTransport.PROP_NAME_SERIALIZING, serializing);
+		builder.addProperties(properties);
+
+		final OSCPortIn receiver = new OSCPortInBuilder()
+				.setLocalPort(40006)
+				.setNetworkProtocol(NetworkProtocol.LOCAL)
+				.build();
+		final OSCPortOut sender = new OSCPortOutBuilder()
+				.setRemotePort(40006)
+				.setNetworkProtocol(NetworkProtocol.LOCAL)
+				.setSerializerBuilder(builder)
+				.build();
+		try {
+			final SimpleOSCMessageListener listener = new SimpleOSCMessageListener();
+			receiver.getDispatcher().addListener(
+					new OSCPatternAddressMessageSelector("/ports"),
+					listener);
+			receiver.startListening();
+			sender.send(new OSCMessage("/ports"));
+			waitForMessage(listener);
+			Assertions.assertEquals(
+					serializing,
+					((LocalTransport) sender.getTransport()).isSerializing());
+		} finally {
+			receiver.close();
+			sender.close();
+		}
+	}
+
+	@Test
+	public void testPortsObjects() throws Exception {
+		testPorts(false);
+	}
+
+	@Test
+	public void testPortsSerializing() throws Exception {
+		testPorts(true);
+	}
+}
@@ -0,0 +1,100 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.transport.pipeline;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see DatagramRing
+ */
+public class DatagramRingTest {
+
+	private static void publish(final DatagramRing ring, final int content) {
+
+		final int slot = ring.claim();
+		Assertions.assertTrue(slot >= 0, "Ring is unexpectedly full");
+		ring.buffer(slot).clear();
+		ring.buffer(slot).putInt(content).flip();
+		ring.publish(slot);
+	}
+
+	private static int take(final DatagramRing ring) {
+
+		final long position = ring.take();
+		Assertions.assertTrue(position >= 0, "Ring is unexpectedly empty");
+		final int content = ring.buffer(ring.slotIndex(position)).getInt();
+		ring.release(position);
+		return content;
+	}
+
+	@Test
+	public void testInvalidCapacity() {
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new DatagramRing(1, 4, false));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new DatagramRing(6, 4, false));
+	}
+
+	@Test
+	public void testFifo() {
+
+		final DatagramRing ring = new DatagramRing(4, 4, false);
+		Assertions.assertFalse(ring.hasPublished());
+		Assertions.assertEquals(-1, ring.take());
+
+		// go around the ring a few times
+		for (int round = 0; round < 3; round++) {
+			for (int ei = 0; ei < 4; ei++) {
+				publish(ring, (round * 10) + ei);
+			}
+			Assertions.assertFalse(ring.hasFreeSlot());
+			Assertions.assertEquals(-1, ring.claim());
+			Assertions.assertEquals(4, ring.size());
+			for (int ei = 0; ei < 4; ei++) {
+				Assertions.assertEquals((round * 10) + ei, take(ring));
+			}
+			Assertions.assertEquals(0, ring.size());
+		}
+	}
+
+	@Test
+	public void testTakenSlotIsNotReused() {
+
+		final DatagramRing ring = new DatagramRing(2, 4, true);
+		publish(ring, 1);
+		publish(ring, 2);
+		final long position = ring.take();
+		Assertions.assertEquals(-1, ring.claim());
+		ring.release(position);
+		Assertions.assertTrue(ring.hasFreeSlot());
+	}
+
+	@Test
+	public void testDropOldest() {
+
+		final DatagramRing ring = new DatagramRing(2, 4, false);
+		publish(ring, 1);
+		publish(ring, 2);
+		Assertions.assertTrue(ring.dropOldest());
+		publish(ring, 3);
+		Assertions.assertEquals(2, take(ring));
+		Assertions.assertEquals(3, take(ring));
+	}
+
+	@Test
+	public void testDropOldestWhileBeingWorkedOn() {
+
+		final DatagramRing ring = new DatagramRing(2, 4, false);
+		publish(ring, 1);
+		publish(ring, 2);
+		final long position = ring.take();
+		// the slot needed next is in use, so nothing may be dropped
+		Assertions.assertFalse(ring.dropOldest());
+		ring.release(position);
+		publish(ring, 3);
+		Assertions.assertEquals(2, take(ring));
+		Assertions.assertEquals(3, take(ring));
+	}
+}
@@ -0,0 +1,171 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.transport.pipeline;
+
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCMessageEvent;
+import com.illposed.osc.OSCMessageListener;
+import com.illposed.osc.SimpleOSCMessageListener;
+import com.illposed.osc.messageselector.OSCPatternAddressMessageSelector;
+import com.illposed.osc.metrics.OSCMetrics;
+import com.illposed.osc.transport.NetworkProtocol;
+import com.illposed.osc.transport.OSCPortIn;
+import com.illposed.osc.transport.OSCPortInBuilder;
+import com.illposed.osc.transport.OSCPortOut;
+import com.illposed.osc.transport.OSCPortOutBuilder;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see ReceivePipeline
+ * @see WaitStrategies
+ */
+public class ReceivePipelineTest {
+
+	private static final int WAIT_FOR_RECEIVE_MS = 5000;
+	private static final int NUM_MESSAGES = 200;
+
+	private static void waitFor(final BooleanSupplier condition) throws InterruptedException {
+
+		final long deadline = System.currentTimeMillis() + WAIT_FOR_RECEIVE_MS;
+		while (!condition.getAsBoolean() && (System.currentTimeMillis() < deadline)) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static void sendMessages(final int port, final int count) throws Exception {
+
+		final OSCPortOut sender = new OSCPortOutBuilder()
+				.setRemoteSocketAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), port))
+				.build();
+		try {
+			for (int mi = 0; mi < count; mi++) {
+				sender.send(new OSCMessage("/pipeline"));
+			}
+		} finally {
+			sender.close();
+		}
+	}
+
+	private static void receiveAll(final int port, final WaitStrategy waitStrategy, final int workers)
+			throws Exception
+	{
+		final SimpleOSCMessageListener listener = new SimpleOSCMessageListener();
+		final OSCPortIn receiver = new OSCPortInBuilder()
+				.setLocalSocketAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), port))
+				.setReceivePipeline(new ReceivePipelineBuilder()
+						.setSlots(1024)
+						.setSlotSize(256)
+						.setWorkers(workers)
+						.setWaitStrategy(waitStrategy))
+				.build();
+		receiver.getDispatcher().addListener(
+				new OSCPatternAddressMessageSelector("/pipeline"), listener);
+		try {
+			receiver.startListening();
+			sendMessages(port, NUM_MESSAGES);
+			waitFor(() -> listener.getMessageReceivedCount() >= NUM_MESSAGES);
+
+			Assertions.assertEquals(NUM_MESSAGES, listener.getMessageReceivedCount());
+			final ReceivePipeline pipeline = receiver.getReceivePipeline();
+			Assertions.assertTrue(pipeline.isRunning());
+			Assertions.assertEquals(NUM_MESSAGES, pipeline.getPacketsEnqueued());
+			Assertions.assertEquals(0, pipeline.getPacketsDropped());
+			Assertions.assertTrue(pipeline.getMaxQueueDepth() >= 1);
+		} finally {
+			receiver.close();
+		}
+		Assertions.assertFalse(receiver.getReceivePipeline().isRunning());
+		receiver.getReceivePipeline().join(WAIT_FOR_RECEIVE_MS);
+	}
+
+	@Test
+	public void testBlocking() throws Exception {
+		receiveAll(40041, WaitStrategies.blocking(), 1);
+	}
+
+	@Test
+	public void testSleepingWithWorkers() throws Exception {
+		receiveAll(40042, WaitStrategies.sleeping(), 3);
+	}
+
+	@Test
+	public void testYieldingAndBusySpin() throws Exception {
+
+		receiveAll(40043, WaitStrategies.yielding(), 1);
+		receiveAll(40043, WaitStrategies.busySpin(), 1);
+	}
+
+	@Test
+	public void testOverflowDropNewest() throws Exception {
+
+		final int port = 40044;
+		final CountDownLatch release = new CountDownLatch(1);
+		final SimpleOSCMessageListener counter = new SimpleOSCMessageListener();
+		final OSCMessageListener blocker = (final OSCMessageEvent event) -> {
+			counter.acceptMessage(event);
+			try {
+				release.await(WAIT_FOR_RECEIVE_MS, TimeUnit.MILLISECONDS);
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		final OSCPortIn receiver = new OSCPortInBuilder()
+				.setLocalSocketAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), port))
+				.setReceivePipeline(new ReceivePipelineBuilder()
+						.setSlots(4)
+						.setSlotSize(256)
+						.setOverflowPolicy(OverflowPolicy.DROP_NEWEST))
+				.build();
+		receiver.getDispatcher().addListener(
+				new OSCPatternAddressMessageSelector("/pipeline"), blocker);
+		final OSCMetrics metrics = new OSCMetrics();
+		receiver.setMetrics(metrics);
+		try {
+			receiver.startListening();
+			final ReceivePipeline pipeline = receiver.getReceivePipeline();
+			final int numSent = 20;
+			sendMessages(port, numSent);
+			// the worker is stuck on the first message,
+			// which keeps occupying its slot, and three more fit into the ring
+			waitFor(() -> (pipeline.getPacketsEnqueued() + pipeline.getPacketsDropped()) >= numSent);
+			waitFor(() -> counter.getMessageReceivedCount() >= 1);
+
+			Assertions.assertEquals(numSent, pipeline.getPacketsEnqueued() + pipeline.getPacketsDropped());
+			Assertions.assertEquals(4, pipeline.getPacketsEnqueued());
+			Assertions.assertEquals(3, pipeline.getQueueDepth());
+			Assertions.assertTrue(pipeline.getMaxQueueDepth() >= 3);
+			Assertions.assertEquals(pipeline.getPacketsDropped(), metrics.getPacketsDropped());
+
+			release.countDown();
+			waitFor(() -> counter.getMessageReceivedCount() >= 4);
+			Assertions.assertEquals(4, counter.getMessageReceivedCount());
+			Assertions.assertEquals(0, pipeline.getQueueDepth());
+		} finally {
+			receiver.close();
+		}
+	}
+
+	@Test
+	public void testOnlyForUdp() throws Exception {
+
+		final OSCPortIn receiver = new OSCPortInBuilder()
+				.setLocalSocketAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), 40045))
+				.setNetworkProtocol(NetworkProtocol.TCP)
+				.build();
+		try {
+			Assertions.assertThrows(
+					UnsupportedOperationException.class,
+					() -> receiver.setReceivePipeline(new ReceivePipelineBuilder()));
+		} finally {
+			receiver.close();
+		}
+	}
+}
@@ -1,13 +1,17 @@
 package com.illposed.osc.transport.udp;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.BufferOverflowException;
 
+import com.illposed.osc.OSCBundle;
 import com.illposed.osc.OSCMessage;
 import com.illposed.osc.OSCParseException;
 import com.illposed.osc.OSCSerializeException;
+import com.illposed.osc.routing.AddressPrefixTrie;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.opentest4j.AssertionFailedError;
 
@@ -62,4 +66,60 @@ public class UDPTransportTest
 			throw new AssertionFailedError("Can not read in one thread and write in another", result[0]);
 		}
 	}
+
+	@Test
+	void testAddressFilter() throws Exception {
+		final SocketAddress local = new InetSocketAddress(InetAddress.getLoopbackAddress(), 11112);
+		final SocketAddress remote = new InetSocketAddress(InetAddress.getLoopbackAddress(), 22223);
+		final UDPTransport receiver = new UDPTransport(local, remote);
+		final UDPTransport sender = new UDPTransport(remote, local);
+		try {
+			final AddressPrefixTrie<String> prefixes = new AddressPrefixTrie<>();
+			prefixes.put("/keep/", "keep");
+			receiver.setAddressFilter(prefixes);
+
+			sender.send(new OSCMessage("/drop/1"));
+			final OSCBundle mixed = new OSCBundle();
+			mixed.addPacket(new OSCMessage("/drop/2"));
+			mixed.addPacket(new OSCMessage("/keep/1"));
+			sender.send(mixed);
+
+			// the first datagram is discarded completely,
+			// and only the accepted message of the bundle gets parsed
+			final OSCBundle received = (OSCBundle) receiver.receive();
+			Assertions.assertEquals(1, received.getPackets().size());
+			Assertions.assertEquals("/keep/1", ((OSCMessage) received.getPackets().get(0)).getAddress());
+		} finally {
+			receiver.close();
+			sender.close();
+		}
+	}
+
+	@Test
+	void testAddressFilterRemovedWhileReceiving() throws Exception {
+		final SocketAddress local = new InetSocketAddress(InetAddress.getLoopbackAddress(), 11113);
+		final SocketAddress remote = new InetSocketAddress(InetAddress.getLoopbackAddress(), 22224);
+		final UDPTransport receiver = new UDPTransport(local, remote);
+		final UDPTransport sender = new UDPTransport(remote, local);
+		try {
+			// the filter is removed while it is looking at the first datagram,
+			// which is then still filtered as a whole
+			receiver.setAddressFilter((data, offset, length) -> {
+				receiver.setAddressFilter(null);
+				return false;
+			});
+
+			final OSCBundle dropped = new OSCBundle();
+			dropped.addPacket(new OSCMessage("/drop/1"));
+			dropped.addPacket(new OSCMessage("/drop/2"));
+			sender.send(dropped);
+			sender.send(new OSCMessage("/keep/1"));
+
+			final OSCMessage received = (OSCMessage) receiver.receive();
+			Assertions.assertEquals("/keep/1", received.getAddress());
+		} finally {
+			receiver.close();
+			sender.close();
+		}
+	}
 }
@@ -0,0 +1,45 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * A scheduled bundle got dispatched.
+ * The duration covers dispatching all its messages.
+ */
+@Name(BundleFireEvent.NAME)
+@Label("OSC Bundle Fire")
+@Description("A scheduled bundle got dispatched")
+@Category("OSC")
+@StackTrace(false)
+@Threshold("0 ns")
+public final class BundleFireEvent extends Event {
+
+	public static final String NAME = "com.illposed.osc.BundleFire";
+
+	@Label("Lateness")
+	@Description("How long after its time-tag the bundle got dispatched")
+	@Timespan(Timespan.MILLISECONDS)
+	private long lateness;
+
+	@Label("Packets")
+	private int packets;
+
+	public void setLateness(final long lateness) {
+		this.lateness = lateness;
+	}
+
+	public void setPackets(final int packets) {
+		this.packets = packets;
+	}
+}
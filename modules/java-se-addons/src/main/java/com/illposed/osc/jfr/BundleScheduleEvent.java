@@ -0,0 +1,50 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import jdk.jfr.Timestamp;
+
+/**
+ * A bundle with a time-tag in the future got scheduled for dispatching later.
+ */
+@Name(BundleScheduleEvent.NAME)
+@Label("OSC Bundle Schedule")
+@Description("A bundle got scheduled for dispatching at its time-tag")
+@Category("OSC")
+@StackTrace(false)
+public final class BundleScheduleEvent extends Event {
+
+	public static final String NAME = "com.illposed.osc.BundleSchedule";
+
+	@Label("Time-Tag")
+	@Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+	private long timeTag;
+
+	@Label("Delay")
+	@Timespan(Timespan.MILLISECONDS)
+	private long delay;
+
+	@Label("Packets")
+	private int packets;
+
+	public void setTimeTag(final long timeTag) {
+		this.timeTag = timeTag;
+	}
+
+	public void setDelay(final long delay) {
+		this.delay = delay;
+	}
+
+	public void setPackets(final int packets) {
+		this.packets = packets;
+	}
+}
@@ -0,0 +1,52 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A datagram got received and handed on.
+ * The duration covers everything from the datagram having arrived
+ * in the receive buffer up to it being handed on for parsing,
+ * but not the time spent waiting for it to arrive.
+ */
+@Name(DatagramReceiveEvent.NAME)
+@Label("OSC Datagram Receive")
+@Description("A datagram got received and filtered")
+@Category("OSC")
+@Threshold("100 us")
+public final class DatagramReceiveEvent extends Event {
+
+	public static final String NAME = "com.illposed.osc.DatagramReceive";
+
+	@Label("Source")
+	private String source;
+
+	@Label("Size")
+	@DataAmount
+	private int size;
+
+	@Label("Filtered")
+	@Description("Whether the datagram got discarded by the address filter")
+	private boolean filtered;
+
+	public void setSource(final String source) {
+		this.source = source;
+	}
+
+	public void setSize(final int size) {
+		this.size = size;
+	}
+
+	public void setFiltered(final boolean filtered) {
+		this.filtered = filtered;
+	}
+}
@@ -0,0 +1,199 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.jfr;
+
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.tracing.OSCTracer;
+import com.illposed.osc.tracing.OSCTracing;
+import java.net.SocketAddress;
+import jdk.jfr.EventType;
+
+/**
+ * Emits the Java Flight Recorder events of this package.
+ * No event object is created while its type is not enabled
+ * in any running recording.
+ *
+ * Example:
+ * <blockquote><pre>{@code
+ * JfrTracer.install();
+ * }</pre></blockquote>
+ */
+public final class JfrTracer implements OSCTracer {
+
+	private static final EventType PARSE = EventType.getEventType(ParseEvent.class);
+	private static final EventType SERIALIZE = EventType.getEventType(SerializeEvent.class);
+	private static final EventType RECEIVE = EventType.getEventType(DatagramReceiveEvent.class);
+	private static final EventType SEND = EventType.getEventType(SendEvent.class);
+	private static final EventType LISTENER = EventType.getEventType(MessageListenerEvent.class);
+	private static final EventType BUNDLE_SCHEDULE
+			= EventType.getEventType(BundleScheduleEvent.class);
+	private static final EventType BUNDLE_FIRE = EventType.getEventType(BundleFireEvent.class);
+
+	/**
+	 * Makes this library emit Flight Recorder events.
+	 * @see OSCTracing#setTracer(OSCTracer)
+	 */
+	public static void install() {
+		OSCTracing.setTracer(new JfrTracer());
+	}
+
+	@Override
+	public Object parseStarted() {
+
+		if (!PARSE.isEnabled()) {
+			return null;
+		}
+		final ParseEvent event = new ParseEvent();
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public void parseFinished(final Object token, final OSCPacket packet, final int size) {
+
+		final ParseEvent event = (ParseEvent) token;
+		event.end();
+		if (event.shouldCommit()) {
+			event.setPacket(packet);
+			event.setSize(size);
+			event.commit();
+		}
+	}
+
+	@Override
+	public Object serializeStarted() {
+
+		if (!SERIALIZE.isEnabled()) {
+			return null;
+		}
+		final SerializeEvent event = new SerializeEvent();
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public void serializeFinished(final Object token, final OSCPacket packet, final int size) {
+
+		final SerializeEvent event = (SerializeEvent) token;
+		event.end();
+		if (event.shouldCommit()) {
+			event.setPacket(packet);
+			event.setSize(size);
+			event.commit();
+		}
+	}
+
+	@Override
+	public Object receiveStarted() {
+
+		if (!RECEIVE.isEnabled()) {
+			return null;
+		}
+		final DatagramReceiveEvent event = new DatagramReceiveEvent();
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public void receiveFinished(
+			final Object token,
+			final SocketAddress source,
+			final int size,
+			final boolean filtered)
+	{
+		final DatagramReceiveEvent event = (DatagramReceiveEvent) token;
+		event.end();
+		if (event.shouldCommit()) {
+			event.setSource(String.valueOf(source));
+			event.setSize(size);
+			event.setFiltered(filtered);
+			event.commit();
+		}
+	}
+
+	@Override
+	public Object sendStarted() {
+
+		if (!SEND.isEnabled()) {
+			return null;
+		}
+		final SendEvent event = new SendEvent();
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public void sendFinished(final Object token, final SocketAddress destination, final int size) {
+
+		final SendEvent event = (SendEvent) token;
+		event.end();
+		if (event.shouldCommit()) {
+			event.setDestination(String.valueOf(destination));
+			event.setSize(size);
+			event.commit();
+		}
+	}
+
+	@Override
+	public Object listenerStarted() {
+
+		if (!LISTENER.isEnabled()) {
+			return null;
+		}
+		final MessageListenerEvent event = new MessageListenerEvent();
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public void listenerFinished(final Object token, final String address, final Class<?> listener) {
+
+		final MessageListenerEvent event = (MessageListenerEvent) token;
+		event.end();
+		if (event.shouldCommit()) {
+			event.setAddress(address);
+			event.setListener(listener);
+			event.commit();
+		}
+	}
+
+	@Override
+	public void bundleScheduled(final long timeTag, final long delay, final int packets) {
+
+		if (!BUNDLE_SCHEDULE.isEnabled()) {
+			return;
+		}
+		final BundleScheduleEvent event = new BundleScheduleEvent();
+		if (event.shouldCommit()) {
+			event.setTimeTag(timeTag);
+			event.setDelay(delay);
+			event.setPackets(packets);
+			event.commit();
+		}
+	}
+
+	@Override
+	public Object bundleFireStarted() {
+
+		if (!BUNDLE_FIRE.isEnabled()) {
+			return null;
+		}
+		final BundleFireEvent event = new BundleFireEvent();
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public void bundleFired(final Object token, final long lateness, final int packets) {
+
+		final BundleFireEvent event = (BundleFireEvent) token;
+		event.end();
+		if (event.shouldCommit()) {
+			event.setLateness(lateness);
+			event.setPackets(packets);
+			event.commit();
+		}
+	}
+}
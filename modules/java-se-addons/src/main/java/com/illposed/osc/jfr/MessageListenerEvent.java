@@ -0,0 +1,42 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A single listener handled a dispatched message,
+ * see {@link com.illposed.osc.OSCMessageListener#acceptMessage(com.illposed.osc.OSCMessageEvent)}.
+ * As listeners run on the receiving thread,
+ * slow ones delay all the messages behind them.
+ */
+@Name(MessageListenerEvent.NAME)
+@Label("OSC Message Listener")
+@Description("A message listener handled a dispatched message")
+@Category("OSC")
+@Threshold("1 ms")
+public final class MessageListenerEvent extends Event {
+
+	public static final String NAME = "com.illposed.osc.MessageListener";
+
+	@Label("Address")
+	private String address;
+
+	@Label("Listener")
+	private Class<?> listener;
+
+	public void setAddress(final String address) {
+		this.address = address;
+	}
+
+	public void setListener(final Class<?> listener) {
+		this.listener = listener;
+	}
+}
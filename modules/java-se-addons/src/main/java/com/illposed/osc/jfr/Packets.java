@@ -0,0 +1,37 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.jfr;
+
+import com.illposed.osc.OSCBundle;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCPacket;
+
+/**
+ * Helps describing packets in events.
+ */
+final class Packets {
+
+	/**
+	 * What is used instead of an address for bundles.
+	 */
+	static final String BUNDLE_ADDRESS = "#bundle";
+
+	private Packets() {
+		// utility class
+	}
+
+	static String address(final OSCPacket packet) {
+
+		final String address;
+		if (packet instanceof OSCMessage) {
+			address = ((OSCMessage) packet).getAddress();
+		} else if (packet instanceof OSCBundle) {
+			address = BUNDLE_ADDRESS;
+		} else {
+			address = null;
+		}
+		return address;
+	}
+}
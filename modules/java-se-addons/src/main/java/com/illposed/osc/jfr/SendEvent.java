@@ -0,0 +1,39 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A serialized packet got written to a socket.
+ */
+@Name(SendEvent.NAME)
+@Label("OSC Send")
+@Category("OSC")
+@Threshold("1 ms")
+public final class SendEvent extends Event {
+
+	public static final String NAME = "com.illposed.osc.Send";
+
+	@Label("Destination")
+	private String destination;
+
+	@Label("Size")
+	@DataAmount
+	private int size;
+
+	public void setDestination(final String destination) {
+		this.destination = destination;
+	}
+
+	public void setSize(final int size) {
+		this.size = size;
+	}
+}
@@ -0,0 +1,43 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.jfr;
+
+import com.illposed.osc.OSCPacket;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A packet got serialized by {@link com.illposed.osc.OSCSerializer#write(OSCPacket)}.
+ */
+@Name(SerializeEvent.NAME)
+@Label("OSC Serialize")
+@Description("A packet got serialized to its raw bytes")
+@Category("OSC")
+@Threshold("100 us")
+public final class SerializeEvent extends Event {
+
+	public static final String NAME = "com.illposed.osc.Serialize";
+
+	@Label("Address")
+	@Description("Address of the message, or \"#bundle\"")
+	private String address;
+
+	@Label("Size")
+	@DataAmount
+	private int size;
+
+	public void setPacket(final OSCPacket packet) {
+		this.address = Packets.address(packet);
+	}
+
+	public void setSize(final int size) {
+		this.size = size;
+	}
+}
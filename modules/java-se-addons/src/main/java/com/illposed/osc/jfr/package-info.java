@@ -0,0 +1,29 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+/**
+ * Java Flight Recorder events emitted along the receive, parse, dispatch
+ * and send paths, to correlate OSC latency spikes with GC pauses,
+ * safepoints and other JVM activity.
+ * They are only emitted after {@link com.illposed.osc.jfr.JfrTracer#install()}.
+ *
+ * All events are in the "OSC" category, and are named
+ * {@code com.illposed.osc.<EventName>}.
+ * Events with a duration only get recorded if they take longer than
+ * their threshold, which defaults to a value that keeps the overhead
+ * negligible in production.
+ * Thresholds can be changed like for any other JFR event, for example
+ * in a copy of the JDKs {@code default.jfc} settings file:
+ * <blockquote><pre>{@code
+ * <event name="com.illposed.osc.MessageListener">
+ *   <setting name="enabled">true</setting>
+ *   <setting name="threshold">100 us</setting>
+ * </event>
+ * }</pre></blockquote>
+ * or programmatically:
+ * <blockquote><pre>{@code
+ * recording.enable(ParseEvent.class).withThreshold(Duration.ofMillis(1));
+ * }</pre></blockquote>
+ */
+package com.illposed.osc.jfr;
@@ -0,0 +1,205 @@
+// SPDX-FileCopyrightText: 2026 Robin Vobruba <hoijui.quaero@gmail.com>
+//
+// SPDX-License-Identifier: BSD-3-Clause
+
+package com.illposed.osc.jfr;
+
+import com.illposed.osc.BufferBytesReceiver;
+import com.illposed.osc.OSCBundle;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCMessageEvent;
+import com.illposed.osc.OSCMessageListener;
+import com.illposed.osc.OSCPacketDispatcher;
+import com.illposed.osc.OSCPacketEvent;
+import com.illposed.osc.OSCSerializerAndParserBuilder;
+import com.illposed.osc.argument.OSCTimeTag64;
+import com.illposed.osc.messageselector.OSCPatternAddressMessageSelector;
+import com.illposed.osc.tracing.OSCTracing;
+import com.illposed.osc.transport.udp.UDPTransport;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @see ParseEvent
+ * @see SerializeEvent
+ * @see MessageListenerEvent
+ * @see BundleScheduleEvent
+ * @see BundleFireEvent
+ * @see DatagramReceiveEvent
+ * @see SendEvent
+ * @see JfrTracer
+ */
+public class OSCEventsTest {
+
+	private static final int WAIT_FOR_RECEIVE_MS = 1000;
+	private static final long BUNDLE_DELAY_MS = 50;
+
+	@TempDir
+	Path tempDir;
+
+	private static class CountingListener implements OSCMessageListener {
+
+		private final AtomicInteger received = new AtomicInteger();
+
+		@Override
+		public void acceptMessage(final OSCMessageEvent event) {
+			received.incrementAndGet();
+		}
+	}
+
+	@BeforeEach
+	public void setUp() {
+		JfrTracer.install();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		OSCTracing.setTracer(null);
+	}
+
+	@SafeVarargs
+	private static Recording startRecording(final Class<? extends Event>... eventTypes) {
+
+		final Recording recording = new Recording();
+		for (final Class<? extends Event> eventType : eventTypes) {
+			recording.enable(eventType).withThreshold(Duration.ZERO);
+		}
+		recording.start();
+		return recording;
+	}
+
+	private List<RecordedEvent> recordedEvents(final Recording recording, final String eventName)
+			throws Exception
+	{
+		final Path file = tempDir.resolve(eventName + ".jfr");
+		recording.dump(file);
+		return RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals(eventName))
+				.collect(Collectors.toList());
+	}
+
+	@Test
+	public void testSerializeAndParse() throws Exception {
+
+		final Recording recording = startRecording(SerializeEvent.class, ParseEvent.class);
+		final ByteBuffer buffer = ByteBuffer.allocate(1024);
+		final OSCSerializerAndParserBuilder builder = new OSCSerializerAndParserBuilder();
+		builder.buildSerializer(new BufferBytesReceiver(buffer))
+				.write(new OSCMessage("/jfr/parse", Collections.singletonList(1)));
+		buffer.flip();
+		builder.buildParser().convert(buffer);
+		recording.stop();
+
+		final List<RecordedEvent> serializeEvents
+				= recordedEvents(recording, SerializeEvent.NAME);
+		Assertions.assertEquals(1, serializeEvents.size());
+		Assertions.assertEquals("/jfr/parse", serializeEvents.get(0).getString("address"));
+		Assertions.assertEquals(20, serializeEvents.get(0).getInt("size"));
+		final List<RecordedEvent> parseEvents = recordedEvents(recording, ParseEvent.NAME);
+		Assertions.assertEquals(1, parseEvents.size());
+		Assertions.assertEquals("/jfr/parse", parseEvents.get(0).getString("address"));
+		Assertions.assertEquals(20, parseEvents.get(0).getInt("size"));
+		recording.close();
+	}
+
+	@Test
+	public void testNothingWithoutTracer() throws Exception {
+
+		OSCTracing.setTracer(null);
+		final Recording recording = startRecording(SerializeEvent.class, ParseEvent.class);
+		final ByteBuffer buffer = ByteBuffer.allocate(1024);
+		final OSCSerializerAndParserBuilder builder = new OSCSerializerAndParserBuilder();
+		builder.buildSerializer(new BufferBytesReceiver(buffer))
+				.write(new OSCMessage("/jfr/none"));
+		buffer.flip();
+		builder.buildParser().convert(buffer);
+		recording.stop();
+
+		Assertions.assertTrue(recordedEvents(recording, SerializeEvent.NAME).isEmpty());
+		Assertions.assertTrue(recordedEvents(recording, ParseEvent.NAME).isEmpty());
+		recording.close();
+	}
+
+	@Test
+	public void testListenerAndBundles() throws Exception {
+
+		final Recording recording = startRecording(
+				MessageListenerEvent.class, BundleScheduleEvent.class, BundleFireEvent.class);
+		final OSCPacketDispatcher dispatcher = new OSCPacketDispatcher();
+		final CountingListener listener = new CountingListener();
+		dispatcher.addListener(new OSCPatternAddressMessageSelector("/jfr/*"), listener);
+		dispatcher.handlePacket(new OSCPacketEvent(this, new OSCMessage("/jfr/now")));
+		final OSCBundle bundle = new OSCBundle(
+				Collections.singletonList(new OSCMessage("/jfr/later")),
+				OSCTimeTag64.valueOf(new Date(System.currentTimeMillis() + BUNDLE_DELAY_MS)));
+		dispatcher.handlePacket(new OSCPacketEvent(this, bundle));
+		final long deadline = System.currentTimeMillis() + WAIT_FOR_RECEIVE_MS;
+		while ((listener.received.get() < 2) && (System.currentTimeMillis() < deadline)) {
+			Thread.sleep(10);
+		}
+		recording.stop();
+
+		final List<RecordedEvent> listenerEvents
+				= recordedEvents(recording, MessageListenerEvent.NAME);
+		// events from different threads are not necessarily in order
+		Assertions.assertEquals(
+				new HashSet<>(Arrays.asList("/jfr/now", "/jfr/later")),
+				listenerEvents.stream()
+						.map(event -> event.getString("address"))
+						.collect(Collectors.toSet()));
+		Assertions.assertEquals(CountingListener.class.getName(),
+				listenerEvents.get(0).getClass("listener").getName());
+		final List<RecordedEvent> scheduleEvents
+				= recordedEvents(recording, BundleScheduleEvent.NAME);
+		Assertions.assertEquals(1, scheduleEvents.size());
+		Assertions.assertEquals(1, scheduleEvents.get(0).getInt("packets"));
+		final List<RecordedEvent> fireEvents = recordedEvents(recording, BundleFireEvent.NAME);
+		Assertions.assertEquals(1, fireEvents.size());
+		recording.close();
+	}
+
+	@Test
+	public void testSendAndReceive() throws Exception {
+
+		final InetSocketAddress address
+				= new InetSocketAddress(InetAddress.getLoopbackAddress(), 40031);
+		final UDPTransport transport = new UDPTransport(address, address);
+		final Recording recording = startRecording(SendEvent.class, DatagramReceiveEvent.class);
+		try {
+			transport.send(new OSCMessage("/jfr/udp"));
+			transport.receive();
+		} finally {
+			transport.close();
+		}
+		recording.stop();
+
+		final List<RecordedEvent> sendEvents = recordedEvents(recording, SendEvent.NAME);
+		Assertions.assertEquals(1, sendEvents.size());
+		Assertions.assertEquals(16, sendEvents.get(0).getInt("size"));
+		final List<RecordedEvent> receiveEvents
+				= recordedEvents(recording, DatagramReceiveEvent.NAME);
+		Assertions.assertEquals(1, receiveEvents.size());
+		Assertions.assertEquals(16, receiveEvents.get(0).getInt("size"));
+		Assertions.assertFalse(receiveEvents.get(0).getBoolean("filtered"));
+		recording.close();
+	}
+}